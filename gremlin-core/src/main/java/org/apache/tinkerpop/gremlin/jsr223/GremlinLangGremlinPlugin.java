@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import java.util.Collections;
+
+/**
+ * A plugin that configures the {@link GremlinLangScriptEngine}. It can be added to Gremlin Server configuration with
+ * options matching the methods of its {@link Builder}, as in {@code {cacheSize: 2000}}.
+ * <p/>
+ * This {@link GremlinPlugin} is not enabled for the {@code ServiceLoader}. It is designed to be instantiated manually.
+ */
+public class GremlinLangGremlinPlugin extends AbstractGremlinPlugin {
+    private static final String NAME = "tinkerpop.gremlin-lang";
+
+    private GremlinLangGremlinPlugin(final Builder builder) {
+        super(NAME, Collections.singleton("gremlin-lang"), new TraversalCacheCustomizer(builder.cacheSize));
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private int cacheSize = GremlinLangScriptEngine.DEFAULT_TRAVERSAL_CACHE_SIZE;
+
+        private Builder() {}
+
+        /**
+         * The number of parsed traversals the {@link GremlinLangScriptEngine} keeps, where zero disables the cache.
+         * Defaults to {@link GremlinLangScriptEngine#DEFAULT_TRAVERSAL_CACHE_SIZE}.
+         */
+        public Builder cacheSize(final int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public GremlinLangGremlinPlugin create() {
+            return new GremlinLangGremlinPlugin(this);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.stream.Stream;
 
 /**
  * A {@link GremlinScriptEngine} implementation that evaluates Gremlin scripts using {@code gremlin-language}. As it
@@ -40,6 +41,11 @@ import java.io.Reader;
  * to the capabilities of the ANTLR grammar so therefore syntax that includes things like lambdas are not supported.
  * For bytecode evaluation it simply uses the {@link JavaTranslator}.
  * <p/>
+ * Scripts that are a single traversal are cached as templates keyed by their tokens with the string literals lifted
+ * out, so that scripts which only differ in their strings are parsed once and then constructed from the template. The
+ * size of the cache is configured with a {@link TraversalCacheCustomizer}, for example through the
+ * {@link GremlinLangGremlinPlugin}, and defaults to {@link #DEFAULT_TRAVERSAL_CACHE_SIZE}.
+ * <p/>
  * As an internal note, technically, this is an incomplete implementation of the {@link GremlinScriptEngine} in the
  * traditional sense as a drop-in replacement for something like the {@code GremlinGroovyScriptEngine}. As a result,
  * this {@link GremlinScriptEngine} cannot pass the {@code GremlinScriptEngineSuite} tests in full. On the other hand,
@@ -49,7 +55,10 @@ import java.io.Reader;
  * into the existing internals of Gremlin Server or more specifically the {@code GremlinExecutor}.
  */
 public class GremlinLangScriptEngine extends AbstractScriptEngine implements GremlinScriptEngine {
+    public static final int DEFAULT_TRAVERSAL_CACHE_SIZE = 1000;
+
     private volatile GremlinScriptEngineFactory factory;
+    private final GremlinLangTraversalCache traversalCache;
 
     /**
      * Creates a new instance using no {@link Customizer}.
@@ -59,6 +68,10 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
     }
 
     public GremlinLangScriptEngine(final Customizer... customizers) {
+        final int cacheSize = Stream.of(customizers).filter(c -> c instanceof TraversalCacheCustomizer)
+                .map(c -> ((TraversalCacheCustomizer) c).getMaximumSize())
+                .reduce((first, second) -> second).orElse(DEFAULT_TRAVERSAL_CACHE_SIZE);
+        this.traversalCache = cacheSize > 0 ? new GremlinLangTraversalCache(cacheSize) : null;
     }
 
     @Override
@@ -104,15 +117,78 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
         if (!(o instanceof GraphTraversalSource))
             throw new IllegalArgumentException("g is of type " + o.getClass().getSimpleName() + " and is not an instance of TraversalSource");
 
-        final GremlinAntlrToJava antlr = new GremlinAntlrToJava((GraphTraversalSource) o);
-
         try {
-            return GremlinQueryParser.parse(script, antlr);
+            return null == this.traversalCache ?
+                    GremlinQueryParser.parse(script, new GremlinAntlrToJava((GraphTraversalSource) o)) :
+                    this.traversalCache.eval(script, (GraphTraversalSource) o);
         } catch (Exception ex) {
             throw new ScriptException(ex);
         }
     }
 
+    /**
+     * Clears the traversal cache.
+     */
+    public void reset() {
+        if (null != this.traversalCache) this.traversalCache.clear();
+    }
+
+    /**
+     * Gets the number of evaluations that found the script in the traversal cache.
+     */
+    public long getTraversalCacheHitCount() {
+        return null == this.traversalCache ? 0 : this.traversalCache.getHitCount();
+    }
+
+    /**
+     * Gets the ratio of evaluations that found the script in the traversal cache.
+     */
+    public double getTraversalCacheHitRate() {
+        return null == this.traversalCache ? 0.0 : this.traversalCache.getHitRate();
+    }
+
+    /**
+     * Gets the number of evaluations that did not find the script in the traversal cache.
+     */
+    public long getTraversalCacheMissCount() {
+        return null == this.traversalCache ? 0 : this.traversalCache.getMissCount();
+    }
+
+    /**
+     * Gets the ratio of evaluations that did not find the script in the traversal cache.
+     */
+    public double getTraversalCacheMissRate() {
+        return null == this.traversalCache ? 0.0 : this.traversalCache.getMissRate();
+    }
+
+    /**
+     * Gets the number of evaluations that went through the traversal cache.
+     */
+    public long getTraversalCacheRequestCount() {
+        return null == this.traversalCache ? 0 : this.traversalCache.getRequestCount();
+    }
+
+    /**
+     * Gets the number of entries evicted from the traversal cache because it was full.
+     */
+    public long getTraversalCacheEvictionCount() {
+        return null == this.traversalCache ? 0 : this.traversalCache.getEvictionCount();
+    }
+
+    /**
+     * Gets the number of scripts that could not be cached as a traversal and are always parsed in full.
+     */
+    public long getTraversalCacheUncacheableCount() {
+        return null == this.traversalCache ? 0 : this.traversalCache.getUncacheableCount();
+    }
+
+    /**
+     * Gets the number of entries in the traversal cache.
+     */
+    public long getTraversalCacheEstimatedSize() {
+        return null == this.traversalCache ? 0 : this.traversalCache.getEstimatedSize();
+    }
+
     @Override
     public Object eval(final Reader reader, final ScriptContext context) throws ScriptException {
         return eval(readFully(reader), context);
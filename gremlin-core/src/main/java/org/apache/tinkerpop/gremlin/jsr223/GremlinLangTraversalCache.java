@@ -0,0 +1,427 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinErrorListener;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinLexer;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParser;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the {@link Bytecode} that the grammar produces for the scripts evaluated by the
+ * {@link GremlinLangScriptEngine}. Scripts are keyed by their text with the string literals lifted out as parameters
+ * so that {@code g.V().has('name','marko')} and {@code g.V().has('name','vadas')} share a single entry. On a miss the
+ * script is parsed once with a placeholder in place of each string literal and the resulting {@link Bytecode} becomes
+ * the template for the entry. A hit binds the string literals of the script to the template and has the
+ * {@link JavaTranslator} construct the traversal, which skips the lexer, the parser and the visitor tree.
+ * <p/>
+ * Only scripts that are a single traversal, without a terminal method, are cached. A script whose string literals do
+ * not pass unchanged into the {@link Bytecode}, for example those used in a {@code datetime()} or a strategy, or whose
+ * template does not translate back to the same {@link Bytecode}, is marked as uncacheable and is parsed in full on
+ * every evaluation.
+ */
+final class GremlinLangTraversalCache {
+    private static final Logger logger = LoggerFactory.getLogger(GremlinLangTraversalCache.class);
+    private static final GremlinErrorListener errorListener = new GremlinErrorListener();
+    private static final Template UNCACHEABLE = new Template(null, null, 0);
+
+    /**
+     * Placeholder values are unique to each cache so that they cannot be mistaken for a string in a script.
+     */
+    private final String placeholderPrefix = "gremlin-lang-param-" + UUID.randomUUID() + "-";
+    private final Cache<String, Template> templates;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder uncacheableCount = new LongAdder();
+
+    GremlinLangTraversalCache(final int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("The maximumSize of the cache must be greater than zero");
+        // maintenance runs on the calling thread so that evictions are counted as soon as an entry is added
+        this.templates = Caffeine.newBuilder().maximumSize(maximumSize).executor(Runnable::run).recordStats().build();
+    }
+
+    /**
+     * Evaluates the script against the {@link GraphTraversalSource} as {@link GremlinQueryParser} would.
+     */
+    Object eval(final String script, final GraphTraversalSource g) {
+        // finding the string literals is a simple scan of the characters which the lexer confirms on a miss
+        final List<int[]> literals = new ArrayList<>();
+        final String cacheKey = liftStringLiterals(script, literals);
+        final List<String> parameters = new ArrayList<>(literals.size());
+        for (final int[] literal : literals) {
+            parameters.add(StringEscapeUtils.unescapeJava(script.substring(literal[0] + 1, literal[1] - 1)));
+        }
+
+        final Template template = this.templates.getIfPresent(cacheKey);
+
+        if (UNCACHEABLE == template || (null != template && template.parameterCount != parameters.size())) {
+            // known not to have a template, or a malformed script that only looks like the template's, so it
+            // counts as a miss
+            this.missCount.increment();
+            return GremlinQueryParser.parse(script, new GremlinAntlrToJava(g));
+        } else if (null != template) {
+            this.hitCount.increment();
+            return JavaTranslator.of(g).translate(template.bind(parameters, null));
+        }
+
+        this.missCount.increment();
+        final Object result;
+        try {
+            result = GremlinQueryParser.parse(script, new SingleTraversalVisitor(g));
+        } catch (RuntimeException re) {
+            this.put(cacheKey, UNCACHEABLE);
+            throw re;
+        }
+
+        if (!(result instanceof Traversal)) {
+            this.put(cacheKey, UNCACHEABLE);
+            return GremlinQueryParser.parse(script, new GremlinAntlrToJava(g));
+        }
+
+        this.put(cacheKey, this.compile(script, literals, parameters, g, ((Traversal) result).asAdmin().getBytecode()));
+        return result;
+    }
+
+    private void put(final String cacheKey, final Template template) {
+        if (UNCACHEABLE == template)
+            this.uncacheableCount.increment();
+        this.templates.put(cacheKey, template);
+    }
+
+    /**
+     * Creates the template for a script that is a single traversal, validating it against the {@link Bytecode} of
+     * the script itself.
+     */
+    private Template compile(final String script, final List<int[]> literals, final List<String> parameters,
+                             final GraphTraversalSource g, final Bytecode scriptBytecode) {
+        // replace each string literal with a placeholder that can be found again in the bytecode
+        final StringBuilder templated = new StringBuilder(script.length());
+        final List<String> placeholders = new ArrayList<>(parameters.size());
+        int position = 0;
+        for (final int[] literal : literals) {
+            final String placeholder = this.placeholderPrefix + placeholders.size();
+            templated.append(script, position, literal[0]).append('\'').append(placeholder).append('\'');
+            placeholders.add(placeholder);
+            position = literal[1];
+        }
+        templated.append(script, position, script.length());
+
+        try {
+            // the scan has to have found exactly the string literals of the lexer
+            final List<int[]> tokens = new ArrayList<>();
+            for (final Token token : tokenize(script)) {
+                if (isStringLiteral(token))
+                    tokens.add(new int[]{token.getStartIndex(), token.getStopIndex() + 1});
+            }
+            if (tokens.size() != literals.size())
+                return UNCACHEABLE;
+            for (int i = 0; i < tokens.size(); i++) {
+                if (!Arrays.equals(tokens.get(i), literals.get(i)))
+                    return UNCACHEABLE;
+            }
+
+            final Object result = GremlinQueryParser.parse(templated.toString(), new SingleTraversalVisitor(g));
+            if (!(result instanceof Traversal))
+                return UNCACHEABLE;
+
+            final Bytecode bytecode = withoutTraversalSource(((Traversal) result).asAdmin().getBytecode(), g);
+            if (null == bytecode)
+                return UNCACHEABLE;
+
+            // every string literal must land in the bytecode exactly once and as-is for binding to be valid
+            final Template template = new Template(bytecode, this.placeholderPrefix, placeholders.size());
+            final int[] counts = new int[placeholders.size()];
+            template.bind(placeholders, counts);
+            for (final int count : counts) {
+                if (count != 1)
+                    return UNCACHEABLE;
+            }
+
+            // the bound template has to be what the script produced and what the translator produces from it
+            final Bytecode bound = template.bind(parameters, null);
+            if (!bound.equals(withoutTraversalSource(scriptBytecode, g)) ||
+                    !bound.equals(withoutTraversalSource(JavaTranslator.of(g).translate(bound).getBytecode(), g)))
+                return UNCACHEABLE;
+
+            return template;
+        } catch (Exception ex) {
+            logger.debug("Script could not be cached as a traversal template: {}", script, ex);
+            return UNCACHEABLE;
+        }
+    }
+
+    /**
+     * Removes the instructions of the {@link GraphTraversalSource} from the {@link Bytecode} of a traversal it spawned
+     * as the translator applies them anyway, returning {@code null} if they are not found.
+     */
+    private static Bytecode withoutTraversalSource(final Bytecode traversalBytecode, final GraphTraversalSource g) {
+        final List<Bytecode.Instruction> sourceInstructions = g.getBytecode().getSourceInstructions();
+        final List<Bytecode.Instruction> allSourceInstructions = traversalBytecode.getSourceInstructions();
+        if (allSourceInstructions.size() < sourceInstructions.size() ||
+                !allSourceInstructions.subList(0, sourceInstructions.size()).equals(sourceInstructions))
+            return null;
+
+        final Bytecode bytecode = new Bytecode();
+        allSourceInstructions.subList(sourceInstructions.size(), allSourceInstructions.size()).forEach(
+                i -> bytecode.addSource(i.getOperator(), i.getArguments()));
+        traversalBytecode.getStepInstructions().forEach(i -> bytecode.addStep(i.getOperator(), i.getArguments()));
+        return bytecode;
+    }
+
+    /**
+     * Replaces each quoted string in the script with a {@code ?}, collecting the start and end of each one.
+     */
+    private static String liftStringLiterals(final String script, final List<int[]> literals) {
+        final StringBuilder key = new StringBuilder(script.length());
+        final int length = script.length();
+        int i = 0;
+        while (i < length) {
+            final char c = script.charAt(i);
+            if (c != '\'' && c != '"') {
+                key.append(c);
+                i++;
+                continue;
+            }
+
+            final int start = i++;
+            while (i < length && script.charAt(i) != c) {
+                i += script.charAt(i) == '\\' ? 2 : 1;
+            }
+            if (i >= length) {
+                // unterminated so leave it to the parser to complain about
+                key.append(script, start, length);
+                break;
+            }
+            literals.add(new int[]{start, ++i});
+            key.append('?');
+        }
+        return key.toString();
+    }
+
+    private static List<Token> tokenize(final String script) {
+        final GremlinLexer lexer = new GremlinLexer(CharStreams.fromString(script));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+        return (List<Token>) lexer.getAllTokens();
+    }
+
+    private static boolean isStringLiteral(final Token token) {
+        final int type = token.getType();
+        return type == GremlinLexer.StringLiteral || type == GremlinLexer.NonEmptyStringLiteral ||
+                type == GremlinLexer.EmptyStringLiteral;
+    }
+
+    long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    long getRequestCount() {
+        return this.getHitCount() + this.getMissCount();
+    }
+
+    double getHitRate() {
+        final long requestCount = this.getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) this.getHitCount() / requestCount;
+    }
+
+    double getMissRate() {
+        final long requestCount = this.getRequestCount();
+        return requestCount == 0 ? 0.0 : (double) this.getMissCount() / requestCount;
+    }
+
+    long getEvictionCount() {
+        return this.templates.stats().evictionCount();
+    }
+
+    long getUncacheableCount() {
+        return this.uncacheableCount.sum();
+    }
+
+    long getEstimatedSize() {
+        return this.templates.estimatedSize();
+    }
+
+    void clear() {
+        this.templates.invalidateAll();
+    }
+
+    /**
+     * Only visits scripts that consist of a single traversal so that compiling a template never executes anything.
+     */
+    private static class SingleTraversalVisitor extends GremlinAntlrToJava {
+
+        SingleTraversalVisitor(final GraphTraversalSource g) {
+            super(g);
+        }
+
+        @Override
+        public Object visitQueryList(final GremlinParser.QueryListContext ctx) {
+            final List<GremlinParser.QueryContext> queries = ctx.query();
+            if (queries.size() != 1 || queries.get(0).getChildCount() != 1 || null == queries.get(0).rootTraversal())
+                return null;
+            return super.visitQueryList(ctx);
+        }
+    }
+
+    /**
+     * The {@link Bytecode} of a script with placeholders in place of its string literals.
+     */
+    private static class Template {
+        private final Bytecode bytecode;
+        private final String placeholderPrefix;
+        private final int parameterCount;
+
+        Template(final Bytecode bytecode, final String placeholderPrefix, final int parameterCount) {
+            this.bytecode = bytecode;
+            this.placeholderPrefix = placeholderPrefix;
+            this.parameterCount = parameterCount;
+        }
+
+        /**
+         * Creates a copy of the template with the placeholders replaced by the values. Arguments are always copied
+         * so that no mutable argument is shared among traversals. When {@code counts} is not {@code null} the
+         * values are expected to be the placeholders and the number of times each one is found is counted.
+         */
+        Bytecode bind(final List<String> values, final int[] counts) {
+            return bindBytecode(this.bytecode, values, counts);
+        }
+
+        private Bytecode bindBytecode(final Bytecode template, final List<String> values, final int[] counts) {
+            final Bytecode bytecode = new Bytecode();
+            for (final Bytecode.Instruction instruction : template.getSourceInstructions()) {
+                bytecode.addSource(instruction.getOperator(), bindArguments(instruction.getArguments(), values, counts));
+            }
+            for (final Bytecode.Instruction instruction : template.getStepInstructions()) {
+                bytecode.addStep(instruction.getOperator(), bindArguments(instruction.getArguments(), values, counts));
+            }
+            return bytecode;
+        }
+
+        private Object[] bindArguments(final Object[] arguments, final List<String> values, final int[] counts) {
+            if (null == arguments)
+                return null;
+            final Object[] bound = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                bound[i] = bindArgument(arguments[i], values, counts);
+            }
+            return bound;
+        }
+
+        private Object bindArgument(final Object argument, final List<String> values, final int[] counts) {
+            if (argument instanceof String) {
+                final int index = indexOf((String) argument, values, counts);
+                return index < 0 ? argument : values.get(index);
+            } else if (argument instanceof Bytecode) {
+                return bindBytecode((Bytecode) argument, values, counts);
+            } else if (argument instanceof P) {
+                return bindPredicate((P<Object>) argument, values, counts);
+            } else if (argument instanceof Map) {
+                final Map<Object, Object> map = new LinkedHashMap<>(((Map) argument).size());
+                for (final Map.Entry<?, ?> entry : ((Map<?, ?>) argument).entrySet()) {
+                    map.put(bindArgument(entry.getKey(), values, counts), bindArgument(entry.getValue(), values, counts));
+                }
+                return map;
+            } else if (argument instanceof List) {
+                final List<Object> list = new ArrayList<>(((List) argument).size());
+                for (final Object item : (List) argument) {
+                    list.add(bindArgument(item, values, counts));
+                }
+                return list;
+            } else if (argument instanceof Set) {
+                final Set<Object> set = new LinkedHashSet<>(((Set) argument).size());
+                for (final Object item : (Set) argument) {
+                    set.add(bindArgument(item, values, counts));
+                }
+                return set;
+            } else if (argument instanceof Object[]) {
+                return bindArguments((Object[]) argument, values, counts);
+            } else
+                return argument;
+        }
+
+        /**
+         * Creates a new predicate from the original value of the template predicate since steps like
+         * {@code where()} replace the value of the predicate they are given.
+         */
+        private P<Object> bindPredicate(final P<Object> p, final List<String> values, final int[] counts) {
+            if (p instanceof ConnectiveP) {
+                final List<P<Object>> predicates = new ArrayList<>();
+                for (final P<Object> predicate : ((ConnectiveP<Object>) p).getPredicates()) {
+                    predicates.add(bindPredicate(predicate, values, counts));
+                }
+                return p instanceof AndP ? new AndP<>(predicates) : new OrP<>(predicates);
+            } else if ((P) p instanceof TextP) {
+                final TextP textP = (TextP) (P) p;
+                return (P) new TextP(textP.getBiPredicate(), (String) bindArgument(textP.getOriginalValue(), values, counts));
+            } else {
+                return new P<>(p.getBiPredicate(), bindArgument(p.getOriginalValue(), values, counts));
+            }
+        }
+
+        private int indexOf(final String argument, final List<String> values, final int[] counts) {
+            if (!argument.startsWith(this.placeholderPrefix))
+                return -1;
+
+            // placeholders are numbered in the order of the string literals so binding is a lookup
+            final int index;
+            try {
+                index = Integer.parseInt(argument.substring(this.placeholderPrefix.length()));
+            } catch (NumberFormatException nfe) {
+                return -1;
+            }
+            if (index >= values.size())
+                return -1;
+            if (null != counts)
+                counts[index]++;
+            return index;
+        }
+    }
+}
@@ -19,6 +19,8 @@
 
 package org.apache.tinkerpop.gremlin.jsr223;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
@@ -32,11 +34,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategy
 import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -56,6 +62,20 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
     private final S traversalSource;
     private final Class<?> anonymousTraversal;
     private static final Map<Class<?>, Map<String, List<ReflectedMethod>>> GLOBAL_METHOD_CACHE = new ConcurrentHashMap<>();
+    private static final int MAX_DISPATCH_CACHE_SIZE = 10_000;
+    private static final Cache<DispatchKey, ReflectedMethod> GLOBAL_DISPATCH_CACHE =
+            Caffeine.newBuilder().maximumSize(MAX_DISPATCH_CACHE_SIZE).build();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle TARGET_EXCEPTION;
+
+    static {
+        try {
+            TARGET_EXCEPTION = LOOKUP.findStatic(JavaTranslator.class, "throwTargetException",
+                    MethodType.methodType(Object.class, Throwable.class));
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
     private final Map<Class<?>, Map<String,Method>> localMethodCache = new ConcurrentHashMap<>();
     private final Method anonymousTraversalStart;
 
@@ -191,10 +211,6 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
     }
 
     private Object invokeMethod(final Object delegate, final Class<?> returnType, final String methodName, final Object... arguments) {
-        // populate method cache for fast access to methods in subsequent calls
-        final Map<String, List<ReflectedMethod>> methodCache = GLOBAL_METHOD_CACHE.getOrDefault(delegate.getClass(), new HashMap<>());
-        if (methodCache.isEmpty()) buildMethodCache(delegate, methodCache);
-
         // create a copy of the argument array so as not to mutate the original bytecode - no need to create a new
         // object if there are no arguments.
         final Object[] argumentsCopy = arguments.length > 0 ? new Object[arguments.length] : arguments;
@@ -202,6 +218,28 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
             argumentsCopy[i] = translateObject(arguments[i]);
         }
 
+        // the method that gets called only depends on the class of the delegate, the method name and the classes of
+        // the arguments so once resolved for that shape it can be called directly for every instruction like it
+        final DispatchKey key = new DispatchKey(delegate.getClass(), returnType, methodName, argumentsCopy);
+        ReflectedMethod methodx = GLOBAL_DISPATCH_CACHE.getIfPresent(key);
+        if (null == methodx) {
+            methodx = resolveMethod(delegate, returnType, methodName, argumentsCopy);
+            GLOBAL_DISPATCH_CACHE.put(key, methodx);
+        }
+
+        try {
+            return methodx.invoke(delegate, methodx.toArguments(argumentsCopy));
+        } catch (final Throwable e) {
+            throw new IllegalStateException(generateMethodNotFoundMessage(
+                    e.getMessage(), null, methodName, argumentsCopy), e);
+        }
+    }
+
+    private ReflectedMethod resolveMethod(final Object delegate, final Class<?> returnType, final String methodName, final Object[] argumentsCopy) {
+        // populate method cache for fast access to methods in subsequent calls
+        final Map<String, List<ReflectedMethod>> methodCache = GLOBAL_METHOD_CACHE.getOrDefault(delegate.getClass(), new HashMap<>());
+        if (methodCache.isEmpty()) buildMethodCache(delegate, methodCache);
+
         // without this initial check iterating an invalid methodName will lead to a null pointer and a less than
         // great error message for the user. 
         if (!methodCache.containsKey(methodName)) {
@@ -215,21 +253,13 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
                 if (returnType.isAssignableFrom(method.getReturnType())) {
                     final Parameter[] parameters = methodx.parameters;
                     if (parameters.length == argumentsCopy.length || methodx.hasVarArgs) {
-                        final Object[] newArguments = new Object[parameters.length];
                         boolean found = true;
                         for (int i = 0; i < parameters.length; i++) {
                             if (parameters[i].isVarArgs()) {
                                 final Class<?> parameterClass = parameters[i].getType().getComponentType();
                                 if (argumentsCopy.length > i && argumentsCopy[i] != null && !parameterClass.isAssignableFrom(argumentsCopy[i].getClass())) {
                                     found = false;
-                                    break;
                                 }
-                                final Object[] varArgs = (Object[]) Array.newInstance(parameterClass, argumentsCopy.length - i);
-                                int counter = 0;
-                                for (int j = i; j < argumentsCopy.length; j++) {
-                                    varArgs[counter++] = argumentsCopy[j];
-                                }
-                                newArguments[i] = varArgs;
                                 break;
                             } else {
                                 // try to detect the right method by comparing the type of the parameter to the type
@@ -252,16 +282,14 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
                                 // be the case. if we find that is not happening we either fix that specific
                                 // inconsistency, start special casing those method finds here, or as mentioned above
                                 // do something far more drastic that doesn't involve reflection.
-                                if (i < argumentsCopy.length && (null == argumentsCopy[i] ||
+                                if (!(i < argumentsCopy.length && (null == argumentsCopy[i] ||
                                         (argumentsCopy[i] != null && (
                                         parameters[i].getType().isAssignableFrom(argumentsCopy[i].getClass()) ||
                                                 (parameters[i].getType().isPrimitive() &&
                                                         (Number.class.isAssignableFrom(argumentsCopy[i].getClass()) ||
                                                                 argumentsCopy[i].getClass().equals(Boolean.class) ||
                                                                 argumentsCopy[i].getClass().equals(Byte.class) ||
-                                                                argumentsCopy[i].getClass().equals(Character.class))))))) {
-                                    newArguments[i] = argumentsCopy[i];
-                                } else {
+                                                                argumentsCopy[i].getClass().equals(Character.class)))))))) {
                                     found = false;
                                     break;
                                 }
@@ -279,13 +307,13 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
                         // badly bytecode should either change to use gremlin-language and go away or bytecode should
                         // get a safer way to be translated to a traversal with more explicit calls that don't rely
                         // on reflection.
-                        if (methodName.equals(GraphTraversal.Symbols.has) && newArguments.length > 0 && null == newArguments[0] &&
-                            method.getParameterTypes()[0].isAssignableFrom(org.apache.tinkerpop.gremlin.structure.T.class)) {
+                        if (methodName.equals(GraphTraversal.Symbols.has) && parameters.length > 0 && argumentsCopy.length > 0 &&
+                            null == argumentsCopy[0] && method.getParameterTypes()[0].isAssignableFrom(org.apache.tinkerpop.gremlin.structure.T.class)) {
                             found = false;
                         }
 
                         if (found) {
-                            return 0 == newArguments.length ? method.invoke(delegate) : method.invoke(delegate, newArguments);
+                            return methodx;
                         }
                     }
                 }
@@ -339,6 +367,12 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
         private final Parameter[] parameters;
         private final boolean hasVarArgs;
 
+        /**
+         * A handle for the method that takes the delegate and an array of the arguments, which is created the first
+         * time the method is resolved for an invocation.
+         */
+        private volatile MethodHandle handle;
+
         public ReflectedMethod(final Method m) {
             this.method = m;
 
@@ -348,5 +382,105 @@ public final class JavaTranslator<S extends TraversalSource, T extends Traversal
 
             this.hasVarArgs = parameters.length > 0 && parameters[parameters.length - 1].isVarArgs();
         }
+
+        /**
+         * Arranges the arguments for the parameters of the method which means gathering up the trailing arguments
+         * into an array for varargs.
+         */
+        private Object[] toArguments(final Object[] arguments) {
+            if (!hasVarArgs) return arguments;
+
+            final Object[] newArguments = new Object[parameters.length];
+            final int varArgsIndex = parameters.length - 1;
+            System.arraycopy(arguments, 0, newArguments, 0, varArgsIndex);
+            final Object[] varArgs = (Object[]) Array.newInstance(
+                    parameters[varArgsIndex].getType().getComponentType(), arguments.length - varArgsIndex);
+            System.arraycopy(arguments, varArgsIndex, varArgs, 0, varArgs.length);
+            newArguments[varArgsIndex] = varArgs;
+            return newArguments;
+        }
+
+        private Object invoke(final Object delegate, final Object[] arguments) throws Throwable {
+            MethodHandle h = handle;
+            if (null == h) {
+                try {
+                    // anything the method itself throws is marked so that it can't be mistaken for a failure to
+                    // convert the arguments, which happens outside of the guarded target
+                    final MethodHandle target = LOOKUP.unreflect(method).asFixedArity();
+                    h = MethodHandles.catchException(target, Throwable.class,
+                            TARGET_EXCEPTION.asType(MethodType.methodType(target.type().returnType(), Throwable.class))).
+                            asType(MethodType.genericMethodType(parameters.length + 1)).
+                            asSpreader(Object[].class, parameters.length);
+                } catch (IllegalAccessException iae) {
+                    // not accessible as a handle so stick to reflection, which will produce the appropriate error if
+                    // it can't call the method either
+                    return method.invoke(delegate, arguments);
+                }
+                handle = h;
+            }
+
+            try {
+                return h.invokeExact(delegate, arguments);
+            } catch (final TargetException te) {
+                // keep the same cause chain as reflection would have for errors raised by the method itself
+                throw new InvocationTargetException(te.getCause());
+            } catch (final ClassCastException | NullPointerException | ArrayStoreException ex) {
+                // arguments that don't fit the parameters fail the handle on the conversion which is where reflection
+                // would fail with an IllegalArgumentException
+                throw new IllegalArgumentException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private static Object throwTargetException(final Throwable t) {
+        throw new TargetException(t);
+    }
+
+    /**
+     * Carries an exception raised by a method invoked through a {@link ReflectedMethod} handle.
+     */
+    private static final class TargetException extends RuntimeException {
+        private TargetException(final Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    /**
+     * Identifies the method to call for a delegate, method name and the classes of the arguments, with a {@code null}
+     * argument being its own kind of argument.
+     */
+    private static final class DispatchKey {
+        private final Class<?> delegateClass;
+        private final Class<?> returnType;
+        private final String methodName;
+        private final Class<?>[] argumentClasses;
+        private final int hashCode;
+
+        private DispatchKey(final Class<?> delegateClass, final Class<?> returnType, final String methodName, final Object[] arguments) {
+            this.delegateClass = delegateClass;
+            this.returnType = returnType;
+            this.methodName = methodName;
+            this.argumentClasses = new Class<?>[arguments.length];
+            int h = 31 * (31 * delegateClass.hashCode() + returnType.hashCode()) + methodName.hashCode();
+            for (int i = 0; i < arguments.length; i++) {
+                argumentClasses[i] = null == arguments[i] ? null : arguments[i].getClass();
+                h = 31 * h + (null == argumentClasses[i] ? 0 : argumentClasses[i].hashCode());
+            }
+            this.hashCode = h;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DispatchKey)) return false;
+            final DispatchKey other = (DispatchKey) o;
+            return hashCode == other.hashCode && delegateClass == other.delegateClass && returnType == other.returnType &&
+                    methodName.equals(other.methodName) && Arrays.equals(argumentClasses, other.argumentClasses);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+/**
+ * Configures the cache of parsed traversals that a {@link GremlinScriptEngine} like the
+ * {@link GremlinLangScriptEngine} keeps for the scripts it evaluates.
+ */
+public class TraversalCacheCustomizer implements Customizer {
+
+    private final int maximumSize;
+
+    /**
+     * Creates a new object where a {@code maximumSize} of zero disables the cache.
+     */
+    public TraversalCacheCustomizer(final int maximumSize) {
+        if (maximumSize < 0)
+            throw new IllegalArgumentException("The maximumSize of the traversal cache cannot be negative");
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets the maximum number of traversals to cache.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+}
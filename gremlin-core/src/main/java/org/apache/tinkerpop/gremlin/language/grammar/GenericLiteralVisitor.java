@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.language.grammar;
 
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.apache.commons.text.StringEscapeUtils;
@@ -99,28 +100,28 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
      * Parse a String literal list context and return a string array
      */
     public static String[] getStringLiteralList(final GremlinParser.StringLiteralListContext stringLiteralList) {
-        if (stringLiteralList == null || stringLiteralList.stringLiteralExpr() == null) {
+        final GremlinParser.StringLiteralExprContext expr = null == stringLiteralList ? null : stringLiteralList.stringLiteralExpr();
+        if (expr == null) {
             return new String[0];
         }
-        return stringLiteralList.stringLiteralExpr().stringBasedLiteral()
-                .stream()
-                .filter(Objects::nonNull)
-                .map(stringLiteral -> instance().visitStringBasedLiteral(stringLiteral))
-                .toArray(String[]::new);
+
+        // literals are every other child as the ones in between are commas
+        final String[] strings = new String[(expr.getChildCount() + 1) / 2];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = (String) instance().visitStringBasedLiteral((GremlinParser.StringBasedLiteralContext) expr.getChild(i * 2));
+        }
+        return strings;
     }
 
     /**
      * Parse a generic literal list, and return an object array
      */
     public static Object[] getGenericLiteralList(final GremlinParser.GenericLiteralListContext objectLiteralList) {
-        if (objectLiteralList == null || objectLiteralList.genericLiteralExpr() == null) {
+        final GremlinParser.GenericLiteralExprContext expr = null == objectLiteralList ? null : objectLiteralList.genericLiteralExpr();
+        if (expr == null) {
             return new Object[0];
         }
-        return objectLiteralList.genericLiteralExpr().genericLiteral()
-                .stream()
-                .filter(Objects::nonNull)
-                .map(genericLiteral -> instance().visitGenericLiteral(genericLiteral))
-                .toArray(Object[]::new);
+        return instance().visitGenericLiterals(expr, 0);
     }
 
     /**
@@ -260,23 +261,34 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
                 return visitGenericLiteral((GremlinParser.GenericLiteralContext) ctx.getChild(0));
             default:
                 // handle multiple generic literal separated by comma
-                final List<Object> genericLiterals = new ArrayList<>();
-                int childIndex = 0;
-                while (childIndex < ctx.getChildCount()) {
-                    genericLiterals.add(visitGenericLiteral(
-                            (GremlinParser.GenericLiteralContext) ctx.getChild(childIndex)));
-                    // skip comma
-                    childIndex += 2;
-                }
-                return genericLiterals.toArray();
+                return visitGenericLiterals(ctx, 0);
         }
     }
 
+    /**
+     * Visits the generic literals that are every other child of the context from the given index onward, as the
+     * ones in between are commas, straight into an array of the right size.
+     */
+    private Object[] visitGenericLiterals(final ParserRuleContext ctx, final int firstChildIndex) {
+        final Object[] genericLiterals = new Object[(ctx.getChildCount() - firstChildIndex + 1) / 2];
+        for (int i = 0; i < genericLiterals.length; i++) {
+            genericLiterals[i] = visitGenericLiteral((GremlinParser.GenericLiteralContext) ctx.getChild(firstChildIndex + i * 2));
+        }
+        return genericLiterals;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Object visitGenericLiteral(final GremlinParser.GenericLiteralContext ctx) {
+        // strings and numbers make up most of the large literal lists that come with inject(), within() and the like
+        // so they skip the generic dispatch of visitChildren()
+        final ParseTree child = ctx.getChild(0);
+        if (child instanceof GremlinParser.StringBasedLiteralContext)
+            return visitStringBasedLiteral((GremlinParser.StringBasedLiteralContext) child);
+        if (child instanceof GremlinParser.NumericLiteralContext)
+            return visitNumericLiteral((GremlinParser.NumericLiteralContext) child);
         return visitChildren(ctx);
     }
 
@@ -356,7 +368,10 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
      */
     @Override
     public Object visitIntegerLiteral(final GremlinParser.IntegerLiteralContext ctx) {
-        String integerLiteral = ctx.getText().toLowerCase().replace("_", "");
+        final String text = ctx.getStart().getText();
+        if (isPlainInteger(text)) return Integer.parseInt(text);
+
+        String integerLiteral = text.toLowerCase().replace("_", "");
         // handle suffixes for specific types
         final int lastCharIndex = integerLiteral.length() - 1;
         final char suffix = integerLiteral.charAt(lastCharIndex);
@@ -417,6 +432,22 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
         }
     }
 
+    /**
+     * Determines if the text is a decimal integer without suffix or underscores that is sure to fit an
+     * {@code Integer}, which is how most integers in a script look and which needs none of the decoding below.
+     */
+    private static boolean isPlainInteger(final String text) {
+        final int start = text.charAt(0) == '-' ? 1 : 0;
+        final int length = text.length() - start;
+        // a leading zero makes it octal
+        if (length < 1 || length > 9 || (length > 1 && text.charAt(start) == '0')) return false;
+        for (int i = start; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -462,8 +493,9 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
      */
     @Override
     public Object visitNumericLiteral(final GremlinParser.NumericLiteralContext ctx) {
-        if (ctx.floatLiteral() != null) return visitFloatLiteral(ctx.floatLiteral());
-        if (ctx.integerLiteral() != null) return visitIntegerLiteral(ctx.integerLiteral());
+        final ParseTree child = ctx.getChild(0);
+        if (child instanceof GremlinParser.IntegerLiteralContext) return visitIntegerLiteral((GremlinParser.IntegerLiteralContext) child);
+        if (child instanceof GremlinParser.FloatLiteralContext) return visitFloatLiteral((GremlinParser.FloatLiteralContext) child);
         throw new GremlinParserException("Invalid numeric");
     }
 
@@ -475,6 +507,11 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
         // Using Java string unescaping because it coincides with the Groovy rules:
         // https://docs.oracle.com/javase/tutorial/java/data/characters.html
         // http://groovy-lang.org/syntax.html#_escaping_special_characters
+        final ParseTree child = ctx.getChild(0);
+        if (child instanceof TerminalNode && ((TerminalNode) child).getSymbol().getType() == GremlinParser.StringLiteral) {
+            return unescape(child.getText());
+        }
+
         if (ctx.gremlinStringConstants() != null) {
             return GremlinStringConstantsVisitor.instance().visitChildren(ctx);
         }
@@ -483,7 +520,7 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
             return GremlinStringConstantsVisitor.instance().visitChildren(ctx);
         }
 
-        return StringEscapeUtils.unescapeJava(stripQuotes(ctx.getText()));
+        return unescape(ctx.getText());
     }
 
     /**
@@ -491,7 +528,15 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
      */
     @Override
     public Object visitStringLiteral(final GremlinParser.StringLiteralContext ctx) {
-        return StringEscapeUtils.unescapeJava(stripQuotes(ctx.getText()));
+        return unescape(ctx.getText());
+    }
+
+    /**
+     * Strips the quotes off a string literal and unescapes it, which is only needed if it has a backslash at all.
+     */
+    private static String unescape(final String quotedString) {
+        final String s = stripQuotes(quotedString);
+        return s.indexOf('\\') < 0 ? s : StringEscapeUtils.unescapeJava(s);
     }
 
     /**
@@ -589,16 +634,11 @@ public class GenericLiteralVisitor extends DefaultGremlinBaseVisitor<Object> {
      */
     @Override
     public Object visitGenericLiteralCollection(final GremlinParser.GenericLiteralCollectionContext ctx) {
-        final List<Object> result = new ArrayList<>(ctx.getChildCount() / 2);
-        // first child is "[", so start from 2nd child
-        int childIndex = 1;
+        // first child is "[" and the last is "]", so the literals are every other child in between
         final int childCount = ctx.getChildCount();
-        if (childCount > 2) {
-            while (childIndex < childCount) {
-                result.add(visitGenericLiteral((GremlinParser.GenericLiteralContext) ctx.getChild(childIndex)));
-                // comma is also child, so we need skip it.
-                childIndex += 2;
-            }
+        final List<Object> result = new ArrayList<>(childCount / 2);
+        for (int childIndex = 1; childIndex < childCount - 1; childIndex += 2) {
+            result.add(visitGenericLiteral((GremlinParser.GenericLiteralContext) ctx.getChild(childIndex)));
         }
         return result;
     }
@@ -18,9 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.language.grammar;
 
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
 import org.antlr.v4.runtime.atn.PredictionMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,14 +41,24 @@ public class GremlinQueryParser {
         lexer.removeErrorListeners();
         lexer.addErrorListener(errorListener);
 
+        // lex the whole query up front so that both parsing stages below work from the same buffered tokens and
+        // a lexer error fails the query right away rather than forcing the retry
         final CommonTokenStream tokens = new CommonTokenStream(lexer);
+        try {
+            tokens.fill();
+        } catch (Exception ex) {
+            log.debug("Query lexing failed with exception" + ex);
+            throw new GremlinParserException("Failed to interpret Gremlin query: " + ex.getMessage());
+        }
 
         // Setup error handler on parser
         final GremlinParser parser = new GremlinParser(tokens);
         // SLL prediction mode is faster than the LL prediction mode when parsing the grammar,
         // but it does not cover parsing all types of input.  We use the SLL by default, and fallback
-        // to LL mode if fails to parse the query.
+        // to LL mode if fails to parse the query. The first stage bails out on the first error it meets as there
+        // is no point in trying to recover from an error that the LL stage might not have.
         parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
         parser.removeErrorListeners();
         parser.addErrorListener(errorListener);
 
@@ -57,9 +69,8 @@ public class GremlinQueryParser {
             // Retry parsing the query again with using LL prediction mode.  LL parsing mode is more powerful
             // so retrying the parsing would help parsing the rare edge cases.
             try {
-                tokens.seek(0); // rewind input stream
-                lexer.reset();
-                parser.reset();
+                parser.reset(); // rewinds the token stream
+                parser.setErrorHandler(new DefaultErrorStrategy());
                 parser.getInterpreter().setPredictionMode(PredictionMode.LL);
                 log.debug("Query parsed with using LL prediction mode: {}", query);
                 queryContext = parser.queryList();
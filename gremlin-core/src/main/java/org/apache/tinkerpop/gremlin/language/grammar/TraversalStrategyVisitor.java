@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.AbstractWarningVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.EdgeLabelVerificationStrategy;
@@ -64,6 +65,8 @@ public class TraversalStrategyVisitor extends DefaultGremlinBaseVisitor<Traversa
                 return new SeedStrategy(Long.parseLong(ctx.integerLiteral().getText()));
             else if (strategyName.equals(ProductiveByStrategy.class.getSimpleName()))
                 return getProductiveByStrategy(ctx.traversalStrategyArgs_ProductiveByStrategy());
+            else if (strategyName.equals(ParallelStrategy.class.getSimpleName()))
+                return getParallelStrategy(ctx.traversalStrategyArgs_ParallelStrategy());
         }
         throw new IllegalStateException("Unexpected TraversalStrategy specification - " + ctx.getText());
     }
@@ -87,6 +90,13 @@ public class TraversalStrategyVisitor extends DefaultGremlinBaseVisitor<Traversa
         return builder.create();
     }
 
+    private static ParallelStrategy getParallelStrategy(final GremlinParser.TraversalStrategyArgs_ParallelStrategyContext ctx) {
+        final ParallelStrategy.Builder builder = ParallelStrategy.build();
+        if (ctx != null)
+            builder.batchSize(Integer.parseInt(ctx.integerLiteral().getText()));
+        return builder.create();
+    }
+
     private static ReservedKeysVerificationStrategy getReservedKeysVerificationStrategy(final List<GremlinParser.TraversalStrategyArgs_ReservedKeysVerificationStrategyContext> ctxs) {
         if (null == ctxs || ctxs.isEmpty())
             return ReservedKeysVerificationStrategy.build().create();
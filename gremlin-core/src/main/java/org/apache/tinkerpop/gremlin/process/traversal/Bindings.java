@@ -43,9 +43,17 @@ public final class Bindings {
     private static final Bindings INSTANCE = new Bindings();
     private static final ThreadLocal<Map<Object, String>> MAP = new ThreadLocal<>();
 
+    /**
+     * Set once any binding is declared so that bytecode construction doesn't need to touch the thread local in the
+     * common case where bindings are never used. Bindings are declared and retrieved by the same thread so this
+     * doesn't need to be seen by other threads to be correct.
+     */
+    private static volatile boolean used = false;
+
     private Bindings() {}
 
     public <V> V of(final String variable, final V value) {
+        if (!used) used = true;
         Map<Object, String> map = MAP.get();
         if (null == map) {
             map = new HashMap<>();
@@ -63,6 +71,16 @@ public final class Bindings {
         return null == map ? null : map.remove(value);
     }
 
+    /**
+     * Determines if there are variables bound on the current thread that have not been retrieved yet, which spares
+     * looking each argument up when there are none.
+     */
+    static boolean hasBoundVariables() {
+        if (!used) return false;
+        final Map<Object, String> map = MAP.get();
+        return null != map && !map.isEmpty();
+    }
+
     protected static void clear() {
         final Map<Object, String> map = MAP.get();
         if (null != map)
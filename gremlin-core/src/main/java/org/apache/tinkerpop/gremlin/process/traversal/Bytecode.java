@@ -53,6 +53,7 @@ public final class Bytecode implements Cloneable, Serializable {
 
     private List<Instruction> sourceInstructions = new ArrayList<>();
     private List<Instruction> stepInstructions = new ArrayList<>();
+    private boolean recordingSteps = true;
 
     public Bytecode() {}
 
@@ -91,7 +92,31 @@ public final class Bytecode implements Cloneable, Serializable {
      * @param arguments the traversal method arguments
      */
     public void addStep(final String stepName, final Object... arguments) {
-        this.stepInstructions.add(new Instruction(stepName, flattenArguments(arguments)));
+        if (this.recordingSteps)
+            this.stepInstructions.add(new Instruction(stepName, flattenArguments(arguments)));
+    }
+
+    /**
+     * Creates a copy of this bytecode that keeps its {@link TraversalSource} instructions but ignores any
+     * {@link Traversal} instruction added to it. Traversals spawned with such bytecode skip recording their steps,
+     * which is only safe when they are executed in the JVM that constructed them, as they can't be sent to a remote,
+     * translated or serialized. Reading the step instructions of the copy throws an {@code IllegalStateException}.
+     *
+     * @return a copy of this bytecode that does not record steps
+     */
+    public Bytecode withoutStepRecording() {
+        final Bytecode clone = this.clone();
+        clone.recordingSteps = false;
+        clone.stepInstructions.clear();
+        return clone;
+    }
+
+    /**
+     * Determines if {@link Traversal} instructions are recorded by this bytecode, which is the case unless it was
+     * created by {@link #withoutStepRecording()}.
+     */
+    public boolean isRecordingSteps() {
+        return this.recordingSteps;
     }
 
     /**
@@ -109,6 +134,7 @@ public final class Bytecode implements Cloneable, Serializable {
      * @return an iterable of instructions
      */
     public List<Instruction> getStepInstructions() {
+        assertRecordingSteps();
         return this.stepInstructions;
     }
 
@@ -119,6 +145,7 @@ public final class Bytecode implements Cloneable, Serializable {
      * @return an interable of all the instructions in this bytecode
      */
     public Iterable<Instruction> getInstructions() {
+        assertRecordingSteps();
         return () -> IteratorUtils.concat(this.sourceInstructions.iterator(), this.stepInstructions.iterator());
     }
 
@@ -128,6 +155,7 @@ public final class Bytecode implements Cloneable, Serializable {
      * @return a map of string variable and object value bindings
      */
     public Map<String, Object> getBindings() {
+        assertRecordingSteps();
         final Map<String, Object> bindingsMap = new HashMap<>();
         for (final Instruction instruction : this.sourceInstructions) {
             for (final Object argument : instruction.getArguments()) {
@@ -146,6 +174,11 @@ public final class Bytecode implements Cloneable, Serializable {
         return this.sourceInstructions.isEmpty() && this.stepInstructions.isEmpty();
     }
 
+    private void assertRecordingSteps() {
+        if (!this.recordingSteps)
+            throw new IllegalStateException("The steps of this bytecode were not recorded so the traversal can only be executed where it was constructed");
+    }
+
     private static final void addArgumentBinding(final Map<String, Object> bindingsMap, final Object argument) {
         if (argument instanceof Binding)
             bindingsMap.put(((Binding) argument).key, ((Binding) argument).value);
@@ -164,7 +197,7 @@ public final class Bytecode implements Cloneable, Serializable {
 
     @Override
     public String toString() {
-        return Arrays.asList(this.sourceInstructions, this.stepInstructions).toString();
+        return Arrays.asList(this.sourceInstructions, this.recordingSteps ? this.stepInstructions : "not recorded").toString();
     }
 
     @Override
@@ -172,13 +205,14 @@ public final class Bytecode implements Cloneable, Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final Bytecode bytecode = (Bytecode) o;
-        return Objects.equals(sourceInstructions, bytecode.sourceInstructions) &&
+        return recordingSteps == bytecode.recordingSteps &&
+                Objects.equals(sourceInstructions, bytecode.sourceInstructions) &&
                 Objects.equals(stepInstructions, bytecode.stepInstructions);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(sourceInstructions, stepInstructions);
+        return Objects.hash(sourceInstructions, stepInstructions, recordingSteps);
     }
 
     @SuppressWarnings("CloneDoesntDeclareCloneNotSupportedException")
@@ -277,16 +311,26 @@ public final class Bytecode implements Cloneable, Serializable {
     private final Object[] flattenArguments(final Object... arguments) {
         if (arguments == null || arguments.length == 0)
             return EMPTY_ARRAY;
-        final List<Object> flatArguments = new ArrayList<>(arguments.length);
+
+        // this is called for every step of every traversal that gets constructed so it sizes the array up front
+        // rather than growing a list, and only searches for bindings if any were declared on this thread
+        int size = 0;
+        for (final Object object : arguments) {
+            size += object instanceof Object[] ? ((Object[]) object).length : 1;
+        }
+
+        final boolean searchBindings = Bindings.hasBoundVariables();
+        final Object[] flatArguments = new Object[size];
+        int i = 0;
         for (final Object object : arguments) {
             if (object instanceof Object[]) {
                 for (final Object nestObject : (Object[]) object) {
-                    flatArguments.add(convertArgument(nestObject, true));
+                    flatArguments[i++] = convertArgument(nestObject, searchBindings);
                 }
             } else
-                flatArguments.add(convertArgument(object, true));
+                flatArguments[i++] = convertArgument(object, searchBindings);
         }
-        return flatArguments.toArray();
+        return flatArguments;
     }
 
     private final Object convertArgument(final Object argument, final boolean searchBindings) {
@@ -306,19 +350,19 @@ public final class Bytecode implements Cloneable, Serializable {
         } else if (argument instanceof Map) {
             final Map<Object, Object> map = new LinkedHashMap<>(((Map) argument).size());
             for (final Map.Entry<?, ?> entry : ((Map<?, ?>) argument).entrySet()) {
-                map.put(convertArgument(entry.getKey(), true), convertArgument(entry.getValue(), true));
+                map.put(convertArgument(entry.getKey(), searchBindings), convertArgument(entry.getValue(), searchBindings));
             }
             return map;
         } else if (argument instanceof List) {
             final List<Object> list = new ArrayList<>(((List) argument).size());
             for (final Object item : (List) argument) {
-                list.add(convertArgument(item, true));
+                list.add(convertArgument(item, searchBindings));
             }
             return list;
         } else if (argument instanceof Set) {
             final Set<Object> set = new LinkedHashSet<>(((Set) argument).size());
             for (final Object item : (Set) argument) {
-                set.add(convertArgument(item, true));
+                set.add(convertArgument(item, searchBindings));
             }
             return set;
         } else
@@ -300,6 +300,23 @@ public class GraphTraversalSource implements TraversalSource {
         return clone;
     }
 
+    /**
+     * Spawns traversals that do not record the {@link Bytecode} of their steps, which spares the cost of recording
+     * for traversals that are only ever executed in the JVM that constructs them. The resulting traversals cannot
+     * be sent to a remote, translated or serialized. Child traversals spawned from {@link __} still record their
+     * steps as they are constructed before they are added to the parent.
+     *
+     * @throws IllegalStateException if the traversal source is connected to a remote
+     * @see Bytecode#withoutStepRecording()
+     */
+    public GraphTraversalSource withoutBytecode() {
+        if (null != this.connection || this.strategies.getStrategy(RemoteStrategy.class).isPresent())
+            throw new IllegalStateException("A remote traversal source must record the bytecode of its traversals");
+        final GraphTraversalSource clone = this.clone();
+        clone.bytecode = clone.bytecode.withoutStepRecording();
+        return clone;
+    }
+
     //// SPAWNS
 
     /**
@@ -58,7 +58,7 @@ public class DropStep<S> extends FilterStep<S> implements Mutating<Event> {
                 else if (s instanceof Edge)
                     removeEvent = new Event.EdgeRemovedEvent(eventStrategy.detach((Edge) s));
                 else if (s instanceof VertexProperty)
-                    removeEvent = new Event.VertexPropertyRemovedEvent(eventStrategy.detach((VertexProperty) s));
+                    removeEvent = new Event.VertexPropertyRemovedEvent(eventStrategy.detach((VertexProperty) s), vertexIdOf((VertexProperty) s));
                 else
                     throw new IllegalStateException("The incoming object is not removable: " + s);
 
@@ -74,7 +74,8 @@ public class DropStep<S> extends FilterStep<S> implements Mutating<Event> {
                 if (toRemove.element() instanceof Edge)
                     removeEvent = new Event.EdgePropertyRemovedEvent(eventStrategy.detach((Edge) toRemove.element()), eventStrategy.detach(toRemove));
                 else if (toRemove.element() instanceof VertexProperty)
-                    removeEvent = new Event.VertexPropertyPropertyRemovedEvent(eventStrategy.detach((VertexProperty) toRemove.element()), eventStrategy.detach(toRemove));
+                    removeEvent = new Event.VertexPropertyPropertyRemovedEvent(eventStrategy.detach((VertexProperty) toRemove.element()),
+                            vertexIdOf((VertexProperty) toRemove.element()), eventStrategy.detach(toRemove));
                 else
                     throw new IllegalStateException("The incoming object is not removable: " + s);
 
@@ -104,4 +105,11 @@ public class DropStep<S> extends FilterStep<S> implements Mutating<Event> {
     public Parameters getParameters() {
         return Parameters.EMPTY;
     }
+
+    /**
+     * Gets the id of the vertex of the property before it is detached for an event, which may lose it.
+     */
+    private static Object vertexIdOf(final VertexProperty vertexProperty) {
+        return null == vertexProperty.element() ? null : vertexProperty.element().id();
+    }
 }
@@ -24,19 +24,25 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
@@ -49,17 +55,21 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -79,8 +89,11 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     private final String computedStartLabel;
     private MatchAlgorithm matchAlgorithm;
     private Class<? extends MatchAlgorithm> matchAlgorithmClass = CountMatchAlgorithm.class; // default is CountMatchAlgorithm (use MatchAlgorithmStrategy to change)
+    private int maxTableSize = HashJoinMatchAlgorithm.DEFAULT_MAX_TABLE_SIZE; // only used by the HashJoinMatchAlgorithm
     private Map<String, Set<String>> referencedLabelsMap; // memoization of referenced labels for MatchEndSteps (Map<startStepId, referencedLabels>)
 
+    private Iterator<Traverser.Admin<Map<String, E>>> hashJoinResults = Collections.emptyIterator();
+
     private Set<List<Object>> dedups = null;
     private Set<String> dedupLabels = null;
     private Set<String> keepLabels = null;
@@ -227,12 +240,20 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     public void reset() {
         super.reset();
         this.first = true;
+        this.hashJoinResults = Collections.emptyIterator();
     }
 
     public void setMatchAlgorithm(final Class<? extends MatchAlgorithm> matchAlgorithmClass) {
         this.matchAlgorithmClass = matchAlgorithmClass;
     }
 
+    /**
+     * Sets the number of bindings the tables of a {@link HashJoinMatchAlgorithm} may hold before they are cleared.
+     */
+    public void setMaxTableSize(final int maxTableSize) {
+        this.maxTableSize = maxTableSize;
+    }
+
     public MatchAlgorithm getMatchAlgorithm() {
         if (null == this.matchAlgorithm)
             this.initializeMatchAlgorithm(this.traverserStepIdAndLabelsSetByChild);
@@ -248,6 +269,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         }
         if (this.dedups != null) clone.dedups = new HashSet<>();
         clone.standardAlgorithmBarrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        clone.hashJoinResults = Collections.emptyIterator();
         return clone;
     }
 
@@ -329,6 +351,8 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
+        if (this.matchAlgorithm instanceof HashJoinMatchAlgorithm)
+            ((HashJoinMatchAlgorithm) this.matchAlgorithm).maxTableSize = this.maxTableSize;
         this.matchAlgorithm.initialize(onComputer, this.matchTraversals);
     }
 
@@ -356,16 +380,31 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
 
     private TraverserSet standardAlgorithmBarrier;
 
+    private void prepareMatchAlgorithm(final boolean onComputer) {
+        this.first = false;
+        this.initializeMatchAlgorithm(onComputer);
+        if (null != this.keepLabels &&
+                this.keepLabels.containsAll(this.matchEndLabels) &&
+                this.keepLabels.containsAll(this.matchStartLabels))
+            this.keepLabels = null;
+    }
+
+    private void tagStart(final Traverser.Admin traverser) {
+        if (!traverser.getTags().contains(this.getId())) {
+            traverser.getTags().add(this.getId()); // so the traverser never returns to this branch ever again
+            if (!this.hasPathLabel(traverser.path(), this.matchStartLabels))
+                traverser.addLabels(Collections.singleton(this.computedStartLabel)); // if the traverser doesn't have a legal start, then provide it the pre-computed one
+        }
+    }
+
     @Override
     protected Iterator<Traverser.Admin<Map<String, E>>> standardAlgorithm() throws NoSuchElementException {
+        if (this.connective == ConnectiveStep.Connective.AND && HashJoinMatchAlgorithm.class.isAssignableFrom(this.matchAlgorithmClass))
+            return this.hashJoinAlgorithm();
+
         while (true) {
             if (this.first) {
-                this.first = false;
-                this.initializeMatchAlgorithm(false);
-                if (null != this.keepLabels &&
-                        this.keepLabels.containsAll(this.matchEndLabels) &&
-                        this.keepLabels.containsAll(this.matchStartLabels))
-                    this.keepLabels = null;
+                this.prepareMatchAlgorithm(false);
             } else { // TODO: if(standardAlgorithmBarrier.isEmpty()) -- leads to consistent counts without retracting paths, but orders of magnitude slower (or make Traverser.tags an equality concept)
                 boolean stop = false;
                 for (final Traversal.Admin<?, ?> matchTraversal : this.matchTraversals) {
@@ -382,11 +421,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             final Traverser.Admin traverser;
             if (this.standardAlgorithmBarrier.isEmpty()) {
                 traverser = this.starts.next();
-                if (!traverser.getTags().contains(this.getId())) {
-                    traverser.getTags().add(this.getId()); // so the traverser never returns to this branch ever again
-                    if (!this.hasPathLabel(traverser.path(), this.matchStartLabels))
-                        traverser.addLabels(Collections.singleton(this.computedStartLabel)); // if the traverser doesn't have a legal start, then provide it the pre-computed one
-                }
+                this.tagStart(traverser);
             } else
                 traverser = this.standardAlgorithmBarrier.remove();
 
@@ -410,23 +445,114 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         }
     }
 
+    /**
+     * Solves the patterns for a batch of starts at a time. Traversers are routed by the {@link HashJoinMatchAlgorithm}
+     * as they are by the {@link CountMatchAlgorithm}, but each pattern then processes all the traversers waiting for
+     * it at once. A pattern that the algorithm can hash resolves its bindings from a table keyed by the value of its
+     * start label, which is filled by evaluating the pattern once per distinct value, and joins on its end label with
+     * a lookup in that table. Any other pattern is evaluated per traverser as it would be otherwise.
+     */
+    private Iterator<Traverser.Admin<Map<String, E>>> hashJoinAlgorithm() throws NoSuchElementException {
+        if (this.first)
+            this.prepareMatchAlgorithm(false);
+
+        while (!this.hashJoinResults.hasNext()) {
+            final List<Traverser.Admin<Object>> batch = new ArrayList<>();
+            batch.add((Traverser.Admin) this.starts.next());
+            while (batch.size() < PathRetractionStrategy.MAX_BARRIER_SIZE && this.starts.hasNext()) {
+                batch.add((Traverser.Admin) this.starts.next());
+            }
+            this.hashJoinResults = this.joinBatch(batch).iterator();
+        }
+        return this.hashJoinResults;
+    }
+
+    private List<Traverser.Admin<Map<String, E>>> joinBatch(final List<Traverser.Admin<Object>> batch) {
+        final HashJoinMatchAlgorithm algorithm = (HashJoinMatchAlgorithm) this.getMatchAlgorithm();
+        final List<Traverser.Admin<Map<String, E>>> results = new ArrayList<>();
+        final Map<Traversal.Admin<Object, Object>, List<Traverser.Admin<Object>>> waiting = new LinkedHashMap<>();
+        batch.forEach(this::tagStart);
+
+        List<Traverser.Admin<Object>> traversers = batch;
+        while (true) {
+            for (final Traverser.Admin traverser : traversers) {
+                if (this.isDuplicate(traverser))
+                    continue;
+                if (this.hasMatched(this.connective, traverser)) {
+                    results.add(traverser.split(this.getBindings(traverser), this));
+                    continue;
+                }
+                final Traversal.Admin<Object, Object> matchTraversal = algorithm.apply(traverser);
+                traverser.getTags().add(matchTraversal.getStartStep().getId());
+                waiting.computeIfAbsent(matchTraversal, k -> new ArrayList<>()).add(traverser);
+            }
+            if (waiting.isEmpty())
+                return results;
+
+            final Iterator<Map.Entry<Traversal.Admin<Object, Object>, List<Traverser.Admin<Object>>>> iterator = waiting.entrySet().iterator();
+            final Map.Entry<Traversal.Admin<Object, Object>, List<Traverser.Admin<Object>>> next = iterator.next();
+            iterator.remove();
+            traversers = algorithm.isHashed(next.getKey()) ?
+                    this.hashJoin(algorithm, next.getKey(), next.getValue()) :
+                    this.evaluate(next.getKey(), next.getValue());
+        }
+    }
+
+    private List<Traverser.Admin<Object>> evaluate(final Traversal.Admin<Object, Object> matchTraversal, final List<Traverser.Admin<Object>> traversers) {
+        traversers.forEach(matchTraversal::addStart);
+        final List<Traverser.Admin<Object>> ends = new ArrayList<>();
+        while (matchTraversal.hasNext()) {
+            ends.add(matchTraversal.nextTraverser());
+        }
+        return ends;
+    }
+
+    private List<Traverser.Admin<Object>> hashJoin(final HashJoinMatchAlgorithm algorithm, final Traversal.Admin<Object, Object> matchTraversal,
+                                                   final List<Traverser.Admin<Object>> traversers) {
+        final MatchStartStep startStep = (MatchStartStep) matchTraversal.getStartStep();
+        final MatchEndStep endStep = (MatchEndStep) matchTraversal.getEndStep();
+        endStep.parent = this;
+        final String startKey = startStep.selectKey;
+        final String endKey = endStep.matchKey;
+
+        final List<Traverser.Admin<Object>> ends = new ArrayList<>();
+        for (final Traverser.Admin<Object> traverser : traversers) {
+            algorithm.recordStart(traverser, matchTraversal);
+            final Path path = traverser.path();
+            final Map<Object, Long> bindings = algorithm.getBindings(matchTraversal, path.get(Pop.last, startKey), traverser);
+            if (null != endKey && path.hasLabel(endKey)) {
+                // the end label is already bound so join on it
+                final Object end = path.get(Pop.last, endKey);
+                final Long bulk = bindings.get(end);
+                if (null != bulk)
+                    ends.add(this.bindEnd(algorithm, matchTraversal, endStep, traverser, end, bulk));
+            } else {
+                for (final Map.Entry<Object, Long> binding : bindings.entrySet()) {
+                    ends.add(this.bindEnd(algorithm, matchTraversal, endStep, traverser, binding.getKey(), binding.getValue()));
+                }
+            }
+        }
+        return ends;
+    }
+
+    private Traverser.Admin<Object> bindEnd(final HashJoinMatchAlgorithm algorithm, final Traversal.Admin<Object, Object> matchTraversal,
+                                            final MatchEndStep endStep, final Traverser.Admin<Object> traverser,
+                                            final Object end, final long bulk) {
+        final Traverser.Admin<Object> split = traverser.split(end, endStep);
+        split.setBulk(traverser.bulk() * bulk);
+        split.setStepId(this.getId());
+        split.addLabels(endStep.matchKeyCollection);
+        algorithm.recordEnd(split, matchTraversal);
+        return endStep.retractUnnecessaryLabels(split);
+    }
+
     @Override
     protected Iterator<Traverser.Admin<Map<String, E>>> computerAlgorithm() throws NoSuchElementException {
         while (true) {
-            if (this.first) {
-                this.first = false;
-                this.initializeMatchAlgorithm(true);
-                if (null != this.keepLabels &&
-                        this.keepLabels.containsAll(this.matchEndLabels) &&
-                        this.keepLabels.containsAll(this.matchStartLabels))
-                    this.keepLabels = null;
-            }
+            if (this.first)
+                this.prepareMatchAlgorithm(true);
             final Traverser.Admin traverser = this.starts.next();
-            if (!traverser.getTags().contains(this.getId())) {
-                traverser.getTags().add(this.getId()); // so the traverser never returns to this branch ever again
-                if (!this.hasPathLabel(traverser.path(), this.matchStartLabels))
-                    traverser.addLabels(Collections.singleton(this.computedStartLabel)); // if the traverser doesn't have a legal start, then provide it the pre-computed one
-            }
+            this.tagStart(traverser);
             ///
             if (!this.isDuplicate(traverser)) {
                 if (hasMatched(this.connective, traverser)) {
@@ -815,4 +941,117 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * A {@link MatchAlgorithm} that has the {@link MatchStep} solve its patterns for batches of traversers, joining
+     * them with hash tables rather than evaluating every pattern once per traverser. Patterns are ordered as they are
+     * by the {@link CountMatchAlgorithm}. A pattern whose result only depends on the value of its start label, that is
+     * one with no labels, path or side-effect access, lambdas, randomness or mutations between its start and its end,
+     * is evaluated once for each distinct start value and the resulting end values are kept in a table for the
+     * remaining traversers to join against. All other patterns, as well as all patterns of a traversal that needs
+     * full paths or mutates the graph, are evaluated per traverser. The tables of a step hold at most
+     * {@link #DEFAULT_MAX_TABLE_SIZE} bindings, or the {@code maxTableSize} configured on the
+     * {@link MatchAlgorithmStrategy}, after which they are cleared and refilled on demand. On a
+     * {@code GraphComputer} this algorithm behaves as the {@link CountMatchAlgorithm}.
+     *
+     * @example <pre>
+     * g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.HashJoinMatchAlgorithm.class).create()).
+     *   V().match(as('a').out('knows').as('b'), as('b').out('created').as('c'))
+     * </pre>
+     */
+    public static class HashJoinMatchAlgorithm extends CountMatchAlgorithm {
+
+        public static final int DEFAULT_MAX_TABLE_SIZE = 1_000_000;
+
+        private static final Set<TraverserRequirement> UNHASHABLE_REQUIREMENTS = new HashSet<>(Arrays.asList(
+                TraverserRequirement.PATH, TraverserRequirement.LABELED_PATH, TraverserRequirement.SACK,
+                TraverserRequirement.SIDE_EFFECTS, TraverserRequirement.SINGLE_LOOP, TraverserRequirement.NESTED_LOOP));
+
+        private static final Predicate<Step> UNHASHABLE_STEP = step -> !step.getLabels().isEmpty() ||
+                step instanceof Scoping || step instanceof PathProcessor || step instanceof LambdaHolder ||
+                step instanceof Mutating || step instanceof Seedable || step instanceof SideEffectCapable ||
+                step instanceof SideEffectStep || step instanceof ProfileStep || step instanceof MatchStep ||
+                !Collections.disjoint(step.getRequirements(), UNHASHABLE_REQUIREMENTS);
+
+        protected Map<Traversal.Admin<Object, Object>, Map<Object, Map<Object, Long>>> tables;
+        protected long tableSize = 0;
+        protected int maxTableSize = DEFAULT_MAX_TABLE_SIZE;
+
+        @Override
+        public void initialize(final boolean onComputer, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(onComputer, traversals);
+            this.tables = new IdentityHashMap<>();
+            if (onComputer || traversals.isEmpty())
+                return;
+
+            final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(traversals.get(0));
+            if (root.getTraverserRequirements().contains(TraverserRequirement.PATH) ||
+                    TraversalHelper.hasStepOfAssignableClassRecursively(Mutating.class, root))
+                return;
+
+            for (final Traversal.Admin<Object, Object> traversal : traversals) {
+                if (isHashable(traversal))
+                    this.tables.put(traversal, new HashMap<>());
+            }
+        }
+
+        private static boolean isHashable(final Traversal.Admin<Object, Object> traversal) {
+            final List<Step> steps = traversal.getSteps();
+            if (steps.size() < 3 || !(steps.get(0) instanceof MatchStartStep) ||
+                    null == ((MatchStartStep) steps.get(0)).selectKey ||
+                    !(steps.get(steps.size() - 1) instanceof MatchEndStep))
+                return false;
+
+            for (final Step<?, ?> step : steps.subList(1, steps.size() - 1)) {
+                if (UNHASHABLE_STEP.test(step) ||
+                        (step instanceof TraversalParent && TraversalHelper.anyStepRecursively(UNHASHABLE_STEP, (TraversalParent) step)))
+                    return false;
+            }
+            return true;
+        }
+
+        /**
+         * Determines if the bindings of the pattern are resolved through {@link #getBindings}.
+         */
+        public boolean isHashed(final Traversal.Admin<Object, Object> traversal) {
+            return this.tables.containsKey(traversal);
+        }
+
+        /**
+         * Gets the end values, with their multiplicity, that the pattern produces for the start value, evaluating the
+         * pattern for the traverser if the start value has not been seen before.
+         */
+        public Map<Object, Long> getBindings(final Traversal.Admin<Object, Object> traversal, final Object start,
+                                             final Traverser.Admin<Object> traverser) {
+            final Map<Object, Map<Object, Long>> table = this.tables.get(traversal);
+            Map<Object, Long> bindings = table.get(start);
+            if (null == bindings) {
+                bindings = evaluate(traversal, start, traverser);
+                if (this.tableSize + bindings.size() > this.maxTableSize) {
+                    this.tables.values().forEach(Map::clear);
+                    this.tableSize = 0;
+                }
+                table.put(start, bindings);
+                this.tableSize += bindings.size();
+            }
+            return bindings;
+        }
+
+        private static Map<Object, Long> evaluate(final Traversal.Admin<Object, Object> traversal, final Object start,
+                                                  final Traverser.Admin<Object> traverser) {
+            // run the steps between the start and the end of the pattern, which don't look at the path of the traverser
+            final Step<Object, Object> first = (Step<Object, Object>) traversal.getStartStep().getNextStep();
+            final Step<Object, Object> last = (Step<Object, Object>) traversal.getEndStep().getPreviousStep();
+            final Traverser.Admin<Object> seed = traverser.split(start, (Step<Object, Object>) traversal.getStartStep());
+            seed.setBulk(1L);
+            first.addStart(seed);
+
+            final Map<Object, Long> bindings = new LinkedHashMap<>();
+            while (last.hasNext()) {
+                final Traverser.Admin<Object> end = last.next();
+                bindings.merge(end.get(), end.bulk(), Long::sum);
+            }
+            return bindings;
+        }
+    }
 }
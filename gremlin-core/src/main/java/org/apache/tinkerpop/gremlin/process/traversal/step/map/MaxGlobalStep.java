@@ -39,10 +39,25 @@ public final class MaxGlobalStep<S extends Comparable> extends ReducingBarrierSt
         this.setReducingBiOperator((BinaryOperator) Operator.max);
     }
 
+    /**
+     * Reduces the starts in a primitive for as long as they are all of the same numeric class, which yields the same
+     * result as the {@link Operator#max} that is used to merge barriers.
+     */
     @Override
     public void processAllStarts() {
-        if (this.starts.hasNext())
+        if (!this.starts.hasNext())
+            return;
+        if (null != this.seedSupplier) {
             super.processAllStarts();
+            return;
+        }
+
+        this.hasProcessedOnce = true;
+        final NumberAccumulator accumulator = new NumberAccumulator(NumberAccumulator.Reduction.MAX);
+        while (this.starts.hasNext()) {
+            accumulator.add(this.starts.next().get(), 1L);
+        }
+        this.addBarrier((S) accumulator.get());
     }
 
     @Override
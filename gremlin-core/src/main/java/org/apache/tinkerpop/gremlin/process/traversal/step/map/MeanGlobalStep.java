@@ -61,10 +61,27 @@ public final class MeanGlobalStep<S extends Number, E extends Number> extends Re
         return e;
     }
 
+    /**
+     * Sums the starts into a primitive for as long as they are all integral or all floating point and merges that sum
+     * as a single {@link MeanNumber}.
+     */
     @Override
     public void processAllStarts() {
-        if (this.starts.hasNext())
+        if (!this.starts.hasNext())
+            return;
+        if (null != this.seedSupplier) {
             super.processAllStarts();
+            return;
+        }
+
+        this.hasProcessedOnce = true;
+        final NumberAccumulator accumulator = new NumberAccumulator(NumberAccumulator.Reduction.SUM);
+        while (this.starts.hasNext()) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            accumulator.add(traverser.get(), traverser.bulk());
+        }
+        final Number sum = (Number) accumulator.get();
+        this.addBarrier(null == sum ? null : (E) MeanNumber.ofSum(sum, accumulator.getCount()));
     }
 
     @Override
@@ -119,6 +136,16 @@ public final class MeanGlobalStep<S extends Number, E extends Number> extends Re
             this.sum = mul(number, count);
         }
 
+        /**
+         * Creates a {@code MeanNumber} from a sum of values that were already multiplied by their bulk.
+         */
+        private static MeanNumber ofSum(final Number sum, final long count) {
+            final MeanNumber meanNumber = new MeanNumber();
+            meanNumber.sum = sum;
+            meanNumber.count = count;
+            return meanNumber;
+        }
+
         public MeanNumber add(final Number amount, final long count) {
             this.count += count;
             this.sum = NumberHelper.add(sum, mul(amount, count));
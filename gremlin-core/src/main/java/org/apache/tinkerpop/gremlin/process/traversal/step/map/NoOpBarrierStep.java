@@ -22,10 +22,12 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.util.Collections;
@@ -33,27 +35,76 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * A barrier that gathers up to {@code maxBarrierSize} traversers so that equal traversers are bulked together before
+ * they are passed to the next step.
+ * <p/>
+ * An adaptive barrier, as inserted by {@code LazyBarrierStrategy}, treats {@code maxBarrierSize} as its initial size
+ * and tunes it after every fill that reaches the size limit. The size is doubled, up to
+ * {@link #ADAPTIVE_GROWTH_FACTOR} times the initial size, while the traversers bulk well and the fill is fast. It is
+ * halved, down to {@link #ADAPTIVE_MIN_BARRIER_SIZE}, when the traversers hardly bulk or the fill takes so long that
+ * the barrier adds more latency than it saves. Once a barrier at its minimum size still does not bulk, it is bypassed
+ * and traversers flow straight through it for a while before it probes again with the minimum size.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
+public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S>, Profiling {
+
+    public static final int ADAPTIVE_MIN_BARRIER_SIZE = 64;
+    public static final int ADAPTIVE_GROWTH_FACTOR = 8;
+
+    /**
+     * The ratio of traversers pulled to distinct traversers held above which a barrier is considered to bulk well.
+     */
+    private static final double GROW_BULKING_RATIO = 1.5d;
+
+    /**
+     * The ratio of traversers pulled to distinct traversers held below which a barrier is considered not to bulk.
+     */
+    private static final double SHRINK_BULKING_RATIO = 1.05d;
+
+    private static final long MAX_FILL_NANOS = 10_000_000L;
+    private static final int BYPASS_PROBE_INTERVAL = 16 * ADAPTIVE_MIN_BARRIER_SIZE;
 
     private int maxBarrierSize;
     private TraverserSet<S> barrier;
 
+    private final boolean adaptive;
+    private int barrierSize;
+    private int bypassRemaining = 0;
+    private long totalPulled = 0;
+    private long totalHeld = 0;
+    private int grows = 0;
+    private int shrinks = 0;
+    private int bypasses = 0;
+    private transient MutableMetrics metrics;
+
     public NoOpBarrierStep(final Traversal.Admin traversal) {
         this(traversal, Integer.MAX_VALUE);
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, false);
+    }
+
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final boolean adaptive) {
         super(traversal);
         this.maxBarrierSize = maxBarrierSize;
+        this.adaptive = adaptive && maxBarrierSize != Integer.MAX_VALUE;
+        this.barrierSize = maxBarrierSize;
         this.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
     }
 
     @Override
     protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
-        if (this.barrier.isEmpty())
+        if (this.barrier.isEmpty()) {
+            if (this.bypassRemaining > 0) {
+                final Traverser.Admin<S> traverser = this.starts.next();
+                if (--this.bypassRemaining == 0)
+                    this.updateMetrics();
+                return traverser;
+            }
             this.processAllStarts();
+        }
         return this.barrier.remove();
     }
 
@@ -64,6 +115,11 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
+        if (this.adaptive) {
+            this.processAllStartsAdaptively();
+            return;
+        }
+
         while ((this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize) && this.starts.hasNext()) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
@@ -71,6 +127,65 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
         }
     }
 
+    private void processAllStartsAdaptively() {
+        final int heldBefore = this.barrier.size();
+        final long start = System.nanoTime();
+        int pulled = 0;
+        while (this.barrier.size() < this.barrierSize && this.starts.hasNext()) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
+            this.barrier.add(traverser);
+            pulled++;
+        }
+
+        if (pulled == 0)
+            return;
+
+        final int held = this.barrier.size() - heldBefore;
+        this.totalPulled += pulled;
+        this.totalHeld += held;
+
+        // only a fill that reached the size limit says anything about the size. a partial fill means the starts ran dry
+        if (this.barrier.size() >= this.barrierSize) {
+            final long elapsed = System.nanoTime() - start;
+            final double bulkingRatio = (double) pulled / Math.max(1, held);
+            if (bulkingRatio >= GROW_BULKING_RATIO && elapsed < MAX_FILL_NANOS) {
+                final int grown = (int) Math.min((long) this.barrierSize * 2, (long) this.maxBarrierSize * ADAPTIVE_GROWTH_FACTOR);
+                if (grown > this.barrierSize) {
+                    this.barrierSize = grown;
+                    this.grows++;
+                }
+            } else if (bulkingRatio < SHRINK_BULKING_RATIO || elapsed >= MAX_FILL_NANOS) {
+                final int shrunk = Math.max(this.barrierSize / 2, Math.min(ADAPTIVE_MIN_BARRIER_SIZE, this.maxBarrierSize));
+                if (shrunk < this.barrierSize) {
+                    this.barrierSize = shrunk;
+                    this.shrinks++;
+                } else if (bulkingRatio < SHRINK_BULKING_RATIO) {
+                    // already as small as it gets and still nothing bulks so let traversers through untouched
+                    this.bypassRemaining = BYPASS_PROBE_INTERVAL;
+                    this.bypasses++;
+                }
+            }
+        }
+
+        this.updateMetrics();
+    }
+
+    private void updateMetrics() {
+        if (null == this.metrics)
+            return;
+        this.metrics.setAnnotation("barrierSize", this.barrierSize);
+        this.metrics.setAnnotation("bulkingRatio", Math.round(100d * this.totalPulled / Math.max(1, this.totalHeld)) / 100d);
+        this.metrics.setAnnotation("grows", this.grows);
+        this.metrics.setAnnotation("shrinks", this.shrinks);
+        this.metrics.setAnnotation("bypasses", this.bypasses);
+    }
+
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = this.adaptive ? metrics : null;
+    }
+
     @Override
     public boolean hasNextBarrier() {
         this.processAllStarts();
@@ -98,6 +213,8 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = (TraverserSet<S>) this.traversal.getTraverserSetSupplier().get();
+        clone.resetAdaptiveState();
+        clone.metrics = null;
         return clone;
     }
 
@@ -115,9 +232,42 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.resetAdaptiveState();
+    }
+
+    private void resetAdaptiveState() {
+        this.barrierSize = this.maxBarrierSize;
+        this.bypassRemaining = 0;
+        this.totalPulled = 0;
+        this.totalHeld = 0;
+        this.grows = 0;
+        this.shrinks = 0;
+        this.bypasses = 0;
     }
 
     public int getMaxBarrierSize() {
         return maxBarrierSize;
     }
+
+    /**
+     * Determines if the size of this barrier is tuned at runtime, in which case {@link #getMaxBarrierSize()} is the
+     * size that it starts with.
+     */
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Gets the size that the barrier currently fills up to.
+     */
+    public int getBarrierSize() {
+        return this.barrierSize;
+    }
+
+    /**
+     * Determines if traversers currently pass straight through this barrier without being bulked.
+     */
+    public boolean isBypassed() {
+        return this.bypassRemaining > 0;
+    }
 }
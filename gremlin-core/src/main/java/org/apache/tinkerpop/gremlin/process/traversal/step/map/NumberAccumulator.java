@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
+
+/**
+ * Accumulates the values of the numeric reducing steps into a primitive {@code long} or {@code double} for as long as
+ * the values are of a single primitive kind and only falls back to the boxed arithmetic of {@link NumberHelper} once
+ * a value of another kind shows up. The results are the same as those of a reduction with {@link NumberHelper}: the
+ * fallback continues from the boxed form of the primitive accumulated so far, which is exactly what
+ * {@link NumberHelper} would have produced at that point, and values that {@link NumberHelper} treats specially,
+ * like {@code NaN}, always take the fallback.
+ */
+final class NumberAccumulator {
+
+    enum Reduction {
+        /**
+         * Sums the values multiplied by their bulk which, like {@code NumberHelper.mul(value, bulk)}, widens integral
+         * values to {@code Long} and floating point values to {@code Double}.
+         */
+        SUM,
+
+        /**
+         * Keeps the smallest value, ignoring bulk.
+         */
+        MIN,
+
+        /**
+         * Keeps the largest value, ignoring bulk.
+         */
+        MAX
+    }
+
+    private static final byte EMPTY = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte BOXED = 3;
+
+    private final Reduction reduction;
+    private byte mode = EMPTY;
+    private long longValue;
+    private double doubleValue;
+    private long count;
+    private Object boxed;
+
+    /**
+     * The class of the values accumulated as a primitive. {@code min()} and {@code max()} return a value of this
+     * class so mixing classes, even of the same primitive kind, requires the fallback.
+     */
+    private Class<?> valueClass;
+
+    NumberAccumulator(final Reduction reduction) {
+        this.reduction = reduction;
+    }
+
+    /**
+     * Adds a value with its bulk. A {@code null} value is ignored as it is by the reducing steps.
+     */
+    void add(final Object value, final long bulk) {
+        if (null == value)
+            return;
+
+        this.count += bulk;
+        if (BOXED == this.mode) {
+            this.addBoxed(value, bulk);
+        } else if (isIntegral(value) && (EMPTY == this.mode || (LONG == this.mode && this.isSameClass(value)))) {
+            final long l = ((Number) value).longValue();
+            if (EMPTY == this.mode) {
+                this.mode = LONG;
+                this.valueClass = value.getClass();
+                this.longValue = Reduction.SUM == this.reduction ? l * bulk : l;
+            } else if (Reduction.SUM == this.reduction) {
+                this.longValue += l * bulk;
+            } else if (Reduction.MIN == this.reduction) {
+                this.longValue = this.longValue <= l ? this.longValue : l;
+            } else {
+                this.longValue = this.longValue >= l ? this.longValue : l;
+            }
+        } else if (isFloatingPoint(value) && (EMPTY == this.mode || (DOUBLE == this.mode && this.isSameClass(value)))) {
+            final double d = ((Number) value).doubleValue();
+            if (EMPTY == this.mode) {
+                this.mode = DOUBLE;
+                this.valueClass = value.getClass();
+                this.doubleValue = Reduction.SUM == this.reduction ? d * bulk : d;
+            } else if (Reduction.SUM == this.reduction) {
+                this.doubleValue += d * bulk;
+            } else if (Reduction.MIN == this.reduction) {
+                this.doubleValue = this.doubleValue <= d ? this.doubleValue : d;
+            } else {
+                this.doubleValue = this.doubleValue >= d ? this.doubleValue : d;
+            }
+        } else {
+            this.boxed = this.get();
+            this.mode = BOXED;
+            this.addBoxed(value, bulk);
+        }
+    }
+
+    private void addBoxed(final Object value, final long bulk) {
+        switch (this.reduction) {
+            case SUM:
+                final Number product = NumberHelper.mul((Number) value, bulk);
+                this.boxed = null == this.boxed ? product : NumberHelper.add((Number) this.boxed, product);
+                break;
+            case MIN:
+                this.boxed = NumberHelper.min((Comparable) this.boxed, (Comparable) value);
+                break;
+            case MAX:
+                this.boxed = NumberHelper.max((Comparable) this.boxed, (Comparable) value);
+                break;
+        }
+    }
+
+    private boolean isSameClass(final Object value) {
+        // a sum widens everything of the same primitive kind to the same class anyway
+        return Reduction.SUM == this.reduction || this.valueClass == value.getClass();
+    }
+
+    /**
+     * Gets the sum of the bulks of the non-{@code null} values that were added.
+     */
+    long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the result of the reduction or {@code null} if no non-{@code null} value was added.
+     */
+    Object get() {
+        switch (this.mode) {
+            case LONG:
+                if (Reduction.SUM == this.reduction || Long.class == this.valueClass) return this.longValue;
+                if (Integer.class == this.valueClass) return (int) this.longValue;
+                if (Short.class == this.valueClass) return (short) this.longValue;
+                return (byte) this.longValue;
+            case DOUBLE:
+                if (Reduction.SUM == this.reduction || Double.class == this.valueClass) return this.doubleValue;
+                return (float) this.doubleValue;
+            case BOXED:
+                return this.boxed;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isIntegral(final Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isFloatingPoint(final Object value) {
+        return (value instanceof Double && !Double.isNaN((Double) value)) ||
+                (value instanceof Float && !Float.isNaN((Float) value));
+    }
+}
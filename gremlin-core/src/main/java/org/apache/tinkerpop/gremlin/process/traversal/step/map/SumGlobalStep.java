@@ -60,10 +60,26 @@ public final class SumGlobalStep<S extends Number> extends ReducingBarrierStep<S
         return s;
     }
 
+    /**
+     * Sums the starts into a primitive for as long as they are all integral or all floating point, which yields the
+     * same result as the {@link Operator#sum} that is used to merge barriers.
+     */
     @Override
     public void processAllStarts() {
-        if (this.starts.hasNext())
+        if (!this.starts.hasNext())
+            return;
+        if (null != this.seedSupplier) {
             super.processAllStarts();
+            return;
+        }
+
+        this.hasProcessedOnce = true;
+        final NumberAccumulator accumulator = new NumberAccumulator(NumberAccumulator.Reduction.SUM);
+        while (this.starts.hasNext()) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            accumulator.add(traverser.get(), traverser.bulk());
+        }
+        this.addBarrier((S) accumulator.get());
     }
 
     @Override
@@ -170,7 +170,8 @@ public class AddPropertyStep<S extends Element> extends SideEffectStep<S>
             } else if (element instanceof Edge) {
                 event = new Event.EdgePropertyChangedEvent(es.detach((Edge) element), removedProperty, value);
             } else if (element instanceof VertexProperty) {
-                event = new Event.VertexPropertyPropertyChangedEvent(es.detach((VertexProperty) element), removedProperty, value);
+                event = new Event.VertexPropertyPropertyChangedEvent(es.detach((VertexProperty) element),
+                        vertexIdOf((VertexProperty) element), removedProperty, value);
             } else {
                 throw new IllegalStateException(String.format("The incoming object cannot be processed by change eventing in %s:  %s", AddPropertyStep.class.getName(), element));
             }
@@ -218,4 +219,11 @@ public class AddPropertyStep<S extends Element> extends SideEffectStep<S>
         clone.parameters = this.parameters.clone();
         return clone;
     }
+
+    /**
+     * Gets the id of the vertex of the property before it is detached for an event, which may lose it.
+     */
+    private static Object vertexIdOf(final VertexProperty vertexProperty) {
+        return null == vertexProperty.element() ? null : vertexProperty.element().id();
+    }
 }
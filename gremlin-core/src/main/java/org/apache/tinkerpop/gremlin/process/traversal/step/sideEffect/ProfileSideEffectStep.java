@@ -24,9 +24,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.function.DefaultTraversalMetricsSupplier;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -37,6 +40,7 @@ public final class ProfileSideEffectStep<S> extends SideEffectStep<S> implements
 
     private String sideEffectKey;
     private boolean onGraphComputer = false;
+    private List<MutableMetrics> strategyMetrics = Collections.emptyList();
 
     public ProfileSideEffectStep(final Traversal.Admin traversal, final String sideEffectKey) {
         super(traversal);
@@ -53,6 +57,18 @@ public final class ProfileSideEffectStep<S> extends SideEffectStep<S> implements
         return this.sideEffectKey;
     }
 
+    /**
+     * Sets the metrics of the strategy applications to the profiled traversal which are reported with the
+     * {@link DefaultTraversalMetrics}.
+     */
+    public void setStrategyMetrics(final List<MutableMetrics> strategyMetrics) {
+        this.strategyMetrics = strategyMetrics;
+    }
+
+    public List<MutableMetrics> getStrategyMetrics() {
+        return this.strategyMetrics;
+    }
+
     @Override
     public Traverser.Admin<S> next() {
         Traverser.Admin<S> start = null;
@@ -62,7 +78,7 @@ public final class ProfileSideEffectStep<S> extends SideEffectStep<S> implements
         } finally {
             if (!this.onGraphComputer && start == null) {
                 final DefaultTraversalMetrics m = getTraversalMetricsFromSideEffects();
-                if (!m.isFinalized()) m.setMetrics(this.getTraversal(), false);
+                if (!m.isFinalized()) finalizeMetrics(m, false);
             }
         }
     }
@@ -72,7 +88,7 @@ public final class ProfileSideEffectStep<S> extends SideEffectStep<S> implements
         boolean start = super.hasNext();
         if (!this.onGraphComputer && !start) {
             final DefaultTraversalMetrics m = getTraversalMetricsFromSideEffects();
-            if (!m.isFinalized()) m.setMetrics(this.getTraversal(), false);
+            if (!m.isFinalized()) finalizeMetrics(m, false);
         }
         return start;
     }
@@ -84,10 +100,15 @@ public final class ProfileSideEffectStep<S> extends SideEffectStep<S> implements
     @Override
     public DefaultTraversalMetrics generateFinalResult(final DefaultTraversalMetrics tm) {
         if (this.onGraphComputer && !tm.isFinalized())
-            tm.setMetrics(this.getTraversal(), true);
+            finalizeMetrics(tm, true);
         return tm;
     }
 
+    private void finalizeMetrics(final DefaultTraversalMetrics m, final boolean onGraphComputer) {
+        m.setStrategyMetrics(this.strategyMetrics);
+        m.setMetrics(this.getTraversal(), onGraphComputer);
+    }
+
     @Override
     public void onGraphComputer() {
         onGraphComputer = true;
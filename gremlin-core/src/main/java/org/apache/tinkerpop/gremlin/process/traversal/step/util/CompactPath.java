@@ -0,0 +1,577 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable {@link Path} that shares its prefix with the path it was extended from and interns the label sets of
+ * each of its objects. Every label set is represented by a shared {@link Labels} instance which carries a bitmask of
+ * its labels so that label lookups like {@link #hasLabel(String)} do not need to hash into a {@code Set}. Label bits
+ * come from the {@link LabelTable} of the root traversal, which is built once strategies are applied from the labels
+ * of that traversal only, so a bit is never assigned to a hidden label, to a label that first appears while
+ * traversers are being processed or to a label of another traversal. Labels without a bit, including those beyond
+ * the 63 bits of a table, are still supported but are resolved through their label {@code Set} instead of the
+ * bitmask.
+ * <p/>
+ * Each path segment caches the size of the path and the union of the label bits of its prefix, so {@link #size()}
+ * is constant time and lookups for labels that are not in the path return without walking it. Reads that need the
+ * entire path materialize it into flat arrays sized from the cached length.
+ */
+public final class CompactPath implements Path, Serializable, Cloneable {
+
+    private final CompactPath previousPath;
+    private final Object currentObject;
+    private final Labels currentLabels;
+    private final long pathMask;
+    private final int size;
+
+    /**
+     * Gets an empty path that assigns no label bits, so that all of its labels are resolved through their sets.
+     */
+    public static Path make() {
+        return LabelTable.NONE.emptyPath;
+    }
+
+    /**
+     * Gets an empty path for traversers of the specified step that uses the {@link LabelTable} of its root traversal.
+     */
+    public static Path make(final Step<?, ?> step) {
+        final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(step.getTraversal());
+        return root instanceof DefaultTraversal ? ((DefaultTraversal<?, ?>) root).getPathLabelTable().emptyPath : make();
+    }
+
+    /**
+     * Gets an empty path that uses the same {@link LabelTable} as the specified path if it is a {@code CompactPath}.
+     */
+    public static Path make(final Path path) {
+        return path instanceof CompactPath ? ((CompactPath) path).currentLabels.table.emptyPath : make();
+    }
+
+    private CompactPath(final Labels emptyLabels) {
+        this.previousPath = null;
+        this.currentObject = null;
+        this.currentLabels = emptyLabels;
+        this.pathMask = 0L;
+        this.size = 0;
+    }
+
+    private CompactPath(final CompactPath previousPath, final Object currentObject, final Labels currentLabels) {
+        this.previousPath = previousPath;
+        this.currentObject = currentObject;
+        this.currentLabels = currentLabels;
+        this.pathMask = previousPath.pathMask | currentLabels.mask;
+        this.size = previousPath.size + 1;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
+    @Override
+    public CompactPath clone() {
+        return this;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public <A> A head() {
+        return (A) this.currentObject;
+    }
+
+    @Override
+    public Path extend(final Object object, final Set<String> labels) {
+        return new CompactPath(this, object, this.currentLabels.table.labelsOf(labels));
+    }
+
+    @Override
+    public Path extend(final Set<String> labels) {
+        if (labels.isEmpty() || this.isEmpty())
+            return this;
+        final Labels newLabels = this.currentLabels.union(labels);
+        return newLabels == this.currentLabels ? this : new CompactPath(this.previousPath, this.currentObject, newLabels);
+    }
+
+    /**
+     * Removes the labels from the path, dropping the objects that are left without a label, which like
+     * {@link ImmutablePath#retract(Set)} includes the objects that had no label to begin with.
+     */
+    @Override
+    public Path retract(final Set<String> labels) {
+        if (labels.isEmpty())
+            return this;
+
+        final CompactPath[] segments = this.segments();
+        int unchanged = 0;
+        while (unchanged < segments.length && !segments[unchanged].currentLabels.isEmpty() &&
+                !segments[unchanged].currentLabels.intersects(labels)) {
+            unchanged++;
+        }
+        if (unchanged == segments.length)
+            return this;
+
+        // everything prior to the first segment that is dropped or loses a label is shared as-is
+        CompactPath newPath = 0 == unchanged ? this.currentLabels.table.emptyPath : segments[unchanged - 1];
+        for (int i = unchanged; i < segments.length; i++) {
+            final Labels temp = segments[i].currentLabels.remove(labels);
+            if (!temp.isEmpty())
+                newPath = new CompactPath(newPath, segments[i].currentObject, temp);
+        }
+        return newPath;
+    }
+
+    /**
+     * Retains only the specified labels in the path, dropping the objects that are left without a label.
+     */
+    public Path retainLabels(final Set<String> labels) {
+        if (0L == this.pathMask)
+            return this;
+
+        final Set<String> retractLabels = new HashSet<>();
+        CompactPath currentPath = this;
+        while (!currentPath.isEmpty()) {
+            for (final String label : currentPath.currentLabels.set) {
+                if (!labels.contains(label))
+                    retractLabels.add(label);
+            }
+            currentPath = currentPath.previousPath;
+        }
+        return this.retract(retractLabels);
+    }
+
+    @Override
+    public <A> A get(final int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        CompactPath currentPath = this;
+        while (currentPath.size - 1 != index) {
+            currentPath = currentPath.previousPath;
+        }
+        return (A) currentPath.currentObject;
+    }
+
+    @Override
+    public <A> A get(final Pop pop, final String label) {
+        if (Pop.mixed == pop)
+            return this.get(label);
+
+        final long bit = this.currentLabels.table.bitOf(label);
+        if (Pop.all == pop) {
+            if (!this.mayHaveLabel(bit))
+                return (A) new ArrayList<>(0);
+            final List<Object> list = new ArrayList<>();
+            CompactPath currentPath = this;
+            while (!currentPath.isEmpty()) {
+                if (currentPath.currentLabels.contains(label, bit))
+                    list.add(currentPath.currentObject);
+                currentPath = currentPath.previousPath;
+            }
+            Collections.reverse(list);
+            return (A) list;
+        } else if (Pop.last == pop) {
+            if (this.mayHaveLabel(bit)) {
+                CompactPath currentPath = this;
+                while (!currentPath.isEmpty()) {
+                    if (currentPath.currentLabels.contains(label, bit))
+                        return (A) currentPath.currentObject;
+                    currentPath = currentPath.previousPath;
+                }
+            }
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        } else { // Pop.first
+            A found = null;
+            if (this.mayHaveLabel(bit)) {
+                CompactPath currentPath = this;
+                while (!currentPath.isEmpty()) {
+                    if (currentPath.currentLabels.contains(label, bit))
+                        found = (A) currentPath.currentObject;
+                    currentPath = currentPath.previousPath;
+                }
+            }
+            return found;
+        }
+    }
+
+    @Override
+    public boolean hasLabel(final String label) {
+        final long bit = this.currentLabels.table.bitOf(label);
+        if (Labels.OVERFLOW != bit && 0L != (this.pathMask & bit))
+            return true;
+
+        // labels without bits can only be found in the segments that have them
+        CompactPath currentPath = this;
+        while (0L != (currentPath.pathMask & Labels.OVERFLOW)) {
+            if (currentPath.currentLabels.contains(label, bit))
+                return true;
+            currentPath = currentPath.previousPath;
+        }
+        return false;
+    }
+
+    @Override
+    public List<Object> objects() {
+        final Object[] objects = new Object[this.size];
+        CompactPath currentPath = this;
+        for (int i = this.size - 1; i >= 0; i--) {
+            objects[i] = currentPath.currentObject;
+            currentPath = currentPath.previousPath;
+        }
+        return Collections.unmodifiableList(Arrays.asList(objects));
+    }
+
+    @Override
+    public List<Set<String>> labels() {
+        final Set<String>[] labels = new Set[this.size];
+        CompactPath currentPath = this;
+        for (int i = this.size - 1; i >= 0; i--) {
+            labels[i] = currentPath.currentLabels.set;
+            currentPath = currentPath.previousPath;
+        }
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return this.objects().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.pathString(this);
+    }
+
+    @Override
+    public int hashCode() {
+        // hashCode algorithm from AbstractList
+        int hashCode = 1;
+        for (final CompactPath segment : this.segments()) {
+            hashCode = hashCode * 31 + Objects.hashCode(segment.currentObject);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Path))
+            return false;
+        final Path otherPath = (Path) other;
+        if (otherPath.size() != this.size)
+            return false;
+
+        if (other instanceof CompactPath) {
+            CompactPath currentPath = this;
+            CompactPath otherCurrentPath = (CompactPath) other;
+            while (!currentPath.isEmpty() && currentPath != otherCurrentPath) {
+                if (!Objects.equals(currentPath.currentObject, otherCurrentPath.currentObject) ||
+                        !currentPath.currentLabels.equals(otherCurrentPath.currentLabels))
+                    return false;
+                currentPath = currentPath.previousPath;
+                otherCurrentPath = otherCurrentPath.previousPath;
+            }
+            return true;
+        }
+
+        final List<Object> otherObjects = otherPath.objects();
+        final List<Set<String>> otherLabels = otherPath.labels();
+        CompactPath currentPath = this;
+        for (int i = this.size - 1; i >= 0; i--) {
+            if (!Objects.equals(currentPath.currentObject, otherObjects.get(i)) ||
+                    !currentPath.currentLabels.set.equals(otherLabels.get(i)))
+                return false;
+            currentPath = currentPath.previousPath;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean popEquals(final Pop pop, final Object other) {
+        if (!(other instanceof Path))
+            return false;
+        final Path otherPath = (Path) other;
+        CompactPath currentPath = this;
+        while (!currentPath.isEmpty()) {
+            for (final String label : currentPath.currentLabels.set) {
+                if (!otherPath.hasLabel(label)) return false;
+
+                final Object o1 = this.get(pop, label);
+                final Object o2 = otherPath.get(pop, label);
+                if (o1 != null && !o1.equals(o2)) return false;
+            }
+            currentPath = currentPath.previousPath;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isSimple() {
+        final Set<Object> objects = new HashSet<>();
+        CompactPath currentPath = this;
+        while (!currentPath.isEmpty()) {
+            if (!objects.add(currentPath.currentObject))
+                return false;
+            currentPath = currentPath.previousPath;
+        }
+        return true;
+    }
+
+    private boolean mayHaveLabel(final long bit) {
+        return 0L != (this.pathMask & (bit | Labels.OVERFLOW));
+    }
+
+    /**
+     * Gets the segments of the path from first to last.
+     */
+    private CompactPath[] segments() {
+        final CompactPath[] segments = new CompactPath[this.size];
+        CompactPath currentPath = this;
+        for (int i = this.size - 1; i >= 0; i--) {
+            segments[i] = currentPath;
+            currentPath = currentPath.previousPath;
+        }
+        return segments;
+    }
+
+    /**
+     * The path is serialized as its objects and label sets along with its {@link LabelTable} and is rebuilt from them
+     * on deserialization, rather than as its segments.
+     */
+    private Object writeReplace() {
+        return new SerializedForm(this.currentLabels.table, this.objects().toArray(), this.labels().toArray(new Set[this.size]));
+    }
+
+    private static final class SerializedForm implements Serializable {
+        private final LabelTable table;
+        private final Object[] objects;
+        private final Set<String>[] labels;
+
+        private SerializedForm(final LabelTable table, final Object[] objects, final Set<String>[] labels) {
+            this.table = table;
+            this.objects = objects;
+            this.labels = new Set[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                this.labels[i] = new LinkedHashSet<>(labels[i]);
+            }
+        }
+
+        private Object readResolve() {
+            Path path = this.table.emptyPath;
+            for (int i = 0; i < this.objects.length; i++) {
+                path = path.extend(this.objects[i], this.labels[i]);
+            }
+            return path;
+        }
+    }
+
+    /**
+     * The label bits of a root traversal, which are assigned from the labels of that traversal and its children once
+     * its strategies are applied. Hidden labels get no bit and only the first 63 labels do, the last bit being
+     * reserved for {@link Labels#OVERFLOW}. Each table interns the label sets of the paths that use it.
+     */
+    public static final class LabelTable implements Serializable {
+
+        /**
+         * A table without bits, which resolves all labels through their sets.
+         */
+        public static final LabelTable NONE = new LabelTable(Collections.emptyMap());
+
+        private static final int MAX_CACHED_LABEL_SETS = 1024;
+
+        private final Map<String, Long> bits;
+        private final transient Labels emptyLabels;
+        final transient CompactPath emptyPath;
+        private final transient Map<Set<String>, Labels> interned = new ConcurrentHashMap<>();
+
+        private LabelTable(final Map<String, Long> bits) {
+            this.bits = bits;
+            this.emptyLabels = new Labels(this, Collections.emptySet(), 0L);
+            this.emptyPath = new CompactPath(this.emptyLabels);
+        }
+
+        /**
+         * Creates a table that assigns a bit to each of the labels that is not hidden, as long as bits are left.
+         */
+        public static LabelTable of(final Collection<String> labels) {
+            final Map<String, Long> bits = new HashMap<>();
+            for (final String label : labels) {
+                // the last bit is reserved for OVERFLOW
+                if (bits.size() == 63)
+                    break;
+                if (!Graph.Hidden.isHidden(label) && !bits.containsKey(label))
+                    bits.put(label, 1L << bits.size());
+            }
+            return bits.isEmpty() ? NONE : new LabelTable(bits);
+        }
+
+        /**
+         * Gets the number of labels that have a bit.
+         */
+        public int size() {
+            return this.bits.size();
+        }
+
+        /**
+         * Gets the bit for a label or {@link Labels#OVERFLOW} if the label has no bit.
+         */
+        long bitOf(final String label) {
+            final Long bit = this.bits.get(label);
+            return null == bit ? Labels.OVERFLOW : bit;
+        }
+
+        Labels labelsOf(final Set<String> labels) {
+            if (labels.isEmpty())
+                return this.emptyLabels;
+
+            long mask = 0L;
+            for (final String label : labels) {
+                mask |= this.bitOf(label);
+            }
+
+            // reuse the interned instance only if it iterates in the same order since path labels are ordered
+            final Labels interned = this.interned.get(labels);
+            if (null != interned && Labels.sameOrder(interned.set, labels))
+                return interned;
+
+            final Labels newLabels = new Labels(this, Collections.unmodifiableSet(new LinkedHashSet<>(labels)), mask);
+            if (null == interned && this.interned.size() < MAX_CACHED_LABEL_SETS)
+                this.interned.putIfAbsent(newLabels.set, newLabels);
+            return newLabels;
+        }
+
+        /**
+         * Rebuilds the table on deserialization so that its transient state is initialized.
+         */
+        private Object readResolve() {
+            return this.bits.isEmpty() ? NONE : new LabelTable(this.bits);
+        }
+    }
+
+    /**
+     * An interned, unmodifiable set of labels along with the bitmask of those labels in its {@link LabelTable}. A
+     * label that has no bit in the table sets the {@link #OVERFLOW} bit and is only resolvable through the set itself.
+     */
+    static final class Labels {
+
+        static final long OVERFLOW = 1L << 63;
+
+        private final LabelTable table;
+        private final Set<String> set;
+        private final long mask;
+
+        private Labels(final LabelTable table, final Set<String> set, final long mask) {
+            this.table = table;
+            this.set = set;
+            this.mask = mask;
+        }
+
+        static boolean sameOrder(final Set<String> a, final Set<String> b) {
+            if (a.size() == 1)
+                return true;
+            final Iterator<String> itty = b.iterator();
+            for (final String label : a) {
+                if (!label.equals(itty.next()))
+                    return false;
+            }
+            return true;
+        }
+
+        boolean isEmpty() {
+            return this.set.isEmpty();
+        }
+
+        boolean contains(final String label, final long bit) {
+            if (OVERFLOW != bit && 0L != (this.mask & bit))
+                return true;
+            return 0L != (this.mask & OVERFLOW) && this.set.contains(label);
+        }
+
+        boolean intersects(final Set<String> labels) {
+            if (this.isEmpty())
+                return false;
+            for (final String label : labels) {
+                if (this.contains(label, this.table.bitOf(label)))
+                    return true;
+            }
+            return false;
+        }
+
+        Labels union(final Set<String> labels) {
+            if (this.set.containsAll(labels))
+                return this;
+            final Set<String> newLabels = new LinkedHashSet<>(this.set);
+            newLabels.addAll(labels);
+            return this.table.labelsOf(newLabels);
+        }
+
+        Labels remove(final Set<String> labels) {
+            if (!this.intersects(labels))
+                return this;
+            final Set<String> newLabels = new LinkedHashSet<>(this.set);
+            newLabels.removeAll(labels);
+            return this.table.labelsOf(newLabels);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other)
+                return true;
+            if (!(other instanceof Labels))
+                return false;
+            final Labels otherLabels = (Labels) other;
+            // masks of the same table identify the sets unless either has labels without bits
+            if (this.table == otherLabels.table && 0L == ((this.mask | otherLabels.mask) & OVERFLOW))
+                return this.mask == otherLabels.mask;
+            return this.set.equals(otherLabels.set);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.set.hashCode();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Executes a linear pipeline that ends in a {@link Barrier} over partitions of its incoming traversers in a
+ * {@code ForkJoinPool}. Each partition is processed by a clone of the pipeline and the partial barrier of each clone
+ * is merged, in partition order, into a copy of the barrier held by this step which then emits the final results.
+ * No more partitions than the parallelism of the pool are in flight at once.
+ * This step is added by the {@link ParallelStrategy}.
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private Traversal.Admin<S, E> pipeline;
+    private Step<?, E> mergingBarrier;
+    private final int batchSize;
+    private transient ForkJoinPool forkJoinPool;
+    private boolean merged = false;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> pipeline, final int batchSize,
+                        final ForkJoinPool forkJoinPool) {
+        super(traversal);
+        if (!(pipeline.getEndStep() instanceof Barrier))
+            throw new IllegalArgumentException("The pipeline of a ParallelStep must end in a Barrier: " + pipeline);
+        this.pipeline = this.integrateChild(pipeline);
+        this.mergingBarrier = this.pipeline.getEndStep().clone();
+        this.mergingBarrier.setTraversal(traversal);
+        this.batchSize = batchSize;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public Traversal.Admin<S, E> getPipeline() {
+        return this.pipeline;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.pipeline);
+    }
+
+    @Override
+    public <S1, E1> List<Traversal.Admin<S1, E1>> getLocalChildren() {
+        // the by() modulators of the merging barrier are used when it produces its final results
+        return this.mergingBarrier instanceof TraversalParent ?
+                ((TraversalParent) this.mergingBarrier).getLocalChildren() :
+                Collections.emptyList();
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.pipeline.getTraverserRequirements();
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (!this.merged) {
+            this.merged = true;
+            this.mergePartitions();
+        }
+        return this.mergingBarrier.next();
+    }
+
+    private void mergePartitions() {
+        // partitions in flight are bounded by the parallelism of the pool so that the traversers and partial barriers
+        // held in memory don't grow with the number of start traversers
+        final Deque<ForkJoinTask<Step<?, E>>> tasks = new ArrayDeque<>();
+        try {
+            List<Traverser.Admin<S>> partition = this.nextPartition();
+            if (!this.starts.hasNext()) {
+                // a single partition isn't worth the trip through the pool
+                this.mergeBarrier(this.processPartition(partition));
+                return;
+            }
+
+            final ForkJoinPool pool = this.getForkJoinPool();
+            final int maxInFlight = Math.max(1, pool.getParallelism());
+            while (!partition.isEmpty()) {
+                if (tasks.size() == maxInFlight)
+                    this.mergeBarrier(tasks.removeFirst().get());
+
+                final List<Traverser.Admin<S>> p = partition;
+                tasks.addLast(pool.submit(() -> this.processPartition(p)));
+                partition = this.nextPartition();
+            }
+
+            // merging in submission order keeps the order of the results the same as serial execution
+            while (!tasks.isEmpty()) {
+                this.mergeBarrier(tasks.removeFirst().get());
+            }
+        } catch (final InterruptedException ie) {
+            tasks.forEach(t -> t.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException ee) {
+            tasks.forEach(t -> t.cancel(true));
+            if (ee.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ee.getCause();
+            throw new IllegalStateException(ee.getCause().getMessage(), ee.getCause());
+        }
+    }
+
+    private List<Traverser.Admin<S>> nextPartition() {
+        final List<Traverser.Admin<S>> partition = new ArrayList<>(this.batchSize);
+        while (partition.size() < this.batchSize && this.starts.hasNext()) {
+            partition.add(this.starts.next());
+        }
+        return partition;
+    }
+
+    private Step<?, E> processPartition(final List<Traverser.Admin<S>> partition) {
+        final Traversal.Admin<S, E> clone = this.pipeline.clone();
+        clone.addStarts(partition.iterator());
+        final Step<?, E> barrier = clone.getEndStep();
+        ((Barrier) barrier).processAllStarts();
+        return barrier;
+    }
+
+    private void mergeBarrier(final Step<?, E> partialBarrier) {
+        if (partialBarrier instanceof CollectingBarrierStep) {
+            // CollectingBarrierStep.nextBarrier() detaches the traversers for OLAP so take the traversers as-is
+            ((CollectingBarrierStep) this.mergingBarrier).addBarrier(((CollectingBarrierStep) partialBarrier).traverserSet);
+        } else {
+            final Barrier barrier = (Barrier) partialBarrier;
+            while (barrier.hasNextBarrier()) {
+                ((Barrier) this.mergingBarrier).addBarrier(barrier.nextBarrier());
+            }
+        }
+    }
+
+    private ForkJoinPool getForkJoinPool() {
+        return null == this.forkJoinPool ? ForkJoinPool.commonPool() : this.forkJoinPool;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.merged = false;
+        this.pipeline.reset();
+        this.mergingBarrier.reset();
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.pipeline = this.pipeline.clone();
+        clone.mergingBarrier = this.mergingBarrier.clone();
+        clone.merged = false;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.pipeline);
+        this.mergingBarrier.setTraversal(parentTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.pipeline, this.batchSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.pipeline.hashCode() ^ Integer.hashCode(this.batchSize);
+    }
+}
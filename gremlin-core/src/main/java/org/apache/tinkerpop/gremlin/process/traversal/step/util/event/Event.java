@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.util.event;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -40,6 +41,25 @@ public interface Event {
      */
     void fireEvent(final Iterator<MutationListener> eventListeners);
 
+    /**
+     * Gets the {@link Element} the action occurred on, which is the {@link VertexProperty} itself for actions on a
+     * {@link VertexProperty} or its properties. Events are only guaranteed to be delivered in order with respect to
+     * the events of the same element, so an {@link EventStrategy.EventQueue} that delivers events asynchronously may
+     * use it to decide which events must stay in order.
+     */
+    default Element getElement() {
+        return null;
+    }
+
+    /**
+     * Gets the identifier of the {@link Vertex} that owns the {@link VertexProperty} for actions on a
+     * {@link VertexProperty} or its properties, as the detached {@link VertexProperty} of the event need not refer to
+     * its vertex. It is {@code null} for other actions or when the event was created without it.
+     */
+    default Object getVertexId() {
+        return null;
+    }
+
     /**
      * Represents an action where an {@link Edge} is added to the {@link Graph}.
      */
@@ -51,6 +71,11 @@ public interface Event {
             this.edge = edge;
         }
 
+        @Override
+        public Element getElement() {
+            return edge;
+        }
+
         @Override
         public void fireEvent(final Iterator<MutationListener> eventListeners) {
             while (eventListeners.hasNext()) {
@@ -101,6 +126,11 @@ public interface Event {
             this.edge = edge;
         }
 
+        @Override
+        public Element getElement() {
+            return edge;
+        }
+
         @Override
         public void fireEvent(final Iterator<MutationListener> eventListeners) {
             while (eventListeners.hasNext()) {
@@ -120,6 +150,11 @@ public interface Event {
             this.vertex = vertex;
         }
 
+        @Override
+        public Element getElement() {
+            return vertex;
+        }
+
         @Override
         public void fireEvent(final Iterator<MutationListener> eventListeners) {
             while (eventListeners.hasNext()) {
@@ -150,8 +185,20 @@ public interface Event {
      */
     class VertexPropertyPropertyChangedEvent extends ElementPropertyChangedEvent {
 
+        private final Object vertexId;
+
         public VertexPropertyPropertyChangedEvent(final VertexProperty element, final Property oldValue, final Object newValue) {
+            this(element, null, oldValue, newValue);
+        }
+
+        public VertexPropertyPropertyChangedEvent(final VertexProperty element, final Object vertexId, final Property oldValue, final Object newValue) {
             super(element, oldValue, newValue);
+            this.vertexId = vertexId;
+        }
+
+        @Override
+        public Object getVertexId() {
+            return vertexId;
         }
 
         @Override
@@ -165,8 +212,20 @@ public interface Event {
      */
     class VertexPropertyPropertyRemovedEvent extends ElementPropertyEvent {
 
+        private final Object vertexId;
+
         public VertexPropertyPropertyRemovedEvent(final VertexProperty element, final Property removed) {
+            this(element, null, removed);
+        }
+
+        public VertexPropertyPropertyRemovedEvent(final VertexProperty element, final Object vertexId, final Property removed) {
             super(element, removed, null);
+            this.vertexId = vertexId;
+        }
+
+        @Override
+        public Object getVertexId() {
+            return vertexId;
         }
 
         @Override
@@ -181,9 +240,25 @@ public interface Event {
     class VertexPropertyRemovedEvent implements Event {
 
         private final VertexProperty vertexProperty;
+        private final Object vertexId;
 
         public VertexPropertyRemovedEvent(final VertexProperty vertexProperty) {
+            this(vertexProperty, null);
+        }
+
+        public VertexPropertyRemovedEvent(final VertexProperty vertexProperty, final Object vertexId) {
             this.vertexProperty = vertexProperty;
+            this.vertexId = vertexId;
+        }
+
+        @Override
+        public Element getElement() {
+            return vertexProperty;
+        }
+
+        @Override
+        public Object getVertexId() {
+            return vertexId;
         }
 
         @Override
@@ -205,6 +280,11 @@ public interface Event {
             this.vertex = vertex;
         }
 
+        @Override
+        public Element getElement() {
+            return vertex;
+        }
+
         @Override
         public void fireEvent(final Iterator<MutationListener> eventListeners) {
             while (eventListeners.hasNext()) {
@@ -242,6 +322,11 @@ public interface Event {
 
         abstract void fire(final MutationListener listener, final Element element, final Property oldValue, final Object newValue, final Object... vertexPropertyKeyValues);
 
+        @Override
+        public Element getElement() {
+            return element;
+        }
+
         @Override
         public void fireEvent(final Iterator<MutationListener> eventListeners) {
             while (eventListeners.hasNext()) {
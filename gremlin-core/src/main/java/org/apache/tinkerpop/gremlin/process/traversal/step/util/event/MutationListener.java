@@ -25,6 +25,9 @@ import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Interface for a listener to {@link EventStrategy} change events. Implementations of this interface should be added
  * to the list of listeners on the addListener method on the {@link EventStrategy}.
@@ -105,5 +108,20 @@ public interface MutationListener {
      * @param property  the {@link Property} that removed
      */
     public void vertexPropertyPropertyRemoved(final VertexProperty element, final Property property);
+
+    /**
+     * Raised with a batch of events by an {@link EventStrategy.EventQueue} that delivers events in batches, like the
+     * {@link EventStrategy.AsyncEventQueue}. The events of the same element are in the order they occurred. By
+     * default, each event is raised on this listener individually and implementations that can process a batch at
+     * once, such as one that writes changes to an external system, should override this method.
+     *
+     * @param events the events in the order they occurred
+     */
+    public default void eventsFired(final List<Event> events) {
+        final List<MutationListener> listeners = Collections.singletonList(this);
+        for (final Event event : events) {
+            event.fireEvent(listeners.iterator());
+        }
+    }
 }
 
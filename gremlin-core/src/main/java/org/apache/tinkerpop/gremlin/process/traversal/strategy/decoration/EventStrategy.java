@@ -26,10 +26,15 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.EventCallb
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.MutationListener;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.ArrayDeque;
@@ -37,6 +42,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A strategy that raises events when {@link Mutating} steps are encountered and successfully executed.
@@ -260,4 +269,306 @@ public final class EventStrategy extends AbstractTraversalStrategy<TraversalStra
         }
     }
 
+    /**
+     * Delivers events to listeners in batches on background dispatcher threads so that the mutating traversal does
+     * not wait for the listeners. Each dispatcher buffers events in a bounded ring buffer and a traversal that hands
+     * an event to a full buffer blocks until the dispatcher catches up, which keeps the memory held by undelivered
+     * events bounded no matter how many mutations a traversal makes.
+     * <p/>
+     * A queue constructed without a {@link Graph} hands each event to the dispatchers as the mutation occurs, the same
+     * as the {@link DefaultEventQueue}, so on a transactional graph the listeners also see mutations that are later
+     * rolled back. A queue constructed with a {@link Graph} behaves like the {@link TransactionalEventQueue} instead:
+     * the events of a transaction are held on the thread of the transaction, handed to the dispatchers when it
+     * commits and discarded when it rolls back. The bound on buffered events only applies once events are handed to
+     * the dispatchers, so the events of a single transaction are held until it completes.
+     * <p/>
+     * Events are given to {@link MutationListener#eventsFired(List)} in batches of up to the configured size. With a
+     * single dispatcher, the listeners see all events in the order they were handed over. With more than one, the
+     * events are spread across the dispatchers by the {@link Event#getElement() element} they occurred on, where the
+     * events of a {@link VertexProperty} go with those of its {@link Vertex}, so the events of an element remain in
+     * order, but events of different elements may arrive out of order and from different threads at once.
+     * <p/>
+     * The dispatcher threads are started when the queue is constructed and wait for events without consuming any
+     * resources, but they are only stopped by {@link #close()}. Nothing closes the queue automatically, so it must be
+     * closed when it is no longer needed, which delivers the events that were handed to the dispatchers and stops
+     * them. Should a dispatcher stop for any other reason, handing an event over to it fails rather than blocks.
+     */
+    public static class AsyncEventQueue implements EventQueue, AutoCloseable {
+        private static final Logger logger = LoggerFactory.getLogger(AsyncEventQueue.class);
+        private static final AtomicInteger queueCount = new AtomicInteger(0);
+
+        /**
+         * Handed to each dispatcher by {@link #close()} to tell it to stop once the events before it are delivered.
+         */
+        private static final Event CLOSE = listeners -> {};
+
+        /**
+         * The milliseconds to wait for room in the buffer of a dispatcher before checking that it is still running.
+         */
+        private static final long HAND_OVER_WAIT = 100;
+
+        private final int batchSize;
+        private final Dispatcher[] dispatchers;
+        private final ThreadLocal<List<Event>> transactionEvents;
+        private volatile List<MutationListener> listeners = Collections.emptyList();
+        private volatile boolean closed = false;
+
+        /**
+         * Creates a queue with a single dispatcher that hands events over as they occur.
+         *
+         * @param capacity the number of events that can be buffered before a mutating traversal blocks
+         * @param batchSize the largest number of events given to a listener at once
+         */
+        public AsyncEventQueue(final int capacity, final int batchSize) {
+            this(capacity, batchSize, 1);
+        }
+
+        /**
+         * Creates a queue that hands events over as they occur and spreads them across a number of dispatchers.
+         *
+         * @param capacity the number of events each dispatcher can buffer before a mutating traversal blocks
+         * @param batchSize the largest number of events given to a listener at once
+         * @param dispatchers the number of dispatcher threads
+         */
+        public AsyncEventQueue(final int capacity, final int batchSize, final int dispatchers) {
+            this(null, capacity, batchSize, dispatchers);
+        }
+
+        /**
+         * Creates a queue with a single dispatcher that only hands over the events of committed transactions.
+         *
+         * @param graph the transactional graph whose transactions the events are tied to
+         * @param capacity the number of events that can be buffered before a committing thread blocks
+         * @param batchSize the largest number of events given to a listener at once
+         */
+        public AsyncEventQueue(final Graph graph, final int capacity, final int batchSize) {
+            this(graph, capacity, batchSize, 1);
+        }
+
+        /**
+         * Creates a queue that only hands over the events of committed transactions and spreads them across a number
+         * of dispatchers. When the {@code graph} is {@code null} the events are handed over as they occur.
+         *
+         * @param graph the transactional graph whose transactions the events are tied to
+         * @param capacity the number of events each dispatcher can buffer before a committing thread blocks
+         * @param batchSize the largest number of events given to a listener at once
+         * @param dispatchers the number of dispatcher threads
+         */
+        public AsyncEventQueue(final Graph graph, final int capacity, final int batchSize, final int dispatchers) {
+            if (capacity < 1)
+                throw new IllegalArgumentException("capacity must be greater than zero");
+            if (batchSize < 1)
+                throw new IllegalArgumentException("batchSize must be greater than zero");
+            if (dispatchers < 1)
+                throw new IllegalArgumentException("dispatchers must be greater than zero");
+            if (graph != null && !graph.features().graph().supportsTransactions())
+                throw new IllegalStateException(String.format("%s requires the graph to support transactions", AsyncEventQueue.class.getName()));
+
+            this.batchSize = batchSize;
+            if (null == graph) {
+                this.transactionEvents = null;
+            } else {
+                this.transactionEvents = ThreadLocal.withInitial(ArrayList::new);
+                graph.tx().addTransactionListener(status -> {
+                    if (status == Transaction.Status.COMMIT)
+                        handOverTransactionEvents();
+                    else if (status == Transaction.Status.ROLLBACK)
+                        transactionEvents.remove();
+                    else
+                        throw new RuntimeException(String.format("The %s is not aware of this status: %s", EventQueue.class.getName(), status));
+                });
+            }
+
+            this.dispatchers = new Dispatcher[dispatchers];
+            final int queueId = queueCount.incrementAndGet();
+            for (int i = 0; i < dispatchers; i++) {
+                this.dispatchers[i] = new Dispatcher(capacity, String.format("gremlin-event-dispatcher-%s-%s", queueId, i));
+                this.dispatchers[i].start();
+            }
+        }
+
+        @Override
+        public void setListeners(final List<MutationListener> listeners) {
+            this.listeners = listeners;
+        }
+
+        /**
+         * Adds the event to the buffer of its dispatcher, blocking while that buffer is full, or holds it until the
+         * transaction completes if the queue is tied to the transactions of a graph.
+         *
+         * @throws IllegalStateException if the queue was closed or the dispatcher of the event stopped
+         */
+        @Override
+        public void addEvent(final Event evt) {
+            if (closed)
+                throw new IllegalStateException(String.format("The %s is closed", AsyncEventQueue.class.getSimpleName()));
+
+            if (null == transactionEvents)
+                handOver(evt);
+            else
+                transactionEvents.get().add(evt);
+        }
+
+        /**
+         * Gets the number of events that were handed to the dispatchers but not yet given to the listeners.
+         */
+        public int getPendingEvents() {
+            int pending = 0;
+            for (final Dispatcher dispatcher : dispatchers) {
+                pending += dispatcher.events.size() + dispatcher.inFlight;
+            }
+            return pending;
+        }
+
+        /**
+         * Stops accepting events, waits for the events that were handed to the dispatchers to be delivered and stops
+         * the dispatchers. Events held for a transaction that has not yet committed are not delivered.
+         */
+        @Override
+        public void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            for (final Dispatcher dispatcher : dispatchers) {
+                try {
+                    // a dispatcher that already stopped would never make room for CLOSE
+                    while (!dispatcher.stopped && !dispatcher.events.offer(CLOSE, HAND_OVER_WAIT, TimeUnit.MILLISECONDS)) {
+                        // wait for the dispatcher to take events
+                    }
+                    dispatcher.join();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void handOverTransactionEvents() {
+            final List<Event> events = transactionEvents.get();
+            transactionEvents.remove();
+            if (events.isEmpty())
+                return;
+
+            if (closed) {
+                logger.warn("{} events of a committed transaction were not delivered as the {} is closed",
+                        events.size(), AsyncEventQueue.class.getSimpleName());
+                return;
+            }
+            events.forEach(this::handOver);
+        }
+
+        /**
+         * Adds the event to the buffer of its dispatcher, checking that the dispatcher is still running while the
+         * buffer is full so that the caller fails rather than waits forever on a dispatcher that stopped.
+         *
+         * @throws IllegalStateException if the dispatcher stopped
+         */
+        private void handOver(final Event evt) {
+            final Dispatcher dispatcher = dispatcherOf(evt);
+            try {
+                dispatcher.checkRunning();
+                while (!dispatcher.events.offer(evt, HAND_OVER_WAIT, TimeUnit.MILLISECONDS)) {
+                    dispatcher.checkRunning();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(ie);
+            }
+        }
+
+        private Dispatcher dispatcherOf(final Event evt) {
+            if (1 == dispatchers.length)
+                return dispatchers[0];
+
+            // a detached VertexProperty need not refer to its vertex so the event keeps the id of the vertex
+            Object id = evt.getVertexId();
+            if (null == id) {
+                Element element = evt.getElement();
+                if (element instanceof VertexProperty && ((VertexProperty) element).element() != null)
+                    element = ((VertexProperty) element).element();
+                id = null == element ? null : element.id();
+            }
+            return dispatchers[null == id ? 0 : Math.floorMod(id.hashCode(), dispatchers.length)];
+        }
+
+        private final class Dispatcher extends Thread {
+            private final BlockingQueue<Event> events;
+            private volatile int inFlight = 0;
+            private volatile boolean stopped = false;
+            private volatile Throwable failure;
+
+            private Dispatcher(final int capacity, final String name) {
+                super(name);
+                this.events = new ArrayBlockingQueue<>(capacity);
+                this.setDaemon(true);
+            }
+
+            @Override
+            public void run() {
+                try {
+                    dispatch();
+                } catch (Throwable t) {
+                    failure = t;
+                    logger.error(String.format("%s stopped unexpectedly - events can no longer be added to its %s",
+                            getName(), AsyncEventQueue.class.getSimpleName()), t);
+                } finally {
+                    stopped = true;
+                }
+            }
+
+            /**
+             * @throws IllegalStateException if the dispatcher stopped
+             */
+            private void checkRunning() {
+                if (stopped)
+                    throw new IllegalStateException(String.format("%s of the %s has stopped and can no longer deliver events",
+                            getName(), AsyncEventQueue.class.getSimpleName()), failure);
+            }
+
+            private void dispatch() {
+                boolean stopping = false;
+                while (!stopping) {
+                    final Event first;
+                    try {
+                        first = events.take();
+                    } catch (InterruptedException ie) {
+                        logger.warn("{} was interrupted and stopped - events can no longer be added to its {}",
+                                getName(), AsyncEventQueue.class.getSimpleName());
+                        return;
+                    }
+
+                    final List<Event> batch = new ArrayList<>(Math.min(batchSize, events.size() + 1));
+                    batch.add(first);
+                    events.drainTo(batch, batchSize - 1);
+
+                    // the events before CLOSE are still delivered, which may take more than this batch
+                    stopping = batch.remove(CLOSE);
+                    if (stopping)
+                        events.drainTo(batch);
+
+                    if (!batch.isEmpty()) {
+                        inFlight = batch.size();
+                        for (int i = 0; i < batch.size(); i += batchSize) {
+                            fire(Collections.unmodifiableList(batch.subList(i, Math.min(i + batchSize, batch.size()))));
+                        }
+                        inFlight = 0;
+                    }
+                }
+            }
+
+            private void fire(final List<Event> batch) {
+                for (final MutationListener listener : listeners) {
+                    try {
+                        listener.eventsFired(batch);
+                    } catch (Throwable t) {
+                        // a failing listener should not stop the delivery to the others or of later batches
+                        logger.warn(String.format("%s failed to process a batch of %s events",
+                                listener.getClass().getSimpleName(), batch.size()), t);
+                    }
+                }
+            }
+        }
+    }
+
 }
@@ -75,6 +75,10 @@ import java.util.stream.Collectors;
  * partitions (i.e. buckets, subgraphs, etc.).  It blinds a {@link Traversal} from "seeing" specified areas of
  * the graph given the partition names assigned to {@link Builder#readPartitions(String...)}.  The traversal will
  * ignore all graph elements not in those "read" partitions.
+ * <p/>
+ * The partition filter is injected as a {@link HasStep} that tests the partition key with {@link P#within(Collection)}
+ * directly after each step that produces elements, so that a graph provider can fold it into its own steps and use
+ * it to select or iterate only the elements of the read partitions.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ClassFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.OrStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TraversalFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddEdgeStep;
@@ -42,6 +43,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyValueStep
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
@@ -56,6 +58,8 @@ import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -67,6 +71,10 @@ import java.util.stream.Stream;
  * {@link Traversal} representations that represent a form of filtering criterion for vertices and/or edges,
  * this strategy will inject that criterion into the appropriate places of a traversal thus restricting what
  * it traverses and returns.
+ * <p/>
+ * A criterion that consists only of {@code has()} filters is injected as a {@link HasStep} directly after the step
+ * that produces the elements, so that a graph provider can fold its {@link HasContainer} instances into its own steps
+ * as it would with any other {@code has()}. Other criteria are injected as a {@link TraversalFilterStep}.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -76,6 +84,12 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
 
     private final Traversal.Admin<Vertex, ?> vertexCriterion;
     private final Traversal.Admin<Edge, ?> edgeCriterion;
+
+    /**
+     * The edge criterion as given to the builder, without the implied check of the adjacent vertices, which is
+     * used when the adjacent vertices are checked by other means.
+     */
+    private final Traversal.Admin<Edge, ?> userEdgeCriterion;
     private final Traversal.Admin<VertexProperty, ?> vertexPropertyCriterion;
     private final boolean checkAdjacentVertices;
 
@@ -87,6 +101,7 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
 
         this.vertexCriterion = null == builder.vertexCriterion ? null : builder.vertexCriterion.asAdmin().clone();
         this.checkAdjacentVertices = builder.checkAdjacentVertices;
+        this.userEdgeCriterion = null == builder.edgeCriterion ? null : builder.edgeCriterion.asAdmin().clone();
 
         // if there is no vertex predicate there is no need to test either side of the edge - also this option can
         // be simply configured in the builder to not be used
@@ -111,18 +126,39 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
             TraversalHelper.applyTraversalRecursively(t -> t.getStartStep().addLabel(MARKER), this.vertexCriterion);
         if (null != this.edgeCriterion)
             TraversalHelper.applyTraversalRecursively(t -> t.getStartStep().addLabel(MARKER), this.edgeCriterion);
+        if (null != this.userEdgeCriterion)
+            TraversalHelper.applyTraversalRecursively(t -> t.getStartStep().addLabel(MARKER), this.userEdgeCriterion);
         if (null != this.vertexPropertyCriterion)
             TraversalHelper.applyTraversalRecursively(t -> t.getStartStep().addLabel(MARKER), this.vertexPropertyCriterion);
     }
 
-    private static void applyCriterion(final List<Step> stepsToApplyCriterionAfter, final Traversal.Admin traversal,
-                                       final Traversal.Admin<? extends Element, ?> criterion) {
+    private void applyCriterion(final List<Step> stepsToApplyCriterionAfter, final Traversal.Admin traversal,
+                                final Traversal.Admin<? extends Element, ?> criterion, final Set<Step> filters) {
         for (final Step<?, ?> step : stepsToApplyCriterionAfter) {
             // re-assign the step label to the criterion because the label should apply seamlessly after the filter
-            final Step filter = new TraversalFilterStep<>(traversal, criterion.clone());
+            final Step filter = criterionStep(traversal, criterion);
             TraversalHelper.insertAfterStep(filter, step, traversal);
             TraversalHelper.copyLabels(step, filter, true);
+            filters.add(filter);
+        }
+    }
+
+    /**
+     * Creates the step that filters by the criterion. A criterion that only consists of {@code has()} filters is
+     * applied as a {@link HasStep} so that its {@link HasContainer} instances can be folded into the steps of the
+     * graph provider, like any other {@code has()} that follows a step that produces elements. Any other criterion is
+     * applied as a {@link TraversalFilterStep} that evaluates the criterion as a child traversal.
+     */
+    private Step criterionStep(final Traversal.Admin traversal, final Traversal.Admin<? extends Element, ?> criterion) {
+        final List<HasContainer> hasContainers = new ArrayList<>();
+        for (final Step<?, ?> step : criterion.getSteps()) {
+            if (!(step instanceof HasStep) || step.getLabels().stream().anyMatch(label -> !label.equals(MARKER)))
+                return new TraversalFilterStep<>(traversal, criterion.clone());
+            for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                hasContainers.add(hasContainer.clone());
+            }
         }
+        return new HasStep<>(traversal, hasContainers.toArray(new HasContainer[hasContainers.size()]));
     }
 
     private static final char processesPropertyType(Step step) {
@@ -154,6 +190,7 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
         //
         final List<GraphStep> graphSteps = TraversalHelper.getStepsOfAssignableClass(GraphStep.class, traversal);
         final List<VertexStep> vertexSteps = TraversalHelper.getStepsOfAssignableClass(VertexStep.class, traversal);
+        final Set<Step> vertexFilters = Collections.newSetFromMap(new IdentityHashMap<>());
         if (null != this.vertexCriterion) {
             final List<Step> vertexStepsToInsertFilterAfter = new ArrayList<>();
             vertexStepsToInsertFilterAfter.addAll(TraversalHelper.getStepsOfAssignableClass(EdgeOtherVertexStep.class, traversal));
@@ -161,7 +198,7 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
             vertexStepsToInsertFilterAfter.addAll(TraversalHelper.getStepsOfAssignableClass(AddVertexStep.class, traversal));
             vertexStepsToInsertFilterAfter.addAll(TraversalHelper.getStepsOfAssignableClass(AddVertexStartStep.class, traversal));
             vertexStepsToInsertFilterAfter.addAll(graphSteps.stream().filter(GraphStep::returnsVertex).collect(Collectors.toList()));
-            applyCriterion(vertexStepsToInsertFilterAfter, traversal, this.vertexCriterion);
+            applyCriterion(vertexStepsToInsertFilterAfter, traversal, this.vertexCriterion, vertexFilters);
         }
 
         if (null != this.edgeCriterion) {
@@ -169,7 +206,7 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
             edgeStepsToInsertFilterAfter.addAll(TraversalHelper.getStepsOfAssignableClass(AddEdgeStep.class, traversal));
             edgeStepsToInsertFilterAfter.addAll(graphSteps.stream().filter(GraphStep::returnsEdge).collect(Collectors.toList()));
             edgeStepsToInsertFilterAfter.addAll(vertexSteps.stream().filter(VertexStep::returnsEdge).collect(Collectors.toList()));
-            applyCriterion(edgeStepsToInsertFilterAfter, traversal, this.edgeCriterion);
+            applyCriterion(edgeStepsToInsertFilterAfter, traversal, this.edgeCriterion, new HashSet<>());
         }
 
         // turn g.V().out() to g.V().outE().inV() only if there is an edge predicate otherwise
@@ -177,7 +214,9 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
             if (step.returnsEdge())
                 continue;
             if (null != this.vertexCriterion && null == edgeCriterion) {
-                TraversalHelper.insertAfterStep(new TraversalFilterStep<>(traversal, (Traversal) this.vertexCriterion.clone()), step, traversal);
+                final Step filter = criterionStep(traversal, this.vertexCriterion);
+                TraversalHelper.insertAfterStep(filter, step, traversal);
+                vertexFilters.add(filter);
             } else {
                 final VertexStep<Edge> someEStep = new VertexStep<>(traversal, Edge.class, step.getDirection(), step.getEdgeLabels());
                 final Step<Edge, Vertex> someVStep = step.getDirection() == Direction.BOTH ?
@@ -188,10 +227,27 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
                 TraversalHelper.insertAfterStep(someVStep, someEStep, traversal);
                 TraversalHelper.copyLabels(step, someVStep, true);
 
-                if (null != this.edgeCriterion)
-                    TraversalHelper.insertAfterStep(new TraversalFilterStep<>(traversal, this.edgeCriterion.clone()), someEStep, traversal);
-                if (null != this.vertexCriterion)
-                    TraversalHelper.insertAfterStep(new TraversalFilterStep<>(traversal, this.vertexCriterion.clone()), someVStep, traversal);
+                if (null != this.vertexCriterion && this.checkAdjacentVertices) {
+                    // an edge is in the subgraph if both of its vertices are. rather than checking both vertices of
+                    // every edge, the vertex the edges are traversed from is checked once before the edges are
+                    // retrieved (unless it was just checked already) and the other vertex is checked after it is
+                    // retrieved, which leaves only the user's own edge criterion to be applied to each edge
+                    if (!vertexFilters.contains(someEStep.getPreviousStep())) {
+                        final Step filter = criterionStep(traversal, this.vertexCriterion);
+                        TraversalHelper.insertBeforeStep(filter, someEStep, traversal);
+                        vertexFilters.add(filter);
+                    }
+                    if (null != this.userEdgeCriterion)
+                        TraversalHelper.insertAfterStep(criterionStep(traversal, this.userEdgeCriterion), someEStep, traversal);
+                } else if (null != this.edgeCriterion) {
+                    TraversalHelper.insertAfterStep(criterionStep(traversal, this.edgeCriterion), someEStep, traversal);
+                }
+
+                if (null != this.vertexCriterion) {
+                    final Step filter = criterionStep(traversal, this.vertexCriterion);
+                    TraversalHelper.insertAfterStep(filter, someVStep, traversal);
+                    vertexFilters.add(filter);
+                }
             }
         }
 
@@ -275,8 +331,8 @@ public final class SubgraphStrategy extends AbstractTraversalStrategy<TraversalS
         final Map<String, Object> map = new HashMap<>();
         if (null != this.vertexCriterion)
             map.put(VERTICES, this.vertexCriterion);
-        if (null != this.edgeCriterion)
-            map.put(EDGES, this.edgeCriterion);
+        if (null != this.userEdgeCriterion)
+            map.put(EDGES, this.userEdgeCriterion);
         if (null != this.vertexPropertyCriterion)
             map.put(VERTEX_PROPERTIES, this.vertexPropertyCriterion);
         map.put(CHECK_ADJACENT_VERTICES, this.checkAdjacentVertices);
@@ -27,7 +27,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -35,14 +36,17 @@ import java.util.Collections;
 public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
 
     private static final String MATCH_ALGORITHM = "matchAlgorithm";
+    public static final String MAX_TABLE_SIZE = "maxTableSize";
     private Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass;
+    private int maxTableSize = MatchStep.HashJoinMatchAlgorithm.DEFAULT_MAX_TABLE_SIZE;
 
     private MatchAlgorithmStrategy() {
         // for serialization
     }
 
-    private MatchAlgorithmStrategy(final Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass) {
+    private MatchAlgorithmStrategy(final Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass, final int maxTableSize) {
         this.matchAlgorithmClass = matchAlgorithmClass;
+        this.maxTableSize = maxTableSize;
     }
 
     @Override
@@ -50,13 +54,17 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
         for (final Step<?, ?> step : traversal.getSteps()) {
             if (step instanceof MatchStep) {
                 ((MatchStep) step).setMatchAlgorithm(this.matchAlgorithmClass);
+                ((MatchStep) step).setMaxTableSize(this.maxTableSize);
             }
         }
     }
 
     public static MatchAlgorithmStrategy create(final Configuration configuration) {
         try {
-            return new MatchAlgorithmStrategy((Class) Class.forName(configuration.getString(MATCH_ALGORITHM)));
+            final Builder builder = build().algorithm((Class) Class.forName(configuration.getString(MATCH_ALGORITHM)));
+            if (configuration.containsKey(MAX_TABLE_SIZE))
+                builder.maxTableSize(Integer.parseInt(configuration.getProperty(MAX_TABLE_SIZE).toString()));
+            return builder.create();
         } catch (final ClassNotFoundException e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
@@ -64,9 +72,13 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
 
     @Override
     public Configuration getConfiguration() {
-        return new MapConfiguration(Collections.singletonMap(MATCH_ALGORITHM, null != this.matchAlgorithmClass.getDeclaringClass() ?
+        final Map<String, Object> map = new HashMap<>();
+        map.put(MATCH_ALGORITHM, null != this.matchAlgorithmClass.getDeclaringClass() ?
                 this.matchAlgorithmClass.getCanonicalName().replace("." + this.matchAlgorithmClass.getSimpleName(), "$" + this.matchAlgorithmClass.getSimpleName()) :
-                this.matchAlgorithmClass.getCanonicalName()));
+                this.matchAlgorithmClass.getCanonicalName());
+        if (this.maxTableSize != MatchStep.HashJoinMatchAlgorithm.DEFAULT_MAX_TABLE_SIZE)
+            map.put(MAX_TABLE_SIZE, this.maxTableSize);
+        return new MapConfiguration(map);
     }
 
     public static Builder build() {
@@ -81,6 +93,7 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
     public final static class Builder {
 
         private Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass = MatchStep.CountMatchAlgorithm.class;
+        private int maxTableSize = MatchStep.HashJoinMatchAlgorithm.DEFAULT_MAX_TABLE_SIZE;
 
         private Builder() {
         }
@@ -90,9 +103,19 @@ public final class MatchAlgorithmStrategy extends AbstractTraversalStrategy<Trav
             return this;
         }
 
+        /**
+         * The number of bindings the hash tables of a {@link MatchStep.HashJoinMatchAlgorithm} may hold before they
+         * are cleared. Defaults to {@link MatchStep.HashJoinMatchAlgorithm#DEFAULT_MAX_TABLE_SIZE}.
+         */
+        public Builder maxTableSize(final int maxTableSize) {
+            if (maxTableSize < 1)
+                throw new IllegalArgumentException("The maxTableSize must be greater than zero");
+            this.maxTableSize = maxTableSize;
+            return this;
+        }
 
         public MatchAlgorithmStrategy create() {
-            return new MatchAlgorithmStrategy(this.matchAlgorithmClass);
+            return new MatchAlgorithmStrategy(this.matchAlgorithmClass, this.maxTableSize);
         }
     }
 }
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@code ParallelStrategy} executes the linear part of an OLTP traversal that leads from a start {@link GraphStep}
+ * to its first {@link Barrier} in parallel. Traversers coming from the start step are split into partitions of
+ * {@code batchSize} and each partition is run through a clone of the steps in a {@code ForkJoinPool}. The partial
+ * results are then merged with the merge function of the barrier, which is the same merge that is used to combine
+ * barriers in OLAP. The barrier must be a {@link ReducingBarrierStep} (e.g. {@code groupCount()}, {@code group()},
+ * {@code count()}, {@code sum()}) or an {@code order()}.
+ * <p/>
+ * Only steps that are known to be safe to execute concurrently are parallelized, which rules out steps that use
+ * lambdas, side-effects, paths, sacks, mutations, randomness or global ranges (e.g. {@code limit()} and
+ * {@code dedup()}). A traversal holding any such step before its first barrier, a traversal that is being profiled
+ * and a traversal over a graph that supports transactions, for which the transaction is bound to the calling thread,
+ * are all left to execute serially, and the reason is logged at debug level. As the steps are executed by many
+ * threads at once, the graph must support concurrent reads, as an in-memory graph like TinkerGraph does.
+ * <p/>
+ * This strategy operates on the final form of the traversal so that it partitions the steps produced by provider
+ * optimizations, like a {@code GraphStep} which has folded in its {@code has()} filters.
+ *
+ * @example <pre>
+ * g.withStrategies(ParallelStrategy.build().batchSize(10000).create()).V().hasLabel('x').out().out().groupCount()
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelStrategy.class);
+
+    public static final String BATCH_SIZE = "batchSize";
+
+    private static final Set<TraverserRequirement> UNSUPPORTED_REQUIREMENTS = EnumSet.of(
+            TraverserRequirement.PATH, TraverserRequirement.LABELED_PATH,
+            TraverserRequirement.SACK, TraverserRequirement.SIDE_EFFECTS);
+
+    private final int batchSize;
+    private final transient ForkJoinPool forkJoinPool;
+
+    private ParallelStrategy(final Builder builder) {
+        this.batchSize = builder.batchSize;
+        this.forkJoinPool = builder.forkJoinPool;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.isRoot() || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        if (steps.size() < 2 || !(steps.get(0) instanceof GraphStep))
+            return;
+
+        if (!Collections.disjoint(traversal.getTraverserRequirements(), UNSUPPORTED_REQUIREMENTS)) {
+            logSerial(traversal, "it requires one of " + UNSUPPORTED_REQUIREMENTS);
+            return;
+        }
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal)) {
+            logSerial(traversal, "it is being profiled");
+            return;
+        }
+        if (!traversal.getGraph().map(g -> !g.features().graph().supportsTransactions()).orElse(false)) {
+            logSerial(traversal, "the graph is unknown or binds its transactions to the calling thread");
+            return;
+        }
+
+        // find the barrier to merge at, making sure that everything leading to it can run concurrently
+        Step<?, ?> barrier = null;
+        for (int i = 1; i < steps.size(); i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (isMergeableBarrier(step)) {
+                barrier = step;
+                break;
+            } else if (!isParallelizable(step)) {
+                logSerial(traversal, step + " can not be executed in parallel");
+                return;
+            }
+        }
+
+        if (null == barrier) {
+            logSerial(traversal, "there is no barrier whose partial results can be merged");
+            return;
+        }
+        if (!isSafeInChildren(barrier)) {
+            logSerial(traversal, barrier + " has a child traversal that can not be executed in parallel");
+            return;
+        }
+
+        final Traversal.Admin<?, ?> pipeline = new DefaultTraversal<>();
+        final Step<?, ?> afterBarrier = barrier.getNextStep();
+        TraversalHelper.removeToTraversal(steps.get(1), afterBarrier, (Traversal.Admin) pipeline);
+        final ParallelStep<?, ?> parallelStep = new ParallelStep(traversal, pipeline, this.batchSize, this.forkJoinPool);
+        TraversalHelper.copyLabels(barrier, parallelStep, true);
+        traversal.addStep(1, parallelStep);
+    }
+
+    private static void logSerial(final Traversal.Admin<?, ?> traversal, final String reason) {
+        if (logger.isDebugEnabled())
+            logger.debug("{} executes serially as {}: {}", ParallelStrategy.class.getSimpleName(), reason, traversal);
+    }
+
+    /**
+     * Determines if the step is a barrier whose partial results can be merged.
+     */
+    private static boolean isMergeableBarrier(final Step<?, ?> step) {
+        return (step instanceof ReducingBarrierStep || step instanceof OrderGlobalStep) &&
+                !(step instanceof SideEffectCapable) && !(step instanceof LambdaHolder);
+    }
+
+    /**
+     * Determines if a step can process a partition of the traversers independently of the other partitions.
+     */
+    private static boolean isParallelizable(final Step<?, ?> step) {
+        if (step instanceof NoOpBarrierStep)
+            return true;
+        if (!(step instanceof FilterStep || step instanceof MapStep || step instanceof FlatMapStep))
+            return false;
+        if (step instanceof Barrier || step instanceof Ranging || step instanceof Seedable ||
+                step instanceof LambdaHolder || step instanceof Mutating || step instanceof SideEffectCapable)
+            return false;
+        return isSafeInChildren(step);
+    }
+
+    /**
+     * Child traversals are evaluated per traverser in each partition so they only need to avoid the steps that touch
+     * state shared across threads.
+     */
+    private static boolean isSafeInChildren(final Step<?, ?> step) {
+        return !(step instanceof TraversalParent) ||
+                !TraversalHelper.anyStepRecursively(s -> s instanceof LambdaHolder || s instanceof Mutating ||
+                        s instanceof SideEffectCapable || s instanceof SideEffectStep,
+                        (TraversalParent) step);
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPost() {
+        return Collections.singleton(ProfileStrategy.class);
+    }
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        final Builder builder = build();
+        if (configuration.containsKey(BATCH_SIZE))
+            builder.batchSize(Integer.parseInt(configuration.getProperty(BATCH_SIZE).toString()));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, ParallelStrategy.class.getCanonicalName());
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public final static class Builder {
+
+        private int batchSize = 1000;
+        private ForkJoinPool forkJoinPool = null;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers from the start step that are processed together as a single task. Defaults to
+         * 1000.
+         */
+        public Builder batchSize(final int batchSize) {
+            if (batchSize < 1)
+                throw new IllegalArgumentException("The batchSize must be greater than zero");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * The pool to execute the partitions in. Defaults to {@code ForkJoinPool.commonPool()}.
+         */
+        public Builder forkJoinPool(final ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this);
+        }
+    }
+}
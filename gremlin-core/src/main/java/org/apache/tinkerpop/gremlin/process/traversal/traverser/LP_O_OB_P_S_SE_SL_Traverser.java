@@ -22,7 +22,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
-import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
 import java.util.HashSet;
@@ -40,7 +40,7 @@ public class LP_O_OB_P_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
 
     public LP_O_OB_P_S_SE_SL_Traverser(final T t, final Step<T, ?> step) {
         super(t, step);
-        this.path = ImmutablePath.make().extend(t, step.getLabels());
+        this.path = CompactPath.make(step).extend(t, step.getLabels());
     }
 
     /////////////////
@@ -83,6 +83,11 @@ public class LP_O_OB_P_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
 
     @Override
     public void keepLabels(final Set<String> labels) {
+        if (this.path instanceof CompactPath) {
+            this.path = ((CompactPath) this.path).retainLabels(labels);
+            return;
+        }
+
         final Set<String> retractLabels = new HashSet<>();
         for (final Set<String> stepLabels : this.path.labels()) {
             for (final String l : stepLabels) {
@@ -101,7 +106,7 @@ public class LP_O_OB_P_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
 
     @Override
     public void dropPath() {
-        this.path = ImmutablePath.make();
+        this.path = CompactPath.make(this.path);
     }
 
     @Override
@@ -18,10 +18,13 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.util;
 
+import org.apache.commons.lang3.StringUtils;
 import org.javatuples.Triplet;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,6 +50,15 @@ public abstract class AbstractExplanation {
      */
     protected abstract Stream<Triplet<String,String,String>> getIntermediates();
 
+    /**
+     * Gets the metrics of the application of each strategy in the order they were applied, where the time taken by a
+     * strategy is given by its duration and the traversals visited and steps added and removed by its counts. The
+     * list is empty if the strategy application was not measured.
+     */
+    public List<? extends Metrics> getStrategyMetrics() {
+        return Collections.emptyList();
+    }
+
     @Override
     public String toString() {
         return this.prettyPrint(Integer.MAX_VALUE);
@@ -110,6 +122,30 @@ public abstract class AbstractExplanation {
         builder.append(wordWrap((intermediates.size() > 0 ?
                 intermediates.get(intermediates.size() - 1).getValue2() :
                 getOriginalTraversalAsString()), maxTraversalColumn, newLineIndent));
+
+        final List<? extends Metrics> strategyMetrics = this.getStrategyMetrics();
+        if (!strategyMetrics.isEmpty()) {
+            // the strategy column is narrowed to keep the table within the maximum line length
+            final int strategyColumnLength = Math.max(20, Math.min(maxStrategyColumnLength + 4, maxLineLength - 42));
+            final String rowFormat = "\n%-" + strategyColumnLength + "s %10s %8s %8s %12s";
+            builder.append("\n");
+            builder.append(String.format(rowFormat, "Strategy Application", "Traversals", "Added", "Removed", "Time (ms)"));
+            builder.append("\n");
+            for (int i = 0; i < (strategyColumnLength + 42); i++) {
+                builder.append("=");
+            }
+            long totalDuration = 0;
+            for (final Metrics m : strategyMetrics) {
+                totalDuration += m.getDuration(TimeUnit.NANOSECONDS);
+                final Object category = m.getAnnotation(TraversalMetrics.STRATEGY_CATEGORY_KEY);
+                builder.append(String.format(rowFormat,
+                        StringUtils.abbreviate(null == category ? m.getName() : m.getName() + " [" + category.toString().charAt(0) + "]", strategyColumnLength),
+                        m.getCount(TraversalMetrics.TRAVERSAL_COUNT_ID), m.getCount(TraversalMetrics.STEPS_ADDED_ID),
+                        m.getCount(TraversalMetrics.STEPS_REMOVED_ID), String.format("%.3f", m.getDuration(TimeUnit.MICROSECONDS) / 1000.0)));
+            }
+            builder.append(String.format(rowFormat, "Total", "-", "-", "-",
+                    String.format("%.3f", TimeUnit.NANOSECONDS.toMicros(totalDuration) / 1000.0)));
+        }
         return builder.toString();
     }
 
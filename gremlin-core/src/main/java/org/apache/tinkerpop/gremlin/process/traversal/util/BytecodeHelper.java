@@ -29,8 +29,12 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -103,6 +107,60 @@ public final class BytecodeHelper {
         }
     }
 
+    /**
+     * Creates a copy of the bytecode with the value of each {@link Bytecode.Binding} argument replaced by the value
+     * given for its variable. A binding without a value in the map keeps the value it was created with. Bindings are
+     * found in child traversals and in {@code Map}, {@code List} and {@code Set} arguments, which are copied when
+     * they are bound, while all other arguments are shared with the original bytecode.
+     */
+    public static Bytecode bindVariables(final Bytecode bytecode, final Map<String, Object> values) {
+        final Bytecode bound = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            bound.addSource(instruction.getOperator(), bindArguments(instruction.getArguments(), values));
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            bound.addStep(instruction.getOperator(), bindArguments(instruction.getArguments(), values));
+        }
+        return bound;
+    }
+
+    private static Object[] bindArguments(final Object[] arguments, final Map<String, Object> values) {
+        final Object[] bound = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            bound[i] = bindArgument(arguments[i], values);
+        }
+        return bound;
+    }
+
+    private static Object bindArgument(final Object argument, final Map<String, Object> values) {
+        if (argument instanceof Bytecode.Binding) {
+            final Bytecode.Binding<?> binding = (Bytecode.Binding<?>) argument;
+            return values.containsKey(binding.variable()) ?
+                    new Bytecode.Binding<>(binding.variable(), values.get(binding.variable())) : binding;
+        } else if (argument instanceof Bytecode) {
+            return bindVariables((Bytecode) argument, values);
+        } else if (argument instanceof Map) {
+            final Map<Object, Object> map = new LinkedHashMap<>(((Map) argument).size());
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) argument).entrySet()) {
+                map.put(bindArgument(entry.getKey(), values), bindArgument(entry.getValue(), values));
+            }
+            return map;
+        } else if (argument instanceof List) {
+            final List<Object> list = new ArrayList<>(((List) argument).size());
+            for (final Object item : (List) argument) {
+                list.add(bindArgument(item, values));
+            }
+            return list;
+        } else if (argument instanceof Set) {
+            final Set<Object> set = new LinkedHashSet<>(((Set) argument).size());
+            for (final Object item : (Set) argument) {
+                set.add(bindArgument(item, values));
+            }
+            return set;
+        } else
+            return argument;
+    }
+
     public static void detachElements(final Bytecode bytecode) {
         for (final Bytecode.Instruction instruction : bytecode.getInstructions()) {
             final Object[] arguments = instruction.getArguments();
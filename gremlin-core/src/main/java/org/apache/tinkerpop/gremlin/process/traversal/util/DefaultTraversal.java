@@ -29,6 +29,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.DefaultTraverserGeneratorFactory;
@@ -65,6 +67,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     protected TraversalStrategies strategies;
     protected transient TraverserGenerator generator;
     protected Set<TraverserRequirement> requirements;
+    protected CompactPath.LabelTable pathLabelTable = CompactPath.LabelTable.NONE;
 
     protected boolean locked = false;
     protected boolean closed = false;
@@ -109,6 +112,14 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         return this;
     }
 
+    /**
+     * Gets the label bits of the {@link CompactPath} instances of the traversers of this traversal, which are only
+     * assigned to a root traversal that tracks paths once its strategies are applied.
+     */
+    public CompactPath.LabelTable getPathLabelTable() {
+        return this.pathLabelTable;
+    }
+
     @Override
     public TraverserGenerator getTraverserGenerator() {
         if (null == this.generator)
@@ -146,12 +157,22 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
             // moving side-effect setting after actual recursive strategy application we save a loop and by
             // consequence also fix a problem where strategies might reset something in sideeffects which seems to
             // happen in TranslationStrategy.
+            //
+            // a profiled traversal measures each strategy application so that the cost of compilation can be
+            // reported alongside the cost of execution
+            final ProfileSideEffectStep<?> profileStep = getProfileSideEffectStep();
+            final List<MutableMetrics> strategyMetrics = null == profileStep ? null : new ArrayList<>();
             final Iterator<TraversalStrategy<?>> strategyIterator = this.strategies.iterator();
             while (strategyIterator.hasNext()) {
                 final TraversalStrategy<?> strategy = strategyIterator.next();
-                TraversalHelper.applyTraversalRecursively(strategy::apply, this);
+                if (null == strategyMetrics)
+                    TraversalHelper.applyTraversalRecursively(strategy::apply, this);
+                else
+                    strategyMetrics.add(TraversalHelper.applyStrategyRecursively(strategy, this));
             }
 
+            if (null != profileStep) profileStep.setStrategyMetrics(strategyMetrics);
+
             // don't need to re-apply strategies to "this" - leads to endless recursion in GraphComputer.
             TraversalHelper.applyTraversalRecursively(t -> {
                 if (hasGraph) t.setGraph(this.graph);
@@ -164,13 +185,23 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         
         this.finalEndStep = this.getEndStep();
 
-        // finalize requirements
+        // finalize requirements and give the labels of a path tracking traversal their bits
         if (this.isRoot()) {
             resetTraverserRequirements();
+            if (this.requirements.contains(TraverserRequirement.LABELED_PATH) || this.requirements.contains(TraverserRequirement.PATH))
+                this.pathLabelTable = CompactPath.LabelTable.of(TraversalHelper.getLabels(this));
         }
         this.locked = true;
     }
 
+    private ProfileSideEffectStep<?> getProfileSideEffectStep() {
+        for (int ix = this.steps.size() - 1; ix >= 0; ix--) {
+            if (this.steps.get(ix) instanceof ProfileSideEffectStep)
+                return (ProfileSideEffectStep<?>) this.steps.get(ix);
+        }
+        return null;
+    }
+
     private void resetTraverserRequirements() {
         this.requirements = null;
         this.getTraverserRequirements();
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.util;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.javatuples.Pair;
@@ -28,6 +29,7 @@ import org.javatuples.Pair;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -49,6 +51,11 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
      */
     private static final String[] HEADERS = {"Step", "Count", "Traversers", "Time (ms)", "% Dur"};
 
+    /**
+     * toString() specific headers for the strategy application table
+     */
+    private static final String[] STRATEGY_HEADERS = {"Strategy", "Traversals", "Added", "Removed", "Time (ms)"};
+
     /**
      * {@link ImmutableMetrics} indexed by their step identifier.
      */
@@ -69,6 +76,12 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
      */
     private volatile boolean finalized = false;
 
+    /**
+     * {@link ImmutableMetrics} of each strategy application in the order the strategies were applied. This field is
+     * transient so as to leave the field-based Gryo 1.0 format of this class as it was.
+     */
+    private transient List<ImmutableMetrics> strategyMetrics = new ArrayList<>();
+
     public DefaultTraversalMetrics() {
     }
 
@@ -84,6 +97,15 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
         }
     }
 
+    /**
+     * This is only a convenient constructor needed for deserialization of metrics that include strategy metrics.
+     */
+    public DefaultTraversalMetrics(final long totalStepDurationNs, final List<MutableMetrics> orderedMetrics,
+                                   final List<MutableMetrics> strategyMetrics) {
+        this(totalStepDurationNs, orderedMetrics);
+        strategyMetrics.forEach(m -> this.strategyMetrics.add(m.getImmutableClone()));
+    }
+
     @Override
     public long getDuration(final TimeUnit unit) {
         return unit.convert(this.totalStepDuration, MutableMetrics.SOURCE_UNIT);
@@ -106,6 +128,21 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
                 (oldValue, newValue) -> oldValue, LinkedHashMap::new)).values();
     }
 
+    @Override
+    public Collection<ImmutableMetrics> getStrategyMetrics() {
+        return null == strategyMetrics ? Collections.emptyList() : Collections.unmodifiableList(strategyMetrics);
+    }
+
+    /**
+     * Sets the metrics of the strategy applications which are typically gathered by
+     * {@link TraversalHelper#applyStrategyRecursively(TraversalStrategy, Traversal.Admin)}.
+     */
+    public synchronized void setStrategyMetrics(final List<? extends Metrics> strategyMetrics) {
+        if (finalized) throw new IllegalStateException("Metrics have been finalized and cannot be modified");
+        this.strategyMetrics = new ArrayList<>(strategyMetrics.size());
+        strategyMetrics.forEach(m -> this.strategyMetrics.add(new MutableMetrics(m).getImmutableClone()));
+    }
+
     /**
      * The metrics have been computed and can no longer be modified.
      */
@@ -130,6 +167,26 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
         sb.append(String.format("%n%50s %21s %11s %15.3f %8s",
                 ">TOTAL", "-", "-", getDuration(TimeUnit.MICROSECONDS) / 1000.0, "-"));
 
+        final Collection<ImmutableMetrics> strategies = getStrategyMetrics();
+        if (!strategies.isEmpty()) {
+            sb.append(System.lineSeparator()).append(System.lineSeparator())
+                    .append(String.format("%-50s %11s %10s %10s %15s", STRATEGY_HEADERS));
+            sb.append(System.lineSeparator());
+            sb.append("=============================================================================================================");
+
+            long strategiesDuration = 0;
+            for (final Metrics m : strategies) {
+                strategiesDuration += m.getDuration(TimeUnit.NANOSECONDS);
+                sb.append(String.format("%n%-50s %11s %10s %10s %15.3f",
+                        StringUtils.abbreviate(m.getName(), 50), countOrBlank(m, TRAVERSAL_COUNT_ID),
+                        countOrBlank(m, STEPS_ADDED_ID), countOrBlank(m, STEPS_REMOVED_ID),
+                        m.getDuration(TimeUnit.MICROSECONDS) / 1000.0));
+            }
+
+            sb.append(String.format("%n%50s %11s %10s %10s %15.3f",
+                    ">TOTAL", "-", "-", "-", TimeUnit.NANOSECONDS.toMicros(strategiesDuration) / 1000.0));
+        }
+
         return sb.toString();
     }
 
@@ -280,6 +337,11 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
         }
     }
 
+    private static String countOrBlank(final Metrics metrics, final String key) {
+        final Long count = metrics.getCount(key);
+        return null == count ? "" : count.toString();
+    }
+
     private static String[] splitOnSize(final String text, final int size) {
         final String[] ret = new String[(text.length() + size - 1) / size];
 
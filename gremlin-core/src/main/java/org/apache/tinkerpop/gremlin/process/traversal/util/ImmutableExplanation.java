@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.javatuples.Pair;
 import org.javatuples.Triplet;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -39,8 +40,15 @@ public class ImmutableExplanation extends TraversalExplanation {
 
     public ImmutableExplanation(final String originalTraversal,
                                 final List<Triplet<String, String, String>> intermediates) {
+        this(originalTraversal, intermediates, Collections.emptyList());
+    }
+
+    public ImmutableExplanation(final String originalTraversal,
+                                final List<Triplet<String, String, String>> intermediates,
+                                final List<? extends Metrics> strategyMetrics) {
         this.originalTraversal = originalTraversal;
         this.intermediates = intermediates;
+        strategyMetrics.forEach(m -> this.strategyMetrics.add(new MutableMetrics(m).getImmutableClone()));
     }
 
     @Override
@@ -44,6 +44,7 @@ public class TraversalExplanation extends AbstractExplanation implements Seriali
 
     protected Traversal.Admin<?, ?> traversal;
     protected List<Pair<TraversalStrategy, Traversal.Admin<?, ?>>> strategyTraversals = new ArrayList<>();
+    protected List<ImmutableMetrics> strategyMetrics = new ArrayList<>();
 
     protected TraversalExplanation() {
         // no arg constructor for serialization
@@ -59,6 +60,18 @@ public class TraversalExplanation extends AbstractExplanation implements Seriali
             mutatingTraversal.applyStrategies();
             this.strategyTraversals.add(Pair.with(strategy, mutatingTraversal));
         }
+
+        // the intermediate traversals above re-apply all the earlier strategies for each strategy so the cost of each
+        // strategy is measured in a separate pass that applies each one once to the output of the ones before it
+        final Traversal.Admin<?, ?> measuredTraversal = this.traversal.clone();
+        TraversalHelper.applyTraversalRecursively(t -> {
+            measuredTraversal.getGraph().ifPresent(t::setGraph);
+            t.setStrategies(measuredTraversal.getStrategies());
+            t.setSideEffects(measuredTraversal.getSideEffects());
+        }, measuredTraversal);
+        for (final TraversalStrategy<?> strategy : measuredTraversal.getStrategies()) {
+            this.strategyMetrics.add(TraversalHelper.applyStrategyRecursively(strategy, measuredTraversal).getImmutableClone());
+        }
     }
 
     /**
@@ -79,9 +92,22 @@ public class TraversalExplanation extends AbstractExplanation implements Seriali
         return this.traversal;
     }
 
+    /**
+     * Get the metrics of the application of each {@link TraversalStrategy} in the order they were applied. The time
+     * taken by a strategy is given by its duration and the counts keyed by {@link TraversalMetrics#TRAVERSAL_COUNT_ID},
+     * {@link TraversalMetrics#STEPS_ADDED_ID} and {@link TraversalMetrics#STEPS_REMOVED_ID} give the number of
+     * traversals it visited and the number of steps it added and removed.
+     *
+     * @return the list of strategy metrics
+     */
+    @Override
+    public List<ImmutableMetrics> getStrategyMetrics() {
+        return Collections.unmodifiableList(this.strategyMetrics);
+    }
+
     public ImmutableExplanation asImmutable() {
         return new ImmutableExplanation(getOriginalTraversalAsString(),
-                this.getIntermediates().collect(Collectors.toList()));
+                this.getIntermediates().collect(Collectors.toList()), this.strategyMetrics);
     }
 
     @Override
@@ -54,12 +54,15 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -482,6 +485,49 @@ public final class TraversalHelper {
         }
     }
 
+    /**
+     * Apply the {@link TraversalStrategy} to the provided {@link Traversal} and all of its children, the same way
+     * {@link Traversal.Admin#applyStrategies()} does, and measure that application. The returned {@link MutableMetrics}
+     * carries the time taken by the strategy, the number of traversals it visited under
+     * {@link TraversalMetrics#TRAVERSAL_COUNT_ID} and the number of steps it added and removed anywhere in the tree
+     * under {@link TraversalMetrics#STEPS_ADDED_ID} and {@link TraversalMetrics#STEPS_REMOVED_ID}. The
+     * {@link TraversalStrategy} category is annotated under {@link TraversalMetrics#STRATEGY_CATEGORY_KEY}.
+     *
+     * @param strategy  the strategy to apply
+     * @param traversal the root traversal to start application
+     * @return the metrics of the strategy application
+     */
+    public static MutableMetrics applyStrategyRecursively(final TraversalStrategy<?> strategy, final Traversal.Admin<?, ?> traversal) {
+        final Set<Step> before = getStepsRecursively(traversal);
+        final long[] traversalCount = {0};
+        final long start = System.nanoTime();
+        applyTraversalRecursively(t -> {
+            traversalCount[0]++;
+            strategy.apply(t);
+        }, traversal);
+        final long duration = System.nanoTime() - start;
+        final Set<Step> after = getStepsRecursively(traversal);
+
+        long added = 0;
+        for (final Step step : after) {
+            if (!before.remove(step)) added++;
+        }
+
+        final MutableMetrics metrics = new MutableMetrics(strategy.getClass().getName(), strategy.toString());
+        metrics.setDuration(duration, TimeUnit.NANOSECONDS);
+        metrics.setCount(TraversalMetrics.TRAVERSAL_COUNT_ID, traversalCount[0]);
+        metrics.setCount(TraversalMetrics.STEPS_ADDED_ID, added);
+        metrics.setCount(TraversalMetrics.STEPS_REMOVED_ID, before.size());
+        metrics.setAnnotation(TraversalMetrics.STRATEGY_CATEGORY_KEY, strategy.getTraversalCategory().getSimpleName());
+        return metrics;
+    }
+
+    private static Set<Step> getStepsRecursively(final Traversal.Admin<?, ?> traversal) {
+        final Set<Step> steps = Collections.newSetFromMap(new IdentityHashMap<>());
+        applyTraversalRecursively(t -> steps.addAll(t.getSteps()), traversal);
+        return steps;
+    }
+
     public static <S> void addToCollection(final Collection<S> collection, final S s, final long bulk) {
         if (collection instanceof BulkSet) {
             ((BulkSet<S>) collection).add(s, bulk);
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.process.traversal.util;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,6 +44,30 @@ public interface TraversalMetrics {
      */
     public static final String PERCENT_DURATION_KEY = "percentDur";
 
+    /**
+     * The MetricsId used to obtain the number of traversals a strategy was applied to via
+     * Metrics.getCount(String countKey) on a strategy Metrics
+     */
+    public static final String TRAVERSAL_COUNT_ID = "traversalCount";
+
+    /**
+     * The MetricsId used to obtain the number of steps a strategy added via Metrics.getCount(String countKey) on a
+     * strategy Metrics
+     */
+    public static final String STEPS_ADDED_ID = "stepsAdded";
+
+    /**
+     * The MetricsId used to obtain the number of steps a strategy removed via Metrics.getCount(String countKey) on a
+     * strategy Metrics
+     */
+    public static final String STEPS_REMOVED_ID = "stepsRemoved";
+
+    /**
+     * The annotation key used to obtain the strategy category via Metrics.getAnnotation(String key) on a strategy
+     * Metrics
+     */
+    public static final String STRATEGY_CATEGORY_KEY = "category";
+
     /**
      * Get the total duration taken by the Traversal.
      *
@@ -68,4 +93,13 @@ public interface TraversalMetrics {
      * Gets all the metrics.
      */
     public Collection<? extends Metrics> getMetrics();
+
+    /**
+     * Gets the metrics of the application of each strategy to the profiled traversal in the order they were applied.
+     * The time taken by a strategy is given by its duration and the traversals visited and steps added and removed by
+     * its counts. The list is empty if the strategy application was not measured.
+     */
+    public default Collection<? extends Metrics> getStrategyMetrics() {
+        return Collections.emptyList();
+    }
 }
@@ -22,14 +22,17 @@ import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
 import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 import org.javatuples.Pair;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class TraversalExplanationSerializer extends SimpleTypeSerializer<TraversalExplanation> implements TransformSerializer<TraversalExplanation> {
@@ -39,6 +42,7 @@ public class TraversalExplanationSerializer extends SimpleTypeSerializer<Travers
     private static final String CATEGORY = "category";
     private static final String TRAVERSAL = "traversal";
     private static final String STRATEGY = "strategy";
+    private static final String DURATION = "duration";
 
     public TraversalExplanationSerializer() {
         super(null);
@@ -55,7 +59,9 @@ public class TraversalExplanationSerializer extends SimpleTypeSerializer<Travers
     }
 
     /**
-     * Creates a Map containing "original", "intermediate" and "final" keys.
+     * Creates a Map containing "original", "intermediate" and "final" keys. Each intermediate carries the metrics of
+     * the application of its strategy where available, with the "duration" in nanoseconds and the "traversalCount",
+     * "stepsAdded" and "stepsRemoved" counts.
      */
     @Override
     public Object transform(final TraversalExplanation value) {
@@ -63,15 +69,23 @@ public class TraversalExplanationSerializer extends SimpleTypeSerializer<Travers
         result.put(ORIGINAL, getTraversalSteps(value.getOriginalTraversal()));
 
         final List<Pair<TraversalStrategy, Traversal.Admin<?, ?>>> strategyTraversals = value.getStrategyTraversals();
+        final List<? extends Metrics> strategyMetrics = value.getStrategyMetrics();
 
-        result.put(INTERMEDIATE,
-                strategyTraversals.stream().map(pair -> {
-                    final Map<String, Object> item = new HashMap<>();
-                    item.put(STRATEGY, pair.getValue0().toString());
-                    item.put(CATEGORY, pair.getValue0().getTraversalCategory().getSimpleName());
-                    item.put(TRAVERSAL, getTraversalSteps(pair.getValue1()));
-                    return item;
-                }).collect(Collectors.toList()));
+        final List<Map<String, Object>> intermediates = new ArrayList<>(strategyTraversals.size());
+        for (int i = 0; i < strategyTraversals.size(); i++) {
+            final Pair<TraversalStrategy, Traversal.Admin<?, ?>> pair = strategyTraversals.get(i);
+            final Map<String, Object> item = new HashMap<>();
+            item.put(STRATEGY, pair.getValue0().toString());
+            item.put(CATEGORY, pair.getValue0().getTraversalCategory().getSimpleName());
+            item.put(TRAVERSAL, getTraversalSteps(pair.getValue1()));
+            if (i < strategyMetrics.size()) {
+                final Metrics metrics = strategyMetrics.get(i);
+                item.put(DURATION, metrics.getDuration(TimeUnit.NANOSECONDS));
+                item.putAll(metrics.getCounts());
+            }
+            intermediates.add(item);
+        }
+        result.put(INTERMEDIATE, intermediates);
 
         result.put(FINAL, getTraversalSteps(strategyTraversals.isEmpty()
                 ? value.getOriginalTraversal() : strategyTraversals.get(strategyTraversals.size() - 1).getValue1()));
@@ -45,6 +45,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Partit
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ByModulatorOptimizationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.EarlyLimitStrategy;
@@ -193,6 +194,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
@@ -324,6 +326,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     ProductiveByStrategy.class,
@@ -434,6 +437,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             SeedStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             ByModulatorOptimizationStrategy.class,
                             ProductiveByStrategy.class,
@@ -555,6 +559,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     SeedStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     ByModulatorOptimizationStrategy.class,
                     CountStrategy.class,
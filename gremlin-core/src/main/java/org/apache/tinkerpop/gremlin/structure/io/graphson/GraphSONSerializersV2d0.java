@@ -62,6 +62,7 @@ import org.javatuples.Triplet;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -364,6 +365,8 @@ class GraphSONSerializersV2d0 {
             final List<Metrics> metrics = new ArrayList<>();
             metrics.addAll(traversalMetrics.getMetrics());
             m.put(GraphSONTokens.METRICS, metrics);
+            if (!traversalMetrics.getStrategyMetrics().isEmpty())
+                m.put(GraphSONTokens.STRATEGIES, new ArrayList<>(traversalMetrics.getStrategyMetrics()));
 
             jsonGenerator.writeObject(m);
         }
@@ -671,7 +674,8 @@ class GraphSONSerializersV2d0 {
         public TraversalMetrics createObject(final Map<String, Object> traversalMetricsData) {
             return new DefaultTraversalMetrics(
                     Math.round((Double) traversalMetricsData.get(GraphSONTokens.DURATION) * 1000000),
-                    (List<MutableMetrics>) traversalMetricsData.get(GraphSONTokens.METRICS)
+                    (List<MutableMetrics>) traversalMetricsData.get(GraphSONTokens.METRICS),
+                    (List<MutableMetrics>) traversalMetricsData.getOrDefault(GraphSONTokens.STRATEGIES, Collections.emptyList())
             );
         }
     }
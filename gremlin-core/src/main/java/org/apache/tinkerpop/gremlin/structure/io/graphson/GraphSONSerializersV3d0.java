@@ -60,6 +60,7 @@ import org.javatuples.Triplet;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -363,6 +364,8 @@ class GraphSONSerializersV3d0 {
             final List<Metrics> metrics = new ArrayList<>();
             metrics.addAll(traversalMetrics.getMetrics());
             m.put(GraphSONTokens.METRICS, metrics);
+            if (!traversalMetrics.getStrategyMetrics().isEmpty())
+                m.put(GraphSONTokens.STRATEGIES, new ArrayList<>(traversalMetrics.getStrategyMetrics()));
 
             jsonGenerator.writeObject(m);
         }
@@ -682,7 +685,8 @@ class GraphSONSerializersV3d0 {
 
             return new DefaultTraversalMetrics(
                     Math.round((Double) traversalMetricsData.get(GraphSONTokens.DURATION) * 1000000),
-                    (List<MutableMetrics>) traversalMetricsData.get(GraphSONTokens.METRICS)
+                    (List<MutableMetrics>) traversalMetricsData.get(GraphSONTokens.METRICS),
+                    (List<MutableMetrics>) traversalMetricsData.getOrDefault(GraphSONTokens.STRATEGIES, Collections.emptyList())
             );
         }
 
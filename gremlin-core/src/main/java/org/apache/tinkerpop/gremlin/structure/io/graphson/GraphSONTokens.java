@@ -62,6 +62,7 @@ public final class GraphSONTokens {
 
     // TraversalMetrics Tokens
     public static final String METRICS = "metrics";
+    public static final String STRATEGIES = "strategies";
     public static final String DURATION = "dur";
     public static final String NAME = "name";
     public static final String COUNTS = "counts";
@@ -349,6 +349,8 @@ public final class NumberHelper {
      */
     public static Number add(final Number a, final Number b) {
         if (null == a || null == b) return a;
+        if (a instanceof Long && b instanceof Long) return (Long) a + (Long) b;
+        if (bothAreDouble(a, b)) return (Double) a + (Double) b;
         final Class<? extends Number> clazz = getHighestCommonNumberClass(a, b);
         return getHelper(clazz).add.apply(a, b);
     }
@@ -465,6 +467,9 @@ public final class NumberHelper {
         if (a == null || b == null)
             return a == null ? b : a;
 
+        if (a instanceof Long && b instanceof Long) return (Long) a <= (Long) b ? a : b;
+        if (bothAreDouble(a, b)) return (Double) a <= (Double) b ? a : b;
+
         // handle one or both NaN (propagate NaN if both)
         if (eitherAreNaN(a, b))
             return isNaN(a) ? b : a;
@@ -522,6 +527,9 @@ public final class NumberHelper {
         if (a == null || b == null)
             return a == null ? b : a;
 
+        if (a instanceof Long && b instanceof Long) return (Long) a >= (Long) b ? a : b;
+        if (bothAreDouble(a, b)) return (Double) a >= (Double) b ? a : b;
+
         // handle one or both NaN (propagate NaN if both)
         if (eitherAreNaN(a, b))
             return isNaN(a) ? b : a;
@@ -627,6 +635,15 @@ public final class NumberHelper {
                 (object instanceof Double && Double.isNaN((double) object));
     }
 
+    /**
+     * Determines if both values are a {@code Double} that is not {@code NaN}, which are the values that can skip the
+     * search for the highest common number class.
+     */
+    private static boolean bothAreDouble(final Object first, final Object second) {
+        return first instanceof Double && second instanceof Double &&
+                !Double.isNaN((Double) first) && !Double.isNaN((Double) second);
+    }
+
     public static boolean eitherAreNaN(final Object first, final Object second) {
         return isNaN(first) || isNaN(second);
     }
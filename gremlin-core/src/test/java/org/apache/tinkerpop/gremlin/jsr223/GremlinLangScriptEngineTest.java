@@ -18,17 +18,22 @@
  */
 package org.apache.tinkerpop.gremlin.jsr223;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
 import javax.script.Bindings;
 import javax.script.ScriptException;
+import java.util.Collections;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 public class GremlinLangScriptEngineTest {
 
@@ -52,4 +57,95 @@ public class GremlinLangScriptEngineTest {
         assertThat(result, instanceOf(Traversal.Admin.class));
         assertEquals(g.V().asAdmin().getBytecode(), ((Traversal.Admin) result).getBytecode());
     }
+
+    @Test
+    public void shouldHitTraversalCacheForScriptsThatOnlyDifferInStrings() throws ScriptException {
+        final GremlinLangScriptEngine engine = createEngine(new TraversalCacheCustomizer(100));
+
+        assertBytecode(g.V().has("person", "name", "marko").out("knows"),
+                engine.eval("g.V().has('person', 'name', 'marko').out('knows')"));
+        assertEquals(0, engine.getTraversalCacheHitCount());
+        assertEquals(1, engine.getTraversalCacheMissCount());
+
+        assertBytecode(g.V().has("software", "name", "lop").out("created"),
+                engine.eval("g.V().has(\"software\", 'name', 'lop').out('created')"));
+        assertBytecode(g.V().has("person", "name", "it's \"quoted\"\n").out(""),
+                engine.eval("g.V().has('person', 'name', 'it\\'s \"quoted\"\\n').out('')"));
+        assertEquals(2, engine.getTraversalCacheHitCount());
+        assertEquals(1, engine.getTraversalCacheMissCount());
+        assertEquals(1, engine.getTraversalCacheEstimatedSize());
+    }
+
+    @Test
+    public void shouldBindStringsInPredicatesAndChildTraversals() throws ScriptException {
+        final GremlinLangScriptEngine engine = createEngine(new TraversalCacheCustomizer(100));
+        final String script = "g.V().has('name', within('%s', '%s')).where(__.out('%s')).has('name', TextP.startingWith('%s'))";
+
+        for (int i = 0; i < 3; i++) {
+            final String[] strings = {"a" + i, "b" + i, "c" + i, "d" + i};
+            assertBytecode(g.V().has("name", P.within(strings[0], strings[1])).where(__.out(strings[2])).
+                            has("name", TextP.startingWith(strings[3])),
+                    engine.eval(String.format(script, (Object[]) strings)));
+        }
+        assertEquals(2, engine.getTraversalCacheHitCount());
+    }
+
+    @Test
+    public void shouldNotCacheScriptsThatAreNotSingleTraversals() throws ScriptException {
+        final GremlinLangScriptEngine engine = createEngine(new TraversalCacheCustomizer(100));
+
+        assertEquals(g.V().count().getClass(), engine.eval("g.V().count()").getClass());
+        assertEquals(Collections.emptyList(), engine.eval("g.V().has('name', 'marko').toList()"));
+        assertEquals(Collections.emptyList(), engine.eval("g.V().has('name', 'vadas').toList()"));
+        assertEquals(0, engine.getTraversalCacheHitCount());
+        assertEquals(1, engine.getTraversalCacheUncacheableCount());
+
+        try {
+            engine.eval("g.V().has(?, 'marko')");
+            fail("Script is not valid Gremlin");
+        } catch (Exception ignored) {
+            // expected
+        }
+        assertEquals(0, engine.getTraversalCacheHitCount());
+    }
+
+    @Test
+    public void shouldEvictTraversalsWhenFull() throws ScriptException {
+        final GremlinLangScriptEngine engine = createEngine(new TraversalCacheCustomizer(1));
+
+        engine.eval("g.V().out('knows')");
+        engine.eval("g.V().in('knows')");
+        assertBytecode(g.V().out("created"), engine.eval("g.V().out('created')"));
+        assertEquals(0, engine.getTraversalCacheHitCount());
+        assertEquals(2, engine.getTraversalCacheEvictionCount());
+        assertEquals(1, engine.getTraversalCacheEstimatedSize());
+
+        engine.reset();
+        assertEquals(0, engine.getTraversalCacheEstimatedSize());
+    }
+
+    @Test
+    public void shouldDisableTraversalCache() throws ScriptException {
+        final GremlinLangScriptEngine engine = createEngine(new TraversalCacheCustomizer(0));
+
+        assertBytecode(g.V().out("knows"), engine.eval("g.V().out('knows')"));
+        assertBytecode(g.V().out("created"), engine.eval("g.V().out('created')"));
+        assertEquals(0, engine.getTraversalCacheRequestCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowNegativeTraversalCacheSize() {
+        new TraversalCacheCustomizer(-1);
+    }
+
+    private static GremlinLangScriptEngine createEngine(final Customizer... customizers) {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(customizers);
+        engine.put("g", g);
+        return engine;
+    }
+
+    private static void assertBytecode(final Traversal<?, ?> expected, final Object actual) {
+        assertThat(actual, instanceOf(Traversal.Admin.class));
+        assertEquals(expected.asAdmin().getBytecode(), ((Traversal.Admin) actual).getBytecode());
+    }
 }
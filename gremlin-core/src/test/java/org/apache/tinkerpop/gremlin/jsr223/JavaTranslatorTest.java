@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.StringStartsWith.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JavaTranslatorTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+    private final JavaTranslator<GraphTraversalSource, Traversal.Admin<?, ?>> translator = JavaTranslator.of(g);
+
+    @Test
+    public void shouldTranslateTheSameShapeRepeatedly() {
+        final List<Traversal<?, ?>> traversals = Arrays.asList(
+                g.V().has("person", "name", "marko").out("knows"),
+                g.V().has("software", "name", "lop").out("created"),
+                g.V().has("person", "name", null).out(),
+                g.V().has(T.label, "person").out("knows", "created", "likes"),
+                g.V(1, 2L, "3").limit(2).range(1L, 3).values("name", "age"),
+                g.V().where(__.out("knows").has("name", P.within("vadas", "josh"))).outE().inV().path(),
+                g.withStrategies(ReadOnlyStrategy.instance(), SubgraphStrategy.build().vertices(__.hasLabel("person")).create()).V(),
+                g.inject(1, null, "x").fold().unfold().coalesce(__.constant(1), __.constant(2)));
+
+        for (int i = 0; i < 3; i++) {
+            for (final Traversal<?, ?> t : traversals) {
+                final Bytecode bytecode = t.asAdmin().getBytecode();
+                assertEquals(bytecode, translator.translate(bytecode).getBytecode());
+            }
+        }
+    }
+
+    @Test
+    public void shouldPickOverloadByArgumentsOfEachInstruction() {
+        assertEquals(g.V().has("name", "marko").asAdmin().getBytecode(),
+                translator.translate(g.V().has("name", "marko").asAdmin().getBytecode()).getBytecode());
+        assertEquals(g.V().has("name", P.eq("marko")).asAdmin().getBytecode(),
+                translator.translate(g.V().has("name", P.eq("marko")).asAdmin().getBytecode()).getBytecode());
+        assertEquals(g.V().has("name").asAdmin().getBytecode(),
+                translator.translate(g.V().has("name").asAdmin().getBytecode()).getBytecode());
+        assertEquals(g.V().has("name", __.is("marko")).asAdmin().getBytecode(),
+                translator.translate(g.V().has("name", __.is("marko")).asAdmin().getBytecode()).getBytecode());
+    }
+
+    @Test
+    public void shouldNotTranslateUnknownMethod() {
+        final Bytecode bytecode = new Bytecode();
+        bytecode.addStep("V");
+        bytecode.addStep("nope", "x");
+        try {
+            translator.translate(bytecode);
+            fail("The method does not exist");
+        } catch (IllegalStateException ise) {
+            assertEquals("Could not locate method: DefaultGraphTraversal.nope(String)", ise.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldNotTranslateMethodWithWrongArguments() {
+        final Bytecode bytecode = new Bytecode();
+        bytecode.addStep("V");
+        bytecode.addStep("limit", "x");
+        try {
+            translator.translate(bytecode);
+            fail("The method does not take a String");
+        } catch (IllegalStateException ise) {
+            assertThat(ise.getMessage(), startsWith("Could not locate method"));
+        }
+    }
+
+    @Test
+    public void shouldKeepExceptionsRaisedByTheMethod() {
+        final Bytecode bytecode = new Bytecode();
+        bytecode.addStep("V");
+        bytecode.addStep("repeat", (Object) null);
+        try {
+            translator.translate(bytecode);
+            fail("The method does not accept a null traversal");
+        } catch (IllegalStateException ise) {
+            assertThat(ise.getCause(), instanceOf(InvocationTargetException.class));
+            assertThat(ise.getCause().getCause(), instanceOf(NullPointerException.class));
+        }
+    }
+
+    @Test
+    public void shouldReportArgumentsThatDoNotFitTheMethod() {
+        final Bytecode bytecode = new Bytecode();
+        bytecode.addStep("V");
+        bytecode.addStep("limit", 1);
+        translator.translate(bytecode);
+
+        // same shape as far as the dispatch goes but the null can't become a long
+        final Bytecode nullLimit = new Bytecode();
+        nullLimit.addStep("V");
+        nullLimit.addStep("limit", (Object) null);
+        try {
+            translator.translate(nullLimit);
+            fail("The method does not take a null long");
+        } catch (IllegalStateException ise) {
+            assertThat(ise.getCause(), instanceOf(IllegalArgumentException.class));
+        }
+    }
+}
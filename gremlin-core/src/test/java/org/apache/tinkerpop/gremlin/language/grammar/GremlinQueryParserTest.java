@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.junit.Assert.assertEquals;
+
+public class GremlinQueryParserTest {
+
+    private final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance());
+
+    @Test
+    public void shouldParseLargeLiteralLists() {
+        final List<Object> literals = new ArrayList<>();
+        final StringBuilder script = new StringBuilder("g.inject(");
+        for (int i = 0; i < 10000; i++) {
+            if (i > 0) script.append(", ");
+            if (i % 3 == 0) {
+                literals.add(i);
+                script.append(i);
+            } else if (i % 3 == 1) {
+                literals.add("s" + i);
+                script.append("'s").append(i).append("'");
+            } else {
+                literals.add("it's " + i);
+                script.append("'it\\'s ").append(i).append("'");
+            }
+        }
+        script.append(")");
+
+        assertEquals(g.inject(literals.toArray()).asAdmin().getBytecode(), parse(script.toString()).asAdmin().getBytecode());
+        assertEquals(g.V().has("name", __.values("x").is(literals.get(1))).asAdmin().getBytecode(),
+                parse("g.V().has('name', __.values('x').is('s1'))").asAdmin().getBytecode());
+    }
+
+    @Test
+    public void shouldParseIntegersOfAllForms() {
+        assertEquals(Arrays.asList(0, 7, -12, 8, 31, 1_000, 2147483647, 2147483648L, -2147483648, 5L, new BigInteger("99999999999999999999")),
+                parse("g.inject(0, 7, -12, 010, 0x1F, 1_000, 2147483647, 2147483648, -2147483648, 5l, 99999999999999999999)").toList());
+    }
+
+    @Test
+    public void shouldParseLongChainedTraversals() {
+        Traversal<?, ?> expected = g.V();
+        final StringBuilder script = new StringBuilder("g.V()");
+        for (int i = 0; i < 500; i++) {
+            expected = ((GraphTraversal<?, ?>) expected).out("knows").has("name", "x" + i);
+            script.append(".out('knows').has('name', 'x").append(i).append("')");
+        }
+        assertEquals(expected.asAdmin().getBytecode(), parse(script.toString()).asAdmin().getBytecode());
+    }
+
+    @Test(expected = GremlinParserException.class)
+    public void shouldNotParseScriptWithLexerError() {
+        parse("g.V().has('name', 'marko)");
+    }
+
+    @Test(expected = GremlinParserException.class)
+    public void shouldNotParseScriptWithSyntaxError() {
+        parse("g.V().out('knows'),");
+    }
+
+    private Traversal<?, ?> parse(final String query) {
+        return (Traversal<?, ?>) GremlinQueryParser.parse(query, new GremlinAntlrToJava(g));
+    }
+}
@@ -31,6 +31,8 @@ import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -206,4 +208,27 @@ public class BytecodeTest {
             e.getCause().printStackTrace(System.err);
         }
     }
+
+    @Test
+    public void shouldNotChangeWithArgumentsAfterTheStepIsAdded() {
+        final String[] labels = new String[] {"knows", "created"};
+        final List<Object> list = new ArrayList<>(Arrays.asList(1, 2));
+        final Bytecode b = EmptyGraph.instance().traversal().V().out(labels).constant(list).asAdmin().getBytecode();
+        labels[0] = "likes";
+        list.add(3);
+        assertEquals(EmptyGraph.instance().traversal().V().out("knows", "created").constant(Arrays.asList(1, 2)).asAdmin().getBytecode(), b);
+    }
+
+    @Test
+    public void shouldFindBindingsAfterPlainArguments() {
+        final Bindings b = Bindings.instance();
+        final GraphTraversalSource g = EmptyGraph.instance().traversal();
+        final Bytecode plain = g.V().out("knows").has("name", "marko").asAdmin().getBytecode();
+        final Bytecode bound = g.V().out("knows").has("name", b.of("x", "marko")).constant(Arrays.asList(b.of("y", 1), 2)).asAdmin().getBytecode();
+
+        assertEquals(0, plain.getBindings().size());
+        assertEquals(2, bound.getBindings().size());
+        assertEquals("marko", bound.getBindings().get("x"));
+        assertEquals(1, bound.getBindings().get("y"));
+    }
 }
@@ -18,12 +18,17 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CompactPath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferencePath;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -35,6 +40,7 @@ import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -48,7 +54,7 @@ import static org.junit.Assert.fail;
 public class PathTest {
 
     private final static List<Supplier<Path>> PATH_SUPPLIERS =
-            Arrays.asList(MutablePath::make, ImmutablePath::make, DetachedPath::make, ReferencePath::make);
+            Arrays.asList(MutablePath::make, ImmutablePath::make, CompactPath::make, DetachedPath::make, ReferencePath::make);
 
     @Test
     public void shouldHaveStandardSemanticsImplementedCorrectly() {
@@ -543,10 +549,48 @@ public class PathTest {
             assertThat(p.isSimple(), is(true));
             p.extend(null, Collections.emptySet());
 
-            // immutable path won't change so its just going to always be empty and thus always simple
-            if (!(p instanceof ImmutablePath)) {
+            // immutable paths won't change so they are just going to always be empty and thus always simple
+            if (!(p instanceof ImmutablePath) && !(p instanceof CompactPath)) {
                 assertThat(p.isSimple(), is(false));
             }
         });
     }
+
+    @Test
+    public void shouldResolveLabelsOfCompactPathBeyondBitmaskCapacity() {
+        Path path = CompactPath.make();
+        for (int i = 0; i < 100; i++) {
+            path = path.extend(i, Collections.singleton("compact" + i));
+        }
+        assertEquals(100, path.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(path.hasLabel("compact" + i));
+            assertEquals(Integer.valueOf(i), path.get("compact" + i));
+            assertEquals(Integer.valueOf(i), path.get(i));
+        }
+        assertFalse(path.hasLabel("compact100"));
+
+        path = path.retract(new HashSet<>(Arrays.asList("compact0", "compact99")));
+        assertEquals(98, path.size());
+        assertFalse(path.hasLabel("compact0"));
+        assertFalse(path.hasLabel("compact99"));
+        assertEquals(Integer.valueOf(1), path.get(0));
+    }
+
+    @Test
+    public void shouldSerializeCompactPath() throws Exception {
+        final Path path = CompactPath.make().extend(1, new LinkedHashSet<>(Arrays.asList("x", "y"))).
+                extend(2, Collections.emptySet()).extend(3, Collections.singleton("z"));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(path);
+        }
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Path deserialized = (Path) in.readObject();
+            assertThat(deserialized, instanceOf(CompactPath.class));
+            assertEquals(path, deserialized);
+            assertEquals(path.labels(), deserialized.labels());
+            assertEquals(Integer.valueOf(3), deserialized.get("z"));
+        }
+    }
 }
@@ -31,8 +31,10 @@ import org.junit.Test;
 import java.util.HashMap;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -92,4 +94,26 @@ public class GraphTraversalSourceTest {
     public void shouldFailMergeVForBadInput() {
         g.mergeV(CollectionFactory.asMap(T.value, "nope"));
     }
+
+    @Test
+    public void shouldNotRecordStepsWithoutBytecode() {
+        final GraphTraversalSource gWithout = g.withoutBytecode();
+        final Traversal.Admin<?, ?> t = gWithout.withSideEffect("a", 1).V().out("knows").values("name").asAdmin();
+        assertFalse(t.getBytecode().isRecordingSteps());
+        assertEquals(1, t.getBytecode().getSourceInstructions().size());
+        assertEquals(g.V().out("knows").values("name").asAdmin().getSteps().toString(), t.getSteps().toString());
+        assertTrue(g.V().asAdmin().getBytecode().isRecordingSteps());
+
+        try {
+            t.getBytecode().getStepInstructions();
+            fail("The steps were not recorded");
+        } catch (IllegalStateException ignored) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAllowWithoutBytecodeOnRemote() {
+        traversal().withRemote(mock(RemoteConnection.class)).withoutBytecode();
+    }
 }
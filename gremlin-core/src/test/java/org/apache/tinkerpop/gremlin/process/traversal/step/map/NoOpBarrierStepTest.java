@@ -18,15 +18,21 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.junit.Test;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Florian Grieskamp
@@ -52,4 +58,57 @@ public class NoOpBarrierStepTest extends StepTest {
         final NoOpBarrierStep<?> barrier = (NoOpBarrierStep<?>) traversal.getStartStep();
         assertEquals(customBarrierSize, barrier.getMaxBarrierSize());
     }
+
+    @Test
+    public void shouldNotAdaptFixedBarrier() {
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.<List<Integer>>inject(IntStream.range(0, 10000).map(i -> i / 2).boxed().collect(Collectors.toList())).<Integer>unfold().barrier(100).asAdmin();
+        final NoOpBarrierStep<?> barrier = (NoOpBarrierStep<?>) (Step) traversal.getEndStep();
+        assertFalse(barrier.isAdaptive());
+        assertEquals(10000, traversal.toList().size());
+        assertEquals(100, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhenTraversersBulk() {
+        // every value arrives twice in a row so each fill holds half of what it pulls
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.<List<Integer>>inject(IntStream.range(0, 10000).map(i -> i / 2).boxed().collect(Collectors.toList())).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100, true);
+        traversal.addStep(barrier);
+        final MutableMetrics metrics = new MutableMetrics(barrier.getId(), barrier.toString());
+        barrier.setMetrics(metrics);
+
+        assertEquals(10000, traversal.toList().size());
+        assertEquals(100 * NoOpBarrierStep.ADAPTIVE_GROWTH_FACTOR, barrier.getBarrierSize());
+        assertEquals(100 * NoOpBarrierStep.ADAPTIVE_GROWTH_FACTOR, metrics.getAnnotation("barrierSize"));
+        assertTrue((Integer) metrics.getAnnotation("grows") >= 3);
+        assertEquals(0, metrics.getAnnotation("bypasses"));
+        assertTrue((Double) metrics.getAnnotation("bulkingRatio") > 1.5d);
+    }
+
+    @Test
+    public void shouldShrinkAndBypassAdaptiveBarrierWhenTraversersDoNotBulk() {
+        final Traversal.Admin<List<Integer>, Integer> traversal = __.<List<Integer>>inject(IntStream.range(0, 10000).boxed().collect(Collectors.toList())).<Integer>unfold().asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100, true);
+        traversal.addStep(barrier);
+        final MutableMetrics metrics = new MutableMetrics(barrier.getId(), barrier.toString());
+        barrier.setMetrics(metrics);
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, traversal.next().intValue());
+        }
+        assertEquals(NoOpBarrierStep.ADAPTIVE_MIN_BARRIER_SIZE, barrier.getBarrierSize());
+        assertTrue(barrier.isBypassed());
+        assertEquals(1, metrics.getAnnotation("shrinks"));
+        assertEquals(1, metrics.getAnnotation("bypasses"));
+
+        int next = 200;
+        while (traversal.hasNext()) {
+            assertEquals(next++, traversal.next().intValue());
+        }
+        assertEquals(10000, next);
+
+        traversal.reset();
+        assertEquals(100, barrier.getBarrierSize());
+        assertFalse(barrier.isBypassed());
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.util.NumberHelper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class NumberAccumulatorTest {
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {Arrays.asList(1L, 2L, 3L)},
+                {Arrays.asList(1, 2, 3)},
+                {Arrays.asList((byte) 1, (short) 2, 3, 4L)},
+                {Arrays.asList(Long.MAX_VALUE, 1L)},
+                {Arrays.asList(1.5d, 2.25d, -3.0d)},
+                {Arrays.asList(1.5f, 2.25f)},
+                {Arrays.asList(1.5f, 2.25d)},
+                {Arrays.asList(-0.0d, 0.0d)},
+                {Arrays.asList(1.0d, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY)},
+                {Arrays.asList(1L, 2L, 0.5d, 3)},
+                {Arrays.asList(0.5d, 1L, 2L)},
+                {Arrays.asList(1.0d, Double.NaN, 2.0d)},
+                {Arrays.asList(Double.NaN, 1L)},
+                {Arrays.asList(Double.NaN, Double.NaN)},
+                {Arrays.asList(1L, Float.NaN)},
+                {Arrays.asList(null, 1L, null, 2L)},
+                {Arrays.asList(null, null)},
+                {Arrays.asList(1L, BigInteger.TEN, 2L)},
+                {Arrays.asList(1.0d, new BigDecimal("0.1"), 2L)},
+                {Arrays.asList(3, 1L, 2)}
+        });
+    }
+
+    @Parameterized.Parameter(value = 0)
+    public List<Number> values;
+
+    @Test
+    public void shouldSumLikeNumberHelper() {
+        assertReduction(NumberAccumulator.Reduction.SUM, 1L);
+        assertReduction(NumberAccumulator.Reduction.SUM, 3L);
+    }
+
+    @Test
+    public void shouldMinLikeNumberHelper() {
+        assertReduction(NumberAccumulator.Reduction.MIN, 1L);
+    }
+
+    @Test
+    public void shouldMaxLikeNumberHelper() {
+        assertReduction(NumberAccumulator.Reduction.MAX, 1L);
+    }
+
+    @Test
+    public void shouldReduceInStepsLikeNumberHelper() {
+        assertEquals(reduce(NumberAccumulator.Reduction.SUM, 1L), __.inject(values).unfold().sum().next());
+        assertEquals(reduce(NumberAccumulator.Reduction.MIN, 1L), __.inject(values).unfold().min().next());
+        assertEquals(reduce(NumberAccumulator.Reduction.MAX, 1L), __.inject(values).unfold().max().next());
+
+        final Number sum = (Number) reduce(NumberAccumulator.Reduction.SUM, 1L);
+        final long count = values.stream().filter(v -> v != null).count();
+        final Object mean = null == sum ? null : NumberHelper.div(sum, count, true);
+        assertEquals(mean, __.inject(values).unfold().mean().next());
+    }
+
+    private void assertReduction(final NumberAccumulator.Reduction reduction, final long bulk) {
+        final NumberAccumulator accumulator = new NumberAccumulator(reduction);
+        values.forEach(v -> accumulator.add(v, bulk));
+        assertEquals(reduce(reduction, bulk), accumulator.get());
+    }
+
+    /**
+     * Reduces the values the way the steps did before they accumulated into primitives.
+     */
+    private Object reduce(final NumberAccumulator.Reduction reduction, final long bulk) {
+        final List<Number> projected = new ArrayList<>();
+        for (final Number v : values) {
+            projected.add(NumberAccumulator.Reduction.SUM == reduction ? NumberHelper.mul(v, bulk) : v);
+        }
+
+        Object seed = null;
+        boolean seeded = false;
+        for (final Number n : projected) {
+            if (!seeded) {
+                if (NumberAccumulator.Reduction.SUM == reduction && null == n)
+                    continue;
+                seed = n;
+                seeded = true;
+            } else if (NumberAccumulator.Reduction.SUM == reduction) {
+                seed = NumberHelper.add((Number) seed, n);
+            } else if (NumberAccumulator.Reduction.MIN == reduction) {
+                seed = NumberHelper.min((Comparable) seed, (Comparable) n);
+            } else {
+                seed = NumberHelper.max((Comparable) seed, (Comparable) n);
+            }
+        }
+        return seed;
+    }
+}
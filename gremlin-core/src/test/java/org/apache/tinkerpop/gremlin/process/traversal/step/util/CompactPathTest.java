@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactPathTest {
+
+    @Test
+    public void shouldNotAssignBitsToHiddenLabels() {
+        final String hidden = Graph.Hidden.hide("compactHidden");
+        final CompactPath.LabelTable table = CompactPath.LabelTable.of(Arrays.asList(hidden, "compactVisible"));
+        assertEquals(1, table.size());
+        assertEquals(CompactPath.Labels.OVERFLOW, table.bitOf(hidden));
+        assertNotEquals(CompactPath.Labels.OVERFLOW, table.bitOf("compactVisible"));
+    }
+
+    @Test
+    public void shouldAssignBitsPerTable() {
+        final List<String> many = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            many.add("many" + i);
+        }
+        final CompactPath.LabelTable full = CompactPath.LabelTable.of(many);
+        assertEquals(63, full.size());
+        assertEquals(CompactPath.Labels.OVERFLOW, full.bitOf("many63"));
+
+        // a table built later is not affected by the bits used up by another one
+        final CompactPath.LabelTable other = CompactPath.LabelTable.of(Arrays.asList("x", "y"));
+        assertEquals(2, other.size());
+        assertEquals(1L, other.bitOf("x"));
+        assertEquals(CompactPath.Labels.OVERFLOW, other.bitOf("many0"));
+    }
+
+    @Test
+    public void shouldBuildLabelTableForRootTraversalWhenApplyingStrategies() {
+        final Traversal.Admin<?, ?> traversal = __.inject(1).as("a").map(__.identity().as("b")).select("a", "b").asAdmin();
+        traversal.applyStrategies();
+        final CompactPath.LabelTable table = ((DefaultTraversal<?, ?>) traversal).getPathLabelTable();
+        assertEquals(2, table.size());
+        assertNotEquals(CompactPath.Labels.OVERFLOW, table.bitOf("a"));
+        assertNotEquals(CompactPath.Labels.OVERFLOW, table.bitOf("b"));
+
+        final Traversal.Admin<?, ?> unlabeled = __.inject(1).map(__.identity()).asAdmin();
+        unlabeled.applyStrategies();
+        assertSame(CompactPath.LabelTable.NONE, ((DefaultTraversal<?, ?>) unlabeled).getPathLabelTable());
+    }
+
+    @Test
+    public void shouldResolveLabelsWithoutBits() {
+        final CompactPath.LabelTable table = CompactPath.LabelTable.of(Collections.singleton("compactOther"));
+        final Path withoutBits = CompactPath.make().extend(1, Collections.singleton("compactLate")).
+                extend(2, Collections.singleton("compactOther"));
+        final Path withBits = table.emptyPath.extend(1, Collections.singleton("compactLate")).
+                extend(2, Collections.singleton("compactOther"));
+
+        for (final Path path : Arrays.asList(withoutBits, withBits)) {
+            assertTrue(path.hasLabel("compactLate"));
+            assertTrue(path.hasLabel("compactOther"));
+            assertFalse(path.hasLabel("compactMissing"));
+            assertEquals(Integer.valueOf(1), path.get(Pop.last, "compactLate"));
+            assertEquals(Integer.valueOf(1), path.get(Pop.first, "compactLate"));
+            assertEquals(Collections.singletonList(2), path.<List<Integer>>get(Pop.all, "compactOther"));
+        }
+        assertEquals(withoutBits, withBits);
+        assertEquals(withBits, withoutBits);
+    }
+
+    @Test
+    public void shouldRetractLikeImmutablePath() {
+        final CompactPath.LabelTable table = CompactPath.LabelTable.of(Arrays.asList("a", "b", "c"));
+        final List<Set<String>> segmentLabels = Arrays.asList(
+                Collections.emptySet(), labels("a"), Collections.emptySet(), labels("b", "c"), labels("c"), Collections.emptySet());
+        Path compact = table.emptyPath;
+        Path immutable = ImmutablePath.make();
+        for (int i = 0; i < segmentLabels.size(); i++) {
+            compact = compact.extend(i, segmentLabels.get(i));
+            immutable = immutable.extend(i, segmentLabels.get(i));
+        }
+
+        for (final Set<String> retracted : Arrays.asList(labels("a"), labels("b"), labels("c"), labels("b", "c"),
+                labels("a", "b", "c"), labels("x"), Collections.<String>emptySet())) {
+            final Path compactRetracted = compact.retract(retracted);
+            final Path immutableRetracted = immutable.retract(retracted);
+            assertEquals(retracted.toString(), immutableRetracted.objects(), compactRetracted.objects());
+            assertEquals(retracted.toString(), immutableRetracted.labels(), compactRetracted.labels());
+        }
+    }
+
+    private static Set<String> labels(final String... labels) {
+        return new HashSet<>(Arrays.asList(labels));
+    }
+}
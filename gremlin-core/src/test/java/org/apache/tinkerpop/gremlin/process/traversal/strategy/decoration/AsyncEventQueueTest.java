@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.Event;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.MutationListener;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncEventQueueTest {
+
+    @Test
+    public void shouldDeliverAllEventsInOrderWithSingleDispatcher() {
+        final RecordingListener listener = new RecordingListener();
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(16, 5);
+        queue.setListeners(Collections.singletonList(listener));
+
+        for (int i = 0; i < 1000; i++) {
+            queue.addEvent(new Event.VertexAddedEvent(vertex(i)));
+        }
+        queue.close();
+
+        assertEquals(1000, listener.added.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, listener.added.get(i).id());
+        }
+        listener.batchSizes.forEach(size -> assertThat(size, lessThanOrEqualTo(5)));
+        assertEquals(0, queue.getPendingEvents());
+    }
+
+    @Test
+    public void shouldKeepEventsOfElementInOrderAcrossDispatchers() {
+        final RecordingListener listener = new RecordingListener();
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(8, 4, 4);
+        queue.setListeners(Collections.singletonList(listener));
+
+        // the removal of a property of a vertex must follow its addition no matter which dispatcher delivers it
+        for (int i = 0; i < 500; i++) {
+            final DetachedVertex v = vertex(i % 50);
+            queue.addEvent(new Event.VertexAddedEvent(v));
+            queue.addEvent(new Event.VertexPropertyRemovedEvent(
+                    DetachedVertexProperty.build().setId(i).setLabel("k").setValue(i).setV(v).create()));
+        }
+        queue.close();
+
+        assertPropertiesFollowTheirVertex(listener);
+    }
+
+    @Test
+    public void shouldKeepEventsOfPropertyDetachedWithoutVertexWithItsVertex() {
+        final Map<Object, Object> vertexOfProperty = new ConcurrentHashMap<>();
+        final RecordingListener listener = new RecordingListener() {
+            @Override
+            public synchronized void vertexPropertyRemoved(final VertexProperty vertexProperty) {
+                ordered.add(Arrays.asList(vertexOfProperty.get(vertexProperty.id()), vertexProperty.id()));
+            }
+        };
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(8, 4, 4);
+        queue.setListeners(Collections.singletonList(listener));
+
+        for (int i = 0; i < 500; i++) {
+            final DetachedVertex v = vertex(i % 50);
+            vertexOfProperty.put(i, v.id());
+            queue.addEvent(new Event.VertexAddedEvent(v));
+            queue.addEvent(new Event.VertexPropertyRemovedEvent(
+                    DetachedVertexProperty.build().setId(i).setLabel("k").setValue(i).create(), v.id()));
+        }
+        queue.close();
+
+        assertPropertiesFollowTheirVertex(listener);
+    }
+
+    @Test
+    public void shouldBlockWhenBufferIsFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch delivering = new CountDownLatch(1);
+        final RecordingListener listener = new RecordingListener() {
+            @Override
+            public void eventsFired(final List<Event> events) {
+                delivering.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ie) {
+                    throw new RuntimeException(ie);
+                }
+                super.eventsFired(events);
+            }
+        };
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(2, 1);
+        queue.setListeners(Collections.singletonList(listener));
+
+        // the first event is taken by the dispatcher which then waits in the listener
+        queue.addEvent(new Event.VertexAddedEvent(vertex(0)));
+        assertTrue(delivering.await(10, TimeUnit.SECONDS));
+        queue.addEvent(new Event.VertexAddedEvent(vertex(1)));
+        queue.addEvent(new Event.VertexAddedEvent(vertex(2)));
+
+        final AtomicBoolean added = new AtomicBoolean(false);
+        final Thread producer = new Thread(() -> {
+            queue.addEvent(new Event.VertexAddedEvent(vertex(3)));
+            added.set(true);
+        });
+        producer.start();
+        producer.join(500);
+        assertFalse(added.get());
+        assertEquals(3, queue.getPendingEvents());
+
+        release.countDown();
+        producer.join(10000);
+        assertTrue(added.get());
+        queue.close();
+        assertEquals(4, listener.added.size());
+    }
+
+    @Test
+    public void shouldContinueDeliveryWhenListenerFails() {
+        final RecordingListener listener = new RecordingListener();
+        final MutationListener failing = new RecordingListener() {
+            @Override
+            public void eventsFired(final List<Event> events) {
+                throw new RuntimeException("intentional");
+            }
+        };
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(16, 1);
+        queue.setListeners(Arrays.asList(failing, listener));
+
+        for (int i = 0; i < 10; i++) {
+            queue.addEvent(new Event.VertexAddedEvent(vertex(i)));
+        }
+        queue.close();
+
+        assertEquals(10, listener.added.size());
+    }
+
+    @Test
+    public void shouldContinueDeliveryWhenListenerThrowsError() {
+        final RecordingListener listener = new RecordingListener();
+        final MutationListener failing = new RecordingListener() {
+            @Override
+            public void eventsFired(final List<Event> events) {
+                throw new AssertionError("intentional");
+            }
+        };
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(16, 1);
+        queue.setListeners(Arrays.asList(failing, listener));
+
+        for (int i = 0; i < 10; i++) {
+            queue.addEvent(new Event.VertexAddedEvent(vertex(i)));
+        }
+        queue.close();
+
+        assertEquals(10, listener.added.size());
+    }
+
+    @Test
+    public void shouldFailRatherThanBlockWhenDispatcherStopped() throws Exception {
+        final AtomicReference<Thread> dispatcher = new AtomicReference<>();
+        final CountDownLatch delivered = new CountDownLatch(1);
+        final RecordingListener listener = new RecordingListener() {
+            @Override
+            public void eventsFired(final List<Event> events) {
+                dispatcher.set(Thread.currentThread());
+                delivered.countDown();
+            }
+        };
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(1, 1);
+        queue.setListeners(Collections.singletonList(listener));
+
+        queue.addEvent(new Event.VertexAddedEvent(vertex(0)));
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        dispatcher.get().interrupt();
+        dispatcher.get().join(10000);
+
+        // the buffer holds a single event so without the check the second one would block forever
+        try {
+            for (int i = 1; i < 3; i++) {
+                queue.addEvent(new Event.VertexAddedEvent(vertex(i)));
+            }
+            fail("Should not accept events once the dispatcher stopped");
+        } catch (IllegalStateException ignored) {
+            // expected
+        }
+        queue.close();
+    }
+
+    @Test
+    public void shouldNotAcceptEventsAfterClose() {
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(16, 1);
+        queue.close();
+        try {
+            queue.addEvent(new Event.VertexAddedEvent(vertex(0)));
+            fail("Should not accept events after close");
+        } catch (IllegalStateException ignored) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldDeliverEventsOfRolledBackMutationsWithoutGraph() {
+        // without a graph the queue is not tied to transactions so a later rollback cannot take events back
+        final RecordingListener listener = new RecordingListener();
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(16, 4);
+        queue.setListeners(Collections.singletonList(listener));
+        queue.addEvent(new Event.VertexAddedEvent(vertex(0)));
+        queue.close();
+
+        assertEquals(1, listener.added.size());
+    }
+
+    @Test
+    public void shouldOnlyDeliverEventsOfCommittedTransactions() {
+        final Graph graph = transactionalGraph(true);
+        final RecordingListener listener = new RecordingListener();
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(graph, 16, 4, 2);
+        queue.setListeners(Collections.singletonList(listener));
+        final Consumer<Transaction.Status> transactionListener = transactionListenerOf(graph);
+
+        queue.addEvent(new Event.VertexAddedEvent(vertex(0)));
+        queue.addEvent(new Event.VertexAddedEvent(vertex(1)));
+        assertEquals(0, queue.getPendingEvents());
+        transactionListener.accept(Transaction.Status.ROLLBACK);
+
+        for (int i = 2; i < 12; i++) {
+            queue.addEvent(new Event.VertexAddedEvent(vertex(i)));
+        }
+        transactionListener.accept(Transaction.Status.COMMIT);
+
+        // a commit without events hands nothing over
+        transactionListener.accept(Transaction.Status.COMMIT);
+        queue.close();
+
+        assertEquals(10, listener.added.size());
+        listener.added.forEach(v -> assertThat((Integer) v.id(), greaterThanOrEqualTo(2)));
+        assertEquals(0, queue.getPendingEvents());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireTransactionsWhenTiedToGraph() {
+        new EventStrategy.AsyncEventQueue(transactionalGraph(false), 16, 4);
+    }
+
+    @Test
+    public void shouldAllowCloseMoreThanOnce() {
+        final EventStrategy.AsyncEventQueue queue = new EventStrategy.AsyncEventQueue(16, 1, 2);
+        queue.close();
+        queue.close();
+        assertEquals(0, queue.getPendingEvents());
+    }
+
+    private static Graph transactionalGraph(final boolean supportsTransactions) {
+        final Graph graph = mock(Graph.class);
+        final Graph.Features features = mock(Graph.Features.class);
+        final Graph.Features.GraphFeatures graphFeatures = mock(Graph.Features.GraphFeatures.class);
+        when(graph.features()).thenReturn(features);
+        when(features.graph()).thenReturn(graphFeatures);
+        when(graphFeatures.supportsTransactions()).thenReturn(supportsTransactions);
+        when(graph.tx()).thenReturn(mock(Transaction.class));
+        return graph;
+    }
+
+    private static Consumer<Transaction.Status> transactionListenerOf(final Graph graph) {
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(graph.tx()).addTransactionListener(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * Asserts that the removal of each property follows the addition of its vertex and that the removals of the
+     * properties of a vertex are in the order they were added.
+     */
+    private static void assertPropertiesFollowTheirVertex(final RecordingListener listener) {
+        final Map<Object, List<Object>> byVertex = new HashMap<>();
+        synchronized (listener) {
+            listener.ordered.forEach(e -> byVertex.computeIfAbsent(e.get(0), k -> new ArrayList<>()).add(e.get(1)));
+        }
+        assertEquals(50, byVertex.size());
+        byVertex.values().forEach(seen -> {
+            assertEquals(20, seen.size());
+            int last = -1;
+            for (int i = 0; i < seen.size(); i += 2) {
+                assertEquals("added", seen.get(i));
+                final int propertyId = (Integer) seen.get(i + 1);
+                assertThat(last, lessThan(propertyId));
+                last = propertyId;
+            }
+        });
+    }
+
+    private static DetachedVertex vertex(final int id) {
+        return DetachedVertex.build().setId(id).setLabel("person").create();
+    }
+
+    private static class RecordingListener implements MutationListener {
+        final List<Vertex> added = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<List<Object>> ordered = new ArrayList<>();
+
+        @Override
+        public synchronized void eventsFired(final List<Event> events) {
+            batchSizes.add(events.size());
+            MutationListener.super.eventsFired(events);
+        }
+
+        @Override
+        public synchronized void vertexAdded(final Vertex vertex) {
+            added.add(vertex);
+            ordered.add(Arrays.asList(vertex.id(), "added"));
+        }
+
+        @Override
+        public synchronized void vertexPropertyRemoved(final VertexProperty vertexProperty) {
+            ordered.add(Arrays.asList(vertexProperty.element().id(), vertexProperty.id()));
+        }
+
+        @Override
+        public void vertexRemoved(final Vertex vertex) {
+        }
+
+        @Override
+        public void vertexPropertyChanged(final Vertex element, final VertexProperty oldValue, final Object setValue, final Object... vertexPropertyKeyValues) {
+        }
+
+        @Override
+        public void edgeAdded(final Edge edge) {
+        }
+
+        @Override
+        public void edgeRemoved(final Edge edge) {
+        }
+
+        @Override
+        public void edgePropertyChanged(final Edge element, final Property oldValue, final Object setValue) {
+        }
+
+        @Override
+        public void edgePropertyRemoved(final Edge element, final Property property) {
+        }
+
+        @Override
+        public void vertexPropertyPropertyChanged(final VertexProperty element, final Property oldValue, final Object setValue) {
+        }
+
+        @Override
+        public void vertexPropertyPropertyRemoved(final VertexProperty element, final Property property) {
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TraversalFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddVertexStartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
@@ -40,6 +41,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.translator.GroovyTranslato
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
@@ -82,18 +84,19 @@ public class SubgraphStrategyTest {
                     {__.bothV(), 1},
                     {__.inV(), 1},
                     {__.outV(), 1},
-                    {__.in(), 2},
-                    {__.in("test"), 2},
-                    {__.both(), 2},
-                    {__.both("test"), 2},
-                    {__.out(), 2},
-                    {__.out("test"), 2},
-                    {__.out().inE().otherV(), 4},
+                    {__.in(), 3},
+                    {__.in("test"), 3},
+                    {__.both(), 3},
+                    {__.both("test"), 3},
+                    {__.out(), 3},
+                    {__.out("test"), 3},
+                    {__.out().inE().otherV(), 5},
                     {g.addV(), 1},
                     {g.V(1).addE("test"), 2},
-                    {__.in().out(), 4},
-                    {__.out().out().out(), 6},
-                    {__.in().out().in(), 6},
+                    {g.V().out(), 3},
+                    {__.in().out(), 5},
+                    {__.out().out().out(), 7},
+                    {__.in().out().in(), 7},
                     {__.inE().outV().inE().outV(), 4}});
         }
 
@@ -200,16 +203,46 @@ public class SubgraphStrategyTest {
             final Traversal.Admin<?, ?> t = out().inE().asAdmin();
             t.setStrategies(t.getStrategies().clone().addStrategies(strategy, StandardVerificationStrategy.instance()));
             t.applyStrategies();
-            assertEquals(t.getSteps().get(0).getClass(), VertexStep.class);
-            assertEquals(t.getSteps().get(1).getClass(), TraversalFilterStep.class);
-            assertEquals(AndStep.class, ((TraversalFilterStep<?>) t.getSteps().get(1)).getLocalChildren().get(0).getStartStep().getClass());
-            assertEquals(0, ((TraversalFilterStep<?>) t.getSteps().get(1)).getLocalChildren().get(0).getStartStep().getLabels().size());
+            assertEquals(t.getSteps().get(0).getClass(), TraversalFilterStep.class);
+            assertEquals(VertexStep.class, ((TraversalFilterStep<?>) t.getSteps().get(0)).getLocalChildren().get(0).getStartStep().getClass());
+            assertEquals(0, ((TraversalFilterStep<?>) t.getSteps().get(0)).getLocalChildren().get(0).getStartStep().getLabels().size());
+            assertEquals(t.getSteps().get(1).getClass(), VertexStep.class);
             assertEquals(t.getSteps().get(2).getClass(), EdgeVertexStep.class);
             assertEquals(t.getSteps().get(3).getClass(), TraversalFilterStep.class);
             assertEquals(VertexStep.class, ((TraversalFilterStep<?>) t.getSteps().get(3)).getLocalChildren().get(0).getStartStep().getClass());
             assertEquals(0, ((TraversalFilterStep<?>) t.getSteps().get(3)).getLocalChildren().get(0).getStartStep().getLabels().size());
+            assertEquals(t.getSteps().get(4).getClass(), VertexStep.class);
+            assertEquals(t.getSteps().get(5).getClass(), TraversalFilterStep.class);
+            assertEquals(AndStep.class, ((TraversalFilterStep<?>) t.getSteps().get(5)).getLocalChildren().get(0).getStartStep().getClass());
+            assertEquals(0, ((TraversalFilterStep<?>) t.getSteps().get(5)).getLocalChildren().get(0).getStartStep().getLabels().size());
             TraversalHelper.getStepsOfAssignableClassRecursively(Step.class, t).forEach(step -> assertTrue(step.getLabels().isEmpty()));
         }
+
+        @Test
+        public void shouldApplyHasOnlyCriterionAsHasStep() {
+            final SubgraphStrategy strategy = SubgraphStrategy.build().
+                    vertices(__.has("tenant", "a")).edges(__.hasLabel("knows")).create();
+            final Traversal.Admin<?, ?> t = EmptyGraph.instance().traversal().V().out().asAdmin();
+            strategy.apply(t);
+            assertEquals(0, TraversalHelper.getStepsOfClass(TraversalFilterStep.class, t).size());
+            assertEquals(GraphStep.class, t.getSteps().get(0).getClass());
+            assertEquals(HasStep.class, t.getSteps().get(1).getClass());
+            assertEquals(VertexStep.class, t.getSteps().get(2).getClass());
+            assertEquals(HasStep.class, t.getSteps().get(3).getClass());
+            assertEquals(T.label.getAccessor(), ((HasStep<?>) t.getSteps().get(3)).getHasContainers().get(0).getKey());
+            assertEquals(EdgeVertexStep.class, t.getSteps().get(4).getClass());
+            assertEquals(HasStep.class, t.getSteps().get(5).getClass());
+            assertEquals("tenant", ((HasStep<?>) t.getSteps().get(5)).getHasContainers().get(0).getKey());
+            assertEquals(6, t.getSteps().size());
+        }
+
+        @Test
+        public void shouldNotApplyLabeledCriterionAsHasStep() {
+            final SubgraphStrategy strategy = SubgraphStrategy.build().vertices(__.<Vertex>has("tenant", "a").as("x")).create();
+            final Traversal.Admin<?, ?> t = __.outV().asAdmin();
+            strategy.apply(t);
+            assertEquals(TraversalFilterStep.class, t.getEndStep().getClass());
+        }
     }
 
 
@@ -28,7 +28,11 @@ import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.util.function.Lambda;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -37,6 +41,7 @@ import static org.apache.tinkerpop.gremlin.process.traversal.GraphOp.TX_ROLLBACK
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -100,4 +105,35 @@ public class BytecodeHelperTest {
         assertThat(BytecodeHelper.isGraphOperation(TX_ROLLBACK.getBytecode()), is(true));
         assertThat(BytecodeHelper.isGraphOperation(g.V().out("knows").asAdmin().getBytecode()), is(false));
     }
+
+    @Test
+    public void shouldBindVariables() {
+        final Bindings b = Bindings.instance();
+        final Bytecode bc = g.V(b.of("x", 1)).out(b.of("y", "knows")).where(__.has("age", b.of("z", 29))).asAdmin().getBytecode();
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("x", 2);
+        values.put("z", 30);
+        final Bytecode bound = BytecodeHelper.bindVariables(bc, values);
+
+        final Map<String, Object> expected = new HashMap<>();
+        expected.put("x", 2);
+        expected.put("y", "knows");
+        expected.put("z", 30);
+        assertEquals(expected, bound.getBindings());
+        assertNotSame(bc, bound);
+
+        // the original is untouched
+        assertEquals(1, bc.getBindings().get("x"));
+        assertEquals(29, bc.getBindings().get("z"));
+    }
+
+    @Test
+    public void shouldBindVariablesInCollections() {
+        final Bytecode bc = new Bytecode();
+        bc.addStep("inject", Arrays.asList(new Bytecode.Binding<>("x", 1), 2));
+        final Bytecode bound = BytecodeHelper.bindVariables(bc, Collections.singletonMap("x", 100));
+        assertEquals(Collections.singletonMap("x", 100), bound.getBindings());
+        assertEquals(Collections.singletonMap("x", 1), bc.getBindings());
+    }
 }
@@ -18,14 +18,24 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.util;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileStrategy;
+import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class DefaultTraversalMetricsTest {
 
@@ -64,4 +74,48 @@ public class DefaultTraversalMetricsTest {
                 "                                            >TOTAL                     -           -           0.000        -";
         assertEquals("traversal metrics", expectedOutput, profile.toString());
     }
+
+    @Test
+    public void shouldPrintStrategyMetrics() {
+        final MutableMetrics strategyMetrics = new MutableMetrics("org.example.SomeStrategy", "SomeStrategy");
+        strategyMetrics.setDuration(1500, TimeUnit.MICROSECONDS);
+        strategyMetrics.setCount(TraversalMetrics.TRAVERSAL_COUNT_ID, 3);
+        strategyMetrics.setCount(TraversalMetrics.STEPS_ADDED_ID, 2);
+        strategyMetrics.setCount(TraversalMetrics.STEPS_REMOVED_ID, 1);
+
+        final DefaultTraversalMetrics profile = new DefaultTraversalMetrics(100, new ArrayList<>(),
+                Collections.singletonList(strategyMetrics));
+        final String LS = System.lineSeparator();
+        final String expectedOutput = "Traversal Metrics" + LS +
+                "Step                                                               Count  Traversers       Time (ms)    % Dur" + LS +
+                "=============================================================================================================" + LS +
+                "                                            >TOTAL                     -           -           0.000        -" + LS +
+                LS +
+                "Strategy                                            Traversals      Added    Removed       Time (ms)" + LS +
+                "=============================================================================================================" + LS +
+                "SomeStrategy                                                 3          2          1           1.500" + LS +
+                "                                            >TOTAL           -          -          -           1.500";
+        assertEquals("traversal metrics", expectedOutput, profile.toString());
+    }
+
+    @Test
+    public void shouldProfileStrategyApplication() {
+        final Traversal.Admin<?, TraversalMetrics> traversal = __.inject(1, 2, 3).count().profile().asAdmin();
+        traversal.setStrategies(TraversalStrategies.GlobalCache.getStrategies(Graph.class));
+        final TraversalMetrics metrics = traversal.next();
+        final List<? extends Metrics> strategyMetrics = new ArrayList<>(metrics.getStrategyMetrics());
+        assertFalse(strategyMetrics.isEmpty());
+        assertTrue(strategyMetrics.stream().anyMatch(m -> m.getId().equals(ProfileStrategy.class.getName())));
+        for (final Metrics m : strategyMetrics) {
+            assertTrue(m.getCount(TraversalMetrics.TRAVERSAL_COUNT_ID) >= 1);
+            assertNotNull(m.getAnnotation(TraversalMetrics.STRATEGY_CATEGORY_KEY));
+        }
+
+        // ProfileStrategy wraps each step of the traversal with a ProfileStep
+        final Metrics profileStrategy = strategyMetrics.stream().
+                filter(m -> m.getId().equals(ProfileStrategy.class.getName())).findFirst().get();
+        assertTrue(profileStrategy.getCount(TraversalMetrics.STEPS_ADDED_ID) >= 2);
+        assertEquals(0L, profileStrategy.getCount(TraversalMetrics.STEPS_REMOVED_ID).longValue());
+        assertTrue(metrics.toString().contains("ProfileStrategy"));
+    }
 }
@@ -22,12 +22,16 @@ package org.apache.tinkerpop.gremlin.process.traversal.util;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ProductiveByStrategy;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
@@ -47,6 +51,33 @@ public class TraversalExplanationTest {
         assertEquals(explanation.toString(), immutable.toString());
     }
 
+    @Test
+    public void shouldMeasureStrategyApplication() {
+        final Traversal.Admin<?, ?> traversal = __.out().count().asAdmin();
+        traversal.setStrategies(TraversalStrategies.GlobalCache.getStrategies(Graph.class));
+        final TraversalExplanation explanation = traversal.explain();
+
+        final List<ImmutableMetrics> strategyMetrics = explanation.getStrategyMetrics();
+        assertEquals(explanation.getStrategyTraversals().size(), strategyMetrics.size());
+        for (int i = 0; i < strategyMetrics.size(); i++) {
+            final TraversalStrategy<?> strategy = explanation.getStrategyTraversals().get(i).getValue0();
+            final Metrics m = strategyMetrics.get(i);
+            assertEquals(strategy.getClass().getName(), m.getId());
+            assertEquals(strategy.getTraversalCategory().getSimpleName(), m.getAnnotation(TraversalMetrics.STRATEGY_CATEGORY_KEY));
+            assertTrue(m.getDuration(TimeUnit.NANOSECONDS) >= 0);
+            assertTrue(m.getCount(TraversalMetrics.TRAVERSAL_COUNT_ID) >= 1);
+        }
+
+        // AdjacentToIncidentStrategy replaces out() with outE() as only the count is needed
+        final Metrics adjacentToIncident = strategyMetrics.stream().
+                filter(m -> m.getId().equals(AdjacentToIncidentStrategy.class.getName())).findFirst().get();
+        assertEquals(1L, adjacentToIncident.getCount(TraversalMetrics.STEPS_ADDED_ID).longValue());
+        assertEquals(1L, adjacentToIncident.getCount(TraversalMetrics.STEPS_REMOVED_ID).longValue());
+
+        assertTrue(explanation.prettyPrint().contains("Strategy Application"));
+        assertEquals(strategyMetrics.size(), explanation.asImmutable().getStrategyMetrics().size());
+    }
+
     @Test
     public void shouldSupportAnonymousTraversals() {
         final String toString = __.out("knows").in("created").explain().toString();
@@ -0,0 +1,51 @@
+﻿#region License
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+#endregion
+
+namespace Gremlin.Net.Process.Traversal.Strategy.Finalization
+{
+    /// <summary>
+    ///     Runs the steps that lead from a start step to its first mergeable barrier over partitions of the
+    ///     traversers in parallel on the server.
+    /// </summary>
+    public class ParallelStrategy : AbstractTraversalStrategy
+    {
+        private const string JavaFqcn = FinalizationNamespace + nameof(ParallelStrategy);
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="ParallelStrategy" /> class.
+        /// </summary>
+        public ParallelStrategy() : base(JavaFqcn)
+        {
+        }
+
+        /// <summary>
+        ///     Initializes a new instance of the <see cref="ParallelStrategy" /> class.
+        /// </summary>
+        /// <param name="batchSize">The number of traversers from the start step that are processed as a single task.</param>
+        public ParallelStrategy(int batchSize)
+            : this()
+        {
+            Configuration["batchSize"] = batchSize;
+        }
+    }
+}
@@ -198,6 +198,63 @@ public abstract class Client {
         throw new UnsupportedOperationException("This implementation does not support Traversal submission - use a sessionless Client created with from the alias() method");
     }
 
+    /**
+     * Registers the {@link Bytecode} with the server as a prepared traversal and returns the handle that
+     * {@link #submitPrepared(UUID, Map)} uses to execute it. The {@link Bytecode.Binding} arguments of the bytecode
+     * become the variables of the prepared traversal so that only their values need to be sent on each execution.
+     *
+     * @param bytecode request in the form of gremlin {@link Bytecode}
+     */
+    public UUID prepare(final Bytecode bytecode) {
+        try {
+            return prepareAsync(bytecode).get();
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * An asynchronous version of {@link #prepare(Bytecode)}.
+     */
+    public CompletableFuture<UUID> prepareAsync(final Bytecode bytecode) {
+        throw new UnsupportedOperationException("This implementation does not support Traversal submission - use a sessionless Client created with from the alias() method");
+    }
+
+    /**
+     * Executes a traversal prepared with {@link #prepare(Bytecode)} with the given values for its variables. A
+     * variable without a value keeps the one it was prepared with. Results are returned as {@link Traverser}
+     * instances just as they are for {@link #submit(Bytecode)}.
+     *
+     * @param handle   the handle returned when the traversal was prepared
+     * @param bindings the values of the variables of the prepared traversal
+     */
+    public ResultSet submitPrepared(final UUID handle, final Map<String, Object> bindings) {
+        try {
+            return submitPreparedAsync(handle, bindings).get();
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * An asynchronous version of {@link #submitPrepared(UUID, Map)}.
+     */
+    public CompletableFuture<ResultSet> submitPreparedAsync(final UUID handle, final Map<String, Object> bindings) {
+        return submitPreparedAsync(handle, bindings, RequestOptions.EMPTY);
+    }
+
+    /**
+     * A version of {@link #submitPreparedAsync(UUID, Map)} which provides the ability to set per-request options.
+     */
+    public CompletableFuture<ResultSet> submitPreparedAsync(final UUID handle, final Map<String, Object> bindings,
+                                                            final RequestOptions options) {
+        throw new UnsupportedOperationException("This implementation does not support Traversal submission - use a sessionless Client created with from the alias() method");
+    }
+
     /**
      * Initializes the client which typically means that a connection is established to the server.  Depending on the
      * implementation and configuration this blocking call may take some time.  This method will be called
@@ -369,6 +426,8 @@ public abstract class Client {
         options.getOverrideRequestId().ifPresent(request::overrideRequestId);
         options.getUserAgent().ifPresent(userAgent -> request.addArg(Tokens.ARGS_USER_AGENT, userAgent));
         options.getLanguage().ifPresent(lang -> request.addArg(Tokens.ARGS_LANGUAGE, lang));
+        options.getPriority().ifPresent(priority -> request.addArg(Tokens.ARGS_PRIORITY, priority));
+        options.getTraceId().ifPresent(traceId -> request.addArg(Tokens.ARGS_TRACE_ID, traceId));
 
         return submitAsync(request.create());
     }
@@ -382,13 +441,14 @@ public abstract class Client {
         if (!initialized)
             init();
 
+        final long submittedAt = System.nanoTime();
         final CompletableFuture<ResultSet> future = new CompletableFuture<>();
         Connection connection = null;
         try {
             // the connection is returned to the pool once the response has been completed...see Connection.write()
             // the connection may be returned to the pool with the host being marked as "unavailable"
             connection = chooseConnection(msg);
-            connection.write(msg, future);
+            connection.write(msg, future, submittedAt);
             return future;
         } catch (RuntimeException re) {
             throw re;
@@ -400,6 +460,65 @@ public abstract class Client {
         }
     }
 
+    /**
+     * Submits many manually constructed {@link RequestMessage} instances to the server in a single batch request
+     * written to one connection and returns a {@link ResultSet} for each, in the order given, once the write is
+     * complete. The server processes the requests all at once.
+     */
+    public List<ResultSet> submitBatch(final List<RequestMessage> msgs) {
+        return submitBatch(msgs, false);
+    }
+
+    /**
+     * Submits many manually constructed {@link RequestMessage} instances to the server in a single batch request
+     * written to one connection and returns a {@link ResultSet} for each, in the order given, once the write is
+     * complete.
+     *
+     * @param ordered if {@code true} the server processes each request only once the one before it is complete
+     */
+    public List<ResultSet> submitBatch(final List<RequestMessage> msgs, final boolean ordered) {
+        try {
+            return submitBatchAsync(msgs, ordered).get();
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * An asynchronous version of {@link #submitBatch(List, boolean)}.
+     */
+    public CompletableFuture<List<ResultSet>> submitBatchAsync(final List<RequestMessage> msgs, final boolean ordered) {
+        if (isClosing()) throw new IllegalStateException("Client is closed");
+        if (msgs.isEmpty()) throw new IllegalArgumentException("A batch requires at least one request");
+
+        if (!initialized)
+            init();
+
+        final RequestMessage batch = RequestMessage.batch(msgs, ordered);
+        final List<CompletableFuture<ResultSet>> futures = new ArrayList<>(msgs.size());
+        for (int i = 0; i < msgs.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+
+        Connection connection = null;
+        try {
+            // the connection is returned to the pool once for each request as its response is completed
+            connection = chooseConnection(batch);
+            connection.writeBatch(batch, futures);
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v ->
+                    futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        } finally {
+            if (logger.isDebugEnabled())
+                logger.debug("Submitted {} to - {}", batch, null == connection ? "connection not initialized" : connection.toString());
+        }
+    }
+
     public abstract boolean isClosing();
 
     /**
@@ -675,6 +794,8 @@ public abstract class Client {
                 options.getTimeout().ifPresent(timeout -> request.add(Tokens.ARGS_EVAL_TIMEOUT, timeout));
                 options.getOverrideRequestId().ifPresent(request::overrideRequestId);
                 options.getUserAgent().ifPresent(userAgent -> request.add(Tokens.ARGS_USER_AGENT, userAgent));
+                options.getPriority().ifPresent(priority -> request.add(Tokens.ARGS_PRIORITY, priority));
+                options.getTraceId().ifPresent(traceId -> request.add(Tokens.ARGS_TRACE_ID, traceId));
 
                 return submitAsync(request.create());
             } catch (RuntimeException re) {
@@ -684,8 +805,47 @@ public abstract class Client {
             }
         }
 
+        @Override
+        public CompletableFuture<UUID> prepareAsync(final Bytecode bytecode) {
+            final RequestMessage.Builder request = buildMessage(RequestMessage.build(Tokens.OPS_PREPARE)
+                    .processor("traversal")
+                    .addArg(Tokens.ARGS_GREMLIN, bytecode));
+            return submitAsync(request.create()).thenCompose(ResultSet::all).thenApply(results -> {
+                // serializers without a type for UUID return the handle as a String
+                final Object handle = results.get(0).getObject();
+                return handle instanceof UUID ? (UUID) handle : UUID.fromString(handle.toString());
+            });
+        }
+
+        @Override
+        public CompletableFuture<ResultSet> submitPreparedAsync(final UUID handle, final Map<String, Object> bindings,
+                                                                final RequestOptions options) {
+            final RequestMessage.Builder request = buildMessage(RequestMessage.build(Tokens.OPS_BYTECODE)
+                    .processor("traversal")
+                    .addArg(Tokens.ARGS_PREPARED, handle)
+                    .addArg(Tokens.ARGS_BINDINGS, bindings));
+
+            options.getBatchSize().ifPresent(batchSize -> request.add(Tokens.ARGS_BATCH_SIZE, batchSize));
+            options.getTimeout().ifPresent(timeout -> request.add(Tokens.ARGS_EVAL_TIMEOUT, timeout));
+            options.getOverrideRequestId().ifPresent(request::overrideRequestId);
+            options.getUserAgent().ifPresent(userAgent -> request.add(Tokens.ARGS_USER_AGENT, userAgent));
+            options.getPriority().ifPresent(priority -> request.add(Tokens.ARGS_PRIORITY, priority));
+            options.getTraceId().ifPresent(traceId -> request.add(Tokens.ARGS_TRACE_ID, traceId));
+
+            return submitAsync(request.create());
+        }
+
         @Override
         public CompletableFuture<ResultSet> submitAsync(final RequestMessage msg) {
+            return super.submitAsync(withAliases(msg));
+        }
+
+        @Override
+        public CompletableFuture<List<ResultSet>> submitBatchAsync(final List<RequestMessage> msgs, final boolean ordered) {
+            return super.submitBatchAsync(msgs.stream().map(this::withAliases).collect(Collectors.toList()), ordered);
+        }
+
+        private RequestMessage withAliases(final RequestMessage msg) {
             final RequestMessage.Builder builder = RequestMessage.from(msg);
 
             // only add aliases which aren't already present. if they are present then they represent request level
@@ -698,7 +858,7 @@ public abstract class Client {
                 });
             }
 
-            return super.submitAsync(builder.create());
+            return builder.create();
         }
 
         @Override
@@ -29,6 +29,7 @@ import io.netty.channel.ChannelPromise;
 import io.netty.channel.socket.nio.NioSocketChannel;
 
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -202,6 +203,17 @@ final class Connection {
     }
 
     public ChannelPromise write(final RequestMessage requestMessage, final CompletableFuture<ResultSet> resultQueueSetup) {
+        return write(requestMessage, resultQueueSetup, System.nanoTime());
+    }
+
+    /**
+     * Writes the request, where {@code submittedAt} is the {@code System.nanoTime()} at which it was submitted to the
+     * {@link Client} before a connection was borrowed for it.
+     */
+    ChannelPromise write(final RequestMessage requestMessage, final CompletableFuture<ResultSet> resultQueueSetup,
+                         final long submittedAt) {
+        final long writtenAt = System.nanoTime();
+
         // dont allow the same request id to be used as one that is already in the queue
         if (pending.containsKey(requestMessage.getRequestId()))
             throw new IllegalStateException(String.format("There is already a request pending with an id of: %s", requestMessage.getRequestId()));
@@ -221,37 +233,7 @@ final class Connection {
 
                         cluster.executor().submit(() -> resultQueueSetup.completeExceptionally(f.cause()));
                     } else {
-                        final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
-                        final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
-
-                        readCompleted.whenCompleteAsync((v, t) -> {
-                            if (t != null) {
-                                // the callback for when the read failed. a failed read means the request went to the server
-                                // and came back with a server-side error of some sort.  it means the server is responsive
-                                // so this isn't going to be like a potentially dead host situation which is handled above on a failed
-                                // write operation.
-                                logger.debug("Error while processing request on the server {}.", this, t);
-                                handleConnectionCleanupOnError(thisConnection);
-                            } else {
-                                // the callback for when the read was successful, meaning that ResultQueue.markComplete()
-                                // was called
-                                thisConnection.returnToPool();
-                            }
-                            // While this request was in process, close might have been signaled in closeAsync().
-                            // However, close would be blocked until all pending requests are completed. Attempt
-                            // the shutdown if the returned result cleared up the last pending message and unblocked
-                            // the close.
-                            tryShutdown();
-                        }, cluster.executor());
-
-                        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
-                        pending.put(requestMessage.getRequestId(), handler);
-
-                        // resultQueueSetup should only be completed by a worker since the application code might have sync
-                        // completion stages attached to it which and we do not want the event loop threads to process those
-                        // stages.
-                        cluster.executor().submit(() -> resultQueueSetup.complete(
-                                new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
+                        addPending(requestMessage, resultQueueSetup, submittedAt, writtenAt);
                     }
                 });
         channel.writeAndFlush(requestMessage, requestPromise);
@@ -259,6 +241,103 @@ final class Connection {
         return requestPromise;
     }
 
+    /**
+     * Writes a {@link Tokens#OPS_BATCH} request, completing one of the {@code resultQueueSetups} for each of the
+     * requests it carries in the order they were given. The connection is returned to the pool once for each of those
+     * requests as its response completes, so it is counted as borrowed once for each of them.
+     */
+    public ChannelPromise writeBatch(final RequestMessage batchMessage, final List<CompletableFuture<ResultSet>> resultQueueSetups) {
+        final List<RequestMessage> requestMessages = batchMessage.batchedRequests();
+        for (final RequestMessage requestMessage : requestMessages) {
+            if (pending.containsKey(requestMessage.getRequestId()))
+                throw new IllegalStateException(String.format("There is already a request pending with an id of: %s", requestMessage.getRequestId()));
+        }
+
+        // the connection was borrowed once for the whole batch
+        borrowed.addAndGet(requestMessages.size() - 1);
+        final long writtenAt = System.nanoTime();
+
+        final Connection thisConnection = this;
+        final ChannelPromise requestPromise = channel.newPromise()
+                .addListener(f -> {
+                    if (!f.isSuccess()) {
+                        if (logger.isDebugEnabled())
+                            logger.debug(String.format("Write on connection %s failed",
+                                    thisConnection.getConnectionInfo()), f.cause());
+
+                        for (final CompletableFuture<ResultSet> resultQueueSetup : resultQueueSetups) {
+                            handleConnectionCleanupOnError(thisConnection);
+                            cluster.executor().submit(() -> resultQueueSetup.completeExceptionally(f.cause()));
+                        }
+                    } else {
+                        final CompletableFuture<?>[] readsCompleted = new CompletableFuture<?>[requestMessages.size()];
+                        for (int i = 0; i < requestMessages.size(); i++) {
+                            readsCompleted[i] = addPending(requestMessages.get(i), resultQueueSetups.get(i), writtenAt, writtenAt);
+                        }
+
+                        // a server that can't process the batch at all responds with an error for the batch itself,
+                        // which has to fail each of the requests it carries as none of them will get a response
+                        final UUID batchId = batchMessage.getRequestId();
+                        final CompletableFuture<Void> batchFailed = new CompletableFuture<>();
+                        batchFailed.whenComplete((v, t) -> {
+                            if (t != null) requestMessages.forEach(m -> {
+                                final ResultQueue queue = pending.remove(m.getRequestId());
+                                if (queue != null) queue.markError(t);
+                            });
+                        });
+                        pending.put(batchId, new ResultQueue(new LinkedBlockingQueue<>(), batchFailed));
+                        CompletableFuture.allOf(readsCompleted).whenComplete((v, t) -> pending.remove(batchId));
+                    }
+                });
+        channel.writeAndFlush(batchMessage, requestPromise);
+
+        return requestPromise;
+    }
+
+    /**
+     * Registers the {@link ResultQueue} that responses to a written request are demultiplexed to and completes the
+     * {@code resultQueueSetup} with the {@link ResultSet} that reads from it.
+     */
+    private CompletableFuture<Void> addPending(final RequestMessage requestMessage, final CompletableFuture<ResultSet> resultQueueSetup,
+                                               final long submittedAt, final long writtenAt) {
+        final Connection thisConnection = this;
+        final LinkedBlockingQueue<Result> resultLinkedBlockingQueue = new LinkedBlockingQueue<>();
+        final CompletableFuture<Void> readCompleted = new CompletableFuture<>();
+
+        readCompleted.whenCompleteAsync((v, t) -> {
+            if (t != null) {
+                // the callback for when the read failed. a failed read means the request went to the server
+                // and came back with a server-side error of some sort.  it means the server is responsive
+                // so this isn't going to be like a potentially dead host situation which is handled above on a failed
+                // write operation.
+                logger.debug("Error while processing request on the server {}.", this, t);
+                handleConnectionCleanupOnError(thisConnection);
+            } else {
+                // the callback for when the read was successful, meaning that ResultQueue.markComplete()
+                // was called
+                thisConnection.returnToPool();
+            }
+            // While this request was in process, close might have been signaled in closeAsync().
+            // However, close would be blocked until all pending requests are completed. Attempt
+            // the shutdown if the returned result cleared up the last pending message and unblocked
+            // the close.
+            tryShutdown();
+        }, cluster.executor());
+
+        final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
+        if (requestMessage.getArgs().containsKey(Tokens.ARGS_TRACE_ID))
+            handler.trace(submittedAt, writtenAt);
+        pending.put(requestMessage.getRequestId(), handler);
+
+        // resultQueueSetup should only be completed by a worker since the application code might have sync
+        // completion stages attached to it which and we do not want the event loop threads to process those
+        // stages.
+        cluster.executor().submit(() -> resultQueueSetup.complete(
+                new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
+
+        return readCompleted;
+    }
+
     private void returnToPool() {
         try {
             if (pool != null) pool.returnConnection(this);
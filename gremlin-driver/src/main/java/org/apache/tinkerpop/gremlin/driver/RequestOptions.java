@@ -41,6 +41,8 @@ public final class RequestOptions {
     private final UUID overrideRequestId;
     private final String userAgent;
     private final String language;
+    private final String priority;
+    private final String traceId;
 
     private RequestOptions(final Builder builder) {
         this.aliases = builder.aliases;
@@ -50,6 +52,8 @@ public final class RequestOptions {
         this.overrideRequestId = builder.overrideRequestId;
         this.userAgent = builder.userAgent;
         this.language = builder.language;
+        this.priority = builder.priority;
+        this.traceId = builder.traceId;
     }
 
     public Optional<UUID> getOverrideRequestId() {
@@ -80,6 +84,14 @@ public final class RequestOptions {
         return Optional.ofNullable(language);
     }
 
+    public Optional<String> getPriority() {
+        return Optional.ofNullable(priority);
+    }
+
+    public Optional<String> getTraceId() {
+        return Optional.ofNullable(traceId);
+    }
+
     public static Builder build() {
         return new Builder();
     }
@@ -92,6 +104,8 @@ public final class RequestOptions {
         private UUID overrideRequestId = null;
         private String userAgent = null;
         private String language = null;
+        private String priority = null;
+        private String traceId = null;
         private boolean maintainStateAfterException = false;
 
         /**
@@ -159,6 +173,24 @@ public final class RequestOptions {
             return this;
         }
 
+        /**
+         * Sets the priority class that the server should schedule the request with, which overrides the class the
+         * server would otherwise choose for it.
+         */
+        public Builder priority(final String priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Sets an identifier that has the server trace the phases of the request, returning their timings in the
+         * {@link Tokens#STATUS_ATTRIBUTE_TRACE} status attribute.
+         */
+        public Builder traceId(final String traceId) {
+            this.traceId = traceId;
+            return this;
+        }
+
         public RequestOptions create() {
             return new RequestOptions(this);
         }
@@ -24,6 +24,8 @@ import org.javatuples.Pair;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -53,11 +55,25 @@ final class ResultQueue {
 
     private Map<String,Object> statusAttributes = null;
 
+    private boolean traced = false;
+    private long submittedAt;
+    private long writtenAt;
+
     public ResultQueue(final LinkedBlockingQueue<Result> resultLinkedBlockingQueue, final CompletableFuture<Void> readComplete) {
         this.resultLinkedBlockingQueue = resultLinkedBlockingQueue;
         this.readComplete = readComplete;
     }
 
+    /**
+     * Records when the request was submitted to the {@link Client} and when it was written to the connection so that
+     * the driver phases can be added to the trace returned by the server.
+     */
+    void trace(final long submittedAt, final long writtenAt) {
+        this.traced = true;
+        this.submittedAt = submittedAt;
+        this.writtenAt = writtenAt;
+    }
+
     /**
      * Adds a {@link Result} to the queue which will be later read by the {@link ResultSet}.
      *
@@ -112,6 +128,17 @@ final class ResultQueue {
 
         this.statusAttributes = null == statusAttributes ? Collections.emptyMap() : statusAttributes;
 
+        // the time spent borrowing a connection and the time from the write until the final response, which less
+        // the server total is the time spent on the network
+        final Object trace = this.statusAttributes.get(Tokens.STATUS_ATTRIBUTE_TRACE);
+        if (traced && trace instanceof Map) {
+            final Map<String,Object> phases = new LinkedHashMap<>((Map<String,Object>) trace);
+            phases.put("driverPool", writtenAt - submittedAt);
+            phases.put("driverRoundTrip", System.nanoTime() - writtenAt);
+            this.statusAttributes = new HashMap<>(this.statusAttributes);
+            this.statusAttributes.put(Tokens.STATUS_ATTRIBUTE_TRACE, phases);
+        }
+
         this.readComplete.complete(null);
 
         this.drainAllWaiting();
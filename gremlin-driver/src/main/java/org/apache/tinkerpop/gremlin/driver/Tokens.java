@@ -36,6 +36,20 @@ public final class Tokens {
     public static final String OPS_EVAL = "eval";
     public static final String OPS_INVALID = "invalid";
     public static final String OPS_CLOSE = "close";
+    public static final String OPS_PREPARE = "prepare";
+
+    /**
+     * An op that carries many requests in a single message. Each request is processed as if it had been sent on its
+     * own and its responses are returned under its own request identifier.
+     */
+    public static final String OPS_BATCH = "batch";
+
+    /**
+     * An op that returns the most recent requests that took longer than the {@code slowQueryThreshold} of the
+     * server, with the time spent in each phase of their processing and, when they were sampled for it, their
+     * profile.
+     */
+    public static final String OPS_SLOW_QUERIES = "slowQueries";
 
     /**
      * The key for the unique identifier of the request.
@@ -66,6 +80,13 @@ public final class Tokens {
      */
     public static final String ARGS_GREMLIN = "gremlin";
 
+    /**
+     * Argument name for the handle of a traversal registered with a {@link #OPS_PREPARE} request. A {@link #OPS_BYTECODE}
+     * request that supplies it in place of {@link #ARGS_GREMLIN} executes the prepared traversal with the values of its
+     * variables taken from {@link #ARGS_BINDINGS}.
+     */
+    public static final String ARGS_PREPARED = "prepared";
+
     /**
      * Argument name that allows definition of the flavor of Gremlin used (e.g. gremlin-groovy) to process the request.
      */
@@ -95,6 +116,37 @@ public final class Tokens {
      */
     public static final String ARGS_USER_AGENT = "userAgent";
 
+    /**
+     * Argument name for the priority class that the server should schedule the request with. The classes are defined
+     * by the server and a request without one is scheduled in the class configured for its traversal source or in the
+     * default class.
+     */
+    public static final String ARGS_PRIORITY = "priority";
+
+    /**
+     * Argument name that allows a bytecode request to opt out of the server result cache when set to {@code false}.
+     * The same name may be used as a {@code with()} option on the traversal.
+     */
+    public static final String ARGS_CACHE = "cache";
+
+    /**
+     * Argument name for the requests carried by a {@link #OPS_BATCH} request, each in the form of a {@code Map} with
+     * the fields of a {@link RequestMessage}.
+     */
+    public static final String ARGS_REQUESTS = "requests";
+
+    /**
+     * Argument name that, when {@code true}, has the server process the requests of a {@link #OPS_BATCH} request one
+     * after the other in the order given rather than all at once.
+     */
+    public static final String ARGS_ORDERED = "ordered";
+
+    /**
+     * Argument name for an identifier that has the server trace the phases of the request, returning their timings
+     * under {@link #STATUS_ATTRIBUTE_TRACE}. The same name may be used as a {@code with()} option on the traversal.
+     */
+    public static final String ARGS_TRACE_ID = "traceId";
+
     public static final String VAL_TRAVERSAL_SOURCE_ALIAS = "g";
 
     /**
@@ -113,6 +165,12 @@ public final class Tokens {
      */
     public static final String STATUS_ATTRIBUTE_STACK_TRACE = "stackTrace";
 
+    /**
+     * A {@link ResultSet#statusAttributes()} key for the trace of a request sent with {@link #ARGS_TRACE_ID}, which
+     * is a {@code Map} of the trace identifier and the nanoseconds spent in each phase of the request.
+     */
+    public static final String STATUS_ATTRIBUTE_TRACE = "trace";
+
     /**
      * A {@link ResultSet#statusAttributes()} key for user-facing warnings.
      * <p>
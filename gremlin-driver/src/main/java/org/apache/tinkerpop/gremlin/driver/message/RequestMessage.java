@@ -19,9 +19,12 @@
 package org.apache.tinkerpop.gremlin.driver.message;
 
 import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.ser.SerTokens;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -96,6 +99,86 @@ public final class RequestMessage {
         return o == null ? Optional.empty() : Optional.of((T) o);
     }
 
+    // the batch methods are deliberately not named like bean accessors as GraphSON 1.0 writes a request as a bean
+    // and would otherwise add them to its properties
+
+    /**
+     * Determines if this message is a {@link Tokens#OPS_BATCH} request that carries other requests.
+     */
+    public boolean carriesBatch() {
+        return Tokens.OPS_BATCH.equals(op);
+    }
+
+    /**
+     * Determines if the requests carried by this {@link Tokens#OPS_BATCH} request are to be processed one after the
+     * other in the order given.
+     */
+    public boolean carriesOrderedBatch() {
+        return carriesBatch() && Boolean.TRUE.equals(args.get(Tokens.ARGS_ORDERED));
+    }
+
+    /**
+     * Gets the requests carried by this {@link Tokens#OPS_BATCH} request.
+     *
+     * @throws IllegalArgumentException if this is not a batch request or if one of the requests it carries is not
+     * well formed
+     */
+    public List<RequestMessage> batchedRequests() {
+        if (!carriesBatch())
+            throw new IllegalArgumentException(String.format("A [%s] request does not carry other requests", op));
+
+        final Object requests = args.get(Tokens.ARGS_REQUESTS);
+        if (!(requests instanceof List))
+            throw new IllegalArgumentException(String.format("A [%s] request requires a [%s] argument that is a list",
+                    Tokens.OPS_BATCH, Tokens.ARGS_REQUESTS));
+
+        final List<RequestMessage> batched = new ArrayList<>(((List<?>) requests).size());
+        for (final Object request : (List<?>) requests) {
+            if (!(request instanceof Map))
+                throw new IllegalArgumentException(String.format("Each of the [%s] of a [%s] request must be a map",
+                        Tokens.ARGS_REQUESTS, Tokens.OPS_BATCH));
+
+            final Map<?, ?> fields = (Map<?, ?>) request;
+            final Object requestId = fields.get(SerTokens.TOKEN_REQUEST);
+            final Object requestOp = fields.get(SerTokens.TOKEN_OP);
+            if (null == requestId || !(requestOp instanceof String) || Tokens.OPS_BATCH.equals(requestOp))
+                throw new IllegalArgumentException(String.format("Each of the [%s] of a [%s] request requires a [%s] and an [%s] other than [%s]",
+                        Tokens.ARGS_REQUESTS, Tokens.OPS_BATCH, SerTokens.TOKEN_REQUEST, SerTokens.TOKEN_OP, Tokens.OPS_BATCH));
+
+            // serializers without a type for UUID carry the identifier as a String
+            final Builder builder = build((String) requestOp)
+                    .overrideRequestId(requestId instanceof UUID ? (UUID) requestId : UUID.fromString(requestId.toString()))
+                    .processor(Optional.ofNullable((String) fields.get(SerTokens.TOKEN_PROCESSOR)).orElse(Builder.OP_PROCESSOR_NAME));
+            final Object requestArgs = fields.get(SerTokens.TOKEN_ARGS);
+            if (requestArgs instanceof Map)
+                ((Map<?, ?>) requestArgs).forEach((k, v) -> builder.addArg(k.toString(), v));
+            batched.add(builder.create());
+        }
+
+        return batched;
+    }
+
+    /**
+     * Creates a {@link Tokens#OPS_BATCH} request that carries the specified requests in a single message.
+     *
+     * @param ordered if {@code true} the server processes the requests one after the other in the order given
+     */
+    public static RequestMessage batch(final List<RequestMessage> requests, final boolean ordered) {
+        final List<Map<String, Object>> batched = new ArrayList<>(requests.size());
+        for (final RequestMessage request : requests) {
+            final Map<String, Object> fields = new HashMap<>();
+            fields.put(SerTokens.TOKEN_REQUEST, request.getRequestId());
+            fields.put(SerTokens.TOKEN_OP, request.getOp());
+            fields.put(SerTokens.TOKEN_PROCESSOR, request.getProcessor());
+            fields.put(SerTokens.TOKEN_ARGS, request.getArgs());
+            batched.add(fields);
+        }
+
+        return build(Tokens.OPS_BATCH)
+                .addArg(Tokens.ARGS_REQUESTS, batched)
+                .addArg(Tokens.ARGS_ORDERED, ordered).create();
+    }
+
     public static Builder from(final RequestMessage msg) {
         final Builder builder = build(msg.op)
                 .overrideRequestId(msg.requestId)
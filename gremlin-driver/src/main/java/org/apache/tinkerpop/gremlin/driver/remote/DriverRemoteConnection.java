@@ -40,6 +40,8 @@ import java.util.concurrent.CompletableFuture;
 
 import static org.apache.tinkerpop.gremlin.driver.Tokens.ARGS_BATCH_SIZE;
 import static org.apache.tinkerpop.gremlin.driver.Tokens.ARGS_EVAL_TIMEOUT;
+import static org.apache.tinkerpop.gremlin.driver.Tokens.ARGS_PRIORITY;
+import static org.apache.tinkerpop.gremlin.driver.Tokens.ARGS_TRACE_ID;
 import static org.apache.tinkerpop.gremlin.driver.Tokens.ARGS_USER_AGENT;
 import static org.apache.tinkerpop.gremlin.driver.Tokens.REQUEST_ID;
 
@@ -258,6 +260,10 @@ public class DriverRemoteConnection implements RemoteConnection {
                 builder.batchSize((int) options.get(ARGS_BATCH_SIZE));
             if (options.containsKey(ARGS_USER_AGENT))
                 builder.userAgent((String) options.get(ARGS_USER_AGENT));
+            if (options.containsKey(ARGS_PRIORITY))
+                builder.priority((String) options.get(ARGS_PRIORITY));
+            if (options.containsKey(ARGS_TRACE_ID))
+                builder.traceId((String) options.get(ARGS_TRACE_ID));
         }
         return builder.create();
     }
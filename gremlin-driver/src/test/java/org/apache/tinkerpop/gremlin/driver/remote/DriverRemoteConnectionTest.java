@@ -44,10 +44,12 @@ public class DriverRemoteConnectionTest {
                         with(Tokens.REQUEST_ID, requestId).
                         with(Tokens.ARGS_EVAL_TIMEOUT, 100000L).
                         with(Tokens.ARGS_USER_AGENT, "test").
+                        with(Tokens.ARGS_PRIORITY, "interactive").
                         V().asAdmin().getBytecode());
         assertEquals(requestId, options.getOverrideRequestId().get());
         assertEquals(1000, options.getBatchSize().get().intValue());
         assertEquals(100000L, options.getTimeout().get().longValue());
         assertEquals("test", options.getUserAgent().get());
+        assertEquals("interactive", options.getPriority().get());
     }
 }
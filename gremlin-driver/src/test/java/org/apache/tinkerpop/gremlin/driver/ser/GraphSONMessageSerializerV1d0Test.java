@@ -53,6 +53,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -368,6 +369,33 @@ public class GraphSONMessageSerializerV1d0Test {
         assertEquals("y", m.getArgs().get("x"));
     }
 
+    @Test
+    public void shouldDeserializeBatchRequestWithUntypedRequestIds() throws Exception {
+        final UUID request = UUID.fromString("011CFEE9-F640-4844-AC93-034448AC0E80");
+        final UUID batched = UUID.fromString("2D62161B-9544-4F39-AF44-62EC49F9A595");
+        final RequestMessage m = SERIALIZER.deserializeRequest(String.format(
+                "{\"requestId\":\"%s\",\"op\":\"batch\",\"args\":{\"ordered\":true,\"requests\":[{\"requestId\":\"%s\",\"op\":\"eval\",\"args\":{\"gremlin\":\"1+1\"}}]}}",
+                request, batched));
+        assertThat(m.carriesOrderedBatch(), is(true));
+
+        final List<RequestMessage> requests = m.batchedRequests();
+        assertEquals(1, requests.size());
+        assertEquals(batched, requests.get(0).getRequestId());
+        assertEquals("eval", requests.get(0).getOp());
+        assertEquals("1+1", requests.get(0).getArgs().get("gremlin"));
+    }
+
+    @Test
+    public void shouldSerializeRequestWithOnlyItsFields() throws Exception {
+        final RequestMessage request = RequestMessage.build("eval").addArg("gremlin", "1+1").create();
+        final String json = SERIALIZER.serializeRequestAsString(request);
+        assertThat(json.contains("batch"), is(false));
+
+        final RequestMessage m = SERIALIZER.deserializeRequest(json);
+        assertEquals(request.getRequestId(), m.getRequestId());
+        assertEquals("1+1", m.getArgs().get("gremlin"));
+    }
+
     @Test(expected = SerializationException.class)
     public void shouldDeserializeRequestParseMessage() throws Exception {
         SERIALIZER.deserializeRequest("{\"requestId\":\"%s\",\"op\":\"eval\",\"args\":{\"x\":\"y\"}}");
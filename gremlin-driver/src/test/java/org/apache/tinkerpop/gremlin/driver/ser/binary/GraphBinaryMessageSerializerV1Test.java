@@ -28,8 +28,10 @@ import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,6 +39,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static org.apache.tinkerpop.gremlin.driver.MockitoHamcrestMatcherAdapter.reflectionEquals;
 import static org.junit.Assert.assertEquals;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 
 public class GraphBinaryMessageSerializerV1Test {
     private final ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
@@ -85,6 +88,30 @@ public class GraphBinaryMessageSerializerV1Test {
         assertThat(request, reflectionEquals(deserialized));
     }
 
+    @Test
+    public void shouldSerializeAndDeserializeBatchRequest() throws SerializationException {
+        final RequestMessage first = RequestMessage.build("op1")
+                .processor("proc1")
+                .overrideRequestId(UUID.randomUUID())
+                .addArg("arg1", "value1")
+                .create();
+        final RequestMessage second = RequestMessage.build("op2")
+                .overrideRequestId(UUID.randomUUID())
+                .create();
+        final RequestMessage request = RequestMessage.batch(Arrays.asList(first, second), true);
+
+        final ByteBuf buffer = serializer.serializeRequestAsBinary(request, allocator);
+        final int mimeLen = buffer.readByte();
+        buffer.readBytes(new byte[mimeLen]);
+        final RequestMessage deserialized = serializer.deserializeRequest(buffer);
+        assertThat(deserialized.carriesOrderedBatch(), is(true));
+
+        final List<RequestMessage> requests = deserialized.batchedRequests();
+        assertEquals(2, requests.size());
+        assertThat(first, reflectionEquals(requests.get(0)));
+        assertThat(second, reflectionEquals(requests.get(1)));
+    }
+
     @Test
     public void shouldSerializeAndDeserializeResponse() throws SerializationException {
         final ResponseMessage response = ResponseMessage.build(UUID.randomUUID())
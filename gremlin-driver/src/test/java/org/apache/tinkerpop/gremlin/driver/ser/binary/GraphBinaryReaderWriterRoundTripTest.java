@@ -37,6 +37,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.Tree;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
@@ -160,6 +161,15 @@ public class GraphBinaryReaderWriterRoundTripTest {
         final DefaultTraversalMetrics traversalMetrics = new DefaultTraversalMetrics(666, nestedMetrics);
         final DefaultTraversalMetrics emptyTraversalMetrics = new DefaultTraversalMetrics(444, Collections.emptyList());
 
+        final MutableMetrics strategyMetrics = new MutableMetrics(ConnectiveStrategy.class.getName(), "ConnectiveStrategy");
+        strategyMetrics.setDuration(12, TimeUnit.MICROSECONDS);
+        strategyMetrics.setCount(TraversalMetrics.TRAVERSAL_COUNT_ID, 3);
+        strategyMetrics.setCount(TraversalMetrics.STEPS_ADDED_ID, 1);
+        strategyMetrics.setCount(TraversalMetrics.STEPS_REMOVED_ID, 2);
+        strategyMetrics.setAnnotation(TraversalMetrics.STRATEGY_CATEGORY_KEY, "DecorationStrategy");
+        final DefaultTraversalMetrics strategyTraversalMetrics = new DefaultTraversalMetrics(666,
+                Arrays.asList(metrics.clone(), metrics2.clone()), Collections.singletonList(strategyMetrics));
+
         return Arrays.asList(
                 new Object[] {"String", "ABC", null},
                 new Object[] {"Char", '£', null},
@@ -279,6 +289,13 @@ public class GraphBinaryReaderWriterRoundTripTest {
                     assertEquals(m.toString(), traversalMetrics.toString());
                     assertThat(m, reflectionEquals(traversalMetrics, "stepIndexedMetrics", "positionIndexedMetrics"));
                 }},
+                // the GraphBinary format of TraversalMetrics has no place for the strategy metrics
+                new Object[] {"StrategyTraversalMetrics", strategyTraversalMetrics, (Consumer<TraversalMetrics>) m -> {
+                    assertEquals(2, m.getMetrics().size());
+                    assertEquals(metrics.getId(), m.getMetrics(0).getId());
+                    assertEquals(metrics2.getId(), m.getMetrics(1).getId());
+                    assertEquals(0, m.getStrategyMetrics().size());
+                }},
 
                 // collections
                 new Object[] {"ListSingle", list, null},
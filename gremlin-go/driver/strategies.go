@@ -152,6 +152,16 @@ func MatchAlgorithmStrategy(matchAlgorithm string) *traversalStrategy {
 	return &traversalStrategy{name: finalizationNamespace + "MatchAlgorithmStrategy", configuration: config}
 }
 
+// ParallelStrategy runs the steps leading from a start step to its first mergeable barrier over partitions of
+// batchSize traversers in parallel on the server. A batchSize of 0 keeps the server default.
+func ParallelStrategy(batchSize int) *traversalStrategy {
+	config := make(map[string]interface{})
+	if batchSize != 0 {
+		config["batchSize"] = batchSize
+	}
+	return &traversalStrategy{name: finalizationNamespace + "ParallelStrategy", configuration: config}
+}
+
 // Verification strategies
 
 // EdgeLabelVerificationStrategy does not allow Edge traversal steps to have no label specified.
@@ -30,11 +30,21 @@ class CompilationOptionsCustomizer implements Customizer {
     private final long expectedCompilationTime;
     private final String cacheSpecification;
     private final boolean globalFunctionCacheEnabled;
+    private final String classCacheDirectory;
+    private final int classCacheMaxEntries;
+    private final int compilationThreads;
+    private final int compilationQueueSize;
+    private final long compilationTimeout;
 
     private CompilationOptionsCustomizer(final Builder builder) {
         this.expectedCompilationTime = builder.expectedCompilationTime;
         this.cacheSpecification = builder.cacheSpecification;
         this.globalFunctionCacheEnabled = builder.globalFunctionCacheEnabled;
+        this.classCacheDirectory = builder.classCacheDirectory;
+        this.classCacheMaxEntries = builder.classCacheMaxEntries;
+        this.compilationThreads = builder.compilationThreads;
+        this.compilationQueueSize = builder.compilationQueueSize;
+        this.compilationTimeout = builder.compilationTimeout;
     }
 
     public long getExpectedCompilationTime() {
@@ -49,6 +59,43 @@ class CompilationOptionsCustomizer implements Customizer {
         return globalFunctionCacheEnabled;
     }
 
+    /**
+     * Gets the directory in which compiled scripts are stored across restarts or {@code null} if they are not.
+     */
+    public String getClassCacheDirectory() {
+        return classCacheDirectory;
+    }
+
+    /**
+     * Gets the maximum number of compiled scripts kept in the {@link #getClassCacheDirectory()}.
+     */
+    public int getClassCacheMaxEntries() {
+        return classCacheMaxEntries;
+    }
+
+    /**
+     * Gets the number of threads dedicated to compiling scripts or zero if scripts are compiled on the thread that
+     * evaluates them.
+     */
+    public int getCompilationThreads() {
+        return compilationThreads;
+    }
+
+    /**
+     * Gets the number of compilations that may wait for one of the {@link #getCompilationThreads()}.
+     */
+    public int getCompilationQueueSize() {
+        return compilationQueueSize;
+    }
+
+    /**
+     * Gets the time in milliseconds that an evaluation waits for the compilation of its script or zero to wait
+     * for as long as it takes.
+     */
+    public long getCompilationTimeout() {
+        return compilationTimeout;
+    }
+
     public static Builder build() {
         return new Builder();
     }
@@ -57,6 +104,11 @@ class CompilationOptionsCustomizer implements Customizer {
         private long expectedCompilationTime;
         private String cacheSpecification = "softValues";
         private boolean globalFunctionCacheEnabled = true;
+        private String classCacheDirectory = null;
+        private int classCacheMaxEntries = 10000;
+        private int compilationThreads = 0;
+        private int compilationQueueSize = 256;
+        private long compilationTimeout = 0;
 
         public Builder setExpectedCompilationTime(final long expectedCompilationTime) {
             this.expectedCompilationTime = expectedCompilationTime;
@@ -73,6 +125,31 @@ class CompilationOptionsCustomizer implements Customizer {
             return this;
         }
 
+        public Builder setClassCacheDirectory(final String classCacheDirectory) {
+            this.classCacheDirectory = classCacheDirectory;
+            return this;
+        }
+
+        public Builder setClassCacheMaxEntries(final int classCacheMaxEntries) {
+            this.classCacheMaxEntries = classCacheMaxEntries;
+            return this;
+        }
+
+        public Builder setCompilationThreads(final int compilationThreads) {
+            this.compilationThreads = compilationThreads;
+            return this;
+        }
+
+        public Builder setCompilationQueueSize(final int compilationQueueSize) {
+            this.compilationQueueSize = compilationQueueSize;
+            return this;
+        }
+
+        public Builder setCompilationTimeout(final long compilationTimeout) {
+            this.compilationTimeout = compilationTimeout;
+            return this;
+        }
+
         public CompilationOptionsCustomizer create() {
             return new CompilationOptionsCustomizer(this);
         }
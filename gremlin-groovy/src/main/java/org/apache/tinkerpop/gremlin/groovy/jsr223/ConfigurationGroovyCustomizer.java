@@ -26,6 +26,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Allows configurations to be directly supplied to a groovy {@code CompilerConfiguration} when a
@@ -79,4 +80,9 @@ class ConfigurationGroovyCustomizer implements GroovyCustomizer {
     public CompilationCustomizer create() {
         throw new UnsupportedOperationException("This is a marker implementation that does not create a CompilationCustomizer instance");
     }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + new TreeMap<>(properties);
+    }
 }
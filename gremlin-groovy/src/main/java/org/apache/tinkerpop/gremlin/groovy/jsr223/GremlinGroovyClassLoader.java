@@ -19,7 +19,11 @@
 package org.apache.tinkerpop.gremlin.groovy.jsr223;
 
 import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.groovy.util.ReferenceBundle;
 
 import java.util.Map;
@@ -35,6 +39,11 @@ import java.util.concurrent.ConcurrentMap;
 class GremlinGroovyClassLoader extends GroovyClassLoader {
     private final ManagedConcurrentValueMap<String, Class> classSoftCache;
 
+    /**
+     * Holds the map that the bytecode of the classes generated by the compilation on the current thread is added to.
+     */
+    private final ThreadLocal<Map<String, byte[]>> bytecodeRecorder = new ThreadLocal<>();
+
     public GremlinGroovyClassLoader(final ClassLoader parent, final CompilerConfiguration conf) {
         super(parent, conf);
         classSoftCache = new ManagedConcurrentValueMap<>(ReferenceBundle.getSoftBundle());
@@ -55,4 +64,67 @@ class GremlinGroovyClassLoader extends GroovyClassLoader {
         if(null == name)  return null;
         return this.classSoftCache.get(name);
     }
+
+    /**
+     * Compiles the script like {@link #parseClass(String, String)} and adds the bytecode of each class that the
+     * compilation generates to the map, keyed by class name.
+     */
+    Class parseClass(final String text, final String fileName, final Map<String, byte[]> bytecode) throws CompilationFailedException {
+        bytecodeRecorder.set(bytecode);
+        try {
+            return parseClass(text, fileName);
+        } finally {
+            bytecodeRecorder.remove();
+        }
+    }
+
+    /**
+     * Defines the classes of a script from the bytecode recorded by {@link #parseClass(String, String, Map)} and
+     * returns the one with the given name. The classes get a loader of their own, just as the classes of each
+     * compilation do, so that their names cannot clash with those of the classes compiled by this loader.
+     */
+    Class defineClasses(final String name, final Map<String, byte[]> bytecode) throws ClassNotFoundException {
+        return new RecordedClassLoader(this, bytecode).loadClass(name);
+    }
+
+    @Override
+    protected ClassCollector createCollector(final CompilationUnit unit, final SourceUnit su) {
+        final Map<String, byte[]> bytecode = bytecodeRecorder.get();
+        if (null == bytecode)
+            return super.createCollector(unit, su);
+
+        return new ClassCollector(new InnerLoader(this), unit, su) {
+            @Override
+            protected Class createClass(final byte[] code, final ClassNode classNode) {
+                bytecode.put(classNode.getName(), code);
+                return super.createClass(code, classNode);
+            }
+        };
+    }
+
+    /**
+     * Defines classes from their recorded bytecode as they are first loaded, which resolves the references among
+     * them in whatever order they are found.
+     */
+    private static final class RecordedClassLoader extends InnerLoader {
+        private final Map<String, byte[]> bytecode;
+
+        private RecordedClassLoader(final GroovyClassLoader delegate, final Map<String, byte[]> bytecode) {
+            super(delegate);
+            this.bytecode = bytecode;
+        }
+
+        @Override
+        public Class loadClass(final String name, final boolean lookupScriptFiles, final boolean preferClassOverScript,
+                               final boolean resolve) throws ClassNotFoundException, CompilationFailedException {
+            final byte[] code = bytecode.get(name);
+            if (null == code)
+                return super.loadClass(name, lookupScriptFiles, preferClassOverScript, resolve);
+
+            synchronized (getClassLoadingLock(name)) {
+                final Class loaded = findLoadedClass(name);
+                return null == loaded ? defineClass(name, code) : loaded;
+            }
+        }
+    }
 }
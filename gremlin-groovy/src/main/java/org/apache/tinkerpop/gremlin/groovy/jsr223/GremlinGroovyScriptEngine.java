@@ -23,12 +23,14 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import groovy.lang.Binding;
 import groovy.lang.Closure;
+import groovy.lang.GroovySystem;
 import groovy.lang.DelegatingMetaClass;
 import groovy.lang.MetaClass;
 import groovy.lang.MissingMethodException;
 import groovy.lang.MissingPropertyException;
 import groovy.lang.Script;
 import groovy.lang.Tuple;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.tinkerpop.gremlin.groovy.loaders.GremlinLoader;
 import org.apache.tinkerpop.gremlin.jsr223.ConcurrentBindings;
 import org.apache.tinkerpop.gremlin.jsr223.CoreGremlinPlugin;
@@ -43,6 +45,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Translator;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.translator.GroovyTranslator;
+import org.apache.tinkerpop.gremlin.util.Gremlin;
 import org.codehaus.groovy.ast.ClassHelper;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.control.CompilationFailedException;
@@ -67,6 +70,7 @@ import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -75,9 +79,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -179,6 +188,37 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
      */
     private final AtomicLong failedCompilationCount = new AtomicLong(0L);
 
+    /**
+     * A counter for the instance that tracks the number of scripts whose classes were defined from the
+     * {@link #persistentClassCache} rather than compiled.
+     */
+    private final AtomicLong warmHitCount = new AtomicLong(0L);
+
+    /**
+     * Counters for the instance that track the compilations and the time spent waiting for and doing them.
+     */
+    private final AtomicLong compilationCount = new AtomicLong(0L);
+    private final AtomicLong compilationTime = new AtomicLong(0L);
+    private final AtomicLong compilationWaitTime = new AtomicLong(0L);
+
+    /**
+     * A counter for the instance that tracks the number of evaluations that gave up waiting on the compilation of
+     * their script after the {@link #compilationTimeout}.
+     */
+    private final AtomicLong compilationTimeoutCount = new AtomicLong(0L);
+
+    /**
+     * The threads dedicated to compiling scripts or {@code null} if scripts are compiled on the thread that
+     * evaluates them.
+     */
+    private final ThreadPoolExecutor compilationExecutor;
+    private final long compilationTimeout;
+
+    /**
+     * Stores the bytecode of compiled scripts across restarts or {@code null} if no directory was configured for it.
+     */
+    private final PersistentClassCache persistentClassCache;
+
     /**
      * The list of loaded plugins for the console.
      */
@@ -253,6 +293,22 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         typeCheckingEnabled = listOfCustomizers.stream()
                 .anyMatch(p -> p instanceof TypeCheckedGroovyCustomizer || p instanceof CompileStaticGroovyCustomizer);
 
+        // type checked compilation depends on the types of the bindings so those classes can't be reused blindly
+        final String classCacheDirectory = compilationOptionsCustomizerProvider.
+                map(CompilationOptionsCustomizer::getClassCacheDirectory).orElse(null);
+        persistentClassCache = null == classCacheDirectory || typeCheckingEnabled ?
+                null : createPersistentClassCache(classCacheDirectory, compilationOptionsCustomizerProvider.
+                        map(CompilationOptionsCustomizer::getClassCacheMaxEntries).orElse(10000));
+
+        // type checked compilation also reads the binding types from a thread local of the evaluating thread
+        final int compilationThreads = compilationOptionsCustomizerProvider.
+                map(CompilationOptionsCustomizer::getCompilationThreads).orElse(0);
+        compilationExecutor = compilationThreads <= 0 || typeCheckingEnabled ?
+                null : createCompilationExecutor(compilationThreads, compilationOptionsCustomizerProvider.
+                        map(CompilationOptionsCustomizer::getCompilationQueueSize).orElse(256));
+        compilationTimeout = compilationOptionsCustomizerProvider.
+                map(CompilationOptionsCustomizer::getCompilationTimeout).orElse(0L);
+
         // determine if interpreter mode should be enabled
         interpreterModeEnabled = groovyCustomizers.stream()
                 .anyMatch(p -> p.getClass().equals(InterpreterModeGroovyCustomizer.class));
@@ -566,9 +622,67 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         return classMap.stats().totalLoadTime();
     }
 
+    /**
+     * Gets the number of scripts whose classes were defined from the bytecode stored in the configured class cache
+     * directory rather than compiled.
+     */
+    public long getClassCacheWarmHitCount() {
+        return warmHitCount.longValue();
+    }
+
+    /**
+     * Gets the number of scripts stored in the configured class cache directory or zero if there is none.
+     */
+    public long getClassCacheWarmSize() {
+        return null == persistentClassCache ? 0 : persistentClassCache.size();
+    }
+
+    /**
+     * Gets the number of compilations waiting for one of the threads dedicated to compiling scripts.
+     */
+    public long getCompilationQueueDepth() {
+        return null == compilationExecutor ? 0 : compilationExecutor.getQueue().size();
+    }
+
+    /**
+     * Gets the average time in milliseconds that compilations waited for one of the threads dedicated to compiling
+     * scripts.
+     */
+    public double getCompilationAverageWaitTime() {
+        final long count = compilationCount.get();
+        return 0 == count ? 0.0 : compilationWaitTime.get() / 1000000.0 / count;
+    }
+
+    /**
+     * Gets the average time in milliseconds that compilations took, not counting the time they waited.
+     */
+    public double getCompilationAverageTime() {
+        final long count = compilationCount.get();
+        return 0 == count ? 0.0 : compilationTime.get() / 1000000.0 / count;
+    }
+
+    /**
+     * Gets the number of evaluations that failed because the compilation of their script did not complete within
+     * the configured timeout.
+     */
+    public long getCompilationTimeoutCount() {
+        return compilationTimeoutCount.longValue();
+    }
+
     Class getScriptClass(final String script) throws Exception {
         try {
-            return classMap.get(script).get();
+            final Future<Class> compilation = classMap.get(script);
+            if (compilationTimeout <= 0 || compilation.isDone())
+                return compilation.get();
+
+            try {
+                return compilation.get(compilationTimeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException te) {
+                // the compilation carries on and stays cached so that a later evaluation can use it
+                compilationTimeoutCount.incrementAndGet();
+                throw new TimeoutException(String.format(
+                        "Script compilation exceeded the compilationTimeout of %s ms", compilationTimeout));
+            }
         } catch (ExecutionException e) {
             final Throwable t = e.getCause();
 
@@ -580,8 +694,9 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
             else
                 throw e;
         } catch (InterruptedException e) {
-            //This should never happen as the future should completed before it is returned to the us.
-            throw new AssertionError();
+            // only possible while waiting on the compilationExecutor, likely due to an evaluation timeout
+            Thread.currentThread().interrupt();
+            throw e;
         }
     }
 
@@ -755,6 +870,70 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
         this.loader = new GremlinGroovyClassLoader(getParentLoader(), conf);
     }
 
+    private static ThreadPoolExecutor createCompilationExecutor(final int threads, final int queueSize) {
+        final ThreadFactory threadFactory = new BasicThreadFactory.Builder().
+                namingPattern("gremlin-groovy-compiler-%d").daemon(true).build();
+
+        // idle threads die so that an engine that is no longer used, like one of a closed session, holds none
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private PersistentClassCache createPersistentClassCache(final String directory, final int maxEntries) {
+        // everything other than the script that determines the bytecode the compiler produces
+        final StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append(Gremlin.version()).append(System.lineSeparator());
+        fingerprint.append(GroovySystem.getVersion()).append(System.lineSeparator());
+        fingerprint.append(importGroovyCustomizer.getImportsDescription()).append(System.lineSeparator());
+        for (final GroovyCustomizer customizer : groovyCustomizers) {
+            fingerprint.append(hasToString(customizer) ? customizer.toString() : customizer.getClass().getName());
+            fingerprint.append(System.lineSeparator());
+        }
+
+        try {
+            return new PersistentClassCache(Paths.get(directory), fingerprint.toString(), maxEntries);
+        } catch (IOException ioe) {
+            log.warn("Could not use {} to store compiled scripts - scripts will only be cached in memory", directory, ioe);
+            return null;
+        }
+    }
+
+    private static boolean hasToString(final Object o) {
+        try {
+            return o.getClass().getMethod("toString").getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException nsme) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the class of the script from the bytecode stored for it, if any, and otherwise compiles it and stores the
+     * bytecode that the compilation produced.
+     */
+    private Class compileScript(final String script) {
+        if (null == persistentClassCache)
+            return loader.parseClass(script, generateScriptName());
+
+        final PersistentClassCache.StoredScript stored = persistentClassCache.load(script);
+        if (stored != null) {
+            try {
+                final Class clazz = loader.defineClasses(stored.getMainClass(), stored.getBytecode());
+                warmHitCount.incrementAndGet();
+                return clazz;
+            } catch (ClassNotFoundException | LinkageError e) {
+                // the classes the script refers to may have changed in ways the fingerprint doesn't capture
+                log.warn("Could not define the stored classes of script {} - it will be compiled", script, e);
+            }
+        }
+
+        final Map<String, byte[]> bytecode = new HashMap<>();
+        final Class clazz = loader.parseClass(script, generateScriptName(), bytecode);
+        persistentClassCache.store(script, clazz.getName(), bytecode);
+        return clazz;
+    }
+
     private Object callGlobal(final String name, final Object args[]) {
         return callGlobal(name, args, context);
     }
@@ -816,18 +995,24 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
     private final class GroovyCacheLoader implements CacheLoader<String, Future<Class>> {
         @Override
         public Future<Class> load(final String script) throws Exception {
-            final long start = System.currentTimeMillis();
+            final long queued = System.nanoTime();
 
+            // a rejection by a full compilationExecutor throws from here, which leaves nothing in the cache
             return CompletableFuture.supplyAsync(() -> {
+                final long start = System.nanoTime();
+                compilationWaitTime.addAndGet(start - queued);
                 try {
-                    return loader.parseClass(script, generateScriptName());
+                    return compileScript(script);
                 } catch (CompilationFailedException e) {
-                    final long finish = System.currentTimeMillis();
-                    log.error("Script compilation FAILED {} took {}ms {}", script, finish - start, e);
+                    log.error("Script compilation FAILED {} took {}ms {}", script, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e);
                     failedCompilationCount.incrementAndGet();
                     throw e;
                 } finally {
-                    final long time = System.currentTimeMillis() - start;
+                    final long nanos = System.nanoTime() - start;
+                    compilationTime.addAndGet(nanos);
+                    compilationCount.incrementAndGet();
+
+                    final long time = TimeUnit.NANOSECONDS.toMillis(nanos);
                     if (time > expectedCompilationTime) {
                         //We warn if a script took longer than a few seconds. Repeatedly seeing these warnings is a sign that something is wrong.
                         //Scripts with a large numbers of parameters often trigger this and should be avoided.
@@ -837,8 +1022,8 @@ public class GremlinGroovyScriptEngine extends GroovyScriptEngineImpl implements
                         log.debug("Script compilation {} took {}ms", script, time);
                     }
                 }
-            }, Runnable::run);
+            }, null == compilationExecutor ? Runnable::run : compilationExecutor);
 
         }
     }
-}
\ No newline at end of file
+}
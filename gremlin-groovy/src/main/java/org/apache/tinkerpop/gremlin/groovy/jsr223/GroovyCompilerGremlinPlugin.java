@@ -62,6 +62,11 @@ public class GroovyCompilerGremlinPlugin extends AbstractGremlinPlugin {
         private int expectedCompilationTime = 5000;
         private String cacheSpec = "softValues";
         private boolean globalFunctionCacheEnabled = true;
+        private String classCacheDirectory = null;
+        private int classCacheMaxEntries = 10000;
+        private int compilationThreads = 0;
+        private int compilationQueueSize = 256;
+        private long compilationTimeout = 0;
 
         private Map<String,Object> keyValues = Collections.emptyMap();
 
@@ -152,6 +157,63 @@ public class GroovyCompilerGremlinPlugin extends AbstractGremlinPlugin {
             return this;
         }
 
+        /**
+         * Sets a directory in which the bytecode of compiled scripts is kept so that a script compiled once need not
+         * be compiled again, even after a restart. Scripts compiled with {@link Compilation#TYPE_CHECKED} or
+         * {@link Compilation#COMPILE_STATIC} are not stored as their compilation depends on the types of the bindings
+         * they are first evaluated with. The directory is not used by default.
+         */
+        public Builder classCacheDirectory(final String directory) {
+            this.classCacheDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of compiled scripts kept in the {@link #classCacheDirectory(String)}. The least
+         * recently used are deleted when the directory is opened and when storing a script takes it over this number.
+         * Defaults to 10000.
+         */
+        public Builder classCacheMaxEntries(final int maxEntries) {
+            if (maxEntries <= 0) throw new IllegalArgumentException("classCacheMaxEntries must be greater than zero");
+            this.classCacheMaxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads dedicated to compiling scripts. Evaluations of a script that is not yet compiled
+         * wait for its compilation on one of these threads, and concurrent evaluations of the same script share that
+         * compilation, so a burst of new scripts compiles no more than this many at a time. Scripts compiled with
+         * {@link Compilation#TYPE_CHECKED} or {@link Compilation#COMPILE_STATIC} are always compiled on the thread
+         * that evaluates them as that compilation depends on its bindings. Defaults to zero which compiles every
+         * script on the thread that evaluates it.
+         */
+        public Builder compilationThreads(final int threads) {
+            if (threads < 0) throw new IllegalArgumentException("compilationThreads must be zero or greater");
+            this.compilationThreads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the number of compilations that may wait for one of the {@link #compilationThreads(int)} before
+         * evaluations of further new scripts are rejected. Defaults to 256.
+         */
+        public Builder compilationQueueSize(final int size) {
+            if (size <= 0) throw new IllegalArgumentException("compilationQueueSize must be greater than zero");
+            this.compilationQueueSize = size;
+            return this;
+        }
+
+        /**
+         * Sets the time in milliseconds that an evaluation waits for one of the {@link #compilationThreads(int)} to
+         * compile its script before failing. The compilation itself carries on so that a later evaluation of the
+         * script can use its result. Defaults to zero which waits for as long as the compilation takes.
+         */
+        public Builder compilationTimeout(final long timeInMillis) {
+            if (timeInMillis < 0) throw new IllegalArgumentException("compilationTimeout must be zero or greater");
+            this.compilationTimeout = timeInMillis;
+            return this;
+        }
+
         Customizer[] asCustomizers() {
             final List<Customizer> list = new ArrayList<>();
 
@@ -170,7 +232,12 @@ public class GroovyCompilerGremlinPlugin extends AbstractGremlinPlugin {
             list.add(CompilationOptionsCustomizer.build().
                     enableGlobalFunctionCache(globalFunctionCacheEnabled).
                     setExpectedCompilationTime(expectedCompilationTime > 0 ? expectedCompilationTime : 5000).
-                    setClassMapCacheSpecification(cacheSpec).create());
+                    setClassMapCacheSpecification(cacheSpec).
+                    setClassCacheDirectory(classCacheDirectory).
+                    setClassCacheMaxEntries(classCacheMaxEntries).
+                    setCompilationThreads(compilationThreads).
+                    setCompilationQueueSize(compilationQueueSize).
+                    setCompilationTimeout(compilationTimeout).create());
 
             if (compilation == Compilation.COMPILE_STATIC)
                 list.add(new CompileStaticGroovyCustomizer(extensions));
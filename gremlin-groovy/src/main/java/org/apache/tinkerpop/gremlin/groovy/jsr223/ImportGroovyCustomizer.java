@@ -25,6 +25,8 @@ import org.codehaus.groovy.control.customizers.CompilationCustomizer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -64,4 +66,19 @@ class ImportGroovyCustomizer implements GroovyCustomizer {
 
         return ic;
     }
+
+    /**
+     * Gets the imports in a stable order, one per line, which identifies what the compiler is given by this
+     * customizer regardless of the order of its {@link ImportCustomizer} instances.
+     */
+    String getImportsDescription() {
+        final Set<String> imports = new TreeSet<>();
+        for (final ImportCustomizer customizer : customizers) {
+            customizer.getClassImports().forEach(i -> imports.add(i.getCanonicalName()));
+            customizer.getMethodImports().forEach(m -> imports.add(m.getDeclaringClass().getCanonicalName() + "#" + m.getName()));
+            customizer.getEnumImports().forEach(m -> imports.add(m.getDeclaringClass().getCanonicalName() + "#" + m.name()));
+            customizer.getFieldImports().forEach(f -> imports.add(f.getDeclaringClass().getCanonicalName() + "#" + f.getName()));
+        }
+        return String.join(System.lineSeparator(), imports);
+    }
 }
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.groovy.jsr223;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the bytecode of compiled scripts in a directory so that a {@link GremlinGroovyScriptEngine} can define the
+ * classes of a script it has compiled before, perhaps in an earlier run of the process, rather than compile the
+ * script again. Each script is stored in a file named by a hash of the script and a fingerprint of everything else
+ * that the compilation depends on, such as the imports and the compiler customizations, so that a change to the
+ * configuration of the engine simply leaves the files of the old configuration unused. The directory holds no more than
+ * a maximum number of files, pruning the least recently used, by their modification time, when it is opened and when
+ * a write takes it over that maximum.
+ */
+final class PersistentClassCache {
+    private static final Logger log = LoggerFactory.getLogger(PersistentClassCache.class);
+
+    private static final int MAGIC = 0x47434331;
+    private static final String EXTENSION = ".class-cache";
+
+    private final Path directory;
+    private final String fingerprint;
+    private final int maxEntries;
+
+    /**
+     * The names of the files in the directory, which avoids a file system lookup for each script that isn't stored.
+     */
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+
+    PersistentClassCache(final Path directory, final String fingerprint, final int maxEntries) throws IOException {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be greater than zero");
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+        this.maxEntries = maxEntries;
+
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (final Path file : files) {
+                keys.add(keyOf(file));
+            }
+        }
+
+        if (keys.size() > maxEntries) prune();
+    }
+
+    /**
+     * Gets the stored classes of the script or {@code null} if they were not stored or cannot be read.
+     */
+    StoredScript load(final String script) {
+        final String key = key(script);
+        if (!keys.contains(key))
+            return null;
+
+        final Path file = directory.resolve(key + EXTENSION);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Not a class cache file");
+
+            // guards against the unlikely collision of hashes
+            final byte[] source = new byte[in.readInt()];
+            in.readFully(source);
+            if (!Arrays.equals(source, script.getBytes(StandardCharsets.UTF_8)))
+                return null;
+
+            final String mainClass = in.readUTF();
+            final int count = in.readInt();
+            final Map<String, byte[]> bytecode = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                final String name = in.readUTF();
+                final byte[] code = new byte[in.readInt()];
+                in.readFully(code);
+                bytecode.put(name, code);
+            }
+
+            // the modification time is what orders the files from least to most recently used when pruning
+            try {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException ioe) {
+                log.debug("Could not mark {} as used", file, ioe);
+            }
+            return new StoredScript(mainClass, bytecode);
+        } catch (IOException ioe) {
+            log.warn("Could not read the stored classes of a script from {} - it will be compiled", file, ioe);
+            keys.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the classes of a script, replacing whatever was stored for it before. A failure to write is logged and
+     * otherwise ignored as the script can always be compiled again.
+     */
+    void store(final String script, final String mainClass, final Map<String, byte[]> bytecode) {
+        final String key = key(script);
+        final Path file = directory.resolve(key + EXTENSION);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                final byte[] source = script.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(source.length);
+                out.write(source);
+                out.writeUTF(mainClass);
+                out.writeInt(bytecode.size());
+                for (final Map.Entry<String, byte[]> entry : bytecode.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+
+            // other processes sharing the directory must never see a partially written file
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            keys.add(key);
+            if (keys.size() > maxEntries) prune();
+        } catch (IOException ioe) {
+            log.warn("Could not store the classes of a script to {}", file, ioe);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // nothing more to do
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of scripts stored in the directory.
+     */
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * Deletes the least recently used files until the directory holds ninety percent of the maximum number of
+     * entries so that the next writes need not prune again. The files of other configurations and of other processes
+     * sharing the directory count alike.
+     */
+    private synchronized void prune() {
+        // another write may have pruned while this one waited
+        if (keys.size() <= maxEntries) return;
+
+        final List<Map.Entry<Path, FileTime>> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (final Path file : stream) {
+                try {
+                    files.add(new AbstractMap.SimpleImmutableEntry<>(file, Files.getLastModifiedTime(file)));
+                } catch (IOException ioe) {
+                    // deleted by another process in the meantime
+                    keys.remove(keyOf(file));
+                }
+            }
+        } catch (IOException ioe) {
+            log.warn("Could not prune the stored classes in {}", directory, ioe);
+            return;
+        }
+
+        files.sort(Map.Entry.comparingByValue());
+        final int excess = files.size() - (maxEntries - maxEntries / 10);
+        for (int i = 0; i < excess; i++) {
+            final Path file = files.get(i).getKey();
+            try {
+                Files.deleteIfExists(file);
+                keys.remove(keyOf(file));
+            } catch (IOException ioe) {
+                log.warn("Could not delete the stored classes in {}", file, ioe);
+            }
+        }
+        log.debug("Pruned {} files of stored classes from {}", Math.max(excess, 0), directory);
+    }
+
+    private static String keyOf(final Path file) {
+        final String name = file.getFileName().toString();
+        return name.substring(0, name.length() - EXTENSION.length());
+    }
+
+    private String key(final String script) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(script.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder(64);
+            for (final byte b : digest.digest()) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException nsae) {
+            // every java platform is required to support SHA-256
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    static final class StoredScript {
+        private final String mainClass;
+        private final Map<String, byte[]> bytecode;
+
+        StoredScript(final String mainClass, final Map<String, byte[]> bytecode) {
+            this.mainClass = mainClass;
+            this.bytecode = bytecode;
+        }
+
+        String getMainClass() {
+            return mainClass;
+        }
+
+        Map<String, byte[]> getBytecode() {
+            return bytecode;
+        }
+    }
+}
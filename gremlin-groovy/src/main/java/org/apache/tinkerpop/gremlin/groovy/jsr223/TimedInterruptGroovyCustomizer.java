@@ -59,4 +59,9 @@ class TimedInterruptGroovyCustomizer implements GroovyCustomizer {
         timedInterruptAnnotationParams.put("thrown", GeneralUtils.classX(TimedInterruptTimeoutException.class));
         return new ASTTransformationCustomizer(timedInterruptAnnotationParams, TimedInterrupt.class);
     }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + interruptionTimeout + "]";
+    }
 }
@@ -18,12 +18,39 @@
  */
 package org.apache.tinkerpop.gremlin.groovy.jsr223;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
 import org.junit.Test;
 
 import javax.script.Bindings;
+import javax.script.ScriptException;
 import javax.script.SimpleBindings;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -54,4 +81,183 @@ public class GremlinGroovyScriptEngineCompilationOptionsTest {
 
         assertEquals(1, engine.getClassCacheLongRunCompilationCount());
     }
+
+    @Test
+    public void shouldShareCompilationOfSameScript() throws Exception {
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(
+                CompilationOptionsCustomizer.build().setCompilationThreads(2).create());
+
+        final ExecutorService service = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Object>> results = new ArrayList<>();
+            for (int ix = 0; ix < 8; ix++) {
+                results.add(service.submit(() -> engine.eval("[1, 2, 3].collect { it * 2 }")));
+            }
+            for (final Future<Object> result : results) {
+                assertEquals(Arrays.asList(2, 4, 6), result.get());
+            }
+        } finally {
+            service.shutdown();
+        }
+
+        assertEquals(1, engine.getClassCacheLoadSuccessCount());
+        assertEquals(0, engine.getCompilationQueueDepth());
+        assertThat(engine.getCompilationAverageTime() > 0, is(true));
+    }
+
+    @Test
+    public void shouldTimeoutCompilation() throws Exception {
+        // hold the compilation until the evaluation has timed out so that the test does not rely on how long it takes
+        final CountDownLatch compiling = new CountDownLatch(1);
+        final GroovyCustomizer blockingCustomizer = () -> new CompilationCustomizer(CompilePhase.CONVERSION) {
+            @Override
+            public void call(final SourceUnit source, final GeneratorContext context, final ClassNode classNode) {
+                try {
+                    compiling.await(60, TimeUnit.SECONDS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(blockingCustomizer,
+                CompilationOptionsCustomizer.build().setCompilationThreads(1).setCompilationTimeout(10).create());
+
+        final Bindings b = new SimpleBindings();
+        b.put("x", 1);
+        try {
+            engine.eval("x + 1", b);
+            fail("The compilation should have timed out");
+        } catch (ScriptException se) {
+            assertThat(se.getCause(), instanceOf(TimeoutException.class));
+        } finally {
+            compiling.countDown();
+        }
+        assertEquals(1, engine.getCompilationTimeoutCount());
+
+        // the compilation carried on and the script evaluates without compiling again once it completes. the
+        // compilation statistics are recorded just before it completes so retry evaluations that still time out
+        final long timeout = System.currentTimeMillis() + 60000;
+        Object result = null;
+        while (null == result) {
+            try {
+                result = engine.eval("x + 1", b);
+            } catch (ScriptException se) {
+                if (!(se.getCause() instanceof TimeoutException) || System.currentTimeMillis() > timeout) throw se;
+                Thread.sleep(50);
+            }
+        }
+        assertEquals(2, result);
+        assertEquals(1, engine.getClassCacheLoadSuccessCount());
+    }
+
+    @Test
+    public void shouldDefineStoredClassesInNewEngine() throws Exception {
+        final String directory = makeClassCacheDirectory("stored");
+        final String script = "def square(x) { x * x }; class Point { int x; int y }; " +
+                "[1, 2, 3].collect { square(it) + new Point(x: it, y: n).y }";
+        final Bindings b = new SimpleBindings();
+        b.put("n", 10);
+
+        final GremlinGroovyScriptEngine first = createEngine(directory);
+        assertEquals(Arrays.asList(11, 14, 19), first.eval(script, b));
+        assertEquals(0, first.getClassCacheWarmHitCount());
+        assertEquals(1, first.getClassCacheWarmSize());
+
+        final GremlinGroovyScriptEngine second = createEngine(directory);
+        assertEquals(1, second.getClassCacheWarmSize());
+        assertEquals(Arrays.asList(11, 14, 19), second.eval(script, b));
+        assertEquals(1, second.getClassCacheWarmHitCount());
+
+        // the classes are kept in memory by the engine after that like any other compiled script
+        second.eval(script, b);
+        assertEquals(1, second.getClassCacheWarmHitCount());
+    }
+
+    @Test
+    public void shouldNotDefineStoredClassesOfOtherConfiguration() throws Exception {
+        final String directory = makeClassCacheDirectory("configuration");
+        final String script = "1 + 1";
+
+        createEngine(directory).eval(script);
+
+        final Map<String, Object> options = new HashMap<>();
+        options.put("Debug", true);
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(
+                CompilationOptionsCustomizer.build().setClassCacheDirectory(directory).create(),
+                new ConfigurationGroovyCustomizer(options));
+        assertEquals(2, engine.eval(script));
+        assertEquals(0, engine.getClassCacheWarmHitCount());
+        assertEquals(2, engine.getClassCacheWarmSize());
+    }
+
+    @Test
+    public void shouldNotStoreTypeCheckedClasses() throws Exception {
+        final String directory = makeClassCacheDirectory("typeChecked");
+        final GremlinGroovyScriptEngine engine = new GremlinGroovyScriptEngine(
+                CompilationOptionsCustomizer.build().setClassCacheDirectory(directory).create(),
+                new TypeCheckedGroovyCustomizer());
+        assertEquals(2, engine.eval("1 + 1"));
+        assertEquals(0, engine.getClassCacheWarmSize());
+    }
+
+    @Test
+    public void shouldPruneLeastRecentlyUsedStoredClasses() throws Exception {
+        final String directory = makeClassCacheDirectory("pruned");
+        final long now = System.currentTimeMillis();
+
+        final GremlinGroovyScriptEngine first = createEngine(directory, 2);
+        first.eval("1 + 1");
+        setLastModifiedTime(directory, now - 7200000);
+        first.eval("2 + 2");
+        setLastModifiedTime(directory, now - 3600000);
+
+        // loading "1 + 1" makes it the most recently used so that storing "3 + 3" prunes "2 + 2"
+        final GremlinGroovyScriptEngine second = createEngine(directory, 2);
+        assertEquals(2, second.eval("1 + 1"));
+        assertEquals(1, second.getClassCacheWarmHitCount());
+        assertEquals(6, second.eval("3 + 3"));
+        assertEquals(2, second.getClassCacheWarmSize());
+
+        final GremlinGroovyScriptEngine third = createEngine(directory, 2);
+        assertEquals(2, third.eval("1 + 1"));
+        assertEquals(4, third.eval("2 + 2"));
+        assertEquals(1, third.getClassCacheWarmHitCount());
+    }
+
+    @Test
+    public void shouldPruneStoredClassesWhenOpened() throws Exception {
+        final String directory = makeClassCacheDirectory("opened");
+        final GremlinGroovyScriptEngine first = createEngine(directory);
+        first.eval("1 + 1");
+        first.eval("2 + 2");
+        first.eval("3 + 3");
+        assertEquals(3, first.getClassCacheWarmSize());
+
+        assertEquals(1, createEngine(directory, 1).getClassCacheWarmSize());
+    }
+
+    private static GremlinGroovyScriptEngine createEngine(final String directory) {
+        return new GremlinGroovyScriptEngine(CompilationOptionsCustomizer.build().setClassCacheDirectory(directory).create());
+    }
+
+    private static GremlinGroovyScriptEngine createEngine(final String directory, final int maxEntries) {
+        return new GremlinGroovyScriptEngine(CompilationOptionsCustomizer.build().setClassCacheDirectory(directory).
+                setClassCacheMaxEntries(maxEntries).create());
+    }
+
+    /**
+     * Sets the modification time of the stored files that are newer than it.
+     */
+    private static void setLastModifiedTime(final String directory, final long time) throws IOException {
+        for (final File file : new File(directory).listFiles()) {
+            if (file.lastModified() > time)
+                Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(time));
+        }
+    }
+
+    private static String makeClassCacheDirectory(final String name) {
+        final File directory = TestHelper.makeTestDataPath(GremlinGroovyScriptEngineCompilationOptionsTest.class, name);
+        FileUtils.deleteQuietly(directory);
+        return directory.getAbsolutePath();
+    }
 }
@@ -179,6 +179,17 @@ class MatchAlgorithmStrategy extends TraversalStrategy {
   }
 }
 
+class ParallelStrategy extends TraversalStrategy {
+  /**
+   * @param {Object} [options]
+   * @param {Number} [options.batchSize] number of traversers from the start step that are processed as a single task
+   * @constructor
+   */
+  constructor(options) {
+    super('org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy', options);
+  }
+}
+
 class AdjacentToIncidentStrategy extends TraversalStrategy {
   constructor() {
     super('org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy');
@@ -329,6 +340,7 @@ module.exports = {
   VertexProgramStrategy: VertexProgramStrategy,
   // finalization
   MatchAlgorithmStrategy: MatchAlgorithmStrategy,
+  ParallelStrategy: ParallelStrategy,
   // optimization
   AdjacentToIncidentStrategy: AdjacentToIncidentStrategy,
   FilterRankingStrategy: FilterRankingStrategy,
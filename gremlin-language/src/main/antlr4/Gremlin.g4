@@ -824,6 +824,7 @@ traversalStrategy
 //  | 'MatchAlgorithmStrategy' - not supported directly as it's internal to match()
 //  | 'ProfileStrategy' - not supported directly as it's internal to profile()
 //  | 'ReferenceElementStrategy' - not supported directly as users really can't/shouldn't change this in our context of a remote Gremlin provider
+    | NEW 'ParallelStrategy' LPAREN traversalStrategyArgs_ParallelStrategy? RPAREN
 //  | 'AdjacentToIncidentStrategy' - not supported as it is a default strategy and we don't allow removal at this time
 //  | 'ByModulatorOptimizationStrategy' - not supported as it is a default strategy and we don't allow removal at this time
     | NEW? 'ProductiveByStrategy' (LPAREN traversalStrategyArgs_ProductiveByStrategy? RPAREN)?
@@ -851,6 +852,10 @@ traversalStrategyArgs_ProductiveByStrategy
     : 'productiveKeys' COLON stringLiteralList
     ;
 
+traversalStrategyArgs_ParallelStrategy
+    : 'batchSize' COLON integerLiteral
+    ;
+
 traversalStrategyArgs_PartitionStrategy
     : 'includeMetaProperties' COLON booleanLiteral
     | 'writePartition' COLON stringBasedLiteral
@@ -121,6 +121,13 @@ class MatchAlgorithmStrategy(TraversalStrategy):
             self.configuration["matchAlgorithm"] = match_algorithm
 
 
+class ParallelStrategy(TraversalStrategy):
+    def __init__(self, batch_size=None):
+        TraversalStrategy.__init__(self, fqcn=finalization_namespace + 'ParallelStrategy')
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
 ###########################
 # OPTIMIZATION STRATEGIES #
 ###########################
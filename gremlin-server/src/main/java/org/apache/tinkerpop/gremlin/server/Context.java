@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server;
 
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -27,6 +28,8 @@ import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptChecker;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +56,7 @@ public class Context {
     private final long requestTimeout;
     private final RequestContentType requestContentType;
     private final Object gremlinArgument;
+    private final RequestTrace trace;
 
     /**
      * The type of the request as determined by the contents of {@link Tokens#ARGS_GREMLIN}.
@@ -77,6 +81,8 @@ public class Context {
     public Context(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                    final Settings settings, final GraphManager graphManager,
                    final GremlinExecutor gremlinExecutor, final ScheduledExecutorService scheduledExecutorService) {
+        this.trace = RequestTrace.of(requestMessage, settings.requestMetrics,
+                settings.requestMetrics ? serializerOf(ctx) : null, graphManager);
         this.requestMessage = requestMessage;
         this.channelHandlerContext = ctx;
         this.settings = settings;
@@ -112,6 +118,14 @@ public class Context {
         return gremlinArgument;
     }
 
+    /**
+     * Gets the trace of the request, which is disabled unless the request carries a {@link Tokens#ARGS_TRACE_ID},
+     * {@link Settings#requestMetrics} are enabled or a {@link Settings#slowQueryThreshold} is set.
+     */
+    public RequestTrace getTrace() {
+        return trace;
+    }
+
     public ScheduledExecutorService getScheduledExecutorService() {
         return scheduledExecutorService;
     }
@@ -197,6 +211,7 @@ public class Context {
         if (finalResponseWritten.compareAndSet(false, messageIsFinal)) {
             this.getChannelHandlerContext().write(responseMessage);
             if (flush) this.getChannelHandlerContext().flush();
+            if (messageIsFinal) trace.finish(code);
         } else {
             if (responseMessage instanceof Frame) {
                 ((Frame) responseMessage).tryRelease();
@@ -208,6 +223,11 @@ public class Context {
         }
     }
 
+    private static String serializerOf(final ChannelHandlerContext ctx) {
+        final MessageSerializer<?> serializer = ctx.channel().attr(StateKey.SERIALIZER).get();
+        return null == serializer ? null : serializer.getClass().getSimpleName();
+    }
+
     private RequestContentType determineRequestContents() {
         if (gremlinArgument instanceof Bytecode)
             return RequestContentType.BYTECODE;
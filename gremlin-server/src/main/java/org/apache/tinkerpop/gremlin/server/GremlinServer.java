@@ -35,6 +35,9 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
 import io.netty.util.internal.logging.Slf4JLoggerFactory;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.tinkerpop.gremlin.server.op.OpLoader;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
+import org.apache.tinkerpop.gremlin.server.trace.SlowQueryLog;
+import org.apache.tinkerpop.gremlin.server.trace.TraceSink;
 import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
@@ -97,6 +100,9 @@ public class GremlinServer {
      */
     public GremlinServer(final Settings settings, final ExecutorService gremlinExecutorService) {
         settings.optionalMetrics().ifPresent(GremlinServer::configureMetrics);
+        configureTraceSink(settings.traceSink);
+        configureSlowQueryLog(settings);
+        RequestTrace.setStepMetricsSampleRate(settings.stepMetricsSampleRate);
         this.settings = settings;
         provideDefaultForGremlinPoolSize(settings);
         this.isEpollEnabled = settings.useEpollEventLoop && SystemUtils.IS_OS_LINUX;
@@ -404,6 +410,24 @@ public class GremlinServer {
         return builder.toString();
     }
 
+    private static void configureTraceSink(final String traceSinkClass) {
+        if (null == traceSinkClass) {
+            RequestTrace.setSink(null);
+            return;
+        }
+
+        try {
+            RequestTrace.setSink((TraceSink) Class.forName(traceSinkClass).getConstructor().newInstance());
+        } catch (Exception ex) {
+            throw new IllegalStateException(String.format("Could not create TraceSink %s", traceSinkClass), ex);
+        }
+    }
+
+    private static void configureSlowQueryLog(final Settings settings) {
+        RequestTrace.setSlowQueryLog(settings.slowQueryThreshold > 0 ?
+                new SlowQueryLog(settings.slowQueryThreshold, settings.slowQueryLogSize, settings.slowQueryProfileSampleRate) : null);
+    }
+
     private static void configureMetrics(final Settings.ServerMetrics settings) {
         final MetricManager metrics = MetricManager.INSTANCE;
         settings.optionalConsoleReporter().ifPresent(config -> {
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.server;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinPlugin;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
@@ -32,6 +33,9 @@ import org.apache.tinkerpop.gremlin.server.channel.UnifiedChannelizer;
 import org.apache.tinkerpop.gremlin.server.channel.WebSocketChannelizer;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
 import org.apache.tinkerpop.gremlin.server.handler.Session;
+import org.apache.tinkerpop.gremlin.server.trace.Slf4jTraceSink;
+import org.apache.tinkerpop.gremlin.server.trace.SlowQueryLog;
+import org.apache.tinkerpop.gremlin.server.trace.TraceSink;
 import org.apache.tinkerpop.gremlin.server.util.DefaultGraphManager;
 import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -100,6 +104,22 @@ public class Settings {
      */
     public int gremlinPool = 0;
 
+    /**
+     * If set to {@code true} and the JVM supports virtual threads, requests are evaluated on a new virtual thread each
+     * rather than on the fixed pool sized by {@link #gremlinPool}, so that requests blocked on I/O of the graph do not
+     * hold a platform thread. The number of requests that evaluate at once is then limited by
+     * {@link #maxVirtualThreadConcurrency} and the number of requests waiting to evaluate by
+     * {@link #maxWorkQueueSize}. Falls back to the {@link #gremlinPool} with a warning when the JVM does not support
+     * virtual threads. Defaults to {@code false}.
+     */
+    public boolean useVirtualThreads = false;
+
+    /**
+     * The maximum number of requests that evaluate at once when {@link #useVirtualThreads} is enabled. Defaults to
+     * 1024.
+     */
+    public int maxVirtualThreadConcurrency = 1024;
+
     /**
      * Size of the boss thread pool.  Defaults to 1 and should likely stay at 1.  The bossy thread accepts incoming
      * connections on a port until it is unbound. Once a connection is accepted successfully, the boss thread
@@ -118,6 +138,42 @@ public class Settings {
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * The size in bytes that a response message should come close to when results are streamed back in batches. When
+     * set to a value greater than zero, the {@link #resultIterationBatchSize} only sizes the first batch of a request
+     * and later batches are sized from the serialized size of the results observed so far, bounded by
+     * {@link #resultIterationMaxBatchSize}. Small results then travel in fewer, larger messages while large results
+     * are split before a message grows far beyond the target. A batch size given on the request always takes
+     * precedence. Defaults to 0 which disables adaptive batching.
+     */
+    public int resultIterationTargetFrameSize = 0;
+
+    /**
+     * The largest number of results that an adaptive batch may hold when {@link #resultIterationTargetFrameSize} is
+     * enabled. Defaults to 8192.
+     */
+    public int resultIterationMaxBatchSize = 8192;
+
+    /**
+     * The expected size in bytes at which a binary response message is serialized into a composite buffer assembled
+     * from pooled chunks rather than into a single buffer. Every binary response message after the first of a request
+     * is serialized into a pooled buffer presized from the messages already serialized for the request, but a single
+     * buffer may still need to be copied into a bigger one when a message outgrows that estimate and one that is
+     * larger than the chunks of the pool is not pooled at all. A composite buffer grows by adding chunks so that none
+     * of its bytes are copied on the way to the network, but writing into it is slower, so it only pays off for very
+     * large messages. Defaults to 0 which disables composite buffers.
+     */
+    public int resultCompositeBufferThreshold = 0;
+
+    /**
+     * If set to {@code true}, results of HTTP requests are streamed back with chunked transfer encoding as they are
+     * iterated, with one response message per {@link #resultIterationBatchSize} results on its own line, rather than
+     * gathered into a single response message. Each message but the last has a {@code 206} status code just as the
+     * messages of a streamed WebSocket response do. A result that fits in a single batch produces the same single
+     * response message as it does without streaming. This setting applies to all channelizers that serve HTTP.
+     */
+    public boolean enableHttpStreaming = false;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -212,6 +268,18 @@ public class Settings {
      */
     public int maxWorkQueueSize = 8192;
 
+    /**
+     * The priority classes that requests wait in for a thread of the {@link #gremlinPool}. When empty, which is the
+     * default, requests wait in a single queue in the order that they arrive. Otherwise, each class has a queue of
+     * its own and the threads take requests from the classes in proportion to their weights, so that a burst of
+     * requests in one class does not hold up those of another. A request is placed in the class named by its
+     * {@code priority} argument, else in the class of the traversal source it is bound to and else in the first class
+     * listed. The {@link #maxWorkQueueSize} still bounds the number of waiting requests across all classes. Note that
+     * this configuration only applies to requests of the {@link UnifiedChannelizer} - other requests always wait in
+     * the first class.
+     */
+    public List<PriorityClassSettings> priorityClasses = new ArrayList<>();
+
     /**
      * Maximum size that an individual {@link Session} can queue requests before starting to reject them. Note that this
      * configuration only applies to the {@link UnifiedChannelizer}. By default this value is set to 4096.
@@ -226,6 +294,32 @@ public class Settings {
      */
     public int maxParameters = 16;
 
+    /**
+     * Maximum number of traversals prepared with the {@code prepare} op that the server holds at once. Once the limit
+     * is reached the least recently used prepared traversal is removed and requests that refer to it fail until it
+     * is prepared again. Setting this value to zero disables prepared traversals. The default is 1000.
+     */
+    public int maxPreparedTraversals = 1000;
+
+    /**
+     * Maximum number of results of read-only bytecode requests that the server holds so that the same traversal on
+     * the same traversal source can be answered without executing it again. Results are marked outdated when a request
+     * that may have changed the graph completes. Setting this value to zero disables the cache. The default is 0.
+     */
+    public long resultCacheMaxSize = 0;
+
+    /**
+     * Time in milliseconds that the results of a request are held by the result cache, which also bounds how long
+     * changes made to a graph outside of Gremlin Server may go unseen. The default is 60000.
+     */
+    public long resultCacheTtl = 60000;
+
+    /**
+     * The largest number of results that a request may return and still be held by the result cache. The default is
+     * 1000.
+     */
+    public int resultCacheMaxResults = 1000;
+
     /**
      * The time in milliseconds that a {@link UnifiedChannelizer} session can exist. This value cannot be extended
      * beyond this value irrespective of the number of requests and their individual timeouts. Requests must complete
@@ -290,6 +384,49 @@ public class Settings {
      */
     public Boolean enableAuditLog = false;
 
+    /**
+     * The fully qualified class name of the {@link TraceSink} that receives the trace of each request that carries a
+     * {@link Tokens#ARGS_TRACE_ID} once its final response is written. Traces are always returned to the client and
+     * recorded as metrics, so this may be set to {@code null} to not export them any further. Defaults to
+     * {@link Slf4jTraceSink}.
+     */
+    public String traceSink = Slf4jTraceSink.class.getName();
+
+    /**
+     * When set to {@code true}, the time of every request is recorded to the {@code requests} metrics, broken down by
+     * op, traversal source and serializer, along with the time it waited for a thread and the number of results it
+     * returned. Doing so costs a handful of calls to {@code System.nanoTime()} and a few metric updates per request.
+     * The default is {@code false}.
+     */
+    public boolean requestMetrics = false;
+
+    /**
+     * The fraction, between zero and one, of {@code profile()} results returned by Gremlin Server, and of traversals
+     * it profiled for the {@link #slowQueryProfileSampleRate}, that are added to the {@code steps} metrics, which
+     * aggregate the time spent in each type of step. The default is 0, which disables these metrics.
+     */
+    public double stepMetricsSampleRate = 0;
+
+    /**
+     * The time in milliseconds from a request being read until its final response is written after which the request
+     * is added to the {@link SlowQueryLog}, which can be read with a {@link Tokens#OPS_SLOW_QUERIES} request. Every
+     * request is timed when this is set. The default is 0, which disables the log.
+     */
+    public long slowQueryThreshold = 0;
+
+    /**
+     * The number of the most recent slow requests held by the {@link SlowQueryLog}. The default is 100.
+     */
+    public int slowQueryLogSize = 100;
+
+    /**
+     * The fraction, between zero and one, of bytecode requests that are profiled while {@link #slowQueryThreshold}
+     * is set, so that those which turn out to be slow are added to the {@link SlowQueryLog} with their
+     * {@code TraversalMetrics}. Profiling adds a step after each step of a traversal so it should be kept to a
+     * small sample. The default is 0, which profiles no requests.
+     */
+    public double slowQueryProfileSampleRate = 0;
+
     /**
      * Custom settings for {@link OpProcessor} implementations. Implementations are loaded via
      * {@link ServiceLoader} but custom configurations can be supplied through this configuration.
@@ -343,6 +480,7 @@ public class Settings {
         settingsDescription.addPropertyParameters("serializers", SerializerSettings.class);
         settingsDescription.addPropertyParameters("plugins", String.class);
         settingsDescription.addPropertyParameters("processors", ProcessorSettings.class);
+        settingsDescription.addPropertyParameters("priorityClasses", PriorityClassSettings.class);
         constructor.addTypeDescription(settingsDescription);
 
         final TypeDescription serializerSettingsDescription = new TypeDescription(SerializerSettings.class);
@@ -353,10 +491,15 @@ public class Settings {
         scriptEngineSettingsDescription.addPropertyParameters("imports", String.class);
         scriptEngineSettingsDescription.addPropertyParameters("staticImports", String.class);
         scriptEngineSettingsDescription.addPropertyParameters("scripts", String.class);
+        scriptEngineSettingsDescription.addPropertyParameters("warmupScripts", String.class);
         scriptEngineSettingsDescription.addPropertyParameters("config", String.class, Object.class);
         scriptEngineSettingsDescription.addPropertyParameters("plugins", String.class, Object.class);
         constructor.addTypeDescription(scriptEngineSettingsDescription);
 
+        final TypeDescription priorityClassSettingsDescription = new TypeDescription(PriorityClassSettings.class);
+        priorityClassSettingsDescription.addPropertyParameters("traversalSources", String.class);
+        constructor.addTypeDescription(priorityClassSettingsDescription);
+
         final TypeDescription sslSettings = new TypeDescription(SslSettings.class);
         constructor.addTypeDescription(sslSettings);
 
@@ -417,6 +560,41 @@ public class Settings {
         public Map<String, Object> config;
     }
 
+    /**
+     * Settings for a class of requests in {@link #priorityClasses}.
+     */
+    public static class PriorityClassSettings {
+        /**
+         * The name of the class, which a request refers to with its {@code priority} argument.
+         */
+        public String name;
+
+        /**
+         * The share of the threads that requests of this class receive, relative to the weights of the other classes,
+         * while requests of several classes are waiting. Defaults to 1.
+         */
+        public int weight = 1;
+
+        /**
+         * The traversal sources whose requests are placed in this class when they do not name a class of their own.
+         */
+        public List<String> traversalSources = new ArrayList<>();
+
+        /**
+         * The time in milliseconds that requests of this class should wait at most before processing starts. Once
+         * requests have waited longer than this for at least {@link #queueTimeInterval}, sessionless requests that
+         * exceeded the target are shed with a {@code TOO_MANY_REQUESTS} response until waiting times fall below the
+         * target again. Defaults to 0 which never sheds requests.
+         */
+        public long targetQueueTime = 0;
+
+        /**
+         * The time in milliseconds that the waiting time of requests of this class must stay above the
+         * {@link #targetQueueTime} before requests are shed. Defaults to 100.
+         */
+        public long queueTimeInterval = 100;
+    }
+
     /**
      * Settings for the {@code ScriptEngine}.
      */
@@ -440,6 +618,13 @@ public class Settings {
          */
         public List<String> scripts = new ArrayList<>();
 
+        /**
+         * A list of files that each contain scripts, one per line, for the {@code ScriptEngine} to compile, but not
+         * execute, when Gremlin Server starts so that requests need not wait for their compilation. Blank lines are
+         * ignored. Only applies to a {@code ScriptEngine} that compiles scripts, like {@code gremlin-groovy}.
+         */
+        public List<String> warmupScripts = new ArrayList<>();
+
         /**
          * A Map of configuration settings for the {@code ScriptEngine}. These settings are dependent on the
          * {@code ScriptEngine} implementation being used.
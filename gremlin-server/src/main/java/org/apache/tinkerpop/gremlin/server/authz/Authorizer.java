@@ -52,7 +52,9 @@ public interface Authorizer {
 
     /**
      * Checks whether a user is authorized to have a script request from a gremlin client answered and raises an
-     * {@link AuthorizationException} if this is not the case.
+     * {@link AuthorizationException} if this is not the case. It is also called for a
+     * {@link org.apache.tinkerpop.gremlin.driver.Tokens}.OPS_SLOW_QUERIES request, which reads the slow requests of
+     * every user and carries no script, so implementations should check the op of the request.
      *
      * @param user {@link AuthenticatedUser} that needs authorization.
      * @param msg {@link RequestMessage} in which the {@link org.apache.tinkerpop.gremlin.driver.Tokens}.ARGS_GREMLIN argument can contain an arbitrary succession of script statements.
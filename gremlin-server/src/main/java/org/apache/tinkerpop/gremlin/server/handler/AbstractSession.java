@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.server.handler;
 
 import com.codahale.metrics.Timer;
 import groovy.lang.GroovyRuntimeException;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -46,7 +47,13 @@ import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
+import org.apache.tinkerpop.gremlin.server.util.PriorityWorkQueue;
+import org.apache.tinkerpop.gremlin.server.util.FrameBufferAllocator;
+import org.apache.tinkerpop.gremlin.server.util.ResultBatchSizer;
+import org.apache.tinkerpop.gremlin.server.util.StepMetrics;
+import org.apache.tinkerpop.gremlin.server.util.ResultCache;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
@@ -73,7 +80,6 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
@@ -88,7 +94,7 @@ import static org.apache.tinkerpop.gremlin.process.traversal.GraphOp.TX_ROLLBACK
  * maybe best to examine the source code to determine how best to use this class or to extend from the higher order
  * classes of {@link SingleTaskSession} or {@link MultiTaskSession}.
  */
-public abstract class AbstractSession implements Session, AutoCloseable {
+public abstract class AbstractSession implements Session, PriorityWorkQueue.Prioritized, AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(AbstractSession.class);
     private static final Logger auditLogger = LoggerFactory.getLogger(GremlinServer.AUDIT_LOGGER_NAME);
 
@@ -96,10 +102,18 @@ public abstract class AbstractSession implements Session, AutoCloseable {
     private final Channel initialChannel;
     private final boolean transactionManaged;
     private final String sessionId;
+    private final RequestMessage initialRequestMessage;
     private final AtomicReference<ScheduledFuture<?>> sessionCancelFuture = new AtomicReference<>();
     private final AtomicReference<Future<?>> sessionFuture = new AtomicReference<>();
     private long actualTimeoutLengthWhenClosed = 0;
 
+    /**
+     * Tracks whether the request being processed may change a graph and whether the session made changes that
+     * are not yet committed, so that the {@link ResultCache} can be invalidated once the changes are visible.
+     */
+    private boolean requestMayMutate = false;
+    private boolean mutatedSinceCommit = false;
+
     /**
      * The session thread is a reference to the thread that is running the session and should be set by an
      * implementation as the first line of the {@link #run()} method.
@@ -159,6 +173,7 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         this.sessionIdOnRequest = sessionTask.getRequestMessage().optionalArgs(Tokens.ARGS_SESSION).isPresent();
         this.transactionManaged = transactionManaged;
         this.sessionId = sessionId;
+        this.initialRequestMessage = sessionTask.getRequestMessage();
         this.initialChannel = sessionTask.getChannelHandlerContext().channel();
 
         // close session if the channel closes to cleanup and close transactions
@@ -187,6 +202,14 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         return sessionId;
     }
 
+    /**
+     * Gets the request that started the session, which decides the priority class the session waits in for a thread.
+     */
+    @Override
+    public RequestMessage getRequestMessage() {
+        return initialRequestMessage;
+    }
+
     public boolean isBoundTo(final Channel channel) {
         return channel == initialChannel;
     }
@@ -257,7 +280,9 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         if (sessionTask.getSettings().strictTransactionManagement)
             msg.optionalArgs(Tokens.ARGS_ALIASES).ifPresent(m -> aliasesUsedBySession.addAll(((Map<String,String>) m).values()));
 
+        sessionTask.getTrace().lap(RequestTrace.Phase.QUEUE);
         final Timer.Context timer = getMetricsTimer(sessionTask);
+        requestMayMutate = false;
         try {
             // itty is optional as Bytecode could be a "graph operation" rather than a Traversal. graph operations
             // don't need to be iterated and handle their own lifecycle
@@ -273,6 +298,12 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             handleException(sessionTask, ex);
         } finally {
             timer.stop();
+
+            // a sessionless request has committed by now and an in-session one invalidates again on commit
+            if (requestMayMutate) {
+                ResultCache.invalidateAll();
+                mutatedSinceCommit = true;
+            }
         }
     }
 
@@ -414,8 +445,13 @@ public abstract class AbstractSession implements Session, AutoCloseable {
         final RequestMessage msg = sessionTask.getRequestMessage();
         final Map<String, Object> args = msg.getArgs();
         final String language = args.containsKey(Tokens.ARGS_LANGUAGE) ? (String) args.get(Tokens.ARGS_LANGUAGE) : "gremlin-groovy";
-        return IteratorUtils.asIterator(getScriptEngine(sessionTask, language).eval(
+
+        // a script may change any graph in ways that cannot be known in advance
+        requestMayMutate = true;
+        final Iterator<?> itty = IteratorUtils.asIterator(getScriptEngine(sessionTask, language).eval(
                 script, mergeBindingsFromRequest(sessionTask, getWorkerBindings())));
+        sessionTask.getTrace().lap(RequestTrace.Phase.EVALUATE);
+        return itty;
     }
 
     /**
@@ -439,9 +475,23 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             handleGraphOperation(sessionTask, bytecode, g.getGraph());
             return Optional.empty();
         } else {
+            // a session that manages its own transaction may see changes that other requests cannot so only
+            // sessionless requests use the cache
+            final ResultCache resultCache = sessionTask.getResultCache();
+            final Optional<List<Object>> cacheKey = transactionManaged ?
+                    resultCache.keyOf(msg, traversalSourceName, g.getGraph(), bytecode) : Optional.empty();
+            if (cacheKey.isPresent()) {
+                final Optional<Iterator<?>> cached = resultCache.get(cacheKey.get());
+                if (cached.isPresent()) return cached;
+            }
 
+            // a prepared traversal that is not to be profiled can skip the strategies it was already given
+            final Optional<Traversal.Admin<?, ?>> strategized = sessionTask.getTrace().isProfileSampled() ?
+                    Optional.empty() : sessionTask.getPreparedTraversalCache().getStrategizedTraversal(msg, g);
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
+            if (strategized.isPresent())
+                traversal = strategized.get();
+            else if (!lambdaLanguage.isPresent())
                 traversal = JavaTranslator.of(g).translate(bytecode);
             else {
                 final SimpleBindings bindings = new SimpleBindings();
@@ -450,10 +500,18 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                         getEngineByName(lambdaLanguage.get()).eval(bytecode, bindings, traversalSourceName);
             }
 
+            if (ResultCache.hasLambdas(bytecode) || !ResultCache.isReadOnly(traversal)) requestMayMutate = true;
+            sessionTask.getTrace().lap(RequestTrace.Phase.EVALUATE);
+
             // compile the traversal - without it getEndStep() has nothing in it
-            traversal.applyStrategies();
+            if (!traversal.isLocked()) {
+                sessionTask.getTrace().profile(traversal);
+                traversal.applyStrategies();
+            }
+            sessionTask.getTrace().lap(RequestTrace.Phase.STRATEGIES);
 
-            return Optional.of(new TraverserIterator(traversal));
+            final Iterator<?> itty = new TraverserIterator(traversal);
+            return Optional.of(cacheKey.isPresent() ? resultCache.record(cacheKey.get(), traversal, itty) : itty);
         }
     }
 
@@ -535,15 +593,16 @@ public abstract class AbstractSession implements Session, AutoCloseable {
 
             sessionTask.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
-                    .statusAttributes(attributes)
+                    .statusAttributes(sessionTask.getTrace().attach(attributes))
                     .create());
             return;
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request or otherwise adapts to the serialized size of the results
+        // when a target frame size is configured
+        final ResultBatchSizer batchSizer = ResultBatchSizer.of(settings, msg);
+        final FrameBufferAllocator frameAllocator = FrameBufferAllocator.of(settings, nettyContext.alloc());
+        List<Object> aggregate = new ArrayList<>(batchSizer.getBatchSize());
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
@@ -572,7 +631,9 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
             // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
             // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            final long iterateMark = sessionTask.getTrace().mark();
+            if (aggregate.size() < batchSizer.getBatchSize() && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            sessionTask.getTrace().record(RequestTrace.Phase.ITERATE, iterateMark);
 
             // send back a page of results if batch size is met or if it's the end of the results being iterated.
             // also check writeability of the channel to prevent OOME for slow clients.
@@ -583,11 +644,11 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             // already given up on these requests. This leads to these executors waiting for the client to consume
             // results till the timeout. checking for isActive() should help prevent that.
             if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                if (forceFlush || aggregate.size() >= batchSizer.getBatchSize() || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
                     Frame frame = null;
                     try {
-                        frame = makeFrame(sessionTask, aggregate, code, itty);
+                        frame = makeFrame(sessionTask, aggregate, code, itty, frameAllocator.expect(aggregate.size()));
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -600,6 +661,9 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                         break;
                     }
 
+                    batchSizer.observe(aggregate.size(), frame);
+                    frameAllocator.observe(aggregate.size(), frame);
+
                     // track whether there is anything left in the iterator because it needs to be accessed after
                     // the transaction could be closed - in that case a call to hasNext() could open a new transaction
                     // unintentionally
@@ -608,7 +672,7 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                     try {
                         // only need to reset the aggregation list if there's more stuff to write
                         if (moreInIterator)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                            aggregate = new ArrayList<>(batchSizer.getBatchSize());
                         else {
                             // iteration and serialization are both complete which means this finished successfully. note that
                             // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
@@ -646,8 +710,9 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                 }
 
                 // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // this isn't blocking the IO thread - just a worker, which the WritabilityHandler wakes as soon as
+                // the channel drains rather than leaving it to poll.
+                WritabilityHandler.awaitWritable(nettyContext.channel(), 100);
             }
         }
     }
@@ -715,20 +780,36 @@ public abstract class AbstractSession implements Session, AutoCloseable {
 
     protected Frame makeFrame(final SessionTask sessionTask, final List<Object> aggregate,
                               final ResponseStatusCode code, final Iterator<?> itty) throws Exception {
+        return makeFrame(sessionTask, aggregate, code, itty, sessionTask.getChannelHandlerContext().alloc());
+    }
+
+    /**
+     * Serializes a response message with the {@code aggregate} of results into a {@link Frame}, taking the buffer
+     * for a binary serializer from the specified {@code allocator}.
+     */
+    protected Frame makeFrame(final SessionTask sessionTask, final List<Object> aggregate,
+                              final ResponseStatusCode code, final Iterator<?> itty,
+                              final ByteBufAllocator allocator) throws Exception {
         final RequestMessage msg = sessionTask.getRequestMessage();
         final ChannelHandlerContext nettyContext = sessionTask.getChannelHandlerContext();
         final MessageSerializer serializer = nettyContext.channel().attr(StateKey.SERIALIZER).get();
         final boolean useBinary = nettyContext.channel().attr(StateKey.USE_BINARY).get();
 
         final Map<String, Object> responseMetaData = generateResponseMetaData(sessionTask, code, itty);
-        final Map<String, Object> statusAttributes = generateStatusAttributes(sessionTask, code, itty);
+        // step metrics are recorded ahead of the mark so that they do not count as serialization
+        StepMetrics.recordSampled(aggregate, sessionTask.getSettings().stepMetricsSampleRate);
+        final RequestTrace trace = sessionTask.getTrace();
+        final long serializeMark = trace.mark();
+        final Map<String, Object> attributes = generateStatusAttributes(sessionTask, code, itty);
+        final Map<String, Object> statusAttributes = code.isFinalResponse() ? trace.attach(attributes) : attributes;
         try {
+            trace.addResults(aggregate.size());
             if (useBinary) {
                 return new Frame(serializer.serializeResponseAsBinary(ResponseMessage.build(msg)
                         .code(code)
                         .statusAttributes(statusAttributes)
                         .responseMetaData(responseMetaData)
-                        .result(aggregate).create(), nettyContext.alloc()));
+                        .result(aggregate).create(), allocator));
             } else {
                 // the expectation is that the GremlinTextRequestDecoder will have placed a MessageTextSerializer
                 // instance on the channel.
@@ -748,6 +829,8 @@ public abstract class AbstractSession implements Session, AutoCloseable {
                     .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
             sessionTask.writeAndFlush(error);
             throw ex;
+        } finally {
+            trace.record(RequestTrace.Phase.SERIALIZE, serializeMark);
         }
     }
 
@@ -831,6 +914,12 @@ public abstract class AbstractSession implements Session, AutoCloseable {
             else
                 graphManager.rollbackAll();
         }
+
+        // invalidate before the response is written so that a request sent after it never sees stale results
+        if (commit && (mutatedSinceCommit || requestMayMutate)) {
+            ResultCache.invalidateAll();
+            mutatedSinceCommit = false;
+        }
     }
 
     private Timer.Context getMetricsTimer(final SessionTask sessionTask) {
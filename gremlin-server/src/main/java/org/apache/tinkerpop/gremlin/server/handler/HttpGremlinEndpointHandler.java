@@ -36,33 +36,44 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.ResultBatchSizer;
+import org.apache.tinkerpop.gremlin.server.util.ResultCache;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.function.FunctionUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.ReferenceCountUtil;
 
 import javax.script.Bindings;
 import javax.script.SimpleBindings;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -174,10 +185,11 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                 }
                 final ChannelPromise promise = ctx.channel().newPromise();
                 final AtomicReference<Object> resultHolder = new AtomicReference<>();
+                final AtomicBoolean responseStarted = new AtomicBoolean(false);
                 promise.addListener(future -> {
                     // if failed then the error was already written back to the client as part of the eval future
-                    // processing of the exception
-                    if (future.isSuccess()) {
+                    // processing of the exception. a streamed response was already written as the result was iterated
+                    if (future.isSuccess() && !responseStarted.get()) {
                         logger.debug("Preparing HTTP response for request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                 requestArguments.getValue0(), requestArguments.getValue1(), resultHolder.get(), Thread.currentThread().getName());
                         final FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, (ByteBuf) resultHolder.get());
@@ -212,6 +224,13 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
 
                             logger.debug("Transforming result of request with script [{}] and bindings of [{}] with result of [{}] on [{}]",
                                     requestArguments.getValue0(), requestArguments.getValue1(), o, Thread.currentThread().getName());
+
+                            if (settings.enableHttpStreaming) {
+                                streamResponse(ctx, IteratorUtils.asIterator(o), serializer, origin, keepAlive,
+                                        requestArguments.getValue3(), responseStarted);
+                                return null;
+                            }
+
                             final ResponseMessage responseMessage = ResponseMessage.build(UUID.randomUUID())
                                     .code(ResponseStatusCode.SUCCESS)
                                     .result(IteratorUtils.asList(o)).create();
@@ -242,7 +261,17 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
                             }
                         }));
 
+                // the script may have changed any graph and has committed by the time it completes
+                evalFuture.whenComplete((r, t) -> ResultCache.invalidateAll());
+
                 evalFuture.exceptionally(t -> {
+                    // once a streamed response has started the error can only be reported as part of that response
+                    // which streamResponse() takes care of
+                    if (responseStarted.get()) {
+                        promise.tryFailure(t);
+                        return null;
+                    }
+
                     if (t.getMessage() != null)
                         HttpHandlerUtil.sendError(ctx, INTERNAL_SERVER_ERROR, t.getMessage(), Optional.of(t), keepAlive);
                     else
@@ -282,6 +311,85 @@ public class HttpGremlinEndpointHandler extends ChannelInboundHandlerAdapter {
         }
     }
 
+    /**
+     * Writes the result to the client with chunked transfer encoding as it is iterated. Each batch of results is
+     * serialized to its own {@link ResponseMessage} and written as a separate line once the channel is writable, so
+     * neither the result nor its serialized form is ever held in memory as a whole and a client that reads slowly
+     * holds back the iteration rather than have the response pile up in the outbound buffer. As the status of the
+     * response is sent before the result is iterated, an error during iteration is reported as a final
+     * {@link ResponseMessage} with an error status code.
+     */
+    private void streamResponse(final ChannelHandlerContext ctx, final Iterator<?> itty,
+                                final Pair<String, MessageTextSerializer<?>> serializer, final String origin,
+                                final boolean keepAlive, final Map<String, String> aliases,
+                                final AtomicBoolean responseStarted) {
+        final UUID requestId = UUID.randomUUID();
+        final HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        response.headers().set(CONTENT_TYPE, serializer.getValue0());
+        if (origin != null) response.headers().set(ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        HttpUtil.setTransferEncodingChunked(response, true);
+        HttpUtil.setKeepAlive(response, keepAlive);
+
+        responseStarted.set(true);
+        ctx.writeAndFlush(response);
+
+        final ResultBatchSizer batchSizer = ResultBatchSizer.of(settings, null);
+        final List<Object> aggregate = new ArrayList<>(batchSizer.getBatchSize());
+        boolean warnOnce = false;
+        try {
+            // an empty result still gets a single message with no data, just as it does without streaming
+            do {
+                while (itty.hasNext() && aggregate.size() < batchSizer.getBatchSize()) {
+                    aggregate.add(itty.next());
+                }
+
+                final boolean last = !itty.hasNext();
+
+                // commit before the final message just as it happens before serialization without streaming
+                if (last)
+                    attemptCommit(aliases, graphManager, settings.strictTransactionManagement);
+
+                // hold the worker rather than the event loop until the client catches up
+                while (!WritabilityHandler.awaitWritable(ctx.channel(), 100)) {
+                    if (!ctx.channel().isActive())
+                        throw new IllegalStateException("The client closed the connection before the result was fully streamed");
+
+                    if (!warnOnce) {
+                        logger.warn("Pausing HTTP response streaming as writeBufferHighWaterMark exceeded on request {} - streaming will continue once client has caught up", requestId);
+                        warnOnce = true;
+                    }
+                }
+
+                final ResponseMessage responseMessage = ResponseMessage.build(requestId)
+                        .code(last ? ResponseStatusCode.SUCCESS : ResponseStatusCode.PARTIAL_CONTENT)
+                        .result(new ArrayList<>(aggregate)).create();
+                final ByteBuf line = serializeLine(serializer, responseMessage);
+                batchSizer.observe(aggregate.size(), line.readableBytes());
+                ctx.writeAndFlush(new DefaultHttpContent(line));
+                aggregate.clear();
+            } while (itty.hasNext());
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) Thread.currentThread().interrupt();
+            logger.warn(String.format("Error while streaming the HTTP response for request %s", requestId), ex);
+            final Throwable t = Optional.ofNullable(ExceptionHelper.getRootCause(ex)).orElse(ex);
+            final String message = null == t.getMessage() ? t.getClass().getName() : t.getMessage();
+            try {
+                ctx.writeAndFlush(new DefaultHttpContent(serializeLine(serializer, ResponseMessage.build(requestId)
+                        .code(ResponseStatusCode.SERVER_ERROR).statusMessage(message).create())));
+            } catch (Exception inner) {
+                logger.warn(String.format("Could not report the streaming error for request %s", requestId), inner);
+            }
+        } finally {
+            final ChannelFuture lastContentFuture = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            if (!keepAlive) lastContentFuture.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    private static ByteBuf serializeLine(final Pair<String, MessageTextSerializer<?>> serializer,
+                                         final ResponseMessage responseMessage) throws SerializationException {
+        return Unpooled.wrappedBuffer((serializer.getValue1().serializeResponseAsString(responseMessage) + "\n").getBytes(UTF8));
+    }
+
     private Bindings createBindings(final Map<String, Object> bindingMap, final Map<String, String> rebindingMap) {
         final Bindings bindings = new SimpleBindings();
 
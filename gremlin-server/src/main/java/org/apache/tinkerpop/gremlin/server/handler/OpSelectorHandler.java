@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.server.handler;
 
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
@@ -68,6 +69,11 @@ public class OpSelectorHandler extends MessageToMessageDecoder<RequestMessage> {
     @Override
     protected void decode(final ChannelHandlerContext ctx, final RequestMessage msg,
                           final List<Object> objects) throws Exception {
+        if (msg.carriesBatch()) {
+            decodeBatch(ctx, msg, objects);
+            return;
+        }
+
         final Context gremlinServerContext = new Context(msg, ctx, settings,
                 graphManager, gremlinExecutor, this.scheduledExecutorService);
         try {
@@ -90,6 +96,33 @@ public class OpSelectorHandler extends MessageToMessageDecoder<RequestMessage> {
         }
     }
 
+    /**
+     * Selects an {@link OpProcessor} for each of the requests carried by a {@link Tokens#OPS_BATCH} request so that
+     * they are processed all at once as if each had been sent on its own. The {@link OpProcessor} instances have no
+     * means to process one request only once another is complete so an ordered batch is only supported by the
+     * {@link UnifiedHandler}.
+     */
+    private void decodeBatch(final ChannelHandlerContext ctx, final RequestMessage msg,
+                             final List<Object> objects) throws Exception {
+        final List<RequestMessage> requests;
+        try {
+            requests = msg.batchedRequests();
+        } catch (IllegalArgumentException iae) {
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                    .statusMessage(iae.getMessage()).create());
+            return;
+        }
+
+        for (final RequestMessage request : requests) {
+            if (msg.carriesOrderedBatch()) {
+                ctx.writeAndFlush(ResponseMessage.build(request).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                        .statusMessage(String.format("An ordered [%s] request requires the UnifiedChannelizer", Tokens.OPS_BATCH)).create());
+            } else {
+                decode(ctx, request, objects);
+            }
+        }
+    }
+
     @Override
     public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
         // only need to handle this event if the idle monitor is on
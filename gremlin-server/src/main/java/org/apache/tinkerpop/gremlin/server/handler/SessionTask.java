@@ -25,6 +25,8 @@ import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.PreparedTraversalCache;
+import org.apache.tinkerpop.gremlin.server.util.ResultCache;
 
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -33,10 +35,47 @@ import java.util.concurrent.ScheduledExecutorService;
  * a {@link Context} in the {@link OpProcessor} approach to handling requests to the server.
  */
 public class SessionTask extends Context {
+    private final ResultCache resultCache;
+    private final PreparedTraversalCache preparedTraversalCache;
+
     public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
                        final Settings settings, final GraphManager graphManager,
                        final GremlinExecutor gremlinExecutor,
                        final ScheduledExecutorService scheduledExecutorService) {
+        this(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService,
+                new ResultCache(0, 0, 0));
+    }
+
+    public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
+                       final Settings settings, final GraphManager graphManager,
+                       final GremlinExecutor gremlinExecutor,
+                       final ScheduledExecutorService scheduledExecutorService,
+                       final ResultCache resultCache) {
+        this(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService, resultCache,
+                new PreparedTraversalCache(0));
+    }
+
+    public SessionTask(final RequestMessage requestMessage, final ChannelHandlerContext ctx,
+                       final Settings settings, final GraphManager graphManager,
+                       final GremlinExecutor gremlinExecutor,
+                       final ScheduledExecutorService scheduledExecutorService,
+                       final ResultCache resultCache, final PreparedTraversalCache preparedTraversalCache) {
         super(requestMessage, ctx, settings, graphManager, gremlinExecutor, scheduledExecutorService);
+        this.resultCache = resultCache;
+        this.preparedTraversalCache = preparedTraversalCache;
+    }
+
+    /**
+     * Gets the cache that holds the results of read-only bytecode requests, which may be disabled.
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Gets the traversals prepared on the server, which hold the strategy-applied traversals of their executions.
+     */
+    public PreparedTraversalCache getPreparedTraversalCache() {
+        return preparedTraversalCache;
     }
 }
@@ -18,6 +18,9 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.util.PriorityWorkQueue;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +62,30 @@ public class SingleTaskSession extends AbstractSession {
         throw new UnsupportedOperationException("SingleWorker doesn't accept tasks beyond the one provided to the constructor");
     }
 
+    /**
+     * A {@code SingleTaskSession} that has not started holds no transaction or state so it can always be shed.
+     */
+    @Override
+    public boolean isSheddable() {
+        return true;
+    }
+
+    /**
+     * Lets the client know that the request was shed by the {@link PriorityWorkQueue} and closes the session without
+     * running it. Sheds are counted by the "shed" meter of the priority class, so they are only logged at debug as an
+     * overloaded server would otherwise log a warning for every request it turns away.
+     */
+    @Override
+    public void shed(final long queueTimeMillis) {
+        final String msg = String.format("Request %s shed after waiting %s ms for a thread - the server is overloaded",
+                onlySessionTask.getRequestMessage().getRequestId(), queueTimeMillis);
+        if (logger.isDebugEnabled()) logger.debug(msg);
+        onlySessionTask.writeAndFlush(ResponseMessage.build(onlySessionTask.getRequestMessage())
+                .code(ResponseStatusCode.TOO_MANY_REQUESTS).statusMessage(msg).create());
+        closeReason.compareAndSet(null, CloseReason.PROCESSING_EXCEPTION);
+        close();
+    }
+
     @Override
     public void run() {
         // allow the Session to know about the thread that is running it - the thread really only has relevance
@@ -36,8 +36,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.server.Channelizer;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.channel.UnifiedChannelizer;
+import org.apache.tinkerpop.gremlin.server.op.admin.AdminOpProcessor;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.PreparedTraversalCache;
+import org.apache.tinkerpop.gremlin.server.util.PriorityWorkQueue;
+import org.apache.tinkerpop.gremlin.server.util.ResultCache;
 import org.apache.tinkerpop.gremlin.structure.Column;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -45,19 +51,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * Handler for websockets to be used with the {@link UnifiedChannelizer}.
  */
@@ -71,6 +83,8 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
     protected final ScheduledExecutorService scheduledExecutorService;
     protected final ExecutorService sessionExecutor;
     protected final Channelizer channelizer;
+    protected final PreparedTraversalCache preparedTraversalCache;
+    protected final ResultCache resultCache;
 
     protected final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
 
@@ -124,38 +138,136 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
         this.scheduledExecutorService = scheduledExecutorService;
         this.channelizer = channelizer;
         this.sessionExecutor = gremlinExecutor.getExecutorService();
+        this.preparedTraversalCache = new PreparedTraversalCache(settings.maxPreparedTraversals);
+        this.resultCache = new ResultCache(settings);
+
+        // the SessionOpProcessor registers the same gauge for its own sessions, which are not used with this handler
+        final String sessionsName = name(GremlinServer.class, "sessions");
+        MetricManager.INSTANCE.getRegistry().remove(sessionsName);
+        MetricManager.INSTANCE.getGuage(sessions::size, sessionsName);
+    }
+
+    /**
+     * Gets the traversals prepared on this handler.
+     */
+    public PreparedTraversalCache getPreparedTraversalCache() {
+        return preparedTraversalCache;
+    }
+
+    /**
+     * Gets the results of read-only bytecode requests held by this handler.
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
     }
 
     @Override
-    protected void channelRead0(final ChannelHandlerContext ctx, final RequestMessage msg) throws Exception {
+    protected void channelRead0(final ChannelHandlerContext ctx, final RequestMessage requestMessage) throws Exception {
+        if (requestMessage.carriesBatch()) {
+            handleBatch(ctx, requestMessage);
+            return;
+        }
+
+        createSessionTask(ctx, requestMessage).ifPresent(this::submitSessionTask);
+    }
+
+    /**
+     * Processes each of the requests carried by a {@link Tokens#OPS_BATCH} request as if it had been sent on its own.
+     * Those of an ordered batch are run one after the other by a single worker so that each one sees the effects of
+     * the ones before it, while those of any other batch are all submitted at once.
+     */
+    protected void handleBatch(final ChannelHandlerContext ctx, final RequestMessage batchMessage) {
+        final List<RequestMessage> requests;
         try {
-            try {
-                validateRequest(msg, graphManager);
-            } catch (SessionException we) {
-                ctx.writeAndFlush(we.getResponseMessage());
-                return;
-            }
+            requests = batchMessage.batchedRequests();
+        } catch (IllegalArgumentException iae) {
+            ctx.writeAndFlush(ResponseMessage.build(batchMessage).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                    .statusMessage(iae.getMessage()).create());
+            return;
+        }
 
-            // this is for backward compatibility for drivers still sending a close message. the close message was
-            // removed in 3.5.0 but then added back for 3.5.2.
-            if (msg.getOp().equals(Tokens.OPS_CLOSE)) {
-                ctx.writeAndFlush(ResponseMessage.build(msg)
-                        .code(ResponseStatusCode.NO_CONTENT)
-                        .create());
-                return;
-            }
+        if (!batchMessage.carriesOrderedBatch()) {
+            requests.forEach(request -> createSessionTask(ctx, request).ifPresent(this::submitSessionTask));
+            return;
+        }
+
+        try {
+            sessionExecutor.submit(new OrderedBatchTask(ctx, requests));
+        } catch (RejectedExecutionException ree) {
+            logger.warn(ree.getMessage());
+            requests.forEach(request -> ctx.writeAndFlush(ResponseMessage.build(request).code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                    .statusMessage("Rate limiting").create()));
+        }
+    }
+
+    /**
+     * Validates a request and creates the {@link SessionTask} that processes it, unless the request was invalid or
+     * was already fully handled here, in which case the response has already been written.
+     */
+    protected Optional<SessionTask> createSessionTask(final ChannelHandlerContext ctx, final RequestMessage requestMessage) {
+        // a request for a prepared traversal is processed as if it had supplied the bytecode itself
+        final RequestMessage msg;
+        try {
+            msg = PreparedTraversalCache.isPreparedRequest(requestMessage) ?
+                    preparedTraversalCache.resolve(requestMessage, PreparedTraversalCache.getUserName(ctx)) : requestMessage;
+        } catch (IllegalArgumentException iae) {
+            ctx.writeAndFlush(ResponseMessage.build(requestMessage).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                    .statusMessage(iae.getMessage()).create());
+            ReferenceCountUtil.release(requestMessage);
+            return Optional.empty();
+        }
+
+        // the slow query log is not bound to a graph or a session so reading it is done right here
+        if (msg.getOp().equals(Tokens.OPS_SLOW_QUERIES)) {
+            ctx.writeAndFlush(AdminOpProcessor.slowQueries(msg));
+            ReferenceCountUtil.release(msg);
+            return Optional.empty();
+        }
+
+        try {
+            validateRequest(msg, graphManager);
+        } catch (SessionException we) {
+            ctx.writeAndFlush(we.getResponseMessage());
+            ReferenceCountUtil.release(msg);
+            return Optional.empty();
+        }
+
+        // prepared traversals are not bound to a session so preparing one is done right here
+        if (msg.getOp().equals(Tokens.OPS_PREPARE)) {
+            prepareTraversal(ctx, msg);
+            ReferenceCountUtil.release(msg);
+            return Optional.empty();
+        }
+
+        // this is for backward compatibility for drivers still sending a close message. the close message was
+        // removed in 3.5.0 but then added back for 3.5.2.
+        if (msg.getOp().equals(Tokens.OPS_CLOSE)) {
+            ctx.writeAndFlush(ResponseMessage.build(msg)
+                    .code(ResponseStatusCode.NO_CONTENT)
+                    .create());
+            ReferenceCountUtil.release(msg);
+            return Optional.empty();
+        }
+
+        // the SessionTask is really a Context from OpProcessor. we still need the GremlinExecutor/ScriptEngine
+        // config that is all rigged up into the server nicely right now so it seemed best to just keep the general
+        // Context object but extend (essentially rename) it to SessionTask so that it better fits the nomenclature
+        // we have here. when we drop OpProcessor stuff and rid ourselves of GremlinExecutor then we can probably
+        // pare down the constructor for SessionTask further.
+        return Optional.of(new SessionTask(msg, ctx, settings, graphManager,
+                gremlinExecutor, scheduledExecutorService, resultCache, preparedTraversalCache));
+    }
 
+    /**
+     * Submits the {@link SessionTask} to the {@link Session} it belongs to, starting one if needed.
+     */
+    protected void submitSessionTask(final SessionTask sessionTask) {
+        final ChannelHandlerContext ctx = sessionTask.getChannelHandlerContext();
+        final RequestMessage msg = sessionTask.getRequestMessage();
+        try {
             final Optional<String> optMultiTaskSession = msg.optionalArgs(Tokens.ARGS_SESSION);
             final String sessionId = optMultiTaskSession.orElse(msg.getRequestId().toString());
 
-            // the SessionTask is really a Context from OpProcessor. we still need the GremlinExecutor/ScriptEngine
-            // config that is all rigged up into the server nicely right now so it seemed best to just keep the general
-            // Context object but extend (essentially rename) it to SessionTask so that it better fits the nomenclature
-            // we have here. when we drop OpProcessor stuff and rid ourselves of GremlinExecutor then we can probably
-            // pare down the constructor for SessionTask further.
-            final SessionTask sessionTask = new SessionTask(msg, ctx, settings, graphManager,
-                    gremlinExecutor, scheduledExecutorService);
-
             if (sessions.containsKey(sessionId)) {
                 final Session session = sessions.get(sessionId);
 
@@ -188,21 +300,7 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
                 session.setSessionFuture(sessionFuture);
                 sessions.put(sessionId, session);
 
-                // determine the max session life. for multi that's going to be "session life" and for single that
-                // will be the span of the request timeout
-                final long seto = sessionTask.getRequestTimeout();
-                final long sessionLife = optMultiTaskSession.isPresent() ? settings.sessionLifetimeTimeout : seto;
-
-                // if timeout is enabled when greater than zero schedule up a timeout which is a session life timeout
-                // for a multi or technically a request timeout for a single. this will be cancelled when the session
-                // closes by way of other reasons (i.e. success or exception) - see AbstractSession#close()
-                if (seto > 0) {
-                    final ScheduledFuture<?> sessionCancelFuture =
-                            scheduledExecutorService.schedule(
-                                    () -> session.triggerTimeout(sessionLife, optMultiTaskSession.isPresent()),
-                                    sessionLife, TimeUnit.MILLISECONDS);
-                    session.setSessionCancelFuture(sessionCancelFuture);
-                }
+                scheduleTimeout(session, sessionTask, optMultiTaskSession.isPresent());
             }
         } catch (RejectedExecutionException ree) {
             logger.warn(ree.getMessage());
@@ -217,6 +315,59 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
         }
     }
 
+    /**
+     * Runs the {@link SessionTask} of a sessionless request in the calling thread, returning once it is complete.
+     */
+    protected void runSessionTask(final SessionTask sessionTask) {
+        final String sessionId = sessionTask.getRequestMessage().getRequestId().toString();
+        final Session session = createSingleTaskSession(sessionTask, sessionId);
+
+        // the session is cancelled by way of its future like any other so it needs one to run in
+        final FutureTask<Void> sessionFuture = new FutureTask<>(session, null);
+        session.setSessionFuture(sessionFuture);
+        sessions.put(sessionId, session);
+        scheduleTimeout(session, sessionTask, false);
+
+        try {
+            sessionFuture.run();
+        } finally {
+            // a timeout interrupts this thread to cancel the session which must not carry over to the next one
+            Thread.interrupted();
+            ReferenceCountUtil.release(sessionTask.getRequestMessage());
+        }
+    }
+
+    private void scheduleTimeout(final Session session, final SessionTask sessionTask, final boolean multiTaskSession) {
+        // determine the max session life. for multi that's going to be "session life" and for single that
+        // will be the span of the request timeout
+        final long seto = sessionTask.getRequestTimeout();
+        final long sessionLife = multiTaskSession ? settings.sessionLifetimeTimeout : seto;
+
+        // if timeout is enabled when greater than zero schedule up a timeout which is a session life timeout
+        // for a multi or technically a request timeout for a single. this will be cancelled when the session
+        // closes by way of other reasons (i.e. success or exception) - see AbstractSession#close()
+        if (seto > 0) {
+            final ScheduledFuture<?> sessionCancelFuture =
+                    scheduledExecutorService.schedule(
+                            () -> session.triggerTimeout(sessionLife, multiTaskSession),
+                            sessionLife, TimeUnit.MILLISECONDS);
+            session.setSessionCancelFuture(sessionCancelFuture);
+        }
+    }
+
+    protected void prepareTraversal(final ChannelHandlerContext ctx, final RequestMessage msg) {
+        final Map<String, String> aliases = (Map<String, String>) msg.optionalArgs(Tokens.ARGS_ALIASES).get();
+        try {
+            final UUID handle = preparedTraversalCache.prepare(msg,
+                    graphManager.getTraversalSource(aliases.values().iterator().next()), PreparedTraversalCache.getUserName(ctx));
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SUCCESS)
+                    .result(Collections.singletonList(handle)).create());
+        } catch (IllegalArgumentException iae) {
+            ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                    .statusMessage(iae.getMessage()).create());
+        }
+    }
+
     protected void validateRequest(final RequestMessage message, final GraphManager graphManager) throws SessionException {
         // close message just needs to be accounted for here as of 3.5.2. it will not contain a "gremlin" arg. unified
         // channelizer basically ignores the close message otherwise
@@ -279,25 +430,25 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
                         Tokens.OPS_EVAL, Tokens.ARGS_GREMLIN, String.class.getSimpleName());
                 throw new SessionException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
             }
-        } else if (message.getOp().equals(Tokens.OPS_BYTECODE)) {
+        } else if (message.getOp().equals(Tokens.OPS_BYTECODE) || message.getOp().equals(Tokens.OPS_PREPARE)) {
             // bytecode should have gremlin that is of type Bytecode
             // likely a problem with the driver and how it is sending requests
             if (!(message.optionalArgs(Tokens.ARGS_GREMLIN).get() instanceof Bytecode)) {
                 final String msg = String.format("A message with [%s] op code requires a [%s] argument that is of type %s.",
-                        Tokens.OPS_BYTECODE, Tokens.ARGS_GREMLIN, Bytecode.class.getSimpleName());
+                        message.getOp(), Tokens.ARGS_GREMLIN, Bytecode.class.getSimpleName());
                 throw new SessionException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
             }
 
             // bytecode should have an alias bound
             final Optional<Map<String, String>> aliases = message.optionalArgs(Tokens.ARGS_ALIASES);
             if (!aliases.isPresent()) {
-                final String msg = String.format("A message with [%s] op code requires a [%s] argument.", Tokens.OPS_BYTECODE, Tokens.ARGS_ALIASES);
+                final String msg = String.format("A message with [%s] op code requires a [%s] argument.", message.getOp(), Tokens.ARGS_ALIASES);
                 throw new SessionException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
             }
 
             if (aliases.get().size() != 1 || !aliases.get().containsKey(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS)) {
                 final String msg = String.format("A message with [%s] op code requires the [%s] argument to be a Map containing one alias assignment named '%s'.",
-                        Tokens.OPS_BYTECODE, Tokens.ARGS_ALIASES, Tokens.VAL_TRAVERSAL_SOURCE_ALIAS);
+                        message.getOp(), Tokens.ARGS_ALIASES, Tokens.VAL_TRAVERSAL_SOURCE_ALIAS);
                 throw new SessionException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
             }
 
@@ -353,4 +504,63 @@ public class UnifiedHandler extends SimpleChannelInboundHandler<RequestMessage>
     public int getActiveSessionCount() {
         return sessions.size();
     }
+
+    /**
+     * Runs the requests of an ordered {@link Tokens#OPS_BATCH} request one after the other. It waits in the priority
+     * class of the first request and, as none of its requests has started, it may be shed like a sessionless request.
+     */
+    protected class OrderedBatchTask implements Runnable, PriorityWorkQueue.Prioritized {
+        private final ChannelHandlerContext ctx;
+        private final List<RequestMessage> requests;
+
+        public OrderedBatchTask(final ChannelHandlerContext ctx, final List<RequestMessage> requests) {
+            this.ctx = ctx;
+            this.requests = requests;
+        }
+
+        @Override
+        public RequestMessage getRequestMessage() {
+            return requests.isEmpty() ? null : requests.get(0);
+        }
+
+        @Override
+        public boolean isSheddable() {
+            return true;
+        }
+
+        @Override
+        public void shed(final long queueTimeMillis) {
+            for (final RequestMessage request : requests) {
+                final String msg = String.format("Request %s shed after waiting %s ms for a thread - the server is overloaded",
+                        request.getRequestId(), queueTimeMillis);
+                if (logger.isDebugEnabled()) logger.debug(msg);
+                ctx.writeAndFlush(ResponseMessage.build(request).code(ResponseStatusCode.TOO_MANY_REQUESTS)
+                        .statusMessage(msg).create());
+            }
+        }
+
+        @Override
+        public void run() {
+            for (final RequestMessage request : requests) {
+                // no point in processing the rest if there is no one left to respond to
+                if (!ctx.channel().isActive()) return;
+
+                if (request.optionalArgs(Tokens.ARGS_SESSION).isPresent()) {
+                    ctx.writeAndFlush(ResponseMessage.build(request).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS)
+                            .statusMessage(String.format("The requests of an ordered [%s] request may not have a [%s] argument",
+                                    Tokens.OPS_BATCH, Tokens.ARGS_SESSION)).create());
+                    continue;
+                }
+
+                // a failure of one request must not leave the ones after it without a response
+                try {
+                    createSessionTask(ctx, request).ifPresent(UnifiedHandler.this::runSessionTask);
+                } catch (Exception ex) {
+                    logger.warn(String.format("Exception processing request %s of an ordered batch", request.getRequestId()), ex);
+                    ctx.writeAndFlush(ResponseMessage.build(request).code(ResponseStatusCode.SERVER_ERROR)
+                            .statusMessage(ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage()).create());
+                }
+            }
+        }
+    }
 }
@@ -31,9 +31,12 @@ import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.authz.Authorizer;
 import org.apache.tinkerpop.gremlin.server.authz.AuthorizationException;
+import org.apache.tinkerpop.gremlin.server.util.PreparedTraversalCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 
@@ -63,30 +66,25 @@ public class WebSocketAuthorizationHandler extends ChannelInboundHandlerAdapter
                 if (null == user) {    // This is expected when using the AllowAllAuthenticator
                     user = AuthenticatedUser.ANONYMOUS_USER;
                 }
-                switch (requestMessage.getOp()) {
-                    case Tokens.OPS_BYTECODE:
-                        final Bytecode bytecode = (Bytecode) requestMessage.getArgs().get(Tokens.ARGS_GREMLIN);
-                        final Map<String, String> aliases = (Map<String, String>) requestMessage.getArgs().get(Tokens.ARGS_ALIASES);
-                        final Bytecode restrictedBytecode = authorizer.authorize(user, bytecode, aliases);
-                        final RequestMessage restrictedMsg = RequestMessage.build(Tokens.OPS_BYTECODE).
-                                overrideRequestId(requestMessage.getRequestId()).
-                                processor("traversal").
-                                addArg(Tokens.ARGS_GREMLIN, restrictedBytecode).
-                                addArg(Tokens.ARGS_ALIASES, aliases).create();
-                        ctx.fireChannelRead(restrictedMsg);
-                        break;
-                    case Tokens.OPS_EVAL:
-                        authorizer.authorize(user, requestMessage);
-                        ctx.fireChannelRead(requestMessage);
-                        break;
-                    default:
-                        throw new AuthorizationException("This AuthorizationHandler only handles requests with OPS_BYTECODE or OPS_EVAL.");
+                if (requestMessage.carriesBatch()) {
+                    // each request carried by a batch is authorized on its own and only the ones that are allowed
+                    // are passed along, still as a batch so that they are processed as the client asked
+                    final List<RequestMessage> authorized = new ArrayList<>();
+                    for (final RequestMessage batchedMessage : requestMessage.batchedRequests()) {
+                        try {
+                            authorized.add(authorize(batchedMessage));
+                        } catch (AuthorizationException ex) {
+                            auditUnauthorized(ctx, batchedMessage);
+                            interruptEvaluation(ctx, batchedMessage, ex.getMessage());
+                        }
+                    }
+                    if (!authorized.isEmpty())
+                        ctx.fireChannelRead(RequestMessage.batch(authorized, requestMessage.carriesOrderedBatch()));
+                } else {
+                    ctx.fireChannelRead(authorize(requestMessage));
                 }
             } catch (AuthorizationException ex) {  // Expected: users can alternate between allowed and disallowed requests
-                String address = ctx.channel().remoteAddress().toString();
-                if (address.startsWith("/") && address.length() > 1) address = address.substring(1);
-                auditLogger.info("User {} with address {} attempted an unauthorized request for {} operation: {}",
-                        user.getName(), address, requestMessage.getOp(), requestMessage.getArgs().get(Tokens.ARGS_GREMLIN));
+                auditUnauthorized(ctx, requestMessage);
                 interruptEvaluation(ctx, requestMessage, ex.getMessage());
             } catch (Exception ex) {
                 logger.error("{} is not ready to handle requests - unknown error",
@@ -100,6 +98,44 @@ public class WebSocketAuthorizationHandler extends ChannelInboundHandlerAdapter
         }
     }
 
+    /**
+     * Authorizes a single request, returning the message that is to be processed in its place.
+     */
+    private RequestMessage authorize(final RequestMessage requestMessage) throws AuthorizationException {
+        switch (requestMessage.getOp()) {
+            case Tokens.OPS_BYTECODE:
+            case Tokens.OPS_PREPARE:
+                // a prepared traversal was authorized when it was prepared and it can only be used by the
+                // user that prepared it. PreparedTraversalCache only binds literal values into it on execution so
+                // that the executed traversal cannot do more than the authorized one
+                if (PreparedTraversalCache.isPreparedRequest(requestMessage))
+                    return requestMessage;
+
+                final Bytecode bytecode = (Bytecode) requestMessage.getArgs().get(Tokens.ARGS_GREMLIN);
+                final Map<String, String> aliases = (Map<String, String>) requestMessage.getArgs().get(Tokens.ARGS_ALIASES);
+                final Bytecode restrictedBytecode = authorizer.authorize(user, bytecode, aliases);
+                // keep every other argument of the request, like its priority, cache or trace id
+                return RequestMessage.from(requestMessage).
+                        processor("traversal").
+                        addArg(Tokens.ARGS_GREMLIN, restrictedBytecode).create();
+            case Tokens.OPS_EVAL:
+            case Tokens.OPS_SLOW_QUERIES:
+                // the slow query log holds the requests of every user so reading it is left to the authorizer like
+                // a script, which is not bound to what a traversal source allows either
+                authorizer.authorize(user, requestMessage);
+                return requestMessage;
+            default:
+                throw new AuthorizationException("This AuthorizationHandler only handles requests with OPS_BYTECODE, OPS_PREPARE, OPS_EVAL, OPS_SLOW_QUERIES or OPS_BATCH.");
+        }
+    }
+
+    private void auditUnauthorized(final ChannelHandlerContext ctx, final RequestMessage requestMessage) {
+        String address = ctx.channel().remoteAddress().toString();
+        if (address.startsWith("/") && address.length() > 1) address = address.substring(1);
+        auditLogger.info("User {} with address {} attempted an unauthorized request for {} operation: {}",
+                user.getName(), address, requestMessage.getOp(), requestMessage.getArgs().get(Tokens.ARGS_GREMLIN));
+    }
+
     private void interruptEvaluation(final ChannelHandlerContext ctx, final RequestMessage requestMessage, final String errorMessage) {
         final ResponseMessage error = ResponseMessage.build(requestMessage)
             .statusMessage("Failed to authorize: " + errorMessage)
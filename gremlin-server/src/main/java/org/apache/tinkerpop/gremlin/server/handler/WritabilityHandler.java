@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.AttributeKey;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Signals threads that wait in {@link #awaitWritable(Channel, long)} for a channel to drain below its
+ * {@code writeBufferLowWaterMark}. A worker that iterates results for a slow client parks until the event loop
+ * reports the channel writable again (or closed) rather than polling the channel on a fixed interval. Without this
+ * handler in the pipeline, waiting simply lasts until the timeout. The times that channels stop being writable and
+ * the time that workers spend waiting on them are recorded as {@code channel} metrics.
+ */
+@ChannelHandler.Sharable
+public class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+    private static final AttributeKey<Object> MONITOR = AttributeKey.valueOf("writabilityMonitor");
+
+    static final Meter writabilityStalls = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "channel", "writability-stalls"));
+    static final Timer writabilityWait = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "channel", "writability-wait"));
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (!ctx.channel().isWritable()) writabilityStalls.mark();
+        signal(ctx.channel());
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        signal(ctx.channel());
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * Waits up to the specified time for the channel to become writable.
+     *
+     * @return {@code true} if the channel is active and writable
+     */
+    public static boolean awaitWritable(final Channel channel, final long timeoutMillis) throws InterruptedException {
+        final Object monitor = monitorOf(channel);
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            synchronized (monitor) {
+                long remaining = deadline - System.nanoTime();
+                while (channel.isActive() && !channel.isWritable() && remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            }
+        } finally {
+            writabilityWait.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return channel.isActive() && channel.isWritable();
+    }
+
+    private static void signal(final Channel channel) {
+        final Object monitor = monitorOf(channel);
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+
+    private static Object monitorOf(final Channel channel) {
+        final Object monitor = channel.attr(MONITOR).get();
+        if (monitor != null) return monitor;
+
+        final Object created = new Object();
+        final Object existing = channel.attr(MONITOR).setIfAbsent(created);
+        return null == existing ? created : existing;
+    }
+}
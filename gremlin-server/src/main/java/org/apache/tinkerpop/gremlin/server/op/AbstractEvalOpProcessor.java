@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.server.op;
 
 import com.codahale.metrics.Timer;
+import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
@@ -38,7 +39,9 @@ import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.ResultCache;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -234,6 +237,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                     if (managedTransactionsForRequest) attemptRollback(msg, ctx.getGraphManager(), settings.strictTransactionManagement);
                 })
                 .beforeEval(b -> {
+                    ctx.getTrace().lap(RequestTrace.Phase.QUEUE);
                     try {
                         b.putAll(bindingsSupplier.get());
                     } catch (OpProcessorException ope) {
@@ -243,6 +247,7 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                     }
                 })
                 .withResult(o -> {
+                    ctx.getTrace().lap(RequestTrace.Phase.EVALUATE);
                     final Iterator itty = IteratorUtils.asIterator(o);
 
                     logger.debug("Preparing to iterate results from - {} - in thread [{}]", msg, Thread.currentThread().getName());
@@ -257,6 +262,9 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                     }
 
                     try {
+                        // a script may have changed any graph so cached traversal results are invalidated before the
+                        // final response is written. one that returns results lazily does so in iterateComplete()
+                        if (!itty.hasNext()) ResultCache.invalidateAll();
                         handleIterator(ctx, itty);
                     } catch (Exception ex) {
                         if (managedTransactionsForRequest) attemptRollback(msg, ctx.getGraphManager(), settings.strictTransactionManagement);
@@ -273,6 +281,9 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
             evalFuture.handle((v, t) -> {
                 timerContext.stop();
 
+                // a script may have changed any graph so cached traversal results can no longer be trusted
+                ResultCache.invalidateAll();
+
                 if (t != null) {
                     // if any exception in the chain is TemporaryException or Failure then we should respond with the
                     // right error code so that the client knows to retry
@@ -337,6 +348,15 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
         }
     }
 
+    /**
+     * Invalidates the {@link ResultCache} once the results of a script are iterated, as iterating them may have changed
+     * a graph, and before the final response tells the client the request is complete.
+     */
+    @Override
+    protected void iterateComplete(final ChannelHandlerContext ctx, final RequestMessage msg, final Iterator itty) {
+        ResultCache.invalidateAll();
+    }
+
     /**
      * Used to decrease the size of a Gremlin script that triggered a "method too large" exception so that it
      * doesn't log a massive text string nor return a large error message.
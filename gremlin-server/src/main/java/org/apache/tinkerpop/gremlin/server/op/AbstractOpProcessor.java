@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.op;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
@@ -33,6 +34,11 @@ import org.apache.tinkerpop.gremlin.server.OpProcessor;
 import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
+import org.apache.tinkerpop.gremlin.server.util.FrameBufferAllocator;
+import org.apache.tinkerpop.gremlin.server.util.ResultBatchSizer;
+import org.apache.tinkerpop.gremlin.server.util.StepMetrics;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
 import org.slf4j.Logger;
@@ -46,7 +52,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 /**
@@ -102,15 +107,16 @@ public abstract class AbstractOpProcessor implements OpProcessor {
             if (managedTransactionsForRequest) attemptCommit(msg, context.getGraphManager(), settings.strictTransactionManagement);
             context.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
-                    .statusAttributes(attributes)
+                    .statusAttributes(context.getTrace().attach(attributes))
                     .create());
             return;
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request or otherwise adapts to the serialized size of the results
+        // when a target frame size is configured
+        final ResultBatchSizer batchSizer = ResultBatchSizer.of(settings, msg);
+        final FrameBufferAllocator frameAllocator = FrameBufferAllocator.of(settings, nettyContext.alloc());
+        List<Object> aggregate = new ArrayList<>(batchSizer.getBatchSize());
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
@@ -137,7 +143,9 @@ public abstract class AbstractOpProcessor implements OpProcessor {
             // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
             // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
             // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            final long iterateMark = context.getTrace().mark();
+            if (aggregate.size() < batchSizer.getBatchSize() && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            context.getTrace().record(RequestTrace.Phase.ITERATE, iterateMark);
 
             // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
             // not active, and hence we should break the loop.
@@ -157,7 +165,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
             // already given up on these requests. This leads to these executors waiting for the client to consume
             // results till the timeout. checking for isActive() should help prevent that.
             if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                if (forceFlush || aggregate.size() >= batchSizer.getBatchSize() || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
 
                     // serialize here because in sessionless requests the serialization must occur in the same
@@ -167,7 +175,8 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     try {
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
                                 generateResultMetaData(nettyContext, msg, code, itty, settings),
-                                generateStatusAttributes(nettyContext, msg, code, itty, settings));
+                                generateStatusAttributes(nettyContext, msg, code, itty, settings),
+                                frameAllocator.expect(aggregate.size()));
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -179,6 +188,9 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                         break;
                     }
 
+                    batchSizer.observe(aggregate.size(), frame);
+                    frameAllocator.observe(aggregate.size(), frame);
+
                     // track whether there is anything left in the iterator because it needs to be accessed after
                     // the transaction could be closed - in that case a call to hasNext() could open a new transaction
                     // unintentionally
@@ -187,7 +199,7 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     try {
                         // only need to reset the aggregation list if there's more stuff to write
                         if (hasMore)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                            aggregate = new ArrayList<>(batchSizer.getBatchSize());
                         else {
                             // iteration and serialization are both complete which means this finished successfully. note that
                             // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
@@ -220,8 +232,9 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                 }
 
                 // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // this isn't blocking the IO thread - just a worker, which the WritabilityHandler wakes as soon as
+                // the channel drains rather than leaving it to poll.
+                WritabilityHandler.awaitWritable(nettyContext.channel(), 100);
             }
         }
     }
@@ -280,22 +293,39 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                                      final MessageSerializer<?> serializer, final boolean useBinary, final List<Object> aggregate,
                                      final ResponseStatusCode code, final Map<String,Object> responseMetaData,
                                      final Map<String,Object> statusAttributes) throws Exception {
-        try {
-            final ChannelHandlerContext nettyContext = ctx.getChannelHandlerContext();
+        return makeFrame(ctx, msg, serializer, useBinary, aggregate, code, responseMetaData, statusAttributes, null);
+    }
 
+    /**
+     * Serializes a response message with the {@code aggregate} of results into a {@link Frame}, taking the buffer
+     * for a binary serializer from the specified {@code allocator} or from the allocator of the channel when it is
+     * {@code null}.
+     */
+    protected static Frame makeFrame(final Context ctx, final RequestMessage msg,
+                                     final MessageSerializer<?> serializer, final boolean useBinary, final List<Object> aggregate,
+                                     final ResponseStatusCode code, final Map<String,Object> responseMetaData,
+                                     final Map<String,Object> statusAttributes, final ByteBufAllocator allocator) throws Exception {
+        // step metrics are recorded ahead of the mark so that they do not count as serialization
+        StepMetrics.recordSampled(aggregate, ctx.getSettings().stepMetricsSampleRate);
+        final RequestTrace trace = ctx.getTrace();
+        final long serializeMark = trace.mark();
+        final Map<String,Object> attributes = code.isFinalResponse() ? trace.attach(statusAttributes) : statusAttributes;
+        try {
+            trace.addResults(aggregate.size());
             if (useBinary) {
                 return new Frame(serializer.serializeResponseAsBinary(ResponseMessage.build(msg)
                         .code(code)
-                        .statusAttributes(statusAttributes)
+                        .statusAttributes(attributes)
                         .responseMetaData(responseMetaData)
-                        .result(aggregate).create(), nettyContext.alloc()));
+                        .result(aggregate).create(),
+                        null == allocator ? ctx.getChannelHandlerContext().alloc() : allocator));
             } else {
                 // the expectation is that the GremlinTextRequestDecoder will have placed a MessageTextSerializer
                 // instance on the channel.
                 final MessageTextSerializer<?> textSerializer = (MessageTextSerializer<?>) serializer;
                 return new Frame(textSerializer.serializeResponseAsString(ResponseMessage.build(msg)
                         .code(code)
-                        .statusAttributes(statusAttributes)
+                        .statusAttributes(attributes)
                         .responseMetaData(responseMetaData)
                         .result(aggregate).create()));
             }
@@ -308,6 +338,8 @@ public abstract class AbstractOpProcessor implements OpProcessor {
                     .code(ResponseStatusCode.SERVER_ERROR_SERIALIZATION).create();
             ctx.writeAndFlush(error);
             throw ex;
+        } finally {
+            trace.record(RequestTrace.Phase.SERIALIZE, serializeMark);
         }
     }
 
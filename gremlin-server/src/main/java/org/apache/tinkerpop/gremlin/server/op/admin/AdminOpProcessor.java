@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.admin;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.OpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
+import org.apache.tinkerpop.gremlin.server.trace.SlowQuery;
+import org.apache.tinkerpop.gremlin.server.trace.SlowQueryLog;
+import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link OpProcessor} for requests that report on the state of Gremlin Server rather than query a graph. It
+ * answers {@link Tokens#OPS_SLOW_QUERIES} with the entries of the {@link SlowQueryLog}.
+ */
+public class AdminOpProcessor implements OpProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(AdminOpProcessor.class);
+    public static final String OP_PROCESSOR_NAME = "admin";
+
+    @Override
+    public String getName() {
+        return OP_PROCESSOR_NAME;
+    }
+
+    @Override
+    public void close() throws Exception {
+        // do nothing = no resources to release
+    }
+
+    @Override
+    public ThrowingConsumer<Context> select(final Context context) throws OpProcessorException {
+        final RequestMessage message = context.getRequestMessage();
+        logger.debug("Selecting processor for RequestMessage {}", message);
+
+        switch (message.getOp()) {
+            case Tokens.OPS_SLOW_QUERIES:
+                return ctx -> ctx.writeAndFlush(slowQueries(ctx.getRequestMessage()));
+            case Tokens.OPS_INVALID:
+                final String msgInvalid = String.format("Message could not be parsed.  Check the format of the request. [%s]", message);
+                throw new OpProcessorException(msgInvalid, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_MALFORMED_REQUEST).statusMessage(msgInvalid).create());
+            default:
+                final String msgDefault = String.format("Message with op code [%s] is not recognized.", message.getOp());
+                throw new OpProcessorException(msgDefault, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_MALFORMED_REQUEST).statusMessage(msgDefault).create());
+        }
+    }
+
+    /**
+     * Builds the response to a {@link Tokens#OPS_SLOW_QUERIES} request, which holds an entry for each of the slow
+     * requests in the {@link SlowQueryLog}, the most recent first.
+     */
+    public static ResponseMessage slowQueries(final RequestMessage msg) {
+        final List<SlowQuery> slowQueries = RequestTrace.getSlowQueryLog().map(SlowQueryLog::getSlowQueries).orElse(Collections.emptyList());
+        if (slowQueries.isEmpty())
+            return ResponseMessage.build(msg).code(ResponseStatusCode.NO_CONTENT).create();
+
+        final List<Map<String, Object>> entries = new ArrayList<>(slowQueries.size());
+        for (final SlowQuery slowQuery : slowQueries) {
+            entries.add(slowQuery.asMap());
+        }
+        return ResponseMessage.build(msg).code(ResponseStatusCode.SUCCESS).result(entries).create();
+    }
+}
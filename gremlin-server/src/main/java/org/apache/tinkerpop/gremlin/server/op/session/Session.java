@@ -269,5 +269,6 @@ public class Session {
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
         MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "session", session, "class-cache");
+        MetricManager.INSTANCE.registerTraversalCacheMetrics(engine, engineName, "session", session, "traversal-cache");
     }
 }
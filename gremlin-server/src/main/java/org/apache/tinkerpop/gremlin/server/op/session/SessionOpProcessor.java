@@ -40,9 +40,14 @@ import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
+import org.apache.tinkerpop.gremlin.server.util.FrameBufferAllocator;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.ResultBatchSizer;
+import org.apache.tinkerpop.gremlin.server.util.ResultCache;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
@@ -392,6 +397,8 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                             .statusAttributeException(ex).create());
         }
 
+        context.getTrace().lap(RequestTrace.Phase.EVALUATE);
+
         if (settings.enableAuditLog) {
             AuthenticatedUser user = context.getChannelHandlerContext().channel().attr(StateKey.AUTHENTICATED_USER).get();
             if (null == user) {    // This is expected when using the AllowAllAuthenticator
@@ -405,15 +412,21 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
         // todo: timer matter???
         // final Timer.Context timerContext = traversalOpTimer.time();
 
+        final boolean hasLambdas = ResultCache.hasLambdas(bytecode);
+        final boolean readOnly = !hasLambdas && ResultCache.isReadOnly(traversal);
+
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
             final Graph graph = g.getGraph();
+            context.getTrace().lap(RequestTrace.Phase.QUEUE);
 
             try {
                 beforeProcessing(graph, context);
 
                 try {
                     // compile the traversal - without it getEndStep() has nothing in it
+                    context.getTrace().profile(traversal);
                     traversal.applyStrategies();
+                    context.getTrace().lap(RequestTrace.Phase.STRATEGIES);
                     handleIterator(context, new TraverserIterator(traversal), graph);
                 } catch (Exception ex) {
                     Throwable t = ex;
@@ -477,6 +490,10 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
             } finally {
                 // todo: timer matter???
                 //timerContext.stop();
+
+                // changes of a graph without transactions are visible at once and lambdas may change any graph
+                if (hasLambdas) ResultCache.invalidateAll();
+                else if (!readOnly) ResultCache.invalidate(graph);
             }
 
             return null;
@@ -508,10 +525,12 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                 submitToGremlinExecutor(context, 0, session, new FutureTask<>(() -> {
                     try {
                         if (graph.tx().isOpen()) {
-                            if (commit)
+                            if (commit) {
                                 graph.tx().commit();
-                            else
+                                ResultCache.invalidate(graph);
+                            } else {
                                 graph.tx().rollback();
+                            }
                         }
 
                         // write back a no-op for success
@@ -594,15 +613,16 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
             onTraversalSuccess(graph, context);
             context.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
-                    .statusAttributes(attributes)
+                    .statusAttributes(context.getTrace().attach(attributes))
                     .create());
             return;
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request or otherwise adapts to the serialized size of the results
+        // when a target frame size is configured
+        final ResultBatchSizer batchSizer = ResultBatchSizer.of(settings, msg);
+        final FrameBufferAllocator frameAllocator = FrameBufferAllocator.of(settings, nettyContext.alloc());
+        List<Object> aggregate = new ArrayList<>(batchSizer.getBatchSize());
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
@@ -629,7 +649,9 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
             // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
             // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
             // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            final long iterateMark = context.getTrace().mark();
+            if (aggregate.size() < batchSizer.getBatchSize() && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            context.getTrace().record(RequestTrace.Phase.ITERATE, iterateMark);
 
             // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
             // not active, and hence we should break the loop.
@@ -647,7 +669,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
             // already given up on these requests. This leads to these executors waiting for the client to consume
             // results till the timeout. checking for isActive() should help prevent that.
             if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                if (forceFlush || aggregate.size() >= batchSizer.getBatchSize() || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
 
                     // serialize here because in sessionless requests the serialization must occur in the same
@@ -658,7 +680,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                     Frame frame = null;
                     try {
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
-                                metadata, statusAttrb);
+                                metadata, statusAttrb, frameAllocator.expect(aggregate.size()));
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -670,6 +692,9 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                         break;
                     }
 
+                    batchSizer.observe(aggregate.size(), frame);
+                    frameAllocator.observe(aggregate.size(), frame);
+
                     // track whether there is anything left in the iterator because it needs to be accessed after
                     // the transaction could be closed - in that case a call to hasNext() could open a new transaction
                     // unintentionally
@@ -678,7 +703,7 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                     try {
                         // only need to reset the aggregation list if there's more stuff to write
                         if (hasMore)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                            aggregate = new ArrayList<>(batchSizer.getBatchSize());
                         else {
                             // iteration and serialization are both complete which means this finished successfully. note that
                             // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
@@ -710,8 +735,9 @@ public class SessionOpProcessor extends AbstractEvalOpProcessor {
                 }
 
                 // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // this isn't blocking the IO thread - just a worker, which the WritabilityHandler wakes as soon as
+                // the channel drains rather than leaving it to poll.
+                WritabilityHandler.awaitWritable(nettyContext.channel(), 100);
             }
         }
     }
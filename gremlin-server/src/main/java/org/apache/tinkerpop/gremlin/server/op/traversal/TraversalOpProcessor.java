@@ -40,9 +40,15 @@ import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.handler.Frame;
 import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.server.handler.WritabilityHandler;
 import org.apache.tinkerpop.gremlin.server.op.AbstractOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.OpProcessorException;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
+import org.apache.tinkerpop.gremlin.server.util.FrameBufferAllocator;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.PreparedTraversalCache;
+import org.apache.tinkerpop.gremlin.server.util.ResultCache;
+import org.apache.tinkerpop.gremlin.server.util.ResultBatchSizer;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.TemporaryException;
@@ -55,10 +61,12 @@ import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionException;
@@ -79,10 +87,33 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
+    private PreparedTraversalCache preparedTraversalCache = new PreparedTraversalCache(0);
+    private ResultCache resultCache = new ResultCache(0, 0, 0);
+
     public TraversalOpProcessor() {
         super(false);
     }
 
+    @Override
+    public void init(final Settings settings) {
+        this.preparedTraversalCache = new PreparedTraversalCache(settings.maxPreparedTraversals);
+        this.resultCache = new ResultCache(settings);
+    }
+
+    /**
+     * Gets the traversals prepared on this processor.
+     */
+    public PreparedTraversalCache getPreparedTraversalCache() {
+        return preparedTraversalCache;
+    }
+
+    /**
+     * Gets the results of read-only traversals held by this processor.
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
     @Override
     public String getName() {
         return OP_PROCESSOR_NAME;
@@ -90,7 +121,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
     @Override
     public void close() throws Exception {
-        // do nothing = no resources to release
+        preparedTraversalCache.clear();
+        resultCache.clear();
     }
 
     @Override
@@ -101,8 +133,20 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final ThrowingConsumer<Context> op;
         switch (message.getOp()) {
             case Tokens.OPS_BYTECODE:
+                if (PreparedTraversalCache.isPreparedRequest(message)) {
+                    // the rest of the request is processed as if it had supplied the bytecode itself
+                    final RequestMessage resolved = resolvePreparedTraversal(context);
+                    validateTraversalSourceAlias(context, resolved, validateTraversalRequest(resolved));
+                    op = ctx -> iterateBytecodeTraversal(new Context(resolved, ctx.getChannelHandlerContext(),
+                            ctx.getSettings(), ctx.getGraphManager(), ctx.getGremlinExecutor(), ctx.getScheduledExecutorService()));
+                } else {
+                    validateTraversalSourceAlias(context, message, validateTraversalRequest(message));
+                    op = this::iterateBytecodeTraversal;
+                }
+                break;
+            case Tokens.OPS_PREPARE:
                 validateTraversalSourceAlias(context, message, validateTraversalRequest(message));
-                op = this::iterateBytecodeTraversal;
+                op = this::prepareBytecodeTraversal;
                 break;
             case Tokens.OPS_INVALID:
                 final String msgInvalid = String.format("Message could not be parsed.  Check the format of the request. [%s]", message);
@@ -115,6 +159,30 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         return op;
     }
 
+    private RequestMessage resolvePreparedTraversal(final Context context) throws OpProcessorException {
+        final RequestMessage message = context.getRequestMessage();
+        try {
+            return preparedTraversalCache.resolve(message, PreparedTraversalCache.getUserName(context.getChannelHandlerContext()));
+        } catch (IllegalArgumentException iae) {
+            throw new OpProcessorException(iae.getMessage(), ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(iae.getMessage()).create());
+        }
+    }
+
+    private void prepareBytecodeTraversal(final Context context) throws OpProcessorException {
+        final RequestMessage msg = context.getRequestMessage();
+        final Map<String, String> aliases = (Map<String, String>) msg.optionalArgs(Tokens.ARGS_ALIASES).get();
+        final TraversalSource g = context.getGraphManager().getTraversalSource(aliases.values().iterator().next());
+
+        final UUID handle;
+        try {
+            handle = preparedTraversalCache.prepare(msg, g, PreparedTraversalCache.getUserName(context.getChannelHandlerContext()));
+        } catch (IllegalArgumentException iae) {
+            throw new OpProcessorException(iae.getMessage(), ResponseMessage.build(msg).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(iae.getMessage()).create());
+        }
+
+        context.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SUCCESS).result(Collections.singletonList(handle)).create());
+    }
+
     private static void validateTraversalSourceAlias(final Context ctx, final RequestMessage message, final Map<String, String> aliases) throws OpProcessorException {
         final String traversalSourceBindingForAlias = aliases.values().iterator().next();
         if (!ctx.getGraphManager().getTraversalSourceNames().contains(traversalSourceBindingForAlias)) {
@@ -125,14 +193,14 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
     private static Map<String, String> validateTraversalRequest(final RequestMessage message) throws OpProcessorException {
         if (!message.optionalArgs(Tokens.ARGS_GREMLIN).isPresent()) {
-            final String msg = String.format("A message with [%s] op code requires a [%s] argument.", Tokens.OPS_BYTECODE, Tokens.ARGS_GREMLIN);
+            final String msg = String.format("A message with [%s] op code requires a [%s] argument.", message.getOp(), Tokens.ARGS_GREMLIN);
             throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
         }
 
         // matches functionality in the UnifiedHandler
         if (!(message.optionalArgs(Tokens.ARGS_GREMLIN).get() instanceof Bytecode)) {
             final String msg = String.format("A message with [%s] op code requires a [%s] argument that is of type %s.",
-                    Tokens.OPS_BYTECODE, Tokens.ARGS_GREMLIN, Bytecode.class.getSimpleName());
+                    message.getOp(), Tokens.ARGS_GREMLIN, Bytecode.class.getSimpleName());
             throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
         }
 
@@ -142,13 +210,13 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     private static Optional<Map<String, String>> validatedAliases(final RequestMessage message) throws OpProcessorException {
         final Optional<Map<String, String>> aliases = message.optionalArgs(Tokens.ARGS_ALIASES);
         if (!aliases.isPresent()) {
-            final String msg = String.format("A message with [%s] op code requires a [%s] argument.", Tokens.OPS_BYTECODE, Tokens.ARGS_ALIASES);
+            final String msg = String.format("A message with [%s] op code requires a [%s] argument.", message.getOp(), Tokens.ARGS_ALIASES);
             throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
         }
 
         if (aliases.get().size() != 1 || !aliases.get().containsKey(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS)) {
             final String msg = String.format("A message with [%s] op code requires the [%s] argument to be a Map containing one alias assignment named '%s'.",
-                    Tokens.OPS_BYTECODE, Tokens.ARGS_ALIASES, Tokens.VAL_TRAVERSAL_SOURCE_ALIAS);
+                    message.getOp(), Tokens.ARGS_ALIASES, Tokens.VAL_TRAVERSAL_SOURCE_ALIAS);
             throw new OpProcessorException(msg, ResponseMessage.build(message).code(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS).statusMessage(msg).create());
         }
 
@@ -179,8 +247,13 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         final Traversal.Admin<?, ?> traversal;
         try {
+            // a prepared traversal that is not to be profiled can skip the strategies it was already given
+            final Optional<Traversal.Admin<?, ?>> strategized = context.getTrace().isProfileSampled() ?
+                    Optional.empty() : preparedTraversalCache.getStrategizedTraversal(msg, g);
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
+            if (strategized.isPresent())
+                traversal = strategized.get();
+            else if (!lambdaLanguage.isPresent())
                 traversal = JavaTranslator.of(g).translate(bytecode);
             else
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
@@ -197,6 +270,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                             .statusMessage(ex.getMessage())
                             .statusAttributeException(ex).create());
         }
+        context.getTrace().lap(RequestTrace.Phase.EVALUATE);
+
         if (settings.enableAuditLog) {
             AuthenticatedUser user = context.getChannelHandlerContext().channel().attr(StateKey.AUTHENTICATED_USER).get();
             if (null == user) {    // This is expected when using the AllowAllAuthenticator
@@ -207,17 +282,33 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             auditLogger.info("User {} with address {} requested: {}", user.getName(), address, bytecode);
         }
 
+        // the key captures the version of the graph before the traversal executes
+        final Optional<List<Object>> cacheKey = resultCache.keyOf(msg, traversalSourceName, g.getGraph(), bytecode);
+        final boolean hasLambdas = ResultCache.hasLambdas(bytecode);
+        final boolean readOnly = !hasLambdas && ResultCache.isReadOnly(traversal);
+
         final Timer.Context timerContext = traversalOpTimer.time();
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
             final Graph graph = g.getGraph();
+            context.getTrace().lap(RequestTrace.Phase.QUEUE);
 
             try {
                 beforeProcessing(graph, context);
 
                 try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
-                    handleIterator(context, new TraverserIterator(traversal), graph);
+                    final Optional<Iterator<?>> cached = cacheKey.flatMap(resultCache::get);
+                    if (cached.isPresent()) {
+                        handleIterator(context, cached.get(), graph);
+                    } else {
+                        // compile the traversal - without it getEndStep() has nothing in it
+                        if (!traversal.isLocked()) {
+                            context.getTrace().profile(traversal);
+                            traversal.applyStrategies();
+                        }
+                        context.getTrace().lap(RequestTrace.Phase.STRATEGIES);
+                        final Iterator<?> itty = new TraverserIterator(traversal);
+                        handleIterator(context, cacheKey.isPresent() ? resultCache.record(cacheKey.get(), traversal, itty) : itty, graph);
+                    }
                 } catch (Exception ex) {
                     Throwable t = ex;
                     if (ex instanceof UndeclaredThrowableException)
@@ -279,6 +370,10 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 onError(graph, context);
             } finally {
                 timerContext.stop();
+
+                // any change is committed or rolled back by now and lambdas may change any graph
+                if (hasLambdas) ResultCache.invalidateAll();
+                else if (!readOnly) ResultCache.invalidate(graph);
             }
 
             return null;
@@ -325,15 +420,16 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             onTraversalSuccess(graph, context);
             context.writeAndFlush(ResponseMessage.build(msg)
                     .code(ResponseStatusCode.NO_CONTENT)
-                    .statusAttributes(attributes)
+                    .statusAttributes(context.getTrace().attach(attributes))
                     .create());
             return;
         }
 
-        // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalArgs(Tokens.ARGS_BATCH_SIZE)
-                .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        // the batch size can be overridden by the request or otherwise adapts to the serialized size of the results
+        // when a target frame size is configured
+        final ResultBatchSizer batchSizer = ResultBatchSizer.of(settings, msg);
+        final FrameBufferAllocator frameAllocator = FrameBufferAllocator.of(settings, nettyContext.alloc());
+        List<Object> aggregate = new ArrayList<>(batchSizer.getBatchSize());
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
@@ -360,7 +456,9 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
             // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
             // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            final long iterateMark = context.getTrace().mark();
+            if (aggregate.size() < batchSizer.getBatchSize() && itty.hasNext() && !forceFlush) aggregate.add(itty.next());
+            context.getTrace().record(RequestTrace.Phase.ITERATE, iterateMark);
 
             // Don't keep executor busy if client has already given up; there is no way to catch up if the channel is
             // not active, and hence we should break the loop.
@@ -378,7 +476,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
             // already given up on these requests. This leads to these executors waiting for the client to consume
             // results till the timeout. checking for isActive() should help prevent that.
             if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (forceFlush || aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                if (forceFlush || aggregate.size() >= batchSizer.getBatchSize() || !itty.hasNext()) {
                     final ResponseStatusCode code = itty.hasNext() ? ResponseStatusCode.PARTIAL_CONTENT : ResponseStatusCode.SUCCESS;
 
                     // serialize here because in sessionless requests the serialization must occur in the same
@@ -389,7 +487,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     Frame frame = null;
                     try {
                         frame = makeFrame(context, msg, serializer, useBinary, aggregate, code,
-                                          metadata, statusAttrb);
+                                          metadata, statusAttrb, frameAllocator.expect(aggregate.size()));
                     } catch (Exception ex) {
                         // a frame may use a Bytebuf which is a countable release - if it does not get written
                         // downstream it needs to be released here
@@ -401,6 +499,9 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                         break;
                     }
 
+                    batchSizer.observe(aggregate.size(), frame);
+                    frameAllocator.observe(aggregate.size(), frame);
+
                     // track whether there is anything left in the iterator because it needs to be accessed after
                     // the transaction could be closed - in that case a call to hasNext() could open a new transaction
                     // unintentionally
@@ -409,7 +510,7 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     try {
                         // only need to reset the aggregation list if there's more stuff to write
                         if (hasMore)
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                            aggregate = new ArrayList<>(batchSizer.getBatchSize());
                         else {
                             // iteration and serialization are both complete which means this finished successfully. note that
                             // errors internal to script eval or timeout will rollback given GremlinServer's global configurations.
@@ -441,8 +542,9 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 }
 
                 // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+                // this isn't blocking the IO thread - just a worker, which the WritabilityHandler wakes as soon as
+                // the channel drains rather than leaving it to poll.
+                WritabilityHandler.awaitWritable(nettyContext.channel(), 100);
             }
         }
     }
@@ -0,0 +1,474 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.op.OpLoader;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.StepMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records the time in nanoseconds that a request spends in each {@link Phase} of its processing on the server. A
+ * request is traced when it carries a {@link Tokens#ARGS_TRACE_ID}, in which case the phases are returned in the
+ * {@link Tokens#STATUS_ATTRIBUTE_TRACE} status attribute of the final response, added to the {@link MetricManager}
+ * and handed to the configured {@link TraceSink}. When {@link Settings#requestMetrics} is enabled every request is
+ * timed in the same way, without being returned or handed to the sink, so that the {@link MetricManager} can break
+ * latency down by op, traversal source and serializer. So that a client cannot create metrics at will, ops that are not
+ * known to the server, processors that are not loaded and traversal sources that are not hosted are recorded under
+ * {@link #OTHER}. When a {@link SlowQueryLog} is configured every request is
+ * timed so that the slow ones can be added to it. Otherwise requests that are not traced share a disabled instance
+ * on which all calls are no-ops, so the instrumentation costs nothing more than a field read for them.
+ * <p/>
+ * A trace is mostly recorded by one thread at a time as a request is handed from the worker that received it to the
+ * thread that evaluates it, but a request that times out is finished by the scheduler while its evaluation may still
+ * be recording. An enabled trace therefore guards its state with its own monitor, which is uncontended in the common
+ * case, and ignores anything recorded once it is finished. The disabled instance is shared and never locks.
+ */
+public final class RequestTrace {
+    private static final Logger logger = LoggerFactory.getLogger(RequestTrace.class);
+
+    /**
+     * The name that the metrics of unknown ops, processors and traversal sources are recorded under.
+     */
+    public static final String OTHER = "other";
+
+    private static final Set<String> KNOWN_OPS = new HashSet<>(Arrays.asList(Tokens.OPS_AUTHENTICATION, Tokens.OPS_BATCH,
+            Tokens.OPS_BYTECODE, Tokens.OPS_CLOSE, Tokens.OPS_EVAL, Tokens.OPS_INVALID, Tokens.OPS_PREPARE,
+            Tokens.OPS_SLOW_QUERIES));
+
+    private static final RequestTrace DISABLED = new RequestTrace(RequestMessage.INVALID, null, false, null, null, null);
+
+    private static volatile TraceSink sink = null;
+    private static volatile SlowQueryLog slowQueryLog = null;
+    private static volatile double stepMetricsSampleRate = 0;
+
+    /**
+     * The phases of processing that are recorded for a request.
+     */
+    public enum Phase {
+        /**
+         * Time from the request being read off the channel until a thread starts to process it.
+         */
+        QUEUE("queue"),
+
+        /**
+         * Time spent evaluating a script, which includes its compilation, or translating bytecode to a traversal.
+         */
+        EVALUATE("evaluate"),
+
+        /**
+         * Time spent applying traversal strategies.
+         */
+        STRATEGIES("strategies"),
+
+        /**
+         * Time spent iterating results.
+         */
+        ITERATE("iterate"),
+
+        /**
+         * Time spent serializing responses.
+         */
+        SERIALIZE("serialize");
+
+        private final String key;
+
+        Phase(final String key) {
+            this.key = key;
+        }
+
+        /**
+         * The key of the phase in the trace status attribute and in the name of its metric.
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final RequestMessage msg;
+    private final UUID requestId;
+    private final String traceId;
+    private final boolean traced;
+    private final boolean requestMetrics;
+    private final boolean enabled;
+    private final String op;
+    private final String traversalSource;
+    private final GraphManager graphManager;
+    private final String serializer;
+    private final SlowQueryLog slowQueries;
+    private final long created;
+    private final long[] elapsed = new long[Phase.values().length];
+    private long last;
+    private long total = -1;
+    private long results = 0;
+    private ResponseStatusCode statusCode;
+    private Traversal.Admin<?, ?> profiled;
+    private Boolean profileSampled;
+
+    private RequestTrace(final RequestMessage msg, final String traceId, final boolean requestMetrics,
+                         final String serializer, final GraphManager graphManager, final SlowQueryLog slowQueries) {
+        this.msg = msg;
+        this.requestId = msg.getRequestId();
+        this.traceId = traceId;
+        this.traced = traceId != null;
+        this.requestMetrics = requestMetrics;
+        this.slowQueries = slowQueries;
+        this.enabled = traced || requestMetrics || slowQueries != null;
+        this.op = name(null == msg.getProcessor() || msg.getProcessor().isEmpty() ? "standard" : msg.getProcessor(), msg.getOp());
+        this.traversalSource = traversalSourceOf(msg);
+        this.graphManager = graphManager;
+        this.serializer = serializer;
+        this.created = enabled ? System.nanoTime() : 0;
+        this.last = created;
+    }
+
+    /**
+     * Starts a trace for the request if it carries a {@link Tokens#ARGS_TRACE_ID} and otherwise returns a disabled
+     * trace.
+     */
+    public static RequestTrace of(final RequestMessage msg) {
+        return of(msg, false, null, null);
+    }
+
+    /**
+     * Starts a trace for the request if it carries a {@link Tokens#ARGS_TRACE_ID}, if {@code requestMetrics} are
+     * enabled or if a {@link SlowQueryLog} is configured and otherwise returns a disabled trace.
+     *
+     * @param serializer the name under which the time spent serializing the responses is recorded, which may be
+     *                   {@code null} if it is not known
+     * @param graphManager the {@link GraphManager} of the server whose traversal sources are the ones recorded by
+     *                     name, which may be {@code null} to record all of them under {@link #OTHER}
+     */
+    public static RequestTrace of(final RequestMessage msg, final boolean requestMetrics, final String serializer,
+                                  final GraphManager graphManager) {
+        final Object traceId = msg.getArgs().get(Tokens.ARGS_TRACE_ID);
+        final SlowQueryLog slowQueries = slowQueryLog;
+        return null == traceId && !requestMetrics && null == slowQueries ?
+                DISABLED : new RequestTrace(msg, null == traceId ? null : traceId.toString(), requestMetrics, serializer,
+                graphManager, slowQueries);
+    }
+
+    /**
+     * Sets the {@link TraceSink} that completed traces are handed to or {@code null} to only return them to the
+     * client and record them as metrics.
+     */
+    public static void setSink(final TraceSink traceSink) {
+        sink = traceSink;
+    }
+
+    /**
+     * Sets the {@link SlowQueryLog} that requests slower than its threshold are added to or {@code null} to not keep
+     * track of slow requests.
+     */
+    public static void setSlowQueryLog(final SlowQueryLog log) {
+        slowQueryLog = log;
+    }
+
+    /**
+     * Sets the fraction of traversals profiled for the {@link SlowQueryLog} whose {@link TraversalMetrics} are added
+     * to the {@link StepMetrics} once their request is finished, as given by {@link Settings#stepMetricsSampleRate}.
+     */
+    public static void setStepMetricsSampleRate(final double sampleRate) {
+        stepMetricsSampleRate = sampleRate;
+    }
+
+    /**
+     * Gets the {@link SlowQueryLog} if one is configured.
+     */
+    public static Optional<SlowQueryLog> getSlowQueryLog() {
+        return Optional.ofNullable(slowQueryLog);
+    }
+
+    /**
+     * Determines if the phases are being recorded for this request.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Determines if the request carries a {@link Tokens#ARGS_TRACE_ID}, in which case the trace is returned to the
+     * client and handed to the {@link TraceSink}.
+     */
+    public boolean isTraced() {
+        return traced;
+    }
+
+    public UUID getRequestId() {
+        return requestId;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Gets the status code of the final response or {@code null} if it has not been written.
+     */
+    public synchronized ResponseStatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the number of results written back for the request.
+     */
+    public synchronized long getResults() {
+        return results;
+    }
+
+    /**
+     * Gets the nanoseconds recorded for a phase.
+     */
+    public synchronized long getElapsed(final Phase phase) {
+        return elapsed[phase.ordinal()];
+    }
+
+    /**
+     * Gets the nanoseconds from the request being read until its final response was written or, if that has not
+     * happened yet, until now.
+     */
+    public synchronized long getTotal() {
+        return total >= 0 ? total : System.nanoTime() - created;
+    }
+
+    /**
+     * Adds the time since the previous lap, or since the request was read for the first lap, to the phase. Use it
+     * for phases that follow one another.
+     */
+    public void lap(final Phase phase) {
+        if (!enabled) return;
+        final long now = System.nanoTime();
+        synchronized (this) {
+            if (isFinished()) return;
+            elapsed[phase.ordinal()] += now - last;
+            last = now;
+        }
+    }
+
+    /**
+     * Gets a timestamp to later pass to {@link #record(Phase, long)}. Use it for phases that interleave, like
+     * iteration and serialization.
+     */
+    public long mark() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since the {@code mark} to the phase.
+     */
+    public void record(final Phase phase, final long mark) {
+        if (!enabled) return;
+        final long now = System.nanoTime();
+        synchronized (this) {
+            if (isFinished()) return;
+            elapsed[phase.ordinal()] += now - mark;
+            last = now;
+        }
+    }
+
+    /**
+     * Counts results that were serialized into a response.
+     */
+    public void addResults(final int count) {
+        if (!enabled) return;
+        synchronized (this) {
+            if (!isFinished()) results += count;
+        }
+    }
+
+    /**
+     * Determines if a {@link SlowQueryLog} is configured and samples the request to have its traversal profiled,
+     * which is decided once for each request. A request that is not sampled may be given a traversal whose strategies
+     * were already applied.
+     */
+    public boolean isProfileSampled() {
+        if (null == slowQueries) return false;
+        synchronized (this) {
+            if (null == profileSampled)
+                profileSampled = slowQueries.sample();
+            return profileSampled;
+        }
+    }
+
+    /**
+     * Profiles a traversal whose strategies have not yet been applied if the request is sampled, so that its
+     * {@link TraversalMetrics} are kept should the request turn out to be slow.
+     */
+    public void profile(final Traversal.Admin<?, ?> traversal) {
+        if (isProfileSampled() && slowQueries.profile(traversal)) {
+            synchronized (this) {
+                profiled = traversal;
+            }
+        }
+    }
+
+    /**
+     * Gets the trace id, the nanoseconds of each phase and the total nanoseconds so far.
+     */
+    public synchronized Map<String, Object> asMap() {
+        final Map<String, Object> m = new LinkedHashMap<>();
+        m.put(Tokens.ARGS_TRACE_ID, traceId);
+        for (final Phase phase : Phase.values()) {
+            m.put(phase.getKey(), elapsed[phase.ordinal()]);
+        }
+        m.put("total", getTotal());
+        return m;
+    }
+
+    /**
+     * Adds the trace to the status attributes of a final response, returning them unchanged when tracing is not
+     * enabled.
+     */
+    public Map<String, Object> attach(final Map<String, Object> statusAttributes) {
+        if (!traced) return statusAttributes;
+        final Map<String, Object> attributes = new HashMap<>(statusAttributes);
+        attributes.put(Tokens.STATUS_ATTRIBUTE_TRACE, asMap());
+        return attributes;
+    }
+
+    /**
+     * Completes the trace once the final response is written, recording it to the {@link MetricManager} and handing
+     * it to the {@link TraceSink} if the request was traced. Only the first call completes the trace and whatever is
+     * recorded after it is ignored, so that a request finished on timeout is not counted again by its evaluation.
+     */
+    public void finish(final ResponseStatusCode code) {
+        if (!enabled) return;
+        final long total;
+        final long[] elapsed;
+        final long results;
+        synchronized (this) {
+            if (isFinished()) return;
+            this.total = System.nanoTime() - created;
+            this.statusCode = code;
+            total = this.total;
+            elapsed = this.elapsed.clone();
+            results = this.results;
+        }
+
+        final MetricManager metrics = MetricManager.INSTANCE;
+        if (requestMetrics) {
+            final long queue = elapsed[Phase.QUEUE.ordinal()];
+            metrics.getTimer(name(GremlinServer.class, "requests", "op", opMetricName())).update(total, TimeUnit.NANOSECONDS);
+            if (traversalSource != null)
+                metrics.getTimer(name(GremlinServer.class, "requests", "source", traversalSourceMetricName())).update(total, TimeUnit.NANOSECONDS);
+            if (serializer != null)
+                metrics.getTimer(name(GremlinServer.class, "requests", "serializer", serializer)).update(elapsed[Phase.SERIALIZE.ordinal()], TimeUnit.NANOSECONDS);
+            metrics.getTimer(name(GremlinServer.class, "requests", "queue")).update(queue, TimeUnit.NANOSECONDS);
+            metrics.getTimer(name(GremlinServer.class, "requests", "execution")).update(total - queue, TimeUnit.NANOSECONDS);
+            metrics.getHistogram(name(GremlinServer.class, "requests", "results")).update(results);
+        }
+
+        final TraversalMetrics profiledMetrics = profiledMetrics();
+        if (profiledMetrics != null)
+            StepMetrics.recordSampled(profiledMetrics, stepMetricsSampleRate);
+
+        if (slowQueries != null && slowQueries.isSlow(total)) {
+            slowQueries.add(SlowQuery.of(this, msg, op, traversalSource, profiledMetrics));
+            metrics.getMeter(name(GremlinServer.class, "slow-queries")).mark();
+        }
+
+        if (!traced) return;
+
+        for (final Phase phase : Phase.values()) {
+            metrics.getTimer(name(GremlinServer.class, "trace", phase.getKey())).update(elapsed[phase.ordinal()], TimeUnit.NANOSECONDS);
+        }
+        metrics.getTimer(name(GremlinServer.class, "trace", "total")).update(total, TimeUnit.NANOSECONDS);
+
+        final TraceSink traceSink = sink;
+        if (traceSink != null) {
+            try {
+                traceSink.record(this);
+            } catch (Exception ex) {
+                logger.warn(String.format("TraceSink %s failed to record the trace of request %s",
+                        traceSink.getClass().getName(), requestId), ex);
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the op for its metric, replacing a processor that is not loaded or an op that is not known
+     * with {@link #OTHER}.
+     */
+    private String opMetricName() {
+        final String processor = null == msg.getProcessor() ? "" : msg.getProcessor();
+        return name(OpLoader.getProcessor(processor).isPresent() ? (processor.isEmpty() ? "standard" : processor) : OTHER,
+                KNOWN_OPS.contains(msg.getOp()) ? msg.getOp() : OTHER);
+    }
+
+    /**
+     * Gets the name of the traversal source for its metric, replacing one that is not hosted with {@link #OTHER}.
+     */
+    private String traversalSourceMetricName() {
+        return graphManager != null && graphManager.getTraversalSourceNames().contains(traversalSource) ?
+                traversalSource : OTHER;
+    }
+
+    /**
+     * Determines if {@link #finish(ResponseStatusCode)} completed the trace, which must be called holding its monitor.
+     */
+    private boolean isFinished() {
+        return total >= 0;
+    }
+
+    /**
+     * Gets the metrics of the profiled traversal, which are only complete once it was fully iterated.
+     */
+    private TraversalMetrics profiledMetrics() {
+        final Traversal.Admin<?, ?> profiled;
+        synchronized (this) {
+            profiled = this.profiled;
+        }
+        if (null == profiled) return null;
+        final Object m = profiled.getSideEffects().exists(SlowQueryLog.METRICS_KEY) ?
+                profiled.getSideEffects().get(SlowQueryLog.METRICS_KEY) : null;
+        return m instanceof DefaultTraversalMetrics && ((DefaultTraversalMetrics) m).isFinalized() ? (TraversalMetrics) m : null;
+    }
+
+    /**
+     * Gets the traversal source a request is made against, which is only known when it aliases exactly one.
+     */
+    private static String traversalSourceOf(final RequestMessage msg) {
+        final Object aliases = msg.getArgs().get(Tokens.ARGS_ALIASES);
+        if (!(aliases instanceof Map) || ((Map<?, ?>) aliases).size() != 1) return null;
+        final Object source = ((Map<?, ?>) aliases).values().iterator().next();
+        return null == source ? null : source.toString();
+    }
+}
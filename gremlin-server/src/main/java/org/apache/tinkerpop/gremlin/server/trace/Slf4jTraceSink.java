@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TraceSink} that writes each trace to the {@link #TRACE_LOGGER_NAME} logger at {@code INFO} level.
+ */
+public class Slf4jTraceSink implements TraceSink {
+    public static final String TRACE_LOGGER_NAME = "trace.org.apache.tinkerpop.gremlin.server";
+    private static final Logger traceLogger = LoggerFactory.getLogger(TRACE_LOGGER_NAME);
+
+    @Override
+    public void record(final RequestTrace trace) {
+        if (traceLogger.isInfoEnabled())
+            traceLogger.info("Request {} with trace {} completed with {} - {}", trace.getRequestId(), trace.getTraceId(),
+                    trace.getStatusCode(), trace.asMap());
+    }
+}
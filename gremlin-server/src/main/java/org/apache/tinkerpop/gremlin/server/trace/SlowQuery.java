@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * A request recorded to the {@link SlowQueryLog}. The query is normalized so that requests which differ only in their
+ * parameters read the same: the string and number literals of a script are replaced by {@code ?} and its whitespace
+ * is collapsed, while the literal arguments of bytecode are replaced by {@code ?}, or by the name of their binding
+ * where they have one. The parameters, which are the literals along with the bindings of a script, are only kept as a
+ * digest so that the log can tell requests with the same parameters apart without holding their values.
+ */
+public final class SlowQuery {
+
+    private final long timestamp;
+    private final UUID requestId;
+    private final String traceId;
+    private final String op;
+    private final String traversalSource;
+    private final String query;
+    private final String bindingsDigest;
+    private final Map<String, Long> phases;
+    private final int statusCode;
+    private final TraversalMetrics metrics;
+
+    private SlowQuery(final RequestTrace trace, final RequestMessage msg, final String op, final String traversalSource,
+                      final TraversalMetrics metrics) {
+        this.timestamp = System.currentTimeMillis();
+        this.requestId = trace.getRequestId();
+        this.traceId = trace.getTraceId();
+        this.op = op;
+        this.traversalSource = traversalSource;
+        this.statusCode = null == trace.getStatusCode() ? 0 : trace.getStatusCode().getValue();
+        this.metrics = metrics;
+
+        final Map<String, Long> m = new LinkedHashMap<>();
+        for (final RequestTrace.Phase phase : RequestTrace.Phase.values()) {
+            m.put(phase.getKey(), trace.getElapsed(phase));
+        }
+        m.put("total", trace.getTotal());
+        this.phases = Collections.unmodifiableMap(m);
+
+        final List<Object> parameters = new ArrayList<>();
+        final Object gremlin = msg.getArgs().get(Tokens.ARGS_GREMLIN);
+        if (gremlin instanceof Bytecode) {
+            this.query = normalize((Bytecode) gremlin, "g", parameters);
+        } else if (gremlin != null) {
+            this.query = normalize(gremlin.toString(), parameters);
+            final Object bindings = msg.getArgs().get(Tokens.ARGS_BINDINGS);
+            if (bindings instanceof Map) parameters.add(new TreeMap<>((Map<?, ?>) bindings));
+        } else {
+            this.query = null;
+        }
+        this.bindingsDigest = digest(parameters);
+    }
+
+    static SlowQuery of(final RequestTrace trace, final RequestMessage msg, final String op, final String traversalSource,
+                        final TraversalMetrics metrics) {
+        return new SlowQuery(trace, msg, op, traversalSource, metrics);
+    }
+
+    /**
+     * Gets the time in milliseconds since the epoch at which the request completed.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public UUID getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Gets the {@link Tokens#ARGS_TRACE_ID} of the request or {@code null} if it did not have one.
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * Gets the processor and op of the request joined by a dot, like {@code traversal.bytecode}.
+     */
+    public String getOp() {
+        return op;
+    }
+
+    /**
+     * Gets the traversal source the request was made against or {@code null} if it is not known.
+     */
+    public String getTraversalSource() {
+        return traversalSource;
+    }
+
+    /**
+     * Gets the normalized script or bytecode of the request or {@code null} if it had neither.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Gets a digest of the bindings of a script or of the literal arguments of bytecode.
+     */
+    public String getBindingsDigest() {
+        return bindingsDigest;
+    }
+
+    /**
+     * Gets the nanoseconds spent in each {@link RequestTrace.Phase} by key along with the {@code total}.
+     */
+    public Map<String, Long> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Gets the code of the final response.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the profile of the traversal or {@code null} if the request was not sampled to be profiled.
+     */
+    public TraversalMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the entry in the form returned by a {@link Tokens#OPS_SLOW_QUERIES} request, leaving out values that are
+     * not known.
+     */
+    public Map<String, Object> asMap() {
+        final Map<String, Object> m = new LinkedHashMap<>();
+        m.put("timestamp", timestamp);
+        m.put(Tokens.REQUEST_ID, requestId);
+        if (traceId != null) m.put(Tokens.ARGS_TRACE_ID, traceId);
+        m.put("op", op);
+        if (traversalSource != null) m.put("traversalSource", traversalSource);
+        if (query != null) m.put("query", query);
+        m.put("bindingsDigest", bindingsDigest);
+        m.put("phases", phases);
+        m.put("status", statusCode);
+        if (metrics != null) m.put("metrics", metrics);
+        return m;
+    }
+
+    static String normalize(final Bytecode bytecode, final String prefix, final List<Object> parameters) {
+        final StringBuilder sb = new StringBuilder(prefix);
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            append(sb, instruction, parameters);
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            append(sb, instruction, parameters);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Replaces the string and number literals of a script with {@code ?}, adding them to the parameters, and collapses
+     * its whitespace. Literals are found lexically, so one that is part of a comment or a GString is replaced along
+     * with its surroundings, which only makes the normalized query less readable.
+     */
+    static String normalize(final String script, final List<Object> parameters) {
+        final StringBuilder sb = new StringBuilder(script.length());
+        final int length = script.length();
+        int i = 0;
+        while (i < length) {
+            final char c = script.charAt(i);
+            if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(script.charAt(i))) i++;
+                if (sb.length() > 0 && i < length) sb.append(' ');
+            } else if (c == '\'' || c == '"') {
+                final int end = endOfString(script, i);
+                parameters.add(script.substring(i, end));
+                sb.append('?');
+                i = end;
+            } else if (Character.isDigit(c) && (sb.length() == 0 || !Character.isJavaIdentifierPart(sb.charAt(sb.length() - 1)))) {
+                final int end = endOfNumber(script, i);
+                parameters.add(script.substring(i, end));
+                sb.append('?');
+                i = end;
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the index after the string literal starting at {@code start}, which may be triple-quoted, or the length
+     * of the script if it is not closed.
+     */
+    private static int endOfString(final String script, final int start) {
+        final char quote = script.charAt(start);
+        final boolean triple = script.startsWith(new String(new char[] {quote, quote, quote}), start);
+        int i = start + (triple ? 3 : 1);
+        while (i < script.length()) {
+            final char c = script.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote && (!triple || script.startsWith(new String(new char[] {quote, quote, quote}), i))) {
+                return i + (triple ? 3 : 1);
+            } else {
+                i++;
+            }
+        }
+        return script.length();
+    }
+
+    /**
+     * Gets the index after the number literal starting at {@code start}, which covers decimals, exponents, hex
+     * digits, underscores and type suffixes but leaves a method call on the number, like {@code 1.toString()}, or a
+     * range, like {@code 1..3}, to the rest of the script.
+     */
+    private static int endOfNumber(final String script, final int start) {
+        int i = start;
+        while (i < script.length()) {
+            final char c = script.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '_') {
+                i++;
+            } else if (c == '.' && i + 1 < script.length() && Character.isDigit(script.charAt(i + 1))) {
+                i++;
+            } else if ((c == '+' || c == '-') && (script.charAt(i - 1) == 'e' || script.charAt(i - 1) == 'E') &&
+                    !script.regionMatches(true, start, "0x", 0, 2)) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static void append(final StringBuilder sb, final Bytecode.Instruction instruction, final List<Object> parameters) {
+        sb.append('.').append(instruction.getOperator()).append('(');
+        final Object[] arguments = instruction.getArguments();
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(normalize(arguments[i], parameters));
+        }
+        sb.append(')');
+    }
+
+    private static String normalize(final Object argument, final List<Object> parameters) {
+        if (argument instanceof Bytecode)
+            return normalize((Bytecode) argument, "__", parameters);
+        if (argument instanceof Traversal)
+            return normalize(((Traversal<?, ?>) argument).asAdmin().getBytecode(), "__", parameters);
+        if (argument instanceof Bytecode.Binding) {
+            parameters.add(((Bytecode.Binding<?>) argument).value());
+            return ((Bytecode.Binding<?>) argument).variable();
+        }
+        if (argument instanceof Enum)
+            return ((Enum<?>) argument).getDeclaringClass().getSimpleName() + "." + ((Enum<?>) argument).name();
+        if (argument instanceof ConnectiveP) {
+            final List<String> predicates = new ArrayList<>();
+            for (final P<?> p : ((ConnectiveP<?>) argument).getPredicates()) {
+                predicates.add(normalize(p, parameters));
+            }
+            return (argument instanceof AndP ? "and" : "or") + "(" + String.join(",", predicates) + ")";
+        }
+        if (argument instanceof P) {
+            parameters.add(((P<?>) argument).getOriginalValue());
+            return ((P<?>) argument).getBiPredicate() + "(?)";
+        }
+        if (argument instanceof TraversalStrategyProxy)
+            return ((TraversalStrategyProxy<?>) argument).getStrategyClass().getSimpleName();
+        if (argument instanceof TraversalStrategy)
+            return argument.getClass().getSimpleName();
+        if (argument instanceof Class)
+            return ((Class<?>) argument).getSimpleName();
+
+        parameters.add(argument);
+        return "?";
+    }
+
+    /**
+     * Hashes a rendering of the parameters that includes the type of each value and the content of arrays, so that
+     * parameters like {@code 1} and {@code "1"} or two arrays of different content do not share a digest.
+     */
+    static String digest(final List<Object> parameters) {
+        final StringBuilder rendered = new StringBuilder();
+        render(rendered, parameters);
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(
+                    rendered.toString().getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                sb.append(String.format("%02x", hash[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException nsae) {
+            // every jvm is required to support SHA-256
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    private static void render(final StringBuilder sb, final Object value) {
+        if (null == value) {
+            sb.append("null");
+            return;
+        }
+
+        sb.append(value.getClass().getName());
+        if (value.getClass().isArray()) {
+            sb.append('[');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                if (i > 0) sb.append(',');
+                render(sb, Array.get(value, i));
+            }
+            sb.append(']');
+        } else if (value instanceof Map) {
+            sb.append('{');
+            boolean first = true;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) sb.append(',');
+                first = false;
+                render(sb, entry.getKey());
+                sb.append('=');
+                render(sb, entry.getValue());
+            }
+            sb.append('}');
+        } else if (value instanceof Iterable) {
+            sb.append('[');
+            boolean first = true;
+            for (final Object item : (Iterable<?>) value) {
+                if (!first) sb.append(',');
+                first = false;
+                render(sb, item);
+            }
+            sb.append(']');
+        } else {
+            final String s = value.toString();
+            sb.append('(').append(s.length()).append(':').append(s).append(')');
+        }
+    }
+}
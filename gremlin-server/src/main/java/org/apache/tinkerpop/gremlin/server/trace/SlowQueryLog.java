@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the most recent requests that took longer than a threshold in a ring buffer of a fixed size, so that the
+ * oldest entry is overwritten once it is full. A sample of bytecode requests is profiled with a
+ * {@link ProfileSideEffectStep}, so that the {@link org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics}
+ * of those that turn out to be slow are kept with their entry, without paying for profiling on every request.
+ */
+public final class SlowQueryLog {
+
+    /**
+     * The side-effect key under which a sampled traversal collects its metrics.
+     */
+    static final String METRICS_KEY = Graph.Hidden.hide("gremlin.slowQuery");
+
+    private final long thresholdNanos;
+    private final double profileSampleRate;
+    private final SlowQuery[] entries;
+    private long count = 0;
+
+    /**
+     * @param threshold the time in milliseconds from a request being read until its final response is written after
+     *                  which it is considered slow
+     * @param size the number of slow requests to hold
+     * @param profileSampleRate the fraction, between 0 and 1, of bytecode requests to profile
+     */
+    public SlowQueryLog(final long threshold, final int size, final double profileSampleRate) {
+        if (threshold <= 0) throw new IllegalArgumentException("threshold must be greater than zero");
+        if (size <= 0) throw new IllegalArgumentException("size must be greater than zero");
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(threshold);
+        this.profileSampleRate = profileSampleRate;
+        this.entries = new SlowQuery[size];
+    }
+
+    /**
+     * Determines if a request that took the specified nanoseconds is slow.
+     */
+    public boolean isSlow(final long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Determines if a request is sampled to have its traversal profiled.
+     */
+    boolean sample() {
+        return profileSampleRate > 0 && (profileSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < profileSampleRate);
+    }
+
+    /**
+     * Adds a {@link ProfileSideEffectStep} to a traversal whose strategies have not yet been applied if it is not
+     * already profiled by its own {@code profile()} step.
+     *
+     * @return {@code true} if the traversal is to be profiled
+     */
+    boolean profile(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal))
+            return false;
+
+        traversal.addStep(new ProfileSideEffectStep<>(traversal, METRICS_KEY));
+        return true;
+    }
+
+    /**
+     * Adds a slow request, overwriting the oldest one if the log is full.
+     */
+    public synchronized void add(final SlowQuery slowQuery) {
+        entries[(int) (count++ % entries.length)] = slowQuery;
+    }
+
+    /**
+     * Gets the slow requests held, the most recent first.
+     */
+    public synchronized List<SlowQuery> getSlowQueries() {
+        final int size = (int) Math.min(count, entries.length);
+        final List<SlowQuery> slowQueries = new ArrayList<>(size);
+        for (long i = count - 1; i >= count - size; i--) {
+            slowQueries.add(entries[(int) (i % entries.length)]);
+        }
+        return slowQueries;
+    }
+
+    /**
+     * Removes all the slow requests held.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+        count = 0;
+    }
+}
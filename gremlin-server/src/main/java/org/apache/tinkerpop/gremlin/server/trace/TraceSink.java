@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+/**
+ * Receives the {@link RequestTrace} of each traced request once its final response has been written. Implementations
+ * are configured with {@link org.apache.tinkerpop.gremlin.server.Settings#traceSink}, must have a no-arg constructor
+ * and are called from Gremlin Server worker threads, so they should hand off any expensive work.
+ */
+public interface TraceSink {
+
+    /**
+     * Records the completed trace of a request.
+     */
+    void record(final RequestTrace trace);
+}
@@ -79,7 +79,8 @@ public class DefaultGraphManager implements GraphManager {
     }
 
     public final void putGraph(final String graphName, final Graph g) {
-        graphs.put(graphName, g);
+        final Graph replaced = graphs.put(graphName, g);
+        if (replaced != null && replaced != g) ResultCache.remove(replaced);
     }
 
     public final Set<String> getTraversalSourceNames() {
@@ -91,10 +92,13 @@ public class DefaultGraphManager implements GraphManager {
     }
 
     public final void putTraversalSource(final String tsName, final TraversalSource ts) {
-        traversalSources.put(tsName, ts);
+        final TraversalSource replaced = traversalSources.put(tsName, ts);
+        if (replaced != null && replaced != ts) ResultCache.invalidateAll();
     }
 
     public final TraversalSource removeTraversalSource(final String tsName) {
+        // results are held by the name of the traversal source, which may be given to another graph later
+        ResultCache.invalidateAll();
         return traversalSources.remove(tsName);
     }
 
@@ -162,6 +166,7 @@ public class DefaultGraphManager implements GraphManager {
      */
     public final Graph removeGraph(final String graphName) throws Exception {
         Graph graph = graphs.remove(graphName);
+        ResultCache.remove(graph);
         graph.close();
         return graph;
     }
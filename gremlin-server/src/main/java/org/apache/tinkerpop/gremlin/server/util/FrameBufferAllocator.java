@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+
+/**
+ * A {@code ByteBufAllocator} for the response messages of a single request that sizes the buffer a serializer asks
+ * for with {@link #buffer()} from the size of the messages already serialized for that request, so that a message
+ * is not reallocated and copied as it grows. A message that is expected to reach the
+ * {@link Settings#resultCompositeBufferThreshold} instead gets a {@code CompositeByteBuf} that grows by adding pooled
+ * chunks, so that none of its bytes are copied on the way to the network no matter how far it outgrows its estimate.
+ * All other allocations go straight to the underlying allocator.
+ */
+public final class FrameBufferAllocator implements ByteBufAllocator {
+
+    /**
+     * The size of the first chunk of a composite buffer never exceeds the size at which Netty stops doubling the
+     * capacity of a growing buffer.
+     */
+    static final int MAX_FIRST_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Enough components that a composite buffer is never consolidated, which would copy it into a single buffer.
+     */
+    static final int MAX_COMPONENTS = 1024;
+
+    private final ByteBufAllocator allocator;
+    private final int compositeThreshold;
+    private double bytesPerResult = -1d;
+    private int expectedSize = -1;
+
+    /**
+     * Creates an allocator that serves composite buffers for messages expected to be at least
+     * {@code compositeThreshold} bytes or that never does when the threshold is not greater than zero.
+     */
+    public FrameBufferAllocator(final ByteBufAllocator allocator, final int compositeThreshold) {
+        this.allocator = allocator;
+        this.compositeThreshold = compositeThreshold;
+    }
+
+    public static FrameBufferAllocator of(final Settings settings, final ByteBufAllocator allocator) {
+        return new FrameBufferAllocator(allocator, settings.resultCompositeBufferThreshold);
+    }
+
+    /**
+     * Prepares the allocator for a response message that holds the specified number of results.
+     */
+    public FrameBufferAllocator expect(final int results) {
+        expectedSize = bytesPerResult < 0 ? -1 : (int) Math.min(Integer.MAX_VALUE, Math.ceil(bytesPerResult * Math.max(1, results)));
+        return this;
+    }
+
+    /**
+     * Records the size of a response message with the specified number of results that was serialized into a
+     * {@link Frame}.
+     */
+    public void observe(final int results, final Frame frame) {
+        if (null == frame || results < 1) return;
+        final long bytes = ResultBatchSizer.sizeOf(frame.getMsg());
+        if (bytes >= 0) bytesPerResult = (double) bytes / results;
+    }
+
+    /**
+     * Gets the size in bytes of the next response message or -1 if nothing is known about it yet.
+     */
+    public int getExpectedSize() {
+        return expectedSize;
+    }
+
+    @Override
+    public ByteBuf buffer() {
+        if (expectedSize < 0)
+            return allocator.buffer();
+
+        if (compositeThreshold > 0 && expectedSize >= compositeThreshold) {
+            final CompositeByteBuf composite = allocator.compositeBuffer(MAX_COMPONENTS);
+            composite.capacity(Math.min(expectedSize, MAX_FIRST_CHUNK_SIZE));
+            return composite;
+        }
+
+        // leave some headroom as the estimate is an average
+        return allocator.buffer(expectedSize + (expectedSize >>> 3));
+    }
+
+    @Override
+    public ByteBuf buffer(final int initialCapacity) {
+        return allocator.buffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf buffer(final int initialCapacity, final int maxCapacity) {
+        return allocator.buffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf ioBuffer() {
+        return allocator.ioBuffer();
+    }
+
+    @Override
+    public ByteBuf ioBuffer(final int initialCapacity) {
+        return allocator.ioBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf ioBuffer(final int initialCapacity, final int maxCapacity) {
+        return allocator.ioBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf heapBuffer() {
+        return allocator.heapBuffer();
+    }
+
+    @Override
+    public ByteBuf heapBuffer(final int initialCapacity) {
+        return allocator.heapBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf heapBuffer(final int initialCapacity, final int maxCapacity) {
+        return allocator.heapBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public ByteBuf directBuffer() {
+        return allocator.directBuffer();
+    }
+
+    @Override
+    public ByteBuf directBuffer(final int initialCapacity) {
+        return allocator.directBuffer(initialCapacity);
+    }
+
+    @Override
+    public ByteBuf directBuffer(final int initialCapacity, final int maxCapacity) {
+        return allocator.directBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer() {
+        return allocator.compositeBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeBuffer(final int maxNumComponents) {
+        return allocator.compositeBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer() {
+        return allocator.compositeHeapBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeHeapBuffer(final int maxNumComponents) {
+        return allocator.compositeHeapBuffer(maxNumComponents);
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer() {
+        return allocator.compositeDirectBuffer();
+    }
+
+    @Override
+    public CompositeByteBuf compositeDirectBuffer(final int maxNumComponents) {
+        return allocator.compositeDirectBuffer(maxNumComponents);
+    }
+
+    @Override
+    public boolean isDirectBufferPooled() {
+        return allocator.isDirectBufferPooled();
+    }
+
+    @Override
+    public int calculateNewCapacity(final int minNewCapacity, final int maxCapacity) {
+        return allocator.calculateNewCapacity(minNewCapacity, maxCapacity);
+    }
+}
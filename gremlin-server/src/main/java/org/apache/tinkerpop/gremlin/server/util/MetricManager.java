@@ -35,6 +35,7 @@ import com.codahale.metrics.graphite.GraphiteReporter;
 import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.slf4j.Logger;
@@ -490,4 +491,41 @@ public enum MetricManager {
                     (Gauge<Long>) gremlinGroovyScriptEngine::getClassCacheTotalLoadTime);
         }
     }
+
+    /**
+     * Registers the "traversal-cache" metrics of a {@link GremlinLangScriptEngine}, naming them with the supplied
+     * prefix in the same fashion as {@link #registerGremlinScriptEngineMetrics(GremlinScriptEngine, String...)}.
+     * Engines of other types are ignored.
+     */
+    public void registerTraversalCacheMetrics(final GremlinScriptEngine engine, final String... prefix) {
+        // only register if metrics aren't already registered as with registerGremlinScriptEngineMetrics()
+        if (!(engine instanceof GremlinLangScriptEngine) || getRegistry().getNames().stream().anyMatch(n -> n.endsWith("uncacheable-count")))
+            return;
+
+        final GremlinLangScriptEngine gremlinLangScriptEngine = (GremlinLangScriptEngine) engine;
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "estimated-size")),
+                (Gauge<Long>) gremlinLangScriptEngine::getTraversalCacheEstimatedSize);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "eviction-count")),
+                (Gauge<Long>) gremlinLangScriptEngine::getTraversalCacheEvictionCount);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-count")),
+                (Gauge<Long>) gremlinLangScriptEngine::getTraversalCacheHitCount);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-rate")),
+                (Gauge<Double>) gremlinLangScriptEngine::getTraversalCacheHitRate);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "miss-count")),
+                (Gauge<Long>) gremlinLangScriptEngine::getTraversalCacheMissCount);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "miss-rate")),
+                (Gauge<Double>) gremlinLangScriptEngine::getTraversalCacheMissRate);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "request-count")),
+                (Gauge<Long>) gremlinLangScriptEngine::getTraversalCacheRequestCount);
+        getRegistry().register(
+                MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "uncacheable-count")),
+                (Gauge<Long>) gremlinLangScriptEngine::getTraversalCacheUncacheableCount);
+    }
 }
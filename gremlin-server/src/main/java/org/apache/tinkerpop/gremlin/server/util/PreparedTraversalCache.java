@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.handler.StateKey;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Holds the traversals registered with a {@link Tokens#OPS_PREPARE} request so that later {@link Tokens#OPS_BYTECODE}
+ * requests only need to send the handle of the traversal and the values of its variables in place of the whole
+ * {@link Bytecode}. The variables are the {@link Bytecode.Binding} arguments of the prepared bytecode and each
+ * execution binds the new values into a copy of that bytecode. The first execution with a given set of values
+ * translates and strategizes that copy and later executions with the same values get a clone of the resulting
+ * traversal. Strategies are free to fold the arguments of a traversal into its steps, at which point they can no
+ * longer be rebound, so a strategy-applied traversal is only ever reused for the values it was created with. A handle
+ * may only be used by the user that prepared it and the least recently used handles and traversals are removed once
+ * the configured maximum is reached.
+ * <p/>
+ * The {@code Authorizer} only sees the bytecode when it is prepared, so the values bound on execution are limited to
+ * literals. A value that is, or contains, a {@link Bytecode}, {@link Traversal}, {@link Lambda},
+ * {@link TraversalStrategy} or {@code Class} is refused as it could change what the authorized traversal does.
+ */
+public class PreparedTraversalCache {
+
+    private final int maximumSize;
+    private final Map<UUID, PreparedTraversal> prepared;
+
+    /**
+     * Strategy-applied traversals keyed by their {@link TraversalSource} and the bound {@link Bytecode} they were
+     * translated from. They are never iterated themselves and only serve as the original of a clone.
+     */
+    private final Cache<List<Object>, Traversal.Admin<?, ?>> strategized;
+
+    public PreparedTraversalCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.strategized = Caffeine.newBuilder().maximumSize(Math.max(maximumSize, 0)).executor(Runnable::run).build();
+        this.prepared = new LinkedHashMap<UUID, PreparedTraversal>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UUID, PreparedTraversal> eldest) {
+                return size() > PreparedTraversalCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Determines if the request refers to a prepared traversal rather than supplying its own {@link Bytecode}.
+     */
+    public static boolean isPreparedRequest(final RequestMessage msg) {
+        return msg.getOp().equals(Tokens.OPS_BYTECODE) && msg.getArgs().containsKey(Tokens.ARGS_PREPARED) &&
+                !msg.getArgs().containsKey(Tokens.ARGS_GREMLIN);
+    }
+
+    /**
+     * Gets the name of the user authenticated on the channel, which is the anonymous user when there is no
+     * authentication.
+     */
+    public static String getUserName(final ChannelHandlerContext ctx) {
+        final AuthenticatedUser user = ctx.channel().attr(StateKey.AUTHENTICATED_USER).get();
+        return null == user ? AuthenticatedUser.ANONYMOUS_USER.getName() : user.getName();
+    }
+
+    /**
+     * Registers the {@link Bytecode} of a {@link Tokens#OPS_PREPARE} request for the given user and returns its
+     * handle. The request is expected to have passed the same validation as a {@link Tokens#OPS_BYTECODE} request.
+     * Bytecode without lambdas is translated against the traversal source once so that a malformed traversal fails
+     * when it is prepared rather than when it is first executed.
+     *
+     * @throws IllegalArgumentException if prepared traversals are disabled or the bytecode cannot be prepared
+     */
+    public UUID prepare(final RequestMessage msg, final TraversalSource g, final String user) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("Prepared traversals are disabled on this server - see the maxPreparedTraversals setting");
+
+        final Bytecode bytecode = (Bytecode) msg.getArgs().get(Tokens.ARGS_GREMLIN);
+        if (BytecodeHelper.isGraphOperation(bytecode))
+            throw new IllegalArgumentException("A graph operation cannot be prepared");
+        if (!BytecodeHelper.getLambdaLanguage(bytecode).isPresent()) {
+            try {
+                JavaTranslator.of(g).translate(bytecode);
+            } catch (Exception ex) {
+                throw new IllegalArgumentException(String.format("The traversal could not be prepared - %s", ex.getMessage()), ex);
+            }
+        }
+
+        final UUID handle = UUID.randomUUID();
+        final PreparedTraversal preparedTraversal = new PreparedTraversal(bytecode,
+                (Map<String, String>) msg.getArgs().get(Tokens.ARGS_ALIASES), user);
+        synchronized (prepared) {
+            prepared.put(handle, preparedTraversal);
+        }
+        return handle;
+    }
+
+    /**
+     * Creates a copy of a request that refers to a prepared traversal with its {@link Tokens#ARGS_GREMLIN} and
+     * {@link Tokens#ARGS_ALIASES} taken from the prepared traversal and the values of {@link Tokens#ARGS_BINDINGS}
+     * bound to its variables. Variables without a value keep the one they were prepared with.
+     *
+     * @throws IllegalArgumentException if the handle is not known for the user or a binding does not name a
+     *                                  variable of the prepared traversal or does not have a literal value
+     */
+    public RequestMessage resolve(final RequestMessage msg, final String user) {
+        final UUID handle = toHandle(msg.getArgs().get(Tokens.ARGS_PREPARED));
+        final PreparedTraversal preparedTraversal;
+        synchronized (prepared) {
+            preparedTraversal = null == handle ? null : prepared.get(handle);
+        }
+
+        // a handle prepared by another user is reported like one that does not exist
+        if (null == preparedTraversal || !preparedTraversal.user.equals(user))
+            throw new IllegalArgumentException(String.format("The prepared traversal [%s] is not known to the server - it may have been evicted and must be prepared again",
+                    msg.getArgs().get(Tokens.ARGS_PREPARED)));
+
+        final Map<String, Object> bindings = (Map<String, Object>) msg.getArgs().getOrDefault(Tokens.ARGS_BINDINGS, Collections.emptyMap());
+        for (final Map.Entry<String, Object> binding : bindings.entrySet()) {
+            if (!preparedTraversal.variables.contains(binding.getKey()))
+                throw new IllegalArgumentException(String.format("The binding [%s] is not a variable of the prepared traversal [%s] which has %s",
+                        binding.getKey(), handle, preparedTraversal.variables));
+            if (!isLiteral(binding.getValue()))
+                throw new IllegalArgumentException(String.format("The binding [%s] of the prepared traversal [%s] must be a literal value - traversals, lambdas and strategies cannot be bound",
+                        binding.getKey(), handle));
+        }
+
+        return RequestMessage.from(msg).
+                addArg(Tokens.ARGS_GREMLIN, BytecodeHelper.bindVariables(preparedTraversal.bytecode, bindings)).
+                addArg(Tokens.ARGS_ALIASES, preparedTraversal.aliases).create();
+    }
+
+    /**
+     * Gets a clone of the strategy-applied traversal of a request created by {@link #resolve(RequestMessage, String)},
+     * translating and strategizing its {@link Bytecode} the first time the prepared traversal executes with the bound
+     * values. Returns an empty {@code Optional} if the request does not refer to a prepared traversal, its bytecode
+     * has lambdas or it cannot be translated or strategized, which leaves the traversal to be created as for any
+     * other request.
+     */
+    public Optional<Traversal.Admin<?, ?>> getStrategizedTraversal(final RequestMessage msg, final TraversalSource g) {
+        final Bytecode bytecode = (Bytecode) msg.getArgs().get(Tokens.ARGS_GREMLIN);
+        if (maximumSize <= 0 || !msg.getArgs().containsKey(Tokens.ARGS_PREPARED) || null == bytecode ||
+                BytecodeHelper.getLambdaLanguage(bytecode).isPresent())
+            return Optional.empty();
+
+        final Traversal.Admin<?, ?> traversal;
+        try {
+            traversal = strategized.get(Arrays.asList(g, bytecode), k -> {
+                final Traversal.Admin<?, ?> t = JavaTranslator.of(g).translate(bytecode);
+                t.applyStrategies();
+                return t;
+            });
+        } catch (RuntimeException re) {
+            // nothing is held so the request fails as any other would when its traversal is created
+            return Optional.empty();
+        }
+        return Optional.of(traversal.clone());
+    }
+
+    /**
+     * Removes all prepared traversals.
+     */
+    public void clear() {
+        synchronized (prepared) {
+            prepared.clear();
+        }
+        strategized.invalidateAll();
+    }
+
+    /**
+     * Gets the number of prepared traversals currently held.
+     */
+    public int size() {
+        synchronized (prepared) {
+            return prepared.size();
+        }
+    }
+
+    /**
+     * Determines if a bound value is a literal, which is anything other than a {@link Bytecode}, {@link Traversal},
+     * {@link Lambda}, {@link TraversalStrategy} or {@code Class}, including within collections, maps, arrays and
+     * predicates.
+     */
+    private static boolean isLiteral(final Object value) {
+        if (value instanceof Bytecode || value instanceof Traversal || value instanceof Lambda ||
+                value instanceof TraversalStrategy || value instanceof Class)
+            return false;
+
+        if (value instanceof ConnectiveP)
+            return ((ConnectiveP<?>) value).getPredicates().stream().allMatch(PreparedTraversalCache::isLiteral);
+        if (value instanceof P)
+            return isLiteral(((P<?>) value).getValue());
+        if (value instanceof Collection)
+            return ((Collection<?>) value).stream().allMatch(PreparedTraversalCache::isLiteral);
+        if (value instanceof Map)
+            return ((Map<?, ?>) value).entrySet().stream().allMatch(e -> isLiteral(e.getKey()) && isLiteral(e.getValue()));
+        if (value instanceof Object[]) {
+            for (final Object o : (Object[]) value) {
+                if (!isLiteral(o)) return false;
+            }
+        }
+        return true;
+    }
+
+    private static UUID toHandle(final Object handle) {
+        if (handle instanceof UUID)
+            return (UUID) handle;
+
+        try {
+            return null == handle ? null : UUID.fromString(handle.toString());
+        } catch (IllegalArgumentException iae) {
+            return null;
+        }
+    }
+
+    private static final class PreparedTraversal {
+        private final Bytecode bytecode;
+        private final Map<String, String> aliases;
+        private final Set<String> variables;
+        private final String user;
+
+        private PreparedTraversal(final Bytecode bytecode, final Map<String, String> aliases, final String user) {
+            this.bytecode = bytecode;
+            this.aliases = new HashMap<>(aliases);
+            this.variables = bytecode.getBindings().keySet();
+            this.user = user;
+        }
+    }
+}
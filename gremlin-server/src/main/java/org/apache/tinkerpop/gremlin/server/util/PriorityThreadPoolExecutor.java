@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed size {@code ThreadPoolExecutor} whose tasks wait in a {@link PriorityWorkQueue}. The executor keeps the
+ * {@link PriorityWorkQueue.Prioritized} nature of a submitted task on the {@code Future} that wraps it, so that the
+ * queue can place it in its priority class and shed it, which cancels the {@code Future}.
+ */
+public class PriorityThreadPoolExecutor extends ThreadPoolExecutor {
+
+    public PriorityThreadPoolExecutor(final int poolSize, final PriorityWorkQueue workQueue,
+                                      final ThreadFactory threadFactory) {
+        super(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, workQueue, threadFactory, new AbortPolicy());
+    }
+
+    @Override
+    public PriorityWorkQueue getQueue() {
+        return (PriorityWorkQueue) super.getQueue();
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Runnable runnable, final T value) {
+        return runnable instanceof PriorityWorkQueue.Prioritized ?
+                new PrioritizedFutureTask<>(runnable, value, (PriorityWorkQueue.Prioritized) runnable) :
+                super.newTaskFor(runnable, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Callable<T> callable) {
+        return callable instanceof PriorityWorkQueue.Prioritized ?
+                new PrioritizedFutureTask<>(callable, (PriorityWorkQueue.Prioritized) callable) :
+                super.newTaskFor(callable);
+    }
+
+    private static class PrioritizedFutureTask<T> extends FutureTask<T> implements PriorityWorkQueue.Prioritized {
+        private final PriorityWorkQueue.Prioritized prioritized;
+
+        private PrioritizedFutureTask(final Runnable runnable, final T value, final PriorityWorkQueue.Prioritized prioritized) {
+            super(runnable, value);
+            this.prioritized = prioritized;
+        }
+
+        private PrioritizedFutureTask(final Callable<T> callable, final PriorityWorkQueue.Prioritized prioritized) {
+            super(callable);
+            this.prioritized = prioritized;
+        }
+
+        @Override
+        public RequestMessage getRequestMessage() {
+            return prioritized.getRequestMessage();
+        }
+
+        @Override
+        public boolean isSheddable() {
+            return prioritized.isSheddable();
+        }
+
+        @Override
+        public void shed(final long queueTimeMillis) {
+            // the task may have been cancelled some other way while it waited in which case there is nothing to shed
+            if (cancel(false)) prioritized.shed(queueTimeMillis);
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A work queue for the {@link PriorityThreadPoolExecutor} that holds the tasks of each priority class, as configured
+ * by {@link Settings#priorityClasses}, in a queue of its own and hands them out by smooth weighted round-robin, so
+ * that each class with waiting tasks gets a share of the threads in proportion to its weight. Tasks within a class
+ * are handed out in the order that they arrived.
+ * <p/>
+ * A class with a {@link Settings.PriorityClassSettings#targetQueueTime} sheds tasks in the manner of CoDel: the time
+ * that each task waited is compared to the target as it leaves the queue and once that time stayed above the target
+ * for a full {@link Settings.PriorityClassSettings#queueTimeInterval}, tasks that {@link Prioritized#isSheddable()
+ * can be shed} and that waited longer than the target are {@link Prioritized#shed(long) shed} rather than run, until
+ * a task gets through within the target. Unlike rejecting tasks when the queue is full, this keeps the waiting time
+ * of a class bounded while it is overloaded even if the queue never fills.
+ */
+public class PriorityWorkQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+    private static final Logger logger = LoggerFactory.getLogger(PriorityWorkQueue.class);
+
+    /**
+     * A task that knows the request it processes, which decides the priority class it waits in.
+     */
+    public interface Prioritized {
+
+        /**
+         * Gets the request that the task processes.
+         */
+        RequestMessage getRequestMessage();
+
+        /**
+         * Determines if the task may be discarded rather than run when its class is overloaded.
+         */
+        default boolean isSheddable() {
+            return false;
+        }
+
+        /**
+         * Discards the task which will not be run. Implementations should let the client know.
+         *
+         * @param queueTimeMillis the time the task waited in the queue
+         */
+        default void shed(final long queueTimeMillis) {
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final int capacity;
+    private final List<Lane> lanes = new ArrayList<>();
+    private final Map<String, Lane> lanesByName = new HashMap<>();
+    private final Map<String, Lane> lanesByTraversalSource = new HashMap<>();
+    private int count = 0;
+
+    public PriorityWorkQueue(final List<Settings.PriorityClassSettings> priorityClasses, final int capacity) {
+        if (priorityClasses.isEmpty())
+            throw new IllegalArgumentException("At least one priority class must be configured");
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity must be greater than zero");
+
+        this.capacity = capacity;
+        for (final Settings.PriorityClassSettings priorityClass : priorityClasses) {
+            if (null == priorityClass.name || priorityClass.name.isEmpty())
+                throw new IllegalArgumentException("Each priority class must have a name");
+            if (priorityClass.weight < 1)
+                throw new IllegalArgumentException(String.format("The weight of priority class %s must be greater than zero", priorityClass.name));
+            if (lanesByName.containsKey(priorityClass.name))
+                throw new IllegalArgumentException(String.format("Priority class %s is configured more than once", priorityClass.name));
+
+            final Lane lane = new Lane(priorityClass);
+            lanes.add(lane);
+            lanesByName.put(lane.name, lane);
+            if (priorityClass.traversalSources != null)
+                priorityClass.traversalSources.forEach(ts -> lanesByTraversalSource.putIfAbsent(ts, lane));
+
+            // a gauge cannot be registered twice so the queue most recently constructed takes over the name
+            final String sizeName = name(GremlinServer.class, "queue", lane.name, "size");
+            MetricManager.INSTANCE.getRegistry().remove(sizeName);
+            MetricManager.INSTANCE.getGuage(lane::size, sizeName);
+        }
+    }
+
+    /**
+     * Gets the name of the priority class that the task waits in, which is the class named by the {@code priority}
+     * argument of its request, else the class of the first traversal source in its aliases that belongs to a class
+     * and else the first class.
+     */
+    public String getPriorityClass(final Object task) {
+        return laneOf(task).name;
+    }
+
+    private Lane laneOf(final Object task) {
+        if (!(task instanceof Prioritized)) return lanes.get(0);
+
+        final RequestMessage msg = ((Prioritized) task).getRequestMessage();
+        if (null == msg) return lanes.get(0);
+
+        final Object priority = msg.getArgs().get(Tokens.ARGS_PRIORITY);
+        if (priority != null) {
+            final Lane lane = lanesByName.get(priority.toString());
+            if (lane != null) return lane;
+            logger.debug("Request {} names the unknown priority class {} and is placed in {}",
+                    msg.getRequestId(), priority, lanes.get(0).name);
+        }
+
+        final Object aliases = msg.getArgs().get(Tokens.ARGS_ALIASES);
+        if (aliases instanceof Map) {
+            for (final Object source : ((Map<?, ?>) aliases).values()) {
+                final Lane lane = lanesByTraversalSource.get(Objects.toString(source));
+                if (lane != null) return lane;
+            }
+        }
+
+        return lanes.get(0);
+    }
+
+    @Override
+    public boolean offer(final Runnable task) {
+        Objects.requireNonNull(task);
+        final Lane lane = laneOf(task);
+        lock.lock();
+        try {
+            if (count == capacity) return false;
+            lane.tasks.addLast(new Entry(task, System.nanoTime()));
+            count++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(final Runnable task) throws InterruptedException {
+        // the executor only ever offers so blocking for space is not worth a second condition
+        while (!offer(task)) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    @Override
+    public boolean offer(final Runnable task, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(task)) {
+            if (System.nanoTime() >= deadline) return false;
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        while (true) {
+            final List<Entry> shed = new ArrayList<>();
+            final Runnable task;
+            lock.lockInterruptibly();
+            try {
+                task = dequeue(shed);
+                if (null == task && shed.isEmpty()) notEmpty.await();
+            } finally {
+                lock.unlock();
+            }
+
+            // shed outside of the lock as it writes to the client and only wait once the shed tasks are dealt with
+            shed(shed);
+            if (task != null) return task;
+        }
+    }
+
+    @Override
+    public Runnable poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        while (true) {
+            final List<Entry> shed = new ArrayList<>();
+            final Runnable task;
+            lock.lockInterruptibly();
+            try {
+                task = dequeue(shed);
+                if (null == task && shed.isEmpty()) {
+                    if (nanos <= 0) return null;
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            shed(shed);
+            if (task != null) return task;
+        }
+    }
+
+    @Override
+    public Runnable poll() {
+        final List<Entry> shed = new ArrayList<>();
+        try {
+            lock.lock();
+            try {
+                return dequeue(shed);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            shed(shed);
+        }
+    }
+
+    /**
+     * Takes the next task to run, adding the ones shed along the way to the list. Must be called with the lock held.
+     */
+    private Runnable dequeue(final List<Entry> shed) {
+        while (count > 0) {
+            final Lane lane = nextLane();
+            final Entry entry = lane.tasks.pollFirst();
+            count--;
+
+            final long now = System.nanoTime();
+            final long queueTime = now - entry.enqueued;
+            lane.queueTime.update(queueTime, TimeUnit.NANOSECONDS);
+
+            if (lane.shouldShed(entry, queueTime, now)) {
+                lane.shed.mark();
+                shed.add(entry);
+                continue;
+            }
+
+            return entry.task;
+        }
+        return null;
+    }
+
+    /**
+     * Picks the class to take the next task from by smooth weighted round-robin over the classes with waiting tasks.
+     */
+    private Lane nextLane() {
+        Lane best = null;
+        int totalWeight = 0;
+        for (final Lane lane : lanes) {
+            if (lane.tasks.isEmpty()) continue;
+            lane.currentWeight += lane.weight;
+            totalWeight += lane.weight;
+            if (null == best || lane.currentWeight > best.currentWeight) best = lane;
+        }
+        best.currentWeight -= totalWeight;
+        return best;
+    }
+
+    private static void shed(final List<Entry> shed) {
+        for (final Entry entry : shed) {
+            final long queueTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.enqueued);
+            try {
+                ((Prioritized) entry.task).shed(queueTimeMillis);
+            } catch (Exception ex) {
+                logger.warn(String.format("Could not shed %s", entry.task), ex);
+            }
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            for (final Lane lane : lanes) {
+                final Entry entry = lane.tasks.peekFirst();
+                if (entry != null) return entry.task;
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (null == o) return false;
+        lock.lock();
+        try {
+            for (final Lane lane : lanes) {
+                final Iterator<Entry> itty = lane.tasks.iterator();
+                while (itty.hasNext()) {
+                    if (itty.next().task.equals(o)) {
+                        itty.remove();
+                        count--;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Runnable> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super Runnable> c, final int maxElements) {
+        lock.lock();
+        try {
+            int drained = 0;
+            for (final Lane lane : lanes) {
+                while (drained < maxElements && !lane.tasks.isEmpty()) {
+                    c.add(lane.tasks.pollFirst().task);
+                    count--;
+                    drained++;
+                }
+            }
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the waiting tasks, which does not support removal.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        lock.lock();
+        try {
+            final List<Runnable> snapshot = new ArrayList<>(count);
+            lanes.forEach(lane -> lane.tasks.forEach(e -> snapshot.add(e.task)));
+            return Collections.unmodifiableList(snapshot).iterator();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of tasks waiting in each priority class.
+     */
+    public Map<String, Integer> getSizes() {
+        lock.lock();
+        try {
+            final Map<String, Integer> sizes = new LinkedHashMap<>();
+            lanes.forEach(lane -> sizes.put(lane.name, lane.tasks.size()));
+            return sizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Entry {
+        private final Runnable task;
+        private final long enqueued;
+
+        private Entry(final Runnable task, final long enqueued) {
+            this.task = task;
+            this.enqueued = enqueued;
+        }
+    }
+
+    private class Lane {
+        private final String name;
+        private final int weight;
+        private final long targetQueueTime;
+        private final long queueTimeInterval;
+        private final ArrayDeque<Entry> tasks = new ArrayDeque<>();
+        private final Timer queueTime;
+        private final Meter shed;
+        private int currentWeight = 0;
+        private long firstAboveTarget = 0;
+
+        private Lane(final Settings.PriorityClassSettings settings) {
+            this.name = settings.name;
+            this.weight = settings.weight;
+            this.targetQueueTime = TimeUnit.MILLISECONDS.toNanos(settings.targetQueueTime);
+            this.queueTimeInterval = TimeUnit.MILLISECONDS.toNanos(settings.queueTimeInterval);
+            this.queueTime = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "queue", name, "time"));
+            this.shed = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "queue", name, "shed"));
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return tasks.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Decides if the task that waited for the specified time should be shed, by keeping track of how long the
+         * waiting time stayed above the target.
+         */
+        private boolean shouldShed(final Entry entry, final long waited, final long now) {
+            if (targetQueueTime <= 0) return false;
+
+            if (waited < targetQueueTime) {
+                firstAboveTarget = 0;
+                return false;
+            }
+
+            if (0 == firstAboveTarget) {
+                firstAboveTarget = now + queueTimeInterval;
+                return false;
+            }
+
+            return now >= firstAboveTarget && entry.task instanceof Prioritized && ((Prioritized) entry.task).isSheddable();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+
+/**
+ * Decides how many results to aggregate into each response message of a request. By default, this is always
+ * {@link Settings#resultIterationBatchSize} or the batch size given on the request. When
+ * {@link Settings#resultIterationTargetFrameSize} is set and the request does not give its own batch size, the batch
+ * size is instead derived from the serialized size of the results observed so far so that each message comes close
+ * to the target size. The size of a batch shrinks immediately when results turn out larger than expected but grows
+ * by no more than doubling from one batch to the next, so that a stream of small results followed by large ones
+ * cannot produce one oversized message.
+ */
+public final class ResultBatchSizer {
+
+    private final int targetFrameSize;
+    private final int maxBatchSize;
+    private int batchSize;
+    private double bytesPerResult = -1d;
+
+    /**
+     * Creates a sizer that adapts the batch size toward the {@code targetFrameSize} when it is greater than zero or
+     * that otherwise always returns the initial {@code batchSize}.
+     */
+    public ResultBatchSizer(final int batchSize, final int targetFrameSize, final int maxBatchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batchSize must be greater than zero");
+        if (maxBatchSize < 1)
+            throw new IllegalArgumentException("The maxBatchSize must be greater than zero");
+
+        this.targetFrameSize = targetFrameSize;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = isAdaptive() ? Math.min(batchSize, maxBatchSize) : batchSize;
+    }
+
+    /**
+     * Creates a sizer for the request. A batch size given on the request is always honored as-is.
+     */
+    public static ResultBatchSizer of(final Settings settings, final RequestMessage msg) {
+        final Integer requested = null == msg ? null : (Integer) msg.getArgs().get(Tokens.ARGS_BATCH_SIZE);
+        return null == requested ?
+                new ResultBatchSizer(settings.resultIterationBatchSize, settings.resultIterationTargetFrameSize, settings.resultIterationMaxBatchSize) :
+                new ResultBatchSizer(requested, 0, requested);
+    }
+
+    /**
+     * Determines if the batch size adapts to the serialized size of the results.
+     */
+    public boolean isAdaptive() {
+        return targetFrameSize > 0;
+    }
+
+    /**
+     * Gets the number of results to aggregate into the next response message.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Records that a response message with the specified number of results serialized to the specified number of
+     * bytes and adjusts the size of the next batch accordingly.
+     */
+    public void observe(final int results, final long bytes) {
+        if (!isAdaptive() || results < 1 || bytes < 0) return;
+
+        // weigh the latest batch as heavily as everything before it so that the size follows a change in the shape
+        // of the results within a couple of batches
+        final double observed = (double) bytes / results;
+        bytesPerResult = bytesPerResult < 0 ? observed : (bytesPerResult + observed) / 2d;
+
+        final long fitting = Math.max(1L, (long) (targetFrameSize / Math.max(1d, bytesPerResult)));
+        batchSize = (int) Math.min(Math.min(fitting, (long) batchSize * 2L), maxBatchSize);
+    }
+
+    /**
+     * Records the size of a response message that was serialized into a {@link Frame}.
+     */
+    public void observe(final int results, final Frame frame) {
+        if (isAdaptive() && frame != null) observe(results, sizeOf(frame.getMsg()));
+    }
+
+    /**
+     * Gets the size of a serialized response message which is either a {@code ByteBuf} or, for text serializers, a
+     * {@code String} whose length is taken as an approximation of its size in bytes.
+     */
+    public static long sizeOf(final Object serialized) {
+        if (serialized instanceof ByteBuf)
+            return ((ByteBuf) serialized).readableBytes();
+        else if (serialized instanceof CharSequence)
+            return ((CharSequence) serialized).length();
+        else
+            return -1L;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.codahale.metrics.Meter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.configuration2.ConfigurationConverter;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.CoinStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SampleGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CallStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SampleLocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IoStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.BytecodeHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Holds the results of read-only {@link Tokens#OPS_BYTECODE} requests so that a request for the same traversal on the
+ * same traversal source can be answered without executing it again. A result is keyed by the name of the traversal
+ * source, the {@link Bytecode} with its bindings and strategies normalized to values that compare by content, and the
+ * version of the {@link Graph} when the request started. Entries are evicted once {@link Settings#resultCacheMaxSize}
+ * is reached or after {@link Settings#resultCacheTtl} and results larger than {@link Settings#resultCacheMaxResults}
+ * are not held at all.
+ * <p/>
+ * Rather than tracking which entries a mutation affects, the server bumps the version of the graph that a request
+ * might have changed once that request is complete, through {@link #invalidate(Graph)} or {@link #invalidateAll()},
+ * which leaves all entries of the old version to be evicted. As the version is taken before a request executes, a
+ * result computed while another request changes the graph is never served once that change is complete. Changes made
+ * to a graph outside of Gremlin Server are not seen and are only covered by the time to live. A request with lambdas
+ * may change any graph the script engine can reach, so all graphs are marked as changed once it completes.
+ * <p/>
+ * A traversal is only cached when it has no lambdas and no steps that change the graph, touch resources outside of
+ * it or return different results on each execution, when it is not part of a session with its own transaction and
+ * when neither the {@link Tokens#ARGS_CACHE} argument of the request nor a {@code with()} option of that name on the
+ * traversal is {@code false}.
+ */
+public class ResultCache {
+
+    private static final List<Class> UNCACHEABLE_STEPS = Arrays.asList(Mutating.class, LambdaHolder.class,
+            IoStep.class, CallStep.class, ProfileSideEffectStep.class, CoinStep.class, SampleGlobalStep.class,
+            SampleLocalStep.class);
+
+    private static final AtomicLong allGraphsVersion = new AtomicLong();
+
+    /**
+     * The versions of the graphs, which are weakly held so that a graph that is gone from the server, whether or not
+     * {@link #remove(Graph)} was called for it, does not keep its version.
+     */
+    private static final Map<Graph, AtomicLong> graphVersions = Caffeine.newBuilder().weakKeys().<Graph, AtomicLong>build().asMap();
+
+    private final Meter hits = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "result-cache", "hits"));
+    private final Meter misses = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "result-cache", "misses"));
+    private final int maxResults;
+    private final Cache<List<Object>, List<Object>> cache;
+
+    public ResultCache(final Settings settings) {
+        this(settings.resultCacheMaxSize, settings.resultCacheTtl, settings.resultCacheMaxResults);
+    }
+
+    public ResultCache(final long maximumSize, final long ttl, final int maxResults) {
+        this.maxResults = maxResults;
+        this.cache = maximumSize <= 0 ? null :
+                Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl, TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Marks the results held for a graph as outdated. Should be called once a change to the graph is visible to
+     * other requests, which for a transactional graph is after the commit.
+     */
+    public static void invalidate(final Graph graph) {
+        graphVersions.computeIfAbsent(graph, g -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Marks the results held for all graphs as outdated, as is needed after a script which may have changed any of
+     * them.
+     */
+    public static void invalidateAll() {
+        allGraphsVersion.incrementAndGet();
+    }
+
+    /**
+     * Forgets the version of a graph that was removed from the server and marks the results held for all graphs as
+     * outdated, as a graph that takes the place of the removed one starts again from the first version.
+     */
+    public static void remove(final Graph graph) {
+        graphVersions.remove(graph);
+        invalidateAll();
+    }
+
+    /**
+     * Determines if the results of a traversal are independent of when and how often it executes, which is the
+     * case when it has no steps that change the graph, touch resources outside of it or involve chance.
+     */
+    public static boolean isReadOnly(final Traversal.Admin<?, ?> traversal) {
+        return !TraversalHelper.hasStepOfAssignableClassRecursively(UNCACHEABLE_STEPS, traversal);
+    }
+
+    /**
+     * Determines if the {@link Bytecode} of a request has lambdas, which may change any graph that the script engine
+     * that evaluates them can reach, even from steps that do not change the graph themselves, so the results held for
+     * all graphs must be marked as outdated once the request is complete.
+     */
+    public static boolean hasLambdas(final Bytecode bytecode) {
+        return BytecodeHelper.getLambdaLanguage(bytecode).isPresent();
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Creates the key for a request which is used both to look up its results and to hold them, so it must be
+     * created before the traversal executes. Returns an empty {@code Optional} if the request cannot be cached for
+     * reasons that are known without translating its {@link Bytecode}.
+     */
+    public Optional<List<Object>> keyOf(final RequestMessage msg, final String traversalSourceName, final Graph graph,
+                                        final Bytecode bytecode) {
+        if (!isEnabled() || Boolean.FALSE.equals(toBoolean(msg.getArgs().get(Tokens.ARGS_CACHE))) ||
+                hasLambdas(bytecode))
+            return Optional.empty();
+
+        final AtomicLong graphVersion = graphVersions.get(graph);
+        return Optional.of(Arrays.asList(traversalSourceName, allGraphsVersion.get(),
+                null == graphVersion ? 0L : graphVersion.get(),
+                normalize(bytecode.getSourceInstructions()), normalize(bytecode.getStepInstructions())));
+    }
+
+    /**
+     * Gets the results held for the key, if any.
+     */
+    public Optional<Iterator<?>> get(final List<Object> key) {
+        final List<Object> results = cache.getIfPresent(key);
+        if (null == results) {
+            misses.mark();
+            return Optional.empty();
+        }
+
+        hits.mark();
+        return Optional.of(results.iterator());
+    }
+
+    /**
+     * Wraps the results of a traversal so that they are held under the key once they are fully iterated, provided
+     * that the traversal can be cached. If it cannot, the results are returned as they are.
+     */
+    public Iterator<?> record(final List<Object> key, final Traversal.Admin<?, ?> traversal, final Iterator<?> itty) {
+        if (!isReadOnly(traversal) || Boolean.FALSE.equals(traversal.getStrategies().getStrategy(OptionsStrategy.class)
+                .map(s -> toBoolean(s.getOptions().get(Tokens.ARGS_CACHE))).orElse(null)))
+            return itty;
+
+        return new RecordingIterator(key, itty);
+    }
+
+    /**
+     * Removes all held results.
+     */
+    public void clear() {
+        if (cache != null) cache.invalidateAll();
+    }
+
+    /**
+     * Gets the approximate number of results held.
+     */
+    public long size() {
+        return null == cache ? 0 : cache.estimatedSize();
+    }
+
+    private static Boolean toBoolean(final Object o) {
+        return null == o ? null : o instanceof Boolean ? (Boolean) o : Boolean.valueOf(o.toString());
+    }
+
+    /**
+     * Converts instructions to values that compare by content. Strategies only compare by their class and some are
+     * deserialized as proxies that do not compare at all so they are replaced by their class and configuration.
+     */
+    private static List<Object> normalize(final List<Bytecode.Instruction> instructions) {
+        final List<Object> normalized = new ArrayList<>(instructions.size());
+        for (final Bytecode.Instruction instruction : instructions) {
+            final List<Object> args = new ArrayList<>(instruction.getArguments().length + 1);
+            args.add(instruction.getOperator());
+            for (final Object arg : instruction.getArguments()) {
+                if (arg instanceof TraversalStrategy) {
+                    final TraversalStrategy<?> strategy = (TraversalStrategy<?>) arg;
+                    final Map<Object, Object> configuration = new HashMap<>(ConfigurationConverter.getMap(strategy.getConfiguration()));
+                    configuration.remove(TraversalStrategy.STRATEGY);
+                    args.add(Arrays.asList(strategy instanceof TraversalStrategyProxy ?
+                            ((TraversalStrategyProxy<?>) strategy).getStrategyClass() : strategy.getClass(), configuration));
+                } else if (arg != null && arg.getClass().isArray()) {
+                    args.add(new ArrayArgument(arg));
+                } else {
+                    args.add(arg);
+                }
+            }
+            normalized.add(args);
+        }
+        return normalized;
+    }
+
+    /**
+     * An array argument that compares by its type and content, which also holds for arrays of primitives and nested
+     * arrays.
+     */
+    private static final class ArrayArgument {
+        private final Object[] array;
+
+        private ArrayArgument(final Object array) {
+            this.array = new Object[]{array};
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ArrayArgument && Arrays.deepEquals(array, ((ArrayArgument) o).array);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(array);
+        }
+    }
+
+    private class RecordingIterator implements Iterator<Object> {
+        private final List<Object> key;
+        private final Iterator<?> itty;
+        private List<Object> results = new ArrayList<>();
+
+        private RecordingIterator(final List<Object> key, final Iterator<?> itty) {
+            this.key = key;
+            this.itty = itty;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = itty.hasNext();
+            if (!hasNext && results != null) {
+                cache.put(key, Collections.unmodifiableList(results));
+                results = null;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Object next() {
+            final Object o = itty.next();
+            if (results != null) {
+                if (results.size() < maxResults)
+                    results.add(o);
+                else
+                    results = null;
+            }
+            return o;
+        }
+    }
+}
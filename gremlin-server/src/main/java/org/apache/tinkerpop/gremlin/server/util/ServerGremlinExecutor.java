@@ -31,11 +31,17 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.script.Compilable;
 import javax.script.SimpleBindings;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -47,6 +53,8 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * The core of script execution in Gremlin Server.  Given {@link Settings} and optionally other arguments, this
  * class will construct a {@link GremlinExecutor} to be used by Gremlin Server.  A typical usage would be to
@@ -97,7 +105,21 @@ public class ServerGremlinExecutor {
             throw new RuntimeException(e);
         }
 
-        if (null == gremlinExecutorService) {
+        final Optional<ThreadFactory> virtualThreadFactory = null == gremlinExecutorService && settings.useVirtualThreads ?
+                ThreadFactoryUtil.createVirtual("virtual-exec-") : Optional.empty();
+        if (null == gremlinExecutorService && settings.useVirtualThreads && !virtualThreadFactory.isPresent())
+            logger.warn("The useVirtualThreads setting is enabled but the JVM does not support virtual threads - falling back to a gremlinPool of {}", settings.gremlinPool);
+
+        if (virtualThreadFactory.isPresent()) {
+            final VirtualThreadExecutorService virtualExecutorService = new VirtualThreadExecutorService(
+                    virtualThreadFactory.get(), settings.maxVirtualThreadConcurrency, settings.maxWorkQueueSize);
+            registerMetrics(virtualExecutorService);
+            this.gremlinExecutorService = virtualExecutorService;
+        } else if (null == gremlinExecutorService && settings.priorityClasses != null && !settings.priorityClasses.isEmpty()) {
+            final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
+            final PriorityWorkQueue queue = new PriorityWorkQueue(settings.priorityClasses, settings.maxWorkQueueSize);
+            this.gremlinExecutorService = new PriorityThreadPoolExecutor(settings.gremlinPool, queue, threadFactoryGremlin);
+        } else if (null == gremlinExecutorService) {
             final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
             final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(settings.maxWorkQueueSize);
             this.gremlinExecutorService = new ThreadPoolExecutor(settings.gremlinPool, settings.gremlinPool,
@@ -114,7 +136,20 @@ public class ServerGremlinExecutor {
             this.scheduledExecutorService = scheduledExecutorService;
         }
 
-        logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
+        if (this.gremlinExecutorService instanceof ThreadPoolExecutor)
+            registerMetrics((ThreadPoolExecutor) this.gremlinExecutorService);
+
+        if (this.gremlinExecutorService instanceof VirtualThreadExecutorService && settings.priorityClasses != null && !settings.priorityClasses.isEmpty())
+            logger.warn("The priorityClasses setting is ignored as requests run on virtual threads");
+
+        if (this.gremlinExecutorService instanceof PriorityThreadPoolExecutor)
+            logger.info("Initialized Gremlin thread pool with priority classes {}.  Threads in pool named with pattern gremlin-*",
+                    settings.priorityClasses.stream().map(pc -> pc.name + "=" + pc.weight).collect(Collectors.toList()));
+        else if (this.gremlinExecutorService instanceof VirtualThreadExecutorService)
+            logger.info("Initialized Gremlin virtual thread executor with a concurrency of {}.  Threads named with pattern gremlin-server-virtual-exec-*",
+                    settings.maxVirtualThreadConcurrency);
+        else
+            logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
 
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .evaluationTimeout(settings.getEvaluationTimeout())
@@ -153,6 +188,10 @@ public class ServerGremlinExecutor {
                     gremlinExecutor.eval("1+1", engineName, new SimpleBindings(Collections.emptyMap()), lifeCycle).join();
                 }
 
+                final List<String> warmupScripts = settings.scriptEngines.get(engineName).warmupScripts;
+                if (warmupScripts != null && !warmupScripts.isEmpty())
+                    warmUp(engineName, warmupScripts);
+
                 registerMetrics(engineName);
                 logger.info("Initialized {} GremlinScriptEngine and registered metrics", engineName);
             } catch (Exception ex) {
@@ -182,9 +221,65 @@ public class ServerGremlinExecutor {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Compiles the scripts listed, one per line, in the files so that the first requests to send them need not wait
+     * for their compilation.
+     */
+    private void warmUp(final String engineName, final List<String> files) {
+        final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
+        if (!(engine instanceof Compilable)) {
+            logger.warn("The {} GremlinScriptEngine does not compile scripts - warmupScripts are ignored", engineName);
+            return;
+        }
+
+        int compiled = 0;
+        int failed = 0;
+        final long start = System.currentTimeMillis();
+        for (final String file : files) {
+            final List<String> lines;
+            try {
+                lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+            } catch (IOException ioe) {
+                logger.warn(String.format("Could not read warmup scripts for %s GremlinScriptEngine from %s", engineName, file), ioe);
+                continue;
+            }
+
+            for (final String line : lines) {
+                if (line.trim().isEmpty()) continue;
+                try {
+                    ((Compilable) engine).compile(line);
+                    compiled++;
+                } catch (Exception ex) {
+                    logger.warn("Could not compile warmup script for {} GremlinScriptEngine: {} - {}", engineName, line, ex.getMessage());
+                    failed++;
+                }
+            }
+        }
+
+        logger.info("Compiled {} warmup scripts ({} failed) for {} GremlinScriptEngine in {}ms",
+                compiled, failed, engineName, System.currentTimeMillis() - start);
+    }
+
+    private static void registerMetrics(final VirtualThreadExecutorService executorService) {
+        MetricManager.INSTANCE.getGuage(executorService::getRunningCount, name(GremlinServer.class, "virtual-threads", "running"));
+        MetricManager.INSTANCE.getGuage(executorService::getQueuedCount, name(GremlinServer.class, "virtual-threads", "queued"));
+        MetricManager.INSTANCE.getGuage(executorService::getRejectedCount, name(GremlinServer.class, "virtual-threads", "rejected"));
+    }
+
+    private static void registerMetrics(final ThreadPoolExecutor executorService) {
+        // a gauge cannot be registered twice so the pool most recently constructed takes over the names
+        final String queuedName = name(GremlinServer.class, "gremlin-pool", "queued");
+        final String activeName = name(GremlinServer.class, "gremlin-pool", "active");
+        MetricManager.INSTANCE.getRegistry().remove(queuedName);
+        MetricManager.INSTANCE.getRegistry().remove(activeName);
+        MetricManager.INSTANCE.getGuage(() -> executorService.getQueue().size(), queuedName);
+        MetricManager.INSTANCE.getGuage(executorService::getActiveCount, activeName);
+    }
+
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
         MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", "class-cache");
+        MetricManager.INSTANCE.registerTraversalCacheMetrics(engine, engineName, "sessionless", "traversal-cache");
     }
 
     public void addHostOption(final String key, final Object value) {
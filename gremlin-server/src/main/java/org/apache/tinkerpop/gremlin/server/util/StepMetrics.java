@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Aggregates {@link TraversalMetrics} into the {@code steps} metrics of the {@link MetricManager}, where the time
+ * spent in a type of step and the number of traversers it produced are recorded under the name of the step class,
+ * regardless of the traversal it was part of.
+ */
+public final class StepMetrics {
+
+    private StepMetrics() {}
+
+    /**
+     * Records the {@link TraversalMetrics}, as returned by {@code profile()}, in a batch of results at the
+     * {@link Settings#stepMetricsSampleRate}.
+     */
+    public static void recordSampled(final List<Object> results, final double sampleRate) {
+        if (sampleRate <= 0 || null == results) return;
+        for (final Object result : results) {
+            final Object o = result instanceof Traverser ? ((Traverser<?>) result).get() : result;
+            if (o instanceof TraversalMetrics)
+                recordSampled((TraversalMetrics) o, sampleRate);
+        }
+    }
+
+    /**
+     * Records the {@link TraversalMetrics} of a traversal that the server profiled itself at the
+     * {@link Settings#stepMetricsSampleRate}.
+     */
+    public static void recordSampled(final TraversalMetrics traversalMetrics, final double sampleRate) {
+        if (sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate))
+            record(traversalMetrics);
+    }
+
+    /**
+     * Records the time and traverser count of each step in the {@link TraversalMetrics}.
+     */
+    public static void record(final TraversalMetrics traversalMetrics) {
+        record(traversalMetrics.getMetrics());
+    }
+
+    private static void record(final Collection<? extends Metrics> metrics) {
+        for (final Metrics m : metrics) {
+            final String step = stepOf(m.getName());
+            MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "steps", step)).update(m.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            final Long traversers = m.getCount(TraversalMetrics.TRAVERSER_COUNT_ID);
+            if (traversers != null)
+                MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "steps", step, "traversers")).update(traversers);
+            record(m.getNested());
+        }
+    }
+
+    /**
+     * Gets the step class from a name like {@code VertexStep(OUT,vertex)@[a]}.
+     */
+    static String stepOf(final String metricsName) {
+        final int args = metricsName.indexOf('(');
+        final int labels = metricsName.indexOf('@');
+        final int end = args >= 0 ? args : labels >= 0 ? labels : metricsName.length();
+        return metricsName.substring(0, end).trim();
+    }
+}
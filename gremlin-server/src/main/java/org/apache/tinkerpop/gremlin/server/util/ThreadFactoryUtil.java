@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.server.util;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
+import java.lang.reflect.Method;
+import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
 /**
@@ -32,4 +34,21 @@ public final class ThreadFactoryUtil {
     public static ThreadFactory create(final String pattern) {
         return new BasicThreadFactory.Builder().namingPattern(SERVER_THREAD_PREFIX + pattern).build();
     }
+
+    /**
+     * Creates a factory for virtual threads named with the prefix followed by a counter. Virtual threads are only
+     * available from Java 21 (or earlier with preview features enabled) and as Gremlin Server is compiled for older
+     * versions, the factory is created reflectively and is empty when the running JVM does not support them.
+     */
+    public static Optional<ThreadFactory> createVirtual(final String prefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Method name = builderClass.getMethod("name", String.class, long.class);
+            final Object named = name.invoke(builder, SERVER_THREAD_PREFIX + prefix, 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(named));
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@code ExecutorService} that starts a new thread for every task, which is meant for virtual threads as created
+ * by {@link ThreadFactoryUtil#createVirtual(String)}. A task that blocks on I/O then parks its virtual thread rather
+ * than holding one of a fixed number of platform threads. As the number of threads is not bounded by a pool, the
+ * number of tasks that run at once is limited by {@code maxConcurrency}, with further tasks waiting on their own
+ * thread for a permit, and the number of tasks waiting is limited by {@code maxQueued} after which tasks are
+ * rejected just as they are when the work queue of a thread pool is full.
+ */
+public class VirtualThreadExecutorService extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrency;
+    private final int maxQueued;
+    private final Semaphore permits;
+
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger tasks = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private final Object termination = new Object();
+    private volatile boolean shutdown = false;
+    private volatile boolean stopped = false;
+
+    public VirtualThreadExecutorService(final ThreadFactory threadFactory, final int maxConcurrency, final int maxQueued) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException("The maxConcurrency must be greater than zero");
+        if (maxQueued < 0)
+            throw new IllegalArgumentException("The maxQueued must not be negative");
+
+        this.threadFactory = threadFactory;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueued = maxQueued;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (shutdown) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Task rejected as the executor is shutdown");
+        }
+
+        if (tasks.incrementAndGet() > maxConcurrency + maxQueued) {
+            tasks.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException(String.format(
+                    "Task rejected as %s tasks are running and %s are waiting", maxConcurrency, maxQueued));
+        }
+
+        final Thread thread;
+        try {
+            thread = threadFactory.newThread(() -> run(command));
+            threads.add(thread);
+            thread.start();
+        } catch (RuntimeException | Error ex) {
+            complete(null);
+            throw ex;
+        }
+    }
+
+    private void run(final Runnable command) {
+        try {
+            permits.acquire();
+            try {
+                running.incrementAndGet();
+
+                // a task that was waiting when shutdownNow() was called is discarded even if it got its permit
+                // before it saw the interrupt
+                if (!stopped) command.run();
+            } finally {
+                running.decrementAndGet();
+                permits.release();
+            }
+        } catch (InterruptedException ie) {
+            // interrupted by shutdownNow() while waiting for a permit so the task never runs
+        } finally {
+            complete(Thread.currentThread());
+        }
+    }
+
+    private void complete(final Thread thread) {
+        if (thread != null) threads.remove(thread);
+        if (tasks.decrementAndGet() == 0) {
+            synchronized (termination) {
+                termination.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of tasks that are running.
+     */
+    public int getRunningCount() {
+        return running.get();
+    }
+
+    /**
+     * Gets the number of tasks that are waiting for another task to complete before they can run.
+     */
+    public int getQueuedCount() {
+        return Math.max(0, tasks.get() - running.get());
+    }
+
+    /**
+     * Gets the number of tasks rejected since the executor was created.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * Interrupts all tasks. As tasks are not held in a queue, but wait on their own thread, the returned list is
+     * always empty and tasks that were waiting to run are discarded.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        stopped = true;
+        threads.forEach(Thread::interrupt);
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && tasks.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (termination) {
+            long remaining = deadline - System.nanoTime();
+            while (!isTerminated() && remaining > 0) {
+                TimeUnit.NANOSECONDS.timedWait(termination, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        }
+        return isTerminated();
+    }
+}
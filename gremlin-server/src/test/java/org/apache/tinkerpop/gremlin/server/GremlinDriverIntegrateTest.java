@@ -39,7 +39,9 @@ import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
 import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1;
 import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
 import org.apache.tinkerpop.gremlin.jsr223.ScriptFileGremlinPlugin;
+import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.server.handler.OpExecutorHandler;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -255,6 +257,33 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldSubmitPreparedTraversal() throws Exception {
+        final Cluster cluster = TestClientFactory.build().create();
+        try {
+            final Client client = cluster.connect().alias("gmodern");
+            final Bindings b = Bindings.instance();
+            final UUID handle = client.prepare(
+                    traversal().withEmbedded(TinkerFactory.createModern()).V().has("name", b.of("name", "marko")).values("age").asAdmin().getBytecode());
+
+            assertEquals(27, ((Traverser) client.submitPrepared(handle, Collections.singletonMap("name", "vadas")).one().getObject()).get());
+            assertEquals(32, ((Traverser) client.submitPrepared(handle, Collections.singletonMap("name", "josh")).one().getObject()).get());
+            assertEquals(29, ((Traverser) client.submitPrepared(handle, Collections.emptyMap()).one().getObject()).get());
+            assertEquals(27, ((Traverser) client.submitPrepared(handle, Collections.singletonMap("name", "vadas")).one().getObject()).get());
+
+            try {
+                client.submitPrepared(UUID.randomUUID(), Collections.emptyMap()).all().get();
+                fail("Should have thrown an exception for an unknown prepared traversal");
+            } catch (Exception ex) {
+                final Throwable inner = ExceptionHelper.getRootCause(ex);
+                assertThat(inner, instanceOf(ResponseException.class));
+                assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, ((ResponseException) inner).getResponseStatusCode());
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldProcessTraversalInterruption() throws Exception {
         final Cluster cluster = TestClientFactory.open();
@@ -575,6 +604,72 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldProcessBatchedRequestsOutOfOrder() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        try {
+            final Client client = cluster.connect();
+
+            final List<ResultSet> results = client.submitBatch(Arrays.asList(
+                    RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "Thread.sleep(5000);'five'").create(),
+                    RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "1/0").create(),
+                    RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "'zero'").create()));
+            assertEquals(3, results.size());
+
+            final CompletableFuture<List<Result>> futureFive = results.get(0).all();
+            assertEquals("zero", results.get(2).all().get().get(0).getString());
+            assertFalse(futureFive.isDone());
+
+            // each request of the batch succeeds or fails on its own
+            try {
+                results.get(1).all().get();
+                fail("Should have thrown an exception over division by zero");
+            } catch (Exception ex) {
+                final Throwable root = ExceptionHelper.getRootCause(ex);
+                assertThat(root, instanceOf(ResponseException.class));
+                assertThat(root.getMessage(), containsString("Division by zero"));
+            }
+
+            assertEquals("five", futureFive.get(10, TimeUnit.SECONDS).get(0).getString());
+
+            // the connection is still usable once all the requests of the batch are complete
+            assertEquals(2, client.submit("1+1").all().get().get(0).getInt());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldProcessOrderedBatchedRequestsInOrder() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        try {
+            final Client client = cluster.connect();
+
+            final List<ResultSet> results = client.submitBatch(Arrays.asList(
+                    RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "Thread.sleep(1000);g.addV('batched').iterate()").create(),
+                    RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "g.V().hasLabel('batched').count()").create(),
+                    RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "g.addV('batched').iterate()").create(),
+                    RequestMessage.build(Tokens.OPS_EVAL).add(Tokens.ARGS_GREMLIN, "g.V().hasLabel('batched').count()").create()), true);
+
+            if (isUsingUnifiedChannelizer()) {
+                assertEquals(1, results.get(1).all().get().get(0).getLong());
+                assertEquals(2, results.get(3).all().get().get(0).getLong());
+            } else {
+                // only the UnifiedChannelizer can process the requests of a batch one after the other
+                try {
+                    results.get(0).all().get();
+                    fail("Should have thrown an exception as the OpProcessor channelizers do not support ordered batches");
+                } catch (Exception ex) {
+                    final Throwable root = ExceptionHelper.getRootCause(ex);
+                    assertThat(root, instanceOf(ResponseException.class));
+                    assertEquals(ResponseStatusCode.REQUEST_ERROR_INVALID_REQUEST_ARGUMENTS, ((ResponseException) root).getResponseStatusCode());
+                }
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
     /**
      * This test validates that the session requests are processed in-order on the server. The order of results
      * returned to the client might be different though since each result is handled by a different executor thread.
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.server;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.RequestOptions;
 import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.ResultSet;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
@@ -29,6 +30,7 @@ import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
@@ -113,6 +115,47 @@ public class GremlinResultSetIntegrateTest extends AbstractGremlinServerIntegrat
         assertThat(attr.containsKey(Tokens.ARGS_HOST), is(true));
     }
 
+    @Test
+    public void shouldReturnTraceViaNoContent() throws Exception {
+        final ResultSet results = client.submit("[]", RequestOptions.build().traceId("trace-no-content").create());
+        assertTrace(results.statusAttributes().get(20000, TimeUnit.MILLISECONDS), "trace-no-content");
+    }
+
+    @Test
+    public void shouldReturnTraceViaSuccess() throws Exception {
+        final ResultSet results = client.submit("gmodern.V()", RequestOptions.build().traceId("trace-script").create());
+        assertEquals(6, results.all().get().size());
+        assertTrace(results.statusAttributes().get(20000, TimeUnit.MILLISECONDS), "trace-script");
+    }
+
+    @Test
+    public void shouldReturnTraceForBytecode() throws Exception {
+        final GraphTraversalSource g = TinkerGraph.open().traversal();
+        final ResultSet results = client.alias("gmodern").submitAsync(g.V().asAdmin().getBytecode(),
+                RequestOptions.build().traceId("trace-bytecode").create()).get();
+        assertEquals(6, results.all().get().size());
+        assertTrace(results.statusAttributes().get(20000, TimeUnit.MILLISECONDS), "trace-bytecode");
+    }
+
+    @Test
+    public void shouldNotReturnTraceUnlessRequested() throws Exception {
+        final ResultSet results = client.submit("gmodern.V()");
+        final Map<String,Object> attr = results.statusAttributes().get(20000, TimeUnit.MILLISECONDS);
+        assertThat(attr.containsKey(Tokens.STATUS_ATTRIBUTE_TRACE), is(false));
+    }
+
+    private static void assertTrace(final Map<String,Object> attr, final String traceId) {
+        assertThat(attr.containsKey(Tokens.ARGS_HOST), is(true));
+        final Map<String,Object> trace = (Map<String,Object>) attr.get(Tokens.STATUS_ATTRIBUTE_TRACE);
+        assertEquals(traceId, trace.get(Tokens.ARGS_TRACE_ID));
+        for (final RequestTrace.Phase phase : RequestTrace.Phase.values()) {
+            assertThat(trace.get(phase.getKey()), instanceOf(Number.class));
+        }
+        assertThat(((Number) trace.get("total")).longValue() > 0, is(true));
+        assertThat(((Number) trace.get("driverPool")).longValue() >= 0, is(true));
+        assertThat(((Number) trace.get("driverRoundTrip")).longValue() > 0, is(true));
+    }
+
     @Test
     public void shouldHandleVertexResultFromTraversalBulked() throws Exception {
         final Graph graph = TinkerGraph.open();
@@ -74,6 +74,12 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
             case "should413OnPostWithResultTooLarge":
                 settings.maxContentLength = 31;
                 break;
+            case "should200OnPOSTWithStreamedResult":
+            case "should200OnPOSTWithStreamedResultThatFitsOneBatch":
+            case "should200OnPOSTWithStreamedResultThatFailsDuringIteration":
+                settings.enableHttpStreaming = true;
+                settings.resultIterationBatchSize = 10;
+                break;
             case "should200OnPOSTTransactionalGraph":
                 tryIncludeNeo4jGraph(settings);
                 break;
@@ -535,6 +541,71 @@ public class GremlinServerHttpIntegrateTest extends AbstractGremlinServerIntegra
         }
     }
 
+    @Test
+    public void should200OnPOSTWithStreamedResult() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"(1..25)\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("chunked", response.getFirstHeader(HttpHeaders.TRANSFER_ENCODING).getValue());
+            final String[] lines = EntityUtils.toString(response.getEntity()).split("\n");
+            assertEquals(3, lines.length);
+
+            final JsonNode first = mapper.readTree(lines[0]);
+            assertEquals(206, first.get("status").get("code").asInt());
+            assertEquals(10, first.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+            assertEquals(1, first.get("result").get("data").get(GraphSONTokens.VALUEPROP).get(0).get(GraphSONTokens.VALUEPROP).intValue());
+
+            final JsonNode second = mapper.readTree(lines[1]);
+            assertEquals(206, second.get("status").get("code").asInt());
+            assertEquals(10, second.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+
+            final JsonNode last = mapper.readTree(lines[2]);
+            assertEquals(200, last.get("status").get("code").asInt());
+            assertEquals(5, last.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+            assertEquals(25, last.get("result").get("data").get(GraphSONTokens.VALUEPROP).get(4).get(GraphSONTokens.VALUEPROP).intValue());
+            assertEquals(first.get("requestId").asText(), last.get("requestId").asText());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithStreamedResultThatFitsOneBatch() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"gclassic.V()\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            assertEquals("application/json", response.getEntity().getContentType().getValue());
+            final JsonNode node = mapper.readTree(EntityUtils.toString(response.getEntity()));
+            assertEquals(200, node.get("status").get("code").asInt());
+            assertEquals(6, node.get("result").get("data").get(GraphSONTokens.VALUEPROP).size());
+        }
+    }
+
+    @Test
+    public void should200OnPOSTWithStreamedResultThatFailsDuringIteration() throws Exception {
+        final CloseableHttpClient httpclient = HttpClients.createDefault();
+        final HttpPost httppost = new HttpPost(TestClientFactory.createURLString());
+        httppost.addHeader("Content-Type", "application/json");
+        httppost.setEntity(new StringEntity("{\"gremlin\":\"def i = 0; [hasNext: { i < 25 }, next: { if (++i == 15) throw new RuntimeException('boom'); i }] as Iterator\"}", Consts.UTF_8));
+
+        try (final CloseableHttpResponse response = httpclient.execute(httppost)) {
+            // the status was sent before the error so the error is in the final message
+            assertEquals(200, response.getStatusLine().getStatusCode());
+            final String[] lines = EntityUtils.toString(response.getEntity()).split("\n");
+            assertEquals(2, lines.length);
+            assertEquals(206, mapper.readTree(lines[0]).get("status").get("code").asInt());
+            final JsonNode error = mapper.readTree(lines[1]);
+            assertEquals(500, error.get("status").get("code").asInt());
+            assertEquals("boom", error.get("status").get("message").asText());
+        }
+    }
+
     @Test
     public void should200OnPOSTWithGremlinJsonEndcodedBodyWithTinkerGraphResult() throws Exception {
         final CloseableHttpClient httpclient = HttpClients.createDefault();
@@ -20,14 +20,17 @@ package org.apache.tinkerpop.gremlin.server;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import com.codahale.metrics.Meter;
 import nl.altindag.log.LogCaptor;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.io.FileUtils;
 import org.apache.tinkerpop.gremlin.util.ExceptionHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.driver.RequestOptions;
 import org.apache.tinkerpop.gremlin.driver.ResultSet;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
@@ -47,8 +50,11 @@ import org.apache.tinkerpop.gremlin.structure.RemoteGraph;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.apache.tinkerpop.gremlin.server.op.AbstractEvalOpProcessor;
+import org.apache.tinkerpop.gremlin.server.op.admin.AdminOpProcessor;
 import org.apache.tinkerpop.gremlin.server.op.standard.StandardOpProcessor;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -63,13 +69,18 @@ import org.junit.Test;
 
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -77,6 +88,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static org.apache.tinkerpop.gremlin.driver.Tokens.ARGS_EVAL_TIMEOUT;
 import static org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyCompilerGremlinPlugin.Compilation.COMPILE_STATIC;
 import static org.apache.tinkerpop.gremlin.process.remote.RemoteConnection.GREMLIN_REMOTE;
@@ -85,6 +97,9 @@ import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalS
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.core.AllOf.allOf;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.hamcrest.core.IsNot.not;
@@ -189,6 +204,13 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldBatchResultsByTwosToDriver":
                 settings.resultIterationBatchSize = 2;
                 break;
+            case "shouldGrowBatchesToTargetFrameSize":
+                settings.resultIterationBatchSize = 2;
+                settings.resultIterationTargetFrameSize = 4096;
+                break;
+            case "shouldShrinkBatchesToTargetFrameSize":
+                settings.resultIterationTargetFrameSize = 1024;
+                break;
             case "shouldUseSimpleSandbox":
                 settings.scriptEngines.get("gremlin-groovy").plugins.put(GroovyCompilerGremlinPlugin.class.getName(), getScriptEngineConfForSimpleSandbox());
                 // remove the script because it isn't used in the test but also because it's not CompileStatic ready
@@ -226,10 +248,36 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
             case "shouldCloseChannelIfClientDoesntRespond":
                 settings.idleConnectionTimeout = 1000;
                 break;
+            case "shouldWarmUpScriptsIntoClassCacheDirectory":
+                settings.scriptEngines.get("gremlin-groovy").plugins.put(GroovyCompilerGremlinPlugin.class.getName(), getScriptEngineConfForClassCache());
+                settings.scriptEngines.get("gremlin-groovy").warmupScripts = getWarmupScripts();
+                break;
             case "shouldBlowTheWorkQueueSize":
                 settings.gremlinPool = 1;
                 settings.maxWorkQueueSize = 1;
                 break;
+            case "shouldCacheResultsUntilGraphChanges":
+                settings.resultCacheMaxSize = 100;
+                break;
+            case "shouldRecordRequestMetrics":
+                settings.requestMetrics = true;
+                settings.stepMetricsSampleRate = 1;
+                break;
+            case "shouldLogSlowQueries":
+                settings.slowQueryThreshold = 200;
+                settings.slowQueryLogSize = 10;
+                settings.slowQueryProfileSampleRate = 1;
+                break;
+            case "shouldShedRequestsWaitingLongerThanTargetQueueTime":
+                settings.gremlinPool = 1;
+                final Settings.PriorityClassSettings interactive = new Settings.PriorityClassSettings();
+                interactive.name = "interactive";
+                interactive.targetQueueTime = 50;
+                interactive.queueTimeInterval = 50;
+                final Settings.PriorityClassSettings analytics = new Settings.PriorityClassSettings();
+                analytics.name = "analytics";
+                settings.priorityClasses = Arrays.asList(interactive, analytics);
+                break;
             default:
                 break;
         }
@@ -256,6 +304,29 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         return scriptEngineConf;
     }
 
+    private static Map<String, Object> getScriptEngineConfForClassCache() {
+        final File directory = TestHelper.makeTestDataPath(GremlinServerIntegrateTest.class, "class-cache");
+        try {
+            FileUtils.cleanDirectory(directory);
+        } catch (IOException ioe) {
+            throw new RuntimeException(ioe);
+        }
+
+        final Map<String,Object> scriptEngineConf = new HashMap<>();
+        scriptEngineConf.put("classCacheDirectory", directory.getAbsolutePath());
+        return scriptEngineConf;
+    }
+
+    private static List<String> getWarmupScripts() {
+        final File file = new File(TestHelper.makeTestDataPath(GremlinServerIntegrateTest.class, "warmup"), "warmup.groovy");
+        try {
+            FileUtils.writeLines(file, Arrays.asList("'warm' + 'up'", "", "[1, 2, 3].collect { it * 2 }"));
+        } catch (IOException ioe) {
+            throw new RuntimeException(ioe);
+        }
+        return Collections.singletonList(file.getAbsolutePath());
+    }
+
     private static Map<String, Object> getScriptEngineConfForBaseScript() {
         final Map<String,Object> scriptEngineConf = new HashMap<>();
         final Map<String,Object> properties = new HashMap<>();
@@ -264,6 +335,19 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         return scriptEngineConf;
     }
 
+    @Test
+    public void shouldWarmUpScriptsIntoClassCacheDirectory() throws Exception {
+        // the init scripts and the two warmup scripts were compiled and stored before any request arrived
+        final File directory = TestHelper.makeTestDataPath(GremlinServerIntegrateTest.class, "class-cache");
+        assertThat(directory.listFiles((dir, name) -> name.endsWith(".class-cache")).length, greaterThanOrEqualTo(3));
+
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+        assertEquals("warmup", client.submit("'warm' + 'up'").all().get().get(0).getString());
+        assertEquals(3, client.submit("[1, 2, 3].collect { it * 2 }").all().get().size());
+        cluster.close();
+    }
+
     @Test
     public void shouldBlowTheWorkQueueSize() throws Exception {
         final Cluster cluster = TestClientFactory.open();
@@ -299,6 +383,50 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         cluster.close();
     }
 
+    @Test
+    public void shouldShedRequestsWaitingLongerThanTargetQueueTime() throws Exception {
+        // only sessions of the UnifiedChannelizer can be shed
+        assumeThat("Must use UnifiedChannelizer", isUsingUnifiedChannelizer(), is(true));
+
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+
+        // analytics never sheds so the blocker holds the only thread while the interactive requests pile up
+        final ResultSet blocker = client.submitAsync("Thread.sleep(1000);'slow'",
+                RequestOptions.build().priority("analytics").create()).get();
+
+        final List<CompletableFuture<List<Result>>> interactive = new ArrayList<>();
+        for (int ix = 0; ix < 5; ix++) {
+            interactive.add(client.submit("Thread.sleep(100);'fast'",
+                    RequestOptions.build().priority("interactive").create()).all());
+        }
+
+        assertEquals("slow", blocker.all().get().get(0).getString());
+
+        // the first interactive request to wait beyond the target starts the interval and runs, which takes long
+        // enough for the interval to pass so the requests behind it are shed
+        int completed = 0;
+        int shed = 0;
+        for (final CompletableFuture<List<Result>> f : interactive) {
+            try {
+                assertEquals("fast", f.get().get(0).getString());
+                completed++;
+            } catch (ExecutionException ee) {
+                final ResponseException re = (ResponseException) ee.getCause();
+                assertEquals(ResponseStatusCode.TOO_MANY_REQUESTS, re.getResponseStatusCode());
+                shed++;
+            }
+        }
+        assertThat(completed, greaterThanOrEqualTo(1));
+        assertThat(shed, greaterThanOrEqualTo(1));
+
+        // shedding stops once requests get through within the target
+        assertEquals("test", client.submit("'test'", RequestOptions.build().priority("interactive").create())
+                .all().get().get(0).getString());
+
+        cluster.close();
+    }
+
     @Test
     public void shouldScriptEvaluationErrorForRemoteTraversal() throws Exception {
         final GraphTraversalSource g = traversal().withRemote(conf);
@@ -782,6 +910,35 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldGrowBatchesToTargetFrameSize() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final List<ResponseMessage> msgs = client.submit("(0..<1000).collect{it}");
+
+            // the first batch is sized by resultIterationBatchSize and each one after at most doubles
+            assertEquals(2, ((List<Integer>) msgs.get(0).getResult().getData()).size());
+            assertEquals(4, ((List<Integer>) msgs.get(1).getResult().getData()).size());
+            assertThat(msgs.size(), lessThan(20));
+
+            final List<Integer> results = msgs.stream().
+                    flatMap(m -> ((List<Integer>) m.getResult().getData()).stream()).collect(Collectors.toList());
+            assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), results);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldShrinkBatchesToTargetFrameSize() throws Exception {
+        try (SimpleClient client = TestClientFactory.createWebSocketClient()) {
+            final List<ResponseMessage> msgs = client.submit("['x' * 500] * 200");
+
+            assertEquals(64, ((List<String>) msgs.get(0).getResult().getData()).size());
+            msgs.subList(1, msgs.size()).forEach(m -> assertThat(((List<String>) m.getResult().getData()).size(), lessThanOrEqualTo(2)));
+            assertEquals(200, msgs.stream().mapToInt(m -> ((List<String>) m.getResult().getData()).size()).sum());
+        }
+    }
+
     @Test
     public void shouldNotThrowNoSuchElementException() throws Exception {
         try (SimpleClient client = TestClientFactory.createWebSocketClient()){
@@ -1009,6 +1166,115 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         g.close();
     }
 
+    @Test
+    public void shouldCacheResultsUntilGraphChanges() throws Exception {
+        final Meter hits = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "result-cache", "hits"));
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        final long count = g.V().count().next();
+
+        final long hitsBefore = hits.getCount();
+        assertEquals(count, g.V().count().next().longValue());
+        assertEquals(hitsBefore + 1, hits.getCount());
+
+        // a mutating traversal invalidates once it completes
+        g.addV("person").iterate();
+        assertEquals(count + 1, g.V().count().next().longValue());
+        assertEquals(count + 1, g.V().count().next().longValue());
+        assertEquals(hitsBefore + 2, hits.getCount());
+
+        // so does a script as it may change anything
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+        client.submit("g.addV('person')").all().get();
+        assertEquals(count + 2, g.V().count().next().longValue());
+
+        // opting out skips the cache
+        assertEquals(count + 2, g.with(Tokens.ARGS_CACHE, false).V().count().next().longValue());
+        assertEquals(count + 2, g.with(Tokens.ARGS_CACHE, false).V().count().next().longValue());
+        assertEquals(hitsBefore + 2, hits.getCount());
+
+        // and a lambda may change the graph from a step that otherwise only reads
+        assertEquals(0L, g.V().has("x", 1).count().next().longValue());
+        assertEquals(0L, g.V().has("x", 1).count().next().longValue());
+        assertEquals(hitsBefore + 3, hits.getCount());
+        g.V().limit(1).sideEffect(Lambda.consumer("it.get().property('x', 1)")).iterate();
+        assertEquals(1L, g.V().has("x", 1).count().next().longValue());
+
+        cluster.close();
+        g.close();
+    }
+
+    @Test
+    public void shouldRecordRequestMetrics() throws Exception {
+        final MetricManager metrics = MetricManager.INSTANCE;
+        final String evalOp = name(GremlinServer.class, "requests", "op", "standard", Tokens.OPS_EVAL);
+        final String bytecodeOp = name(GremlinServer.class, "requests", "op", "traversal", Tokens.OPS_BYTECODE);
+        final String source = name(GremlinServer.class, "requests", "source", "g");
+        final String results = name(GremlinServer.class, "requests", "results");
+        final String vertexStep = name(GremlinServer.class, "steps", "VertexStep");
+        final long evalCount = metrics.getTimer(evalOp).getCount();
+        final long bytecodeCount = metrics.getTimer(bytecodeOp).getCount();
+        final long sourceCount = metrics.getTimer(source).getCount();
+        final long resultsCount = metrics.getHistogram(results).getCount();
+        final long vertexStepCount = metrics.getTimer(vertexStep).getCount();
+
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+        assertEquals(3, client.submit("[1,2,3]").all().get().size());
+
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        g.V().out().profile().next();
+
+        // the final response is written before the metrics are recorded
+        Thread.sleep(100);
+        assertEquals(evalCount + 1, metrics.getTimer(evalOp).getCount());
+        assertEquals(bytecodeCount + 1, metrics.getTimer(bytecodeOp).getCount());
+        assertEquals(sourceCount + 1, metrics.getTimer(source).getCount());
+        assertEquals(resultsCount + 2, metrics.getHistogram(results).getCount());
+        assertEquals(vertexStepCount + 1, metrics.getTimer(vertexStep).getCount());
+
+        cluster.close();
+        g.close();
+    }
+
+    @Test
+    public void shouldLogSlowQueries() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+        assertEquals(0, client.submitAsync(RequestMessage.build(Tokens.OPS_SLOW_QUERIES).
+                processor(AdminOpProcessor.OP_PROCESSOR_NAME).create()).get().all().get().size());
+
+        client.submit("1+1").all().get();
+        client.submit("Thread.sleep(300);  1").all().get();
+
+        final GraphTraversalSource g = traversal().withRemote(conf);
+        g.inject(1).map(Lambda.function("Thread.sleep(300); it.get()")).toList();
+
+        // the final response is written before the request is added to the log
+        Thread.sleep(100);
+
+        final List<Result> results = client.submitAsync(RequestMessage.build(Tokens.OPS_SLOW_QUERIES).
+                processor(AdminOpProcessor.OP_PROCESSOR_NAME).create()).get().all().get();
+        assertEquals(2, results.size());
+
+        // the most recent comes first and as it was a sampled traversal it carries its profile
+        final Map<String, Object> traversal = (Map<String, Object>) results.get(0).getObject();
+        assertEquals("traversal.bytecode", traversal.get("op"));
+        assertEquals("g", traversal.get("traversalSource"));
+        assertEquals("g.inject(?).map(?)", traversal.get("query"));
+        assertEquals(ResponseStatusCode.SUCCESS.getValue(), traversal.get("status"));
+        assertThat(((Number) ((Map<String, Object>) traversal.get("phases")).get("total")).longValue() >= 200_000_000L, is(true));
+        assertThat(traversal.get("metrics"), instanceOf(TraversalMetrics.class));
+
+        final Map<String, Object> script = (Map<String, Object>) results.get(1).getObject();
+        assertEquals("standard.eval", script.get("op"));
+        assertEquals("Thread.sleep(?); ?", script.get("query"));
+        assertThat(script.containsKey("metrics"), is(false));
+
+        cluster.close();
+        g.close();
+    }
+
     @Test
     public void shouldDoNonBlockingPromiseWithRemote() throws Exception {
         final GraphTraversalSource g = traversal().withRemote(conf);
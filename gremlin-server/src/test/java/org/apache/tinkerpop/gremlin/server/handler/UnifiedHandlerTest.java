@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.PriorityWorkQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+
+public class UnifiedHandlerTest {
+    private GremlinExecutor gremlinExecutor;
+    private ScheduledExecutorService scheduledExecutorService;
+    private UnifiedHandler handler;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        gremlinExecutor = GremlinExecutor.build().create();
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+
+        // the first request fails to create its task and the others succeed without running anything
+        handler = new UnifiedHandler(new Settings(), mock(GraphManager.class), gremlinExecutor, scheduledExecutorService, null) {
+            @Override
+            protected Optional<SessionTask> createSessionTask(final ChannelHandlerContext ctx, final RequestMessage requestMessage) {
+                if (requestMessage.getArgs().get(Tokens.ARGS_GREMLIN).equals("fail"))
+                    throw new IllegalStateException("boom");
+                ctx.writeAndFlush(ResponseMessage.build(requestMessage).code(ResponseStatusCode.SUCCESS).create());
+                return Optional.empty();
+            }
+        };
+        channel = new EmbeddedChannel(handler);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        channel.finishAndReleaseAll();
+        gremlinExecutor.close();
+        scheduledExecutorService.shutdownNow();
+
+        // the handler registers the sessions gauge which SessionOpProcessor expects to register itself
+        MetricManager.INSTANCE.getRegistry().remove(name(GremlinServer.class, "sessions"));
+    }
+
+    @Test
+    public void shouldRespondToEachRequestOfOrderedBatchWhenOneFails() {
+        final RequestMessage failing = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "fail").create();
+        final RequestMessage succeeding = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "1").create();
+
+        handler.new OrderedBatchTask(channel.pipeline().firstContext(), Arrays.asList(failing, succeeding)).run();
+
+        final ResponseMessage first = channel.readOutbound();
+        assertThat(first.getRequestId(), is(failing.getRequestId()));
+        assertThat(first.getStatus().getCode(), is(ResponseStatusCode.SERVER_ERROR));
+        assertThat(first.getStatus().getMessage(), is("boom"));
+
+        final ResponseMessage second = channel.readOutbound();
+        assertThat(second.getRequestId(), is(succeeding.getRequestId()));
+        assertThat(second.getStatus().getCode(), is(ResponseStatusCode.SUCCESS));
+        assertThat(channel.readOutbound(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldShedEachRequestOfOrderedBatch() {
+        final RequestMessage first = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "1").create();
+        final RequestMessage second = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "2").create();
+        final UnifiedHandler.OrderedBatchTask task = handler.new OrderedBatchTask(channel.pipeline().firstContext(), Arrays.asList(first, second));
+
+        assertThat(task.isSheddable(), is(true));
+        task.shed(100);
+
+        final ResponseMessage firstResponse = channel.readOutbound();
+        assertThat(firstResponse.getRequestId(), is(first.getRequestId()));
+        assertThat(firstResponse.getStatus().getCode(), is(ResponseStatusCode.TOO_MANY_REQUESTS));
+        final ResponseMessage secondResponse = channel.readOutbound();
+        assertThat(secondResponse.getRequestId(), is(second.getRequestId()));
+        assertThat(secondResponse.getStatus().getCode(), is(ResponseStatusCode.TOO_MANY_REQUESTS));
+    }
+
+    @Test
+    public void shouldQueueOrderedBatchInPriorityClassOfFirstRequest() {
+        final Settings.PriorityClassSettings interactive = new Settings.PriorityClassSettings();
+        interactive.name = "interactive";
+        final Settings.PriorityClassSettings analytics = new Settings.PriorityClassSettings();
+        analytics.name = "analytics";
+        final PriorityWorkQueue queue = new PriorityWorkQueue(Arrays.asList(interactive, analytics), 10);
+
+        final RequestMessage first = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "1")
+                .addArg(Tokens.ARGS_PRIORITY, "analytics").create();
+        final RequestMessage second = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "2").create();
+
+        assertThat(queue.getPriorityClass(handler.new OrderedBatchTask(channel.pipeline().firstContext(),
+                Arrays.asList(first, second))), is("analytics"));
+        assertThat(queue.getPriorityClass(handler.new OrderedBatchTask(channel.pipeline().firstContext(),
+                Collections.emptyList())), is("interactive"));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
+import org.apache.tinkerpop.gremlin.server.authz.AuthorizationException;
+import org.apache.tinkerpop.gremlin.server.authz.Authorizer;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+public class WebSocketAuthorizationHandlerTest {
+
+    @Test
+    public void shouldKeepAllArgumentsOfAuthorizedBytecodeRequest() {
+        final Bytecode restricted = new Bytecode();
+        final EmbeddedChannel channel = new EmbeddedChannel(new WebSocketAuthorizationHandler(authorizerOf(restricted, false)));
+
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_BYTECODE).processor("traversal").
+                addArg(Tokens.ARGS_GREMLIN, new Bytecode()).
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "g")).
+                addArg(Tokens.ARGS_PRIORITY, "interactive").
+                addArg(Tokens.ARGS_CACHE, false).
+                addArg(Tokens.ARGS_TRACE_ID, "trace-1").create();
+        channel.writeInbound(request);
+
+        final RequestMessage authorized = channel.readInbound();
+        assertThat(authorized.getRequestId(), is(request.getRequestId()));
+        assertThat(authorized.getProcessor(), is("traversal"));
+        assertThat(authorized.getArgs().get(Tokens.ARGS_GREMLIN), sameInstance(restricted));
+        assertThat(authorized.getArgs().get(Tokens.ARGS_ALIASES), is(Collections.singletonMap("g", "g")));
+        assertThat(authorized.getArgs().get(Tokens.ARGS_PRIORITY), is("interactive"));
+        assertThat(authorized.getArgs().get(Tokens.ARGS_CACHE), is(false));
+        assertThat(authorized.getArgs().get(Tokens.ARGS_TRACE_ID), is("trace-1"));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldAuthorizeSlowQueriesRequest() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WebSocketAuthorizationHandler(authorizerOf(null, true)));
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_SLOW_QUERIES).processor("admin").create();
+        channel.writeInbound(request);
+        assertThat(channel.readInbound(), sameInstance(request));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldRefuseSlowQueriesRequestWhenNotAuthorized() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WebSocketAuthorizationHandler(authorizerOf(null, false)));
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_SLOW_QUERIES).processor("admin").create();
+        channel.writeInbound(request);
+        assertThat(channel.readInbound(), is(nullValue()));
+
+        final ResponseMessage response = channel.readOutbound();
+        assertThat(response.getRequestId(), is(request.getRequestId()));
+        assertThat(response.getStatus().getCode(), is(ResponseStatusCode.UNAUTHORIZED));
+        channel.finishAndReleaseAll();
+    }
+
+    /**
+     * Creates an {@link Authorizer} that returns the given bytecode and allows or refuses all other requests.
+     */
+    private static Authorizer authorizerOf(final Bytecode restricted, final boolean allowRequests) {
+        return new Authorizer() {
+            @Override
+            public void setup(final Map<String, Object> config) {
+            }
+
+            @Override
+            public Bytecode authorize(final AuthenticatedUser user, final Bytecode bytecode, final Map<String, String> aliases) {
+                return restricted;
+            }
+
+            @Override
+            public void authorize(final AuthenticatedUser user, final RequestMessage msg) throws AuthorizationException {
+                if (!allowRequests) throw new AuthorizationException("not allowed");
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.handler;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WritabilityHandlerTest {
+
+    @Test
+    public void shouldReturnImmediatelyWhenWritable() throws Exception {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        assertTrue(WritabilityHandler.awaitWritable(channel, 0));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldTimeOutWhileNotWritable() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        assertFalse(WritabilityHandler.awaitWritable(channel, 50));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldWakeWhenChannelDrains() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return WritabilityHandler.awaitWritable(channel, 30000);
+            } catch (InterruptedException ie) {
+                throw new RuntimeException(ie);
+            }
+        });
+
+        channel.flush();
+        channel.runPendingTasks();
+        assertTrue(waiter.get(10, TimeUnit.SECONDS));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldWakeWhenChannelCloses() throws Exception {
+        final EmbeddedChannel channel = createUnwritableChannel();
+        final CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return WritabilityHandler.awaitWritable(channel, 30000);
+            } catch (InterruptedException ie) {
+                throw new RuntimeException(ie);
+            }
+        });
+
+        channel.close();
+        assertFalse(waiter.get(10, TimeUnit.SECONDS));
+        channel.finishAndReleaseAll();
+    }
+
+    private static EmbeddedChannel createUnwritableChannel() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler());
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(4, 8));
+        channel.write(Unpooled.wrappedBuffer(new byte[16]));
+        assertFalse(channel.isWritable());
+        return channel;
+    }
+}
@@ -22,6 +22,8 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.server.Context;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.trace.RequestTrace;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -35,6 +37,8 @@ public class AbstractOpProcessorTest {
     public void makeFrameMethodTest() throws Exception {
         final RequestMessage request = RequestMessage.build("test").create();
         final Context ctx = Mockito.mock(Context.class);
+        Mockito.when(ctx.getTrace()).thenReturn(RequestTrace.of(request));
+        Mockito.when(ctx.getSettings()).thenReturn(new Settings());
 
         final ArgumentCaptor<ResponseMessage> responseCaptor = ArgumentCaptor.forClass(ResponseMessage.class);
 
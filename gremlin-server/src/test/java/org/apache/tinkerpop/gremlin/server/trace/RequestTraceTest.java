@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestTraceTest {
+
+    @After
+    public void afterTest() {
+        RequestTrace.setSink(null);
+    }
+
+    @Test
+    public void shouldNotTraceWithoutTraceId() {
+        final RequestTrace trace = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).create());
+        assertThat(trace.isEnabled(), is(false));
+        assertEquals(0, trace.mark());
+
+        trace.lap(RequestTrace.Phase.QUEUE);
+        assertEquals(0, trace.getElapsed(RequestTrace.Phase.QUEUE));
+
+        final Map<String, Object> attributes = Collections.singletonMap(Tokens.ARGS_HOST, "localhost");
+        assertThat(trace.attach(attributes), sameInstance(attributes));
+    }
+
+    @Test
+    public void shouldRecordPhases() throws Exception {
+        final RequestTrace trace = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_TRACE_ID, "abc").create());
+        assertThat(trace.isEnabled(), is(true));
+
+        Thread.sleep(5);
+        trace.lap(RequestTrace.Phase.QUEUE);
+        final long mark = trace.mark();
+        Thread.sleep(5);
+        trace.record(RequestTrace.Phase.ITERATE, mark);
+
+        assertThat(trace.getElapsed(RequestTrace.Phase.QUEUE) >= 5_000_000, is(true));
+        assertThat(trace.getElapsed(RequestTrace.Phase.ITERATE) >= 5_000_000, is(true));
+        assertEquals(0, trace.getElapsed(RequestTrace.Phase.SERIALIZE));
+        assertThat(trace.getTotal() >= trace.getElapsed(RequestTrace.Phase.QUEUE) + trace.getElapsed(RequestTrace.Phase.ITERATE), is(true));
+
+        final Map<String, Object> attributes = trace.attach(Collections.singletonMap(Tokens.ARGS_HOST, "localhost"));
+        assertEquals("localhost", attributes.get(Tokens.ARGS_HOST));
+        final Map<String, Object> traced = (Map<String, Object>) attributes.get(Tokens.STATUS_ATTRIBUTE_TRACE);
+        assertEquals("abc", traced.get(Tokens.ARGS_TRACE_ID));
+        assertEquals(trace.getElapsed(RequestTrace.Phase.QUEUE), traced.get(RequestTrace.Phase.QUEUE.getKey()));
+    }
+
+    @Test
+    public void shouldFinishToSinkAndMetrics() {
+        final List<RequestTrace> traces = new ArrayList<>();
+        RequestTrace.setSink(traces::add);
+        final long count = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "trace", "total")).getCount();
+
+        final RequestTrace trace = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_TRACE_ID, "abc").create());
+        trace.finish(ResponseStatusCode.SUCCESS);
+
+        assertEquals(1, traces.size());
+        assertThat(traces.get(0), sameInstance(trace));
+        assertEquals(ResponseStatusCode.SUCCESS, trace.getStatusCode());
+
+        // the total stops once the final response is written
+        final long total = trace.getTotal();
+        assertEquals(total, trace.getTotal());
+        assertEquals(count + 1, MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "trace", "total")).getCount());
+    }
+
+    @Test
+    public void shouldRecordRequestMetricsWithoutTracing() {
+        final List<RequestTrace> traces = new ArrayList<>();
+        RequestTrace.setSink(traces::add);
+        final MetricManager metrics = MetricManager.INSTANCE;
+        final long opCount = metrics.getTimer(name(GremlinServer.class, "requests", "op", "standard", Tokens.OPS_EVAL)).getCount();
+        final long sourceCount = metrics.getTimer(name(GremlinServer.class, "requests", "source", "gmodern")).getCount();
+        final long serializerCount = metrics.getTimer(name(GremlinServer.class, "requests", "serializer", "GraphBinaryMessageSerializerV1")).getCount();
+        final long resultsCount = metrics.getHistogram(name(GremlinServer.class, "requests", "results")).getCount();
+        final long traceCount = metrics.getTimer(name(GremlinServer.class, "trace", "total")).getCount();
+
+        final RequestTrace trace = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "gmodern")).create(),
+                true, "GraphBinaryMessageSerializerV1", graphManagerOf("gmodern"));
+        assertThat(trace.isEnabled(), is(true));
+        assertThat(trace.isTraced(), is(false));
+        trace.addResults(3);
+
+        // not traced so nothing is returned to the client
+        final Map<String, Object> attributes = Collections.singletonMap(Tokens.ARGS_HOST, "localhost");
+        assertThat(trace.attach(attributes), sameInstance(attributes));
+
+        trace.finish(ResponseStatusCode.SUCCESS);
+        assertEquals(3, trace.getResults());
+        assertEquals(opCount + 1, metrics.getTimer(name(GremlinServer.class, "requests", "op", "standard", Tokens.OPS_EVAL)).getCount());
+        assertEquals(sourceCount + 1, metrics.getTimer(name(GremlinServer.class, "requests", "source", "gmodern")).getCount());
+        assertEquals(serializerCount + 1, metrics.getTimer(name(GremlinServer.class, "requests", "serializer", "GraphBinaryMessageSerializerV1")).getCount());
+        assertEquals(resultsCount + 1, metrics.getHistogram(name(GremlinServer.class, "requests", "results")).getCount());
+
+        // nor handed to the sink or added to the trace metrics
+        assertEquals(0, traces.size());
+        assertEquals(traceCount, metrics.getTimer(name(GremlinServer.class, "trace", "total")).getCount());
+    }
+
+    @Test
+    public void shouldRecordUnknownOpsAndSourcesAsOther() {
+        final MetricManager metrics = MetricManager.INSTANCE;
+        final String otherOp = name(GremlinServer.class, "requests", "op", RequestTrace.OTHER, RequestTrace.OTHER);
+        final String otherSource = name(GremlinServer.class, "requests", "source", RequestTrace.OTHER);
+        final long opCount = metrics.getTimer(otherOp).getCount();
+        final long sourceCount = metrics.getTimer(otherSource).getCount();
+
+        final RequestTrace trace = RequestTrace.of(RequestMessage.build("made-up-op").processor("made-up-processor").
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "made-up-source")).create(),
+                true, null, graphManagerOf("gmodern"));
+        trace.finish(ResponseStatusCode.SUCCESS);
+
+        assertEquals(opCount + 1, metrics.getTimer(otherOp).getCount());
+        assertEquals(sourceCount + 1, metrics.getTimer(otherSource).getCount());
+        assertThat(metrics.getRegistry().getNames().stream().anyMatch(n -> n.contains("made-up")), is(false));
+    }
+
+    @Test
+    public void shouldIgnoreWhatIsRecordedAfterFinish() throws Exception {
+        final List<RequestTrace> traces = new ArrayList<>();
+        RequestTrace.setSink(traces::add);
+        final RequestTrace trace = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_TRACE_ID, "abc").create());
+        trace.addResults(2);
+
+        // a request that timed out is finished on another thread while its evaluation may still be recording
+        final Thread scheduler = new Thread(() -> trace.finish(ResponseStatusCode.SERVER_ERROR_TIMEOUT));
+        scheduler.start();
+        scheduler.join();
+
+        final long mark = trace.mark();
+        Thread.sleep(1);
+        trace.record(RequestTrace.Phase.ITERATE, mark);
+        trace.lap(RequestTrace.Phase.SERIALIZE);
+        trace.addResults(3);
+        trace.finish(ResponseStatusCode.SUCCESS);
+
+        assertEquals(1, traces.size());
+        assertEquals(ResponseStatusCode.SERVER_ERROR_TIMEOUT, trace.getStatusCode());
+        assertEquals(2, trace.getResults());
+        assertEquals(0, trace.getElapsed(RequestTrace.Phase.ITERATE));
+        assertEquals(0, trace.getElapsed(RequestTrace.Phase.SERIALIZE));
+    }
+
+    @Test
+    public void shouldNotFailOnSinkError() {
+        RequestTrace.setSink(t -> { throw new RuntimeException("sink is broken"); });
+        final RequestTrace trace = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_TRACE_ID, "abc").create());
+        trace.finish(ResponseStatusCode.SUCCESS);
+        assertEquals(ResponseStatusCode.SUCCESS, trace.getStatusCode());
+    }
+
+    private static GraphManager graphManagerOf(final String... traversalSources) {
+        final GraphManager graphManager = mock(GraphManager.class);
+        when(graphManager.getTraversalSourceNames()).thenReturn(new HashSet<>(Arrays.asList(traversalSources)));
+        return graphManager;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SlowQueryLogTest {
+
+    private static final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @After
+    public void afterTest() {
+        RequestTrace.setSlowQueryLog(null);
+        RequestTrace.setStepMetricsSampleRate(0);
+    }
+
+    @Test
+    public void shouldHoldMostRecentFirst() {
+        final SlowQueryLog log = new SlowQueryLog(1, 3, 0);
+        for (int i = 1; i <= 5; i++) {
+            final RequestMessage msg = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "x" + i).create();
+            log.add(SlowQuery.of(RequestTrace.of(msg, true, null, null), msg, "standard.eval", null, null));
+        }
+
+        assertEquals(Arrays.asList("x5", "x4", "x3"), log.getSlowQueries().stream().map(SlowQuery::getQuery).collect(Collectors.toList()));
+
+        log.clear();
+        assertThat(log.getSlowQueries().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldOnlyAddSlowRequests() throws Exception {
+        final SlowQueryLog log = new SlowQueryLog(20, 10, 0);
+        RequestTrace.setSlowQueryLog(log);
+
+        final RequestTrace fast = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "fast").create());
+        assertThat(fast.isEnabled(), is(true));
+        assertThat(fast.isTraced(), is(false));
+        fast.finish(ResponseStatusCode.SUCCESS);
+        assertThat(log.getSlowQueries().isEmpty(), is(true));
+
+        final RequestTrace slow = RequestTrace.of(RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "slow").create());
+        Thread.sleep(25);
+        slow.lap(RequestTrace.Phase.EVALUATE);
+        slow.finish(ResponseStatusCode.SUCCESS);
+
+        final List<SlowQuery> slowQueries = log.getSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals("slow", slowQueries.get(0).getQuery());
+        assertEquals(slow.getRequestId(), slowQueries.get(0).getRequestId());
+        assertEquals(slow.getElapsed(RequestTrace.Phase.EVALUATE), slowQueries.get(0).getPhases().get("evaluate").longValue());
+        assertThat(slowQueries.get(0).getPhases().get("total") >= 20_000_000, is(true));
+        assertNull(slowQueries.get(0).getMetrics());
+    }
+
+    @Test
+    public void shouldKeepProfileOfSampledTraversal() throws Exception {
+        RequestTrace.setSlowQueryLog(new SlowQueryLog(1, 10, 1));
+        final RequestMessage msg = RequestMessage.build(Tokens.OPS_BYTECODE).processor("traversal").create();
+
+        final Traversal.Admin<?, ?> traversal = g.V().out().values("name").asAdmin();
+        final RequestTrace trace = RequestTrace.of(msg);
+        trace.profile(traversal);
+        assertThat(TraversalHelper.hasStepOfAssignableClass(ProfileSideEffectStep.class, traversal), is(true));
+
+        // profiling leaves the results alone
+        traversal.applyStrategies();
+        assertEquals(6, IteratorUtils.count(traversal));
+        Thread.sleep(2);
+        trace.finish(ResponseStatusCode.SUCCESS);
+
+        final SlowQuery slowQuery = RequestTrace.getSlowQueryLog().get().getSlowQueries().get(0);
+        assertEquals("traversal.bytecode", slowQuery.getOp());
+        assertNotNull(slowQuery.getMetrics());
+        assertThat(slowQuery.getMetrics().getMetrics().stream().anyMatch(m -> m.getName().startsWith("VertexStep")), is(true));
+    }
+
+    @Test
+    public void shouldRecordStepMetricsOfProfiledTraversal() {
+        final MetricManager metrics = MetricManager.INSTANCE;
+        final String vertexStep = name(GremlinServer.class, "steps", "VertexStep");
+        final long count = metrics.getTimer(vertexStep).getCount();
+        RequestTrace.setSlowQueryLog(new SlowQueryLog(60000, 10, 1));
+        final RequestMessage msg = RequestMessage.build(Tokens.OPS_BYTECODE).processor("traversal").create();
+
+        // not added to the step metrics unless sampled for them
+        final Traversal.Admin<?, ?> unsampled = g.V().out().asAdmin();
+        final RequestTrace unsampledTrace = RequestTrace.of(msg);
+        unsampledTrace.profile(unsampled);
+        unsampled.applyStrategies();
+        IteratorUtils.iterate(unsampled);
+        unsampledTrace.finish(ResponseStatusCode.SUCCESS);
+        assertEquals(count, metrics.getTimer(vertexStep).getCount());
+
+        // a request need not be slow for the profile it was sampled for to be added
+        RequestTrace.setStepMetricsSampleRate(1);
+        final Traversal.Admin<?, ?> sampled = g.V().out().asAdmin();
+        final RequestTrace sampledTrace = RequestTrace.of(msg);
+        sampledTrace.profile(sampled);
+        sampled.applyStrategies();
+        IteratorUtils.iterate(sampled);
+        sampledTrace.finish(ResponseStatusCode.SUCCESS);
+        assertEquals(count + 1, metrics.getTimer(vertexStep).getCount());
+        assertThat(RequestTrace.getSlowQueryLog().get().getSlowQueries().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldNotProfileUnlessSampled() {
+        RequestTrace.setSlowQueryLog(new SlowQueryLog(1, 10, 0));
+        final Traversal.Admin<?, ?> traversal = g.V().out().asAdmin();
+        RequestTrace.of(RequestMessage.build(Tokens.OPS_BYTECODE).create()).profile(traversal);
+        assertThat(TraversalHelper.hasStepOfAssignableClass(ProfileSideEffectStep.class, traversal), is(false));
+    }
+
+    @Test
+    public void shouldNotProfileTwice() {
+        RequestTrace.setSlowQueryLog(new SlowQueryLog(1, 10, 1));
+        final Traversal.Admin<?, ?> traversal = g.V().out().profile().asAdmin();
+        RequestTrace.of(RequestMessage.build(Tokens.OPS_BYTECODE).create()).profile(traversal);
+        assertEquals(1, TraversalHelper.getStepsOfAssignableClass(ProfileSideEffectStep.class, traversal).size());
+    }
+}
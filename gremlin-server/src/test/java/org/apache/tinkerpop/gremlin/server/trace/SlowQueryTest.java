@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.trace;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class SlowQueryTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance());
+
+    @Test
+    public void shouldNormalizeBytecode() {
+        final SlowQuery slowQuery = slowQueryOf(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.withStrategies(ReadOnlyStrategy.instance()).V(1).has("name", "marko").
+                        has("age", P.gt(29).and(P.lt(40))).where(out("knows").hasLabel("person")).
+                        values("age").order().by(T.id).asAdmin().getBytecode()).create());
+        assertEquals("g.withStrategies(ReadOnlyStrategy).V(?).has(?,?).has(?,and(gt(?),lt(?))).where(__.out(?).hasLabel(?))" +
+                ".values(?).order().by(T.id)", slowQuery.getQuery());
+    }
+
+    @Test
+    public void shouldNormalizeBindingsToTheirVariable() {
+        final Bindings b = Bindings.instance();
+        final SlowQuery marko = slowQueryOf(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().has("name", b.of("x", "marko")).asAdmin().getBytecode()).create());
+        final SlowQuery vadas = slowQueryOf(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().has("name", b.of("x", "vadas")).asAdmin().getBytecode()).create());
+        assertEquals("g.V().has(?,x)", marko.getQuery());
+        assertEquals(marko.getQuery(), vadas.getQuery());
+        assertNotEquals(marko.getBindingsDigest(), vadas.getBindingsDigest());
+    }
+
+    @Test
+    public void shouldDigestParametersOfBytecode() {
+        final SlowQuery marko = slowQueryOf(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().has("name", "marko").asAdmin().getBytecode()).create());
+        final SlowQuery markoAgain = slowQueryOf(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().has("name", "marko").asAdmin().getBytecode()).create());
+        final SlowQuery vadas = slowQueryOf(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().has("name", "vadas").asAdmin().getBytecode()).create());
+        assertEquals(marko.getQuery(), vadas.getQuery());
+        assertEquals(marko.getBindingsDigest(), markoAgain.getBindingsDigest());
+        assertNotEquals(marko.getBindingsDigest(), vadas.getBindingsDigest());
+        assertEquals(16, marko.getBindingsDigest().length());
+    }
+
+    @Test
+    public void shouldDigestParametersByTypeAndContent() {
+        assertEquals(SlowQuery.digest(Arrays.asList(new int[]{1, 2}, "a")),
+                SlowQuery.digest(Arrays.asList(new int[]{1, 2}, "a")));
+        assertEquals(SlowQuery.digest(Collections.singletonList(new Object[]{new long[]{1L}})),
+                SlowQuery.digest(Collections.singletonList(new Object[]{new long[]{1L}})));
+        assertNotEquals(SlowQuery.digest(Collections.singletonList(new int[]{1, 2})),
+                SlowQuery.digest(Collections.singletonList(new int[]{2, 1})));
+        assertNotEquals(SlowQuery.digest(Collections.singletonList(new Object[]{new long[]{1L}})),
+                SlowQuery.digest(Collections.singletonList(new Object[]{new long[]{2L}})));
+        assertNotEquals(SlowQuery.digest(Collections.singletonList(1)), SlowQuery.digest(Collections.singletonList(1L)));
+        assertNotEquals(SlowQuery.digest(Collections.singletonList(1)), SlowQuery.digest(Collections.singletonList("1")));
+        assertNotEquals(SlowQuery.digest(Collections.singletonList("a,b")), SlowQuery.digest(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void shouldNormalizeScriptAndDigestBindings() {
+        final Map<String, Object> x = new HashMap<>();
+        x.put("x", 1);
+        x.put("y", 2);
+        final Map<String, Object> y = new HashMap<>();
+        y.put("y", 2);
+        y.put("x", 1);
+        final SlowQuery slowQuery = slowQueryOf(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_GREMLIN, " g.V(x).\n    out()\t.limit(y) ").addArg(Tokens.ARGS_BINDINGS, x).create());
+        final SlowQuery sameBindings = slowQueryOf(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_GREMLIN, "g.V(x).out().limit(y)").addArg(Tokens.ARGS_BINDINGS, y).create());
+        assertEquals("g.V(x). out() .limit(y)", slowQuery.getQuery());
+        assertEquals(slowQuery.getBindingsDigest(), sameBindings.getBindingsDigest());
+    }
+
+    @Test
+    public void shouldNormalizeScriptLiterals() {
+        final SlowQuery marko = slowQueryOf(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_GREMLIN, "g.V().has('name', 'mar\\'ko').has(\"age\", gt(29)).limit(10L).values(\"\"\"x\"y\"\"\")").create());
+        final SlowQuery vadas = slowQueryOf(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_GREMLIN, "g.V().has('name', 'vadas').has(\"age\", gt(27)).limit(2L).values(\"\"\"x\"\"\")").create());
+        assertEquals("g.V().has(?, ?).has(?, gt(?)).limit(?).values(?)", marko.getQuery());
+        assertEquals(marko.getQuery(), vadas.getQuery());
+        assertNotEquals(marko.getBindingsDigest(), vadas.getBindingsDigest());
+    }
+
+    @Test
+    public void shouldNormalizeScriptNumbersButNotIdentifiers() {
+        final SlowQuery slowQuery = slowQueryOf(RequestMessage.build(Tokens.OPS_EVAL).
+                addArg(Tokens.ARGS_GREMLIN, "x1 = 1.5e-3 + 0x1F; (1..3).each{ v2 -> v2 }; 3.toString()").create());
+        assertEquals("x1 = ? + ?; (?..?).each{ v2 -> v2 }; ?.toString()", slowQuery.getQuery());
+    }
+
+    @Test
+    public void shouldLeaveOutUnknownValuesFromMap() {
+        final RequestMessage msg = RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_GREMLIN, "1+1").create();
+        final Map<String, Object> m = slowQueryOf(msg).asMap();
+        assertEquals(msg.getRequestId(), m.get(Tokens.REQUEST_ID));
+        assertEquals("?+?", m.get("query"));
+        assertEquals(ResponseStatusCode.SUCCESS.getValue(), m.get("status"));
+        assertEquals("standard.eval", m.get("op"));
+        assertEquals(false, m.containsKey(Tokens.ARGS_TRACE_ID));
+        assertEquals(false, m.containsKey("metrics"));
+        assertNull(slowQueryOf(msg).getTraceId());
+    }
+
+    private static SlowQuery slowQueryOf(final RequestMessage msg) {
+        final RequestTrace trace = RequestTrace.of(msg, true, null, null);
+        trace.finish(ResponseStatusCode.SUCCESS);
+        return SlowQuery.of(trace, msg, "standard.eval", null, null);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV3d0;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+
+public class FrameBufferAllocatorTest {
+
+    private static final PooledByteBufAllocator pooled = PooledByteBufAllocator.DEFAULT;
+
+    @Test
+    public void shouldUseDefaultBufferBeforeAnyObservation() {
+        final FrameBufferAllocator allocator = new FrameBufferAllocator(pooled, 1024);
+        assertEquals(-1, allocator.expect(64).getExpectedSize());
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            assertThat(buffer, not(instanceOf(CompositeByteBuf.class)));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void shouldPresizeBufferFromObservedFrames() {
+        final FrameBufferAllocator allocator = new FrameBufferAllocator(pooled, 1024);
+        observe(allocator, 10, 100);
+
+        assertEquals(200, allocator.expect(20).getExpectedSize());
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            assertThat(buffer, not(instanceOf(CompositeByteBuf.class)));
+            assertThat(buffer.capacity(), greaterThanOrEqualTo(200));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void shouldGrowCompositeBufferWithoutConsolidating() {
+        final FrameBufferAllocator allocator = new FrameBufferAllocator(pooled, 1024);
+        observe(allocator, 1, 2048);
+
+        final ByteBuf buffer = allocator.expect(1).buffer();
+        try {
+            assertThat(buffer, instanceOf(CompositeByteBuf.class));
+            assertEquals(2048, buffer.capacity());
+
+            // outgrow the estimate many times over
+            for (int i = 0; i < 100_000; i++) {
+                buffer.writeInt(i);
+            }
+
+            assertThat(((CompositeByteBuf) buffer).numComponents(), greaterThan(1));
+            for (int i = 0; i < 100_000; i++) {
+                assertEquals(i, buffer.readInt());
+            }
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void shouldNotUseCompositeBufferWhenDisabled() {
+        final FrameBufferAllocator allocator = new FrameBufferAllocator(pooled, 0);
+        observe(allocator, 1, 1_000_000);
+
+        final ByteBuf buffer = allocator.expect(1).buffer();
+        try {
+            assertThat(buffer, not(instanceOf(CompositeByteBuf.class)));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void shouldRoundTripResponsesSerializedIntoCompositeBuffers() throws Exception {
+        final FrameBufferAllocator allocator = new FrameBufferAllocator(pooled, 1);
+        final List<Object> results = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            results.add("result-" + i);
+        }
+
+        assertRoundTrip(new GraphBinaryMessageSerializerV1(), allocator, results);
+        assertRoundTrip(new GraphSONMessageSerializerV3d0(), allocator, results);
+    }
+
+    private static void assertRoundTrip(final MessageSerializer<?> serializer, final FrameBufferAllocator allocator,
+                                        final List<Object> results) throws Exception {
+        // a tiny estimate forces the composite buffer to grow many times
+        observe(allocator, results.size(), results.size());
+        final ResponseMessage response = ResponseMessage.build(UUID.randomUUID()).
+                code(ResponseStatusCode.SUCCESS).result(results).create();
+
+        final ByteBuf buffer = serializer.serializeResponseAsBinary(response, allocator.expect(results.size()));
+        try {
+            assertThat(buffer, instanceOf(CompositeByteBuf.class));
+            assertThat(((CompositeByteBuf) buffer).numComponents(), greaterThan(1));
+
+            final ResponseMessage deserialized = serializer.deserializeResponse(buffer);
+            assertEquals(response.getRequestId(), deserialized.getRequestId());
+            assertEquals(results, deserialized.getResult().getData());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static void observe(final FrameBufferAllocator allocator, final int results, final int bytes) {
+        final Frame frame = new Frame(Unpooled.wrappedBuffer(new byte[bytes]));
+        try {
+            allocator.observe(results, frame);
+        } finally {
+            frame.tryRelease();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MetricManagerTest {
+
+    private final MetricManager metrics = MetricManager.INSTANCE;
+
+    @Before
+    public void setUp() {
+        // engine metrics are only registered once per jvm so clear out any left by other tests
+        metrics.getRegistry().removeMatching((n, m) -> n.contains("class-cache") || n.contains("traversal-cache") ||
+                n.endsWith("long-run-compilation-count") || n.endsWith("uncacheable-count"));
+    }
+
+    @Test
+    public void shouldRegisterScriptEngineMetricsWithCallerPrefix() {
+        metrics.registerGremlinScriptEngineMetrics(new GremlinGroovyScriptEngine(), "gremlin-groovy", "sessionless", "class-cache");
+
+        final Set<String> names = metrics.getRegistry().getNames();
+        assertTrue(names.contains(name(GremlinServer.class, "gremlin-groovy", "sessionless", "class-cache", "hit-count")));
+        assertFalse(names.stream().anyMatch(n -> n.contains("class-cache.class-cache")));
+    }
+
+    @Test
+    public void shouldRegisterTraversalCacheMetrics() {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        metrics.registerGremlinScriptEngineMetrics(engine, "gremlin-lang", "sessionless", "class-cache");
+        metrics.registerTraversalCacheMetrics(engine, "gremlin-lang", "sessionless", "traversal-cache");
+
+        final Set<String> names = metrics.getRegistry().getNames();
+        assertTrue(names.contains(name(GremlinServer.class, "gremlin-lang", "sessionless", "traversal-cache", "hit-count")));
+        assertFalse(names.stream().anyMatch(n -> n.contains("gremlin-lang") && n.contains("class-cache")));
+    }
+
+    @Test
+    public void shouldIgnoreTraversalCacheMetricsForOtherEngines() {
+        metrics.registerTraversalCacheMetrics(new GremlinGroovyScriptEngine(), "gremlin-groovy", "sessionless", "traversal-cache");
+        assertFalse(metrics.getRegistry().getNames().stream().anyMatch(n -> n.contains("traversal-cache")));
+    }
+}
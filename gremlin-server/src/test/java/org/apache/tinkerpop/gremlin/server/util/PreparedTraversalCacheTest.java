@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.GraphOp;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+public class PreparedTraversalCacheTest {
+
+    private static final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @Test
+    public void shouldResolvePreparedTraversal() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        final UUID handle = cache.prepare(prepareRequest(), g, "stephen");
+        assertEquals(1, cache.size());
+
+        final RequestMessage resolved = cache.resolve(executeRequest(handle, "vadas"), "stephen");
+        assertEquals(Tokens.OPS_BYTECODE, resolved.getOp());
+        assertEquals(Collections.singletonMap(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS, "g"), resolved.getArgs().get(Tokens.ARGS_ALIASES));
+        assertEquals(Collections.singletonMap("name", "vadas"), ((Bytecode) resolved.getArgs().get(Tokens.ARGS_GREMLIN)).getBindings());
+    }
+
+    @Test
+    public void shouldCloneStrategizedTraversalForSameValues() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        final UUID handle = cache.prepare(prepareRequest(), g, "stephen");
+
+        final Traversal.Admin<?, ?> first = cache.getStrategizedTraversal(cache.resolve(executeRequest(handle, "vadas"), "stephen"), g).get();
+        final Traversal.Admin<?, ?> second = cache.getStrategizedTraversal(cache.resolve(executeRequest(handle, "vadas"), "stephen"), g).get();
+        assertThat(first.isLocked(), is(true));
+        assertNotSame(first, second);
+        assertEquals(Collections.singletonList(27), first.toList());
+        assertEquals(Collections.singletonList(27), second.toList());
+    }
+
+    @Test
+    public void shouldNotReuseStrategizedTraversalForOtherValues() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        final UUID handle = cache.prepare(prepareRequest(), g, "stephen");
+
+        assertEquals(Collections.singletonList(27), cache.getStrategizedTraversal(cache.resolve(executeRequest(handle, "vadas"), "stephen"), g).get().toList());
+        assertEquals(Collections.singletonList(32), cache.getStrategizedTraversal(cache.resolve(executeRequest(handle, "josh"), "stephen"), g).get().toList());
+        assertEquals(Collections.singletonList(27), cache.getStrategizedTraversal(cache.resolve(executeRequest(handle, "vadas"), "stephen"), g).get().toList());
+    }
+
+    @Test
+    public void shouldNotStrategizeRequestThatIsNotPrepared() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        assertThat(cache.getStrategizedTraversal(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().asAdmin().getBytecode()).create(), g).isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldKeepPreparedValueWithoutBinding() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        final UUID handle = cache.prepare(prepareRequest(), g, "stephen");
+        final RequestMessage resolved = cache.resolve(RequestMessage.build(Tokens.OPS_BYTECODE).
+                addArg(Tokens.ARGS_PREPARED, handle.toString()).create(), "stephen");
+        assertEquals(Collections.singletonMap("name", "marko"), ((Bytecode) resolved.getArgs().get(Tokens.ARGS_GREMLIN)).getBindings());
+    }
+
+    @Test
+    public void shouldNotResolveForAnotherUser() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        final UUID handle = cache.prepare(prepareRequest(), g, "stephen");
+        assertNotResolved(cache, executeRequest(handle, "vadas"), "marko");
+    }
+
+    @Test
+    public void shouldNotResolveUnknownVariable() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        final UUID handle = cache.prepare(prepareRequest(), g, "stephen");
+        assertNotResolved(cache, RequestMessage.build(Tokens.OPS_BYTECODE).addArg(Tokens.ARGS_PREPARED, handle).
+                addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("age", 29)).create(), "stephen");
+    }
+
+    @Test
+    public void shouldNotResolveNonLiteralBinding() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10);
+        final UUID handle = cache.prepare(prepareRequest(), g, "stephen");
+        for (final Object value : Arrays.asList(
+                Lambda.predicate("true"),
+                __.out().asAdmin().getBytecode(),
+                __.out(),
+                SubgraphStrategy.build().vertices(__.has("name")).create(),
+                Arrays.asList("vadas", __.out().asAdmin().getBytecode()),
+                Collections.singletonMap("name", Lambda.function("it")),
+                P.within(Arrays.asList("vadas", __.out())),
+                P.eq("vadas").or(P.eq(__.out().asAdmin().getBytecode())))) {
+            assertNotResolved(cache, RequestMessage.build(Tokens.OPS_BYTECODE).addArg(Tokens.ARGS_PREPARED, handle).
+                    addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("name", value)).create(), "stephen");
+        }
+
+        final RequestMessage resolved = cache.resolve(RequestMessage.build(Tokens.OPS_BYTECODE).addArg(Tokens.ARGS_PREPARED, handle).
+                addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("name", P.within("vadas", "josh"))).create(), "stephen");
+        assertEquals(Collections.singletonMap("name", P.within("vadas", "josh")), ((Bytecode) resolved.getArgs().get(Tokens.ARGS_GREMLIN)).getBindings());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(2);
+        final UUID first = cache.prepare(prepareRequest(), g, "stephen");
+        final UUID second = cache.prepare(prepareRequest(), g, "stephen");
+        cache.resolve(executeRequest(first, "vadas"), "stephen");
+        cache.prepare(prepareRequest(), g, "stephen");
+
+        assertEquals(2, cache.size());
+        cache.resolve(executeRequest(first, "vadas"), "stephen");
+        assertNotResolved(cache, executeRequest(second, "vadas"), "stephen");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotPrepareWhenDisabled() {
+        new PreparedTraversalCache(0).prepare(prepareRequest(), g, "stephen");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotPrepareGraphOperation() {
+        new PreparedTraversalCache(10).prepare(RequestMessage.build(Tokens.OPS_PREPARE).
+                addArg(Tokens.ARGS_GREMLIN, GraphOp.TX_COMMIT.getBytecode()).
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS, "g")).create(), g, "stephen");
+    }
+
+    private static RequestMessage prepareRequest() {
+        final Bindings b = Bindings.instance();
+        return RequestMessage.build(Tokens.OPS_PREPARE).
+                addArg(Tokens.ARGS_GREMLIN, g.V().has("name", b.of("name", "marko")).values("age").asAdmin().getBytecode()).
+                addArg(Tokens.ARGS_ALIASES, Collections.singletonMap(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS, "g")).create();
+    }
+
+    private static RequestMessage executeRequest(final UUID handle, final String name) {
+        return RequestMessage.build(Tokens.OPS_BYTECODE).addArg(Tokens.ARGS_PREPARED, handle).
+                addArg(Tokens.ARGS_BINDINGS, Collections.singletonMap("name", name)).create();
+    }
+
+    private static void assertNotResolved(final PreparedTraversalCache cache, final RequestMessage msg, final String user) {
+        try {
+            cache.resolve(msg, user);
+            fail("The request should not have been resolved");
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PriorityWorkQueueTest {
+
+    @Test
+    public void shouldTakeInProportionToWeight() throws Exception {
+        final PriorityWorkQueue queue = new PriorityWorkQueue(Arrays.asList(
+                priorityClass("interactive", 3), priorityClass("analytics", 1)), 100);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(new Task("interactive", true)));
+            assertTrue(queue.offer(new Task("analytics", true)));
+        }
+
+        int interactive = 0;
+        for (int i = 0; i < 8; i++) {
+            if (((Task) queue.take()).priority.equals("interactive")) interactive++;
+        }
+        assertEquals(6, interactive);
+        assertEquals(8, queue.size());
+
+        // once a class runs dry the others get all of the threads
+        final List<Runnable> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        assertEquals(8, rest.size());
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void shouldClassifyByPriorityThenTraversalSource() {
+        final Settings.PriorityClassSettings analytics = priorityClass("analytics", 1);
+        analytics.traversalSources = Collections.singletonList("ga");
+        final PriorityWorkQueue queue = new PriorityWorkQueue(Arrays.asList(
+                priorityClass("interactive", 3), analytics), 100);
+
+        assertEquals("analytics", queue.getPriorityClass(new Task("analytics", true)));
+        assertEquals("analytics", queue.getPriorityClass(new Task(null, true, "ga")));
+        assertEquals("interactive", queue.getPriorityClass(new Task("interactive", true, "ga")));
+        assertEquals("interactive", queue.getPriorityClass(new Task("unknown", true)));
+        assertEquals("interactive", queue.getPriorityClass(new Task(null, true, "g")));
+        assertEquals("interactive", queue.getPriorityClass((Runnable) () -> {}));
+    }
+
+    @Test
+    public void shouldRejectWhenFull() {
+        final PriorityWorkQueue queue = new PriorityWorkQueue(Arrays.asList(
+                priorityClass("interactive", 3), priorityClass("analytics", 1)), 2);
+        assertTrue(queue.offer(new Task("interactive", true)));
+        assertTrue(queue.offer(new Task("analytics", true)));
+        assertFalse(queue.offer(new Task("interactive", true)));
+        assertEquals(0, queue.remainingCapacity());
+
+        queue.poll();
+        assertTrue(queue.offer(new Task("interactive", true)));
+    }
+
+    @Test
+    public void shouldShedOnceQueueTimeStaysAboveTarget() throws Exception {
+        final Settings.PriorityClassSettings interactive = priorityClass("interactive", 1);
+        interactive.targetQueueTime = 10;
+        interactive.queueTimeInterval = 20;
+        final PriorityWorkQueue queue = new PriorityWorkQueue(Collections.singletonList(interactive), 100);
+
+        final List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(new Task("interactive", true));
+            queue.offer(tasks.get(i));
+        }
+        final Task unsheddable = new Task("interactive", false);
+        queue.offer(unsheddable);
+
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        // the first task above target only starts the interval
+        assertSame(tasks.get(0), queue.poll());
+
+        TimeUnit.MILLISECONDS.sleep(30);
+
+        // the interval passed with the queue time above target so everything that can be shed is
+        assertSame(unsheddable, queue.poll());
+        assertFalse(tasks.get(0).shed);
+        for (int i = 1; i < 4; i++) {
+            assertTrue(tasks.get(i).shed);
+            assertTrue(tasks.get(i).queueTimeMillis >= 10);
+        }
+
+        // a task within the target ends the shedding
+        final Task fresh = new Task("interactive", true);
+        queue.offer(fresh);
+        assertSame(fresh, queue.poll());
+        assertFalse(fresh.shed);
+    }
+
+    @Test
+    public void shouldCancelShedTasksInExecutor() throws Exception {
+        final Settings.PriorityClassSettings interactive = priorityClass("interactive", 1);
+        interactive.targetQueueTime = 10;
+        interactive.queueTimeInterval = 10;
+        final PriorityThreadPoolExecutor executor = new PriorityThreadPoolExecutor(1,
+                new PriorityWorkQueue(Collections.singletonList(interactive), 100), ThreadFactoryUtil.create("test-%d"));
+        try {
+            final CountDownLatch running = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            executor.submit(() -> {
+                running.countDown();
+                release.await();
+                return null;
+            });
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            final List<Task> tasks = new ArrayList<>();
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                tasks.add(new Task("interactive", true));
+                // the first task runs past the interval so that the ones behind it are taken after it elapsed
+                if (0 == i) tasks.get(i).runMillis = 30;
+                futures.add(executor.submit(tasks.get(i)));
+            }
+            assertEquals(3, executor.getQueue().getSizes().get("interactive").intValue());
+
+            TimeUnit.MILLISECONDS.sleep(50);
+            release.countDown();
+
+            // the first waiting task starts the interval and runs while the ones behind it are shed
+            futures.get(0).get(10, TimeUnit.SECONDS);
+            assertTrue(tasks.get(0).ran);
+            for (int i = 1; i < 3; i++) {
+                final Task task = tasks.get(i);
+                final Future<?> future = futures.get(i);
+                final long deadline = System.currentTimeMillis() + 10000;
+                while (!future.isDone() && System.currentTimeMillis() < deadline) {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                }
+                assertTrue(future.isCancelled());
+                assertTrue(task.shed);
+                assertFalse(task.ran);
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Settings.PriorityClassSettings priorityClass(final String name, final int weight) {
+        final Settings.PriorityClassSettings priorityClass = new Settings.PriorityClassSettings();
+        priorityClass.name = name;
+        priorityClass.weight = weight;
+        return priorityClass;
+    }
+
+    private static class Task implements Runnable, PriorityWorkQueue.Prioritized {
+        private final String priority;
+        private final boolean sheddable;
+        private final RequestMessage msg;
+        private volatile boolean ran = false;
+        private volatile boolean shed = false;
+        private volatile long queueTimeMillis = -1;
+        private long runMillis = 0;
+
+        private Task(final String priority, final boolean sheddable) {
+            this(priority, sheddable, null);
+        }
+
+        private Task(final String priority, final boolean sheddable, final String traversalSource) {
+            this.priority = priority;
+            this.sheddable = sheddable;
+            final RequestMessage.Builder builder = RequestMessage.build(Tokens.OPS_BYTECODE);
+            if (priority != null) builder.addArg(Tokens.ARGS_PRIORITY, priority);
+            if (traversalSource != null) builder.addArg(Tokens.ARGS_ALIASES, Collections.singletonMap("g", traversalSource));
+            this.msg = builder.create();
+        }
+
+        @Override
+        public RequestMessage getRequestMessage() {
+            return msg;
+        }
+
+        @Override
+        public boolean isSheddable() {
+            return sheddable;
+        }
+
+        @Override
+        public void shed(final long queueTimeMillis) {
+            this.queueTimeMillis = queueTimeMillis;
+            shed = true;
+        }
+
+        @Override
+        public void run() {
+            ran = true;
+            try {
+                TimeUnit.MILLISECONDS.sleep(runMillis);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import io.netty.buffer.Unpooled;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultBatchSizerTest {
+
+    @Test
+    public void shouldKeepFixedBatchSizeWithoutTarget() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 0, 8192);
+        assertFalse(sizer.isAdaptive());
+        sizer.observe(64, 64L);
+        assertEquals(64, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldGrowByDoublingTowardTarget() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(8, 1000, 8192);
+        sizer.observe(8, 80L);
+        assertEquals(16, sizer.getBatchSize());
+        sizer.observe(16, 160L);
+        assertEquals(32, sizer.getBatchSize());
+        sizer.observe(32, 320L);
+        assertEquals(64, sizer.getBatchSize());
+        sizer.observe(64, 640L);
+        assertEquals(100, sizer.getBatchSize());
+        sizer.observe(100, 1000L);
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkImmediatelyForLargeResults() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 1000, 8192);
+        sizer.observe(64, 64000L);
+        assertEquals(1, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotExceedMaxBatchSize() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(64, 1_000_000, 100);
+        assertEquals(64, sizer.getBatchSize());
+        sizer.observe(64, 64L);
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldObserveSizeOfFrame() {
+        final ResultBatchSizer sizer = new ResultBatchSizer(4, 100, 8192);
+        final Frame frame = new Frame(Unpooled.wrappedBuffer(new byte[100]));
+        try {
+            sizer.observe(4, frame);
+            assertEquals(4, sizer.getBatchSize());
+        } finally {
+            frame.tryRelease();
+        }
+
+        sizer.observe(4, new Frame("xx"));
+        assertEquals(7, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldPreferBatchSizeOfRequest() {
+        final Settings settings = new Settings();
+        settings.resultIterationTargetFrameSize = 1000;
+
+        final ResultBatchSizer fromSettings = ResultBatchSizer.of(settings, RequestMessage.build(Tokens.OPS_EVAL).create());
+        assertTrue(fromSettings.isAdaptive());
+        assertEquals(settings.resultIterationBatchSize, fromSettings.getBatchSize());
+
+        final ResultBatchSizer fromRequest = ResultBatchSizer.of(settings,
+                RequestMessage.build(Tokens.OPS_EVAL).addArg(Tokens.ARGS_BATCH_SIZE, 3).create());
+        assertFalse(fromRequest.isAdaptive());
+        fromRequest.observe(3, 3L);
+        assertEquals(3, fromRequest.getBatchSize());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.TraversalStrategyProxy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.util.function.Lambda;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResultCacheTest {
+
+    private static final Graph graph = TinkerFactory.createModern();
+    private static final GraphTraversalSource g = graph.traversal();
+    private static final RequestMessage msg = RequestMessage.build(Tokens.OPS_BYTECODE).create();
+
+    @Test
+    public void shouldHoldFullyIteratedResults() {
+        final ResultCache cache = new ResultCache(10, 60000, 100);
+        final Traversal.Admin<?, ?> traversal = g.V().out("knows").values("name").asAdmin();
+        final List<Object> key = cache.keyOf(msg, "g", graph, traversal.getBytecode()).get();
+        assertFalse(cache.get(key).isPresent());
+
+        final Iterator<?> itty = cache.record(key, traversal, traversal);
+        assertTrue(itty.hasNext());
+        itty.next();
+
+        // not held until iterated to the end
+        assertFalse(cache.get(key).isPresent());
+        itty.next();
+        assertFalse(itty.hasNext());
+
+        final List<?> results = IteratorUtils.list(cache.get(key).get());
+        assertEquals(2, results.size());
+        assertTrue(results.containsAll(Arrays.asList("vadas", "josh")));
+    }
+
+    @Test
+    public void shouldKeyByTraversalSourceBytecodeAndBindings() {
+        final ResultCache cache = new ResultCache(10, 60000, 100);
+        final Bindings b = Bindings.instance();
+        assertEquals(cache.keyOf(msg, "g", graph, g.V().has("name", b.of("x", "marko")).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.V().has("name", b.of("x", "marko")).asAdmin().getBytecode()));
+        assertNotEquals(cache.keyOf(msg, "g", graph, g.V().has("name", b.of("x", "marko")).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.V().has("name", b.of("x", "josh")).asAdmin().getBytecode()));
+        assertNotEquals(cache.keyOf(msg, "g", graph, g.V().out().asAdmin().getBytecode()),
+                cache.keyOf(msg, "g2", graph, g.V().out().asAdmin().getBytecode()));
+        assertEquals(cache.keyOf(msg, "g", graph, g.V().where(out()).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.V().where(out()).asAdmin().getBytecode()));
+    }
+
+    @Test
+    public void shouldKeyArraysByTypeAndContent() {
+        final ResultCache cache = new ResultCache(10, 60000, 100);
+        assertEquals(cache.keyOf(msg, "g", graph, g.inject(new int[]{1, 2}).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.inject(new int[]{1, 2}).asAdmin().getBytecode()));
+        assertEquals(cache.keyOf(msg, "g", graph, g.inject((Object) new Object[]{new long[]{1L}, "a"}).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.inject((Object) new Object[]{new long[]{1L}, "a"}).asAdmin().getBytecode()));
+        assertNotEquals(cache.keyOf(msg, "g", graph, g.inject(new int[]{1, 2}).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.inject(new int[]{2, 1}).asAdmin().getBytecode()));
+        assertNotEquals(cache.keyOf(msg, "g", graph, g.inject(new int[]{1, 2}).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.inject(new long[]{1L, 2L}).asAdmin().getBytecode()));
+        assertNotEquals(cache.keyOf(msg, "g", graph, g.inject(new int[]{1, 2}).asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.inject(Arrays.asList(1, 2)).asAdmin().getBytecode()));
+    }
+
+    @Test
+    public void shouldKeyStrategiesByConfiguration() {
+        final ResultCache cache = new ResultCache(10, 60000, 100);
+        final PartitionStrategy a = PartitionStrategy.build().partitionKey("_p").readPartitions("a").create();
+        final PartitionStrategy b = PartitionStrategy.build().partitionKey("_p").readPartitions("b").create();
+
+        // strategies only compare by class and proxies only by identity
+        assertNotEquals(cache.keyOf(msg, "g", graph, g.withStrategies(a).V().asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.withStrategies(b).V().asAdmin().getBytecode()));
+        assertEquals(cache.keyOf(msg, "g", graph, g.withStrategies(a).V().asAdmin().getBytecode()),
+                cache.keyOf(msg, "g", graph, g.withStrategies(new TraversalStrategyProxy<>(a)).V().asAdmin().getBytecode()));
+    }
+
+    @Test
+    public void shouldNotServeResultsAfterInvalidation() {
+        final ResultCache cache = new ResultCache(10, 60000, 100);
+        final Bytecode bytecode = g.V().count().asAdmin().getBytecode();
+        final List<Object> key = cache.keyOf(msg, "g", graph, bytecode).get();
+        IteratorUtils.iterate(cache.record(key, g.V().count().asAdmin(), Arrays.asList(6L).iterator()));
+        assertTrue(cache.get(cache.keyOf(msg, "g", graph, bytecode).get()).isPresent());
+
+        ResultCache.invalidate(graph);
+        assertFalse(cache.get(cache.keyOf(msg, "g", graph, bytecode).get()).isPresent());
+        IteratorUtils.iterate(cache.record(cache.keyOf(msg, "g", graph, bytecode).get(), g.V().count().asAdmin(), Arrays.asList(6L).iterator()));
+        assertTrue(cache.get(cache.keyOf(msg, "g", graph, bytecode).get()).isPresent());
+
+        ResultCache.invalidateAll();
+        assertFalse(cache.get(cache.keyOf(msg, "g", graph, bytecode).get()).isPresent());
+        IteratorUtils.iterate(cache.record(cache.keyOf(msg, "g", graph, bytecode).get(), g.V().count().asAdmin(), Arrays.asList(6L).iterator()));
+        assertTrue(cache.get(cache.keyOf(msg, "g", graph, bytecode).get()).isPresent());
+
+        // a graph that is removed must not be served from results of its name either
+        ResultCache.remove(graph);
+        assertFalse(cache.get(cache.keyOf(msg, "g", graph, bytecode).get()).isPresent());
+    }
+
+    @Test
+    public void shouldNotHoldLargeResults() {
+        final ResultCache cache = new ResultCache(10, 60000, 3);
+        final Traversal.Admin<?, ?> traversal = g.V().asAdmin();
+        final List<Object> key = cache.keyOf(msg, "g", graph, traversal.getBytecode()).get();
+        assertEquals(6, IteratorUtils.count(cache.record(key, traversal, traversal)));
+        assertFalse(cache.get(key).isPresent());
+    }
+
+    @Test
+    public void shouldNotCacheWhatCannotBeCached() {
+        final ResultCache cache = new ResultCache(10, 60000, 100);
+        final Bytecode bytecode = g.V().asAdmin().getBytecode();
+        assertFalse(new ResultCache(0, 60000, 100).keyOf(msg, "g", graph, bytecode).isPresent());
+        assertFalse(cache.keyOf(RequestMessage.build(Tokens.OPS_BYTECODE).addArg(Tokens.ARGS_CACHE, false).create(),
+                "g", graph, bytecode).isPresent());
+        assertTrue(cache.keyOf(RequestMessage.build(Tokens.OPS_BYTECODE).addArg(Tokens.ARGS_CACHE, true).create(),
+                "g", graph, bytecode).isPresent());
+
+        assertTrue(ResultCache.isReadOnly(g.V().out().values("name").asAdmin()));
+        assertFalse(ResultCache.isReadOnly(g.addV("person").asAdmin()));
+        assertFalse(ResultCache.isReadOnly(g.V().where(out().property("x", 1)).asAdmin()));
+        assertFalse(ResultCache.isReadOnly(g.V().coin(0.5).asAdmin()));
+        assertFalse(ResultCache.isReadOnly(g.V().sample(2).asAdmin()));
+
+        // lambdas may change any graph
+        final Traversal.Admin<?, ?> withLambda = g.V().sideEffect(Lambda.consumer("it.get().property('x', 1)")).asAdmin();
+        assertTrue(ResultCache.hasLambdas(withLambda.getBytecode()));
+        assertFalse(ResultCache.hasLambdas(g.V().out().asAdmin().getBytecode()));
+        assertFalse(ResultCache.isReadOnly(withLambda));
+        assertFalse(cache.keyOf(msg, "g", graph, withLambda.getBytecode()).isPresent());
+
+        // a traversal that opts out is passed through without being recorded
+        final Traversal.Admin<?, ?> optedOut = g.with(Tokens.ARGS_CACHE, false).V().asAdmin();
+        final List<Object> key = cache.keyOf(msg, "g", graph, optedOut.getBytecode()).get();
+        final Iterator<?> itty = cache.record(key, optedOut, optedOut);
+        assertEquals(6, IteratorUtils.count(itty));
+        assertFalse(cache.get(key).isPresent());
+    }
+}
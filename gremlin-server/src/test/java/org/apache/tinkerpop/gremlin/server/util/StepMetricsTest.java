@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.junit.Assert.assertEquals;
+
+public class StepMetricsTest {
+
+    private static final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @Test
+    public void shouldParseStepFromMetricsName() {
+        assertEquals("TinkerGraphStep", StepMetrics.stepOf("TinkerGraphStep(vertex,[])"));
+        assertEquals("VertexStep", StepMetrics.stepOf("VertexStep(OUT,vertex)@[a]"));
+        assertEquals("IdentityStep", StepMetrics.stepOf("IdentityStep@[a]"));
+        assertEquals("CountGlobalStep", StepMetrics.stepOf("CountGlobalStep"));
+    }
+
+    @Test
+    public void shouldRecordStepsOfTraversalMetrics() {
+        final MetricManager metrics = MetricManager.INSTANCE;
+        final long vertexStep = metrics.getTimer(name(GremlinServer.class, "steps", "VertexStep")).getCount();
+        final long vertexStepTraversers = metrics.getHistogram(name(GremlinServer.class, "steps", "VertexStep", "traversers")).getCount();
+
+        StepMetrics.record(g.V().out().profile().next());
+
+        assertEquals(vertexStep + 1, metrics.getTimer(name(GremlinServer.class, "steps", "VertexStep")).getCount());
+        assertEquals(vertexStepTraversers + 1, metrics.getHistogram(name(GremlinServer.class, "steps", "VertexStep", "traversers")).getCount());
+    }
+
+    @Test
+    public void shouldOnlyRecordSampledTraversalMetrics() {
+        final MetricManager metrics = MetricManager.INSTANCE;
+        final long vertexStep = metrics.getTimer(name(GremlinServer.class, "steps", "VertexStep")).getCount();
+
+        final TraversalMetrics traversalMetrics = g.V().out().profile().next();
+        final List<Object> results = new ArrayList<>(Collections.singletonList(traversalMetrics));
+        StepMetrics.recordSampled(results, 0);
+        assertEquals(vertexStep, metrics.getTimer(name(GremlinServer.class, "steps", "VertexStep")).getCount());
+
+        // results that are not metrics are ignored
+        results.add("marko");
+        StepMetrics.recordSampled(results, 1);
+        assertEquals(vertexStep + 1, metrics.getTimer(name(GremlinServer.class, "steps", "VertexStep")).getCount());
+    }
+}
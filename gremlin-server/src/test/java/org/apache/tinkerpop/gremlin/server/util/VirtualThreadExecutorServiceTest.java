@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VirtualThreadExecutorServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private VirtualThreadExecutorService executorService;
+
+    @After
+    public void tearDown() throws Exception {
+        release.countDown();
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void shouldLimitConcurrency() throws Exception {
+        executorService = new VirtualThreadExecutorService(ThreadFactoryUtil.create("test-%d"), 2, 10);
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(executorService.submit(() -> {
+                maxRunning.accumulateAndGet(executorService.getRunningCount(), Math::max);
+                awaitRelease();
+            }));
+        }
+
+        awaitCount(executorService::getRunningCount, 2);
+        awaitCount(executorService::getQueuedCount, 4);
+
+        release.countDown();
+        for (final Future<?> f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+
+        // the future completes before the task gives up its permit so the counts settle just after
+        assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+        awaitCount(executorService::getRunningCount, 0);
+        awaitCount(executorService::getQueuedCount, 0);
+    }
+
+    @Test
+    public void shouldRejectWhenQueueIsFull() throws Exception {
+        executorService = new VirtualThreadExecutorService(ThreadFactoryUtil.create("test-%d"), 1, 1);
+        executorService.submit(this::awaitRelease);
+        executorService.submit(this::awaitRelease);
+
+        try {
+            executorService.submit(this::awaitRelease);
+            fail("Should have rejected the task as one is running and one is waiting");
+        } catch (RejectedExecutionException ree) {
+            assertEquals(1, executorService.getRejectedCount());
+        }
+
+        release.countDown();
+        awaitCount(executorService::getRunningCount, 0);
+        awaitCount(executorService::getQueuedCount, 0);
+        executorService.submit(() -> {}).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldTerminateOnceTasksCompleteAfterShutdown() throws Exception {
+        executorService = new VirtualThreadExecutorService(ThreadFactoryUtil.create("test-%d"), 1, 1);
+        final Future<?> f = executorService.submit(this::awaitRelease);
+        executorService.shutdown();
+
+        assertTrue(executorService.isShutdown());
+        assertFalse(executorService.isTerminated());
+        assertFalse(executorService.awaitTermination(50, TimeUnit.MILLISECONDS));
+
+        try {
+            executorService.submit(() -> {});
+            fail("Should have rejected the task after shutdown");
+        } catch (RejectedExecutionException ree) {
+            // expected
+        }
+
+        release.countDown();
+        f.get(10, TimeUnit.SECONDS);
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldInterruptTasksOnShutdownNow() throws Exception {
+        executorService = new VirtualThreadExecutorService(ThreadFactoryUtil.create("test-%d"), 1, 1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        executorService.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                interrupted.countDown();
+            }
+        });
+        awaitCount(executorService::getRunningCount, 1);
+
+        final AtomicBoolean ranWaitingTask = new AtomicBoolean(false);
+        executorService.submit(() -> ranWaitingTask.set(true));
+        awaitCount(executorService::getQueuedCount, 1);
+        assertTrue(executorService.shutdownNow().isEmpty());
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(ranWaitingTask.get());
+    }
+
+    @Test
+    public void shouldCreateVirtualThreadFactoryOnlyWhenSupported() throws Exception {
+        boolean supported;
+        try {
+            Thread.class.getMethod("ofVirtual");
+            supported = true;
+        } catch (NoSuchMethodException nsme) {
+            supported = false;
+        }
+
+        // on versions where virtual threads are a preview feature the method exists but cannot be used
+        if (supported) {
+            ThreadFactoryUtil.createVirtual("test-").ifPresent(factory -> {
+                final Thread t = factory.newThread(() -> {});
+                assertTrue(t.getName().startsWith("gremlin-server-test-"));
+            });
+        } else {
+            assertFalse(ThreadFactoryUtil.createVirtual("test-").isPresent());
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCount(final IntSupplier count, final int expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (count.getAsInt() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count.getAsInt());
+    }
+}
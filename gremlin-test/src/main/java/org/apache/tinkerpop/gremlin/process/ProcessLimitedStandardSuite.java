@@ -61,6 +61,8 @@ public class ProcessLimitedStandardSuite extends AbstractGremlinSuite {
 
             MatchTest.CountMatchTraversals.class,
             MatchTest.GreedyMatchTraversals.class,
+            MatchTest.HashJoinMatchTraversals.class,
+            MatchTest.HashJoinClearingMatchTraversals.class,
             ProfileTest.Traversals.class,
             WriteTest.Traversals.class,
             ExplainTest.Traversals.class,
@@ -628,6 +628,25 @@ public abstract class MatchTest extends AbstractGremlinProcessTest {
         }
     }
 
+    public static class HashJoinMatchTraversals extends Traversals {
+        @Before
+        public void setupTest() {
+            super.setupTest();
+            g = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.HashJoinMatchAlgorithm.class).create());
+        }
+    }
+
+    /**
+     * Runs the {@link MatchStep.HashJoinMatchAlgorithm} with tables that are cleared on almost every lookup.
+     */
+    public static class HashJoinClearingMatchTraversals extends Traversals {
+        @Before
+        public void setupTest() {
+            super.setupTest();
+            g = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.HashJoinMatchAlgorithm.class).maxTableSize(1).create());
+        }
+    }
+
     public static class CountMatchTraversals extends Traversals {
 
     }
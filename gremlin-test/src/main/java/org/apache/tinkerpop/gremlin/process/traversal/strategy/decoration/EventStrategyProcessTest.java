@@ -85,6 +85,34 @@ public class EventStrategyProcessTest extends AbstractGremlinProcessTest {
         assertEquals(1, listener2.addVertexEventRecorded());
     }
 
+    @Test
+    @FeatureRequirementSet(FeatureRequirementSet.Package.VERTICES_ONLY)
+    public void shouldTriggerAddVertexAndPropertyUpdateWithAsyncEventQueue() {
+        final StubMutationListener listener1 = new StubMutationListener();
+        final StubMutationListener listener2 = new StubMutationListener();
+        final EventStrategy.AsyncEventQueue eventQueue = graph.features().graph().supportsTransactions() ?
+                new EventStrategy.AsyncEventQueue(graph, 4, 2, 2) : new EventStrategy.AsyncEventQueue(4, 2, 2);
+        final EventStrategy eventStrategy = EventStrategy.build()
+                .addListener(listener1)
+                .addListener(listener2)
+                .eventQueue(eventQueue).create();
+
+        final GraphTraversalSource gts = create(eventStrategy);
+        for (int i = 0; i < 10; i++) {
+            gts.addV().property("any", "thing").next();
+        }
+        gts.V().property("some", "thing").iterate();
+        tryCommit(graph, g -> assertEquals(10, IteratorUtils.count(gts.V().has("some", "thing"))));
+
+        // closing delivers what remains queued
+        eventQueue.close();
+        assertEquals(10, listener1.addVertexEventRecorded());
+        assertEquals(10, listener2.addVertexEventRecorded());
+        assertEquals(10, listener1.vertexPropertyChangedEventRecorded());
+        assertEquals(10, listener2.vertexPropertyChangedEventRecorded());
+        assertEquals(0, eventQueue.getPendingEvents());
+    }
+
     @Test
     @FeatureRequirementSet(FeatureRequirementSet.Package.VERTICES_ONLY)
     public void shouldTriggerAddVertexViaMergeV() {
@@ -673,6 +701,35 @@ public class EventStrategyProcessTest extends AbstractGremlinProcessTest {
         assertEquals(2, listener2.addVertexEventRecorded());
     }
 
+    @Test
+    @FeatureRequirementSet(FeatureRequirementSet.Package.VERTICES_ONLY)
+    @FeatureRequirement(featureClass = Graph.Features.GraphFeatures.class, feature = Graph.Features.GraphFeatures.FEATURE_TRANSACTIONS)
+    public void shouldResetAfterRollbackWithAsyncEventQueue() {
+        final StubMutationListener listener1 = new StubMutationListener();
+        final StubMutationListener listener2 = new StubMutationListener();
+        final EventStrategy.AsyncEventQueue eventQueue = new EventStrategy.AsyncEventQueue(graph, 4, 2, 2);
+        final EventStrategy eventStrategy = EventStrategy.build()
+                .eventQueue(eventQueue)
+                .addListener(listener1)
+                .addListener(listener2).create();
+
+        final GraphTraversalSource gts = create(eventStrategy);
+        gts.addV().property("any", "thing").next();
+        gts.addV().property("any", "one").next();
+        assertEquals(0, eventQueue.getPendingEvents());
+
+        gts.tx().rollback();
+        assertThat(gts.V().has("any").hasNext(), is(false));
+
+        gts.addV().property("any", "thing").next();
+        gts.tx().commit();
+
+        // closing delivers what was handed to the dispatchers on commit
+        eventQueue.close();
+        assertEquals(1, listener1.addVertexEventRecorded());
+        assertEquals(1, listener2.addVertexEventRecorded());
+    }
+
     @Test
     @FeatureRequirementSet(FeatureRequirementSet.Package.VERTICES_ONLY)
     @FeatureRequirement(featureClass = Graph.Features.VertexFeatures.class, feature = Graph.Features.VertexFeatures.FEATURE_META_PROPERTIES)
@@ -22,6 +22,7 @@ import org.junit.Test;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
@@ -70,6 +71,10 @@ public abstract class AbstractBenchmarkBase {
             runnerOptions.forks(getForks());
         }
 
+        if (isGcProfilerEnabled()) {
+            runnerOptions.addProfiler(GCProfiler.class);
+        }
+
         if (getReportDir() != null) {
             final String dtmStr = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
             final String filePath = getReportDir() + className + "-" + dtmStr + ".json";
@@ -100,6 +105,14 @@ public abstract class AbstractBenchmarkBase {
         return getIntProperty("forks", DEFAULT_FORKS);
     }
 
+    /**
+     * Determines if the JMH GC profiler reports the allocation rate of the benchmarks, which can also be turned on
+     * for any benchmark with the {@code gcProfiler} system property.
+     */
+    protected boolean isGcProfilerEnabled() {
+        return Boolean.getBoolean("gcProfiler");
+    }
+
     protected String getReportDir() {
         return System.getProperty("benchmarkReportDir", DEFAULT_BENCHMARK_DIRECTORY);
     }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+
+/**
+ * Compares the {@code match()} algorithms on a generated social network shaped like the LDBC social network
+ * benchmark data, with people who know each other, create posts and like the posts of others.
+ */
+public class MatchAlgorithmBenchmark extends AbstractGraphBenchmark {
+
+    private static final int PERSONS = 2000;
+    private static final int KNOWS_PER_PERSON = 10;
+    private static final int POSTS_PER_PERSON = 3;
+    private static final int LIKES_PER_PERSON = 10;
+
+    @Param({"CountMatchAlgorithm", "HashJoinMatchAlgorithm"})
+    public String algorithm;
+
+    private GraphTraversalSource gm;
+
+    @Setup
+    @Override
+    public void prepare() throws IOException {
+        super.prepare();
+
+        final Random random = new Random(123456789L);
+        final List<Vertex> persons = new ArrayList<>(PERSONS);
+        final List<Vertex> posts = new ArrayList<>(PERSONS * POSTS_PER_PERSON);
+        for (int i = 0; i < PERSONS; i++) {
+            final Vertex person = graph.addVertex(T.label, "person", "name", "person" + i, "country", "country" + random.nextInt(20));
+            persons.add(person);
+            for (int j = 0; j < POSTS_PER_PERSON; j++) {
+                final Vertex post = graph.addVertex(T.label, "post", "length", random.nextInt(1000));
+                person.addEdge("created", post);
+                posts.add(post);
+            }
+        }
+
+        for (final Vertex person : persons) {
+            for (int i = 0; i < KNOWS_PER_PERSON; i++) {
+                person.addEdge("knows", persons.get(random.nextInt(PERSONS)));
+            }
+            for (int i = 0; i < LIKES_PER_PERSON; i++) {
+                person.addEdge("likes", posts.get(random.nextInt(posts.size())));
+            }
+        }
+
+        final Class<? extends MatchStep.MatchAlgorithm> algorithmClass = algorithm.equals("HashJoinMatchAlgorithm") ?
+                MatchStep.HashJoinMatchAlgorithm.class : MatchStep.CountMatchAlgorithm.class;
+        gm = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(algorithmClass).create());
+    }
+
+    @Benchmark
+    public long g_V_matchXa_knows_b__b_knows_c__c_country_x__a_country_xX_count() {
+        return gm.V().hasLabel("person").match(
+                as("a").out("knows").as("b"),
+                as("b").out("knows").as("c"),
+                as("c").values("country").as("x"),
+                as("a").values("country").as("x")).count().next();
+    }
+
+    @Benchmark
+    public long g_V_matchXa_knows_b__b_created_p__a_likes_pX_count() {
+        return gm.V().hasLabel("person").match(
+                as("a").out("knows").as("b"),
+                as("b").out("created").as("p"),
+                as("a").out("likes").as("p")).count().next();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> g_V_matchXa_knows_b__b_knows_c__c_knows_aX_selectXa_b_cX() {
+        return gm.V().hasLabel("person").match(
+                as("a").out("knows").as("b"),
+                as("b").out("knows").as("c"),
+                as("c").out("knows").as("a")).<Object>select("a", "b", "c").toList();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares traversals of a single tenant of a multi-tenant graph where the tenant is selected with
+ * {@link PartitionStrategy}, with {@link SubgraphStrategy} or by hand with {@code has()} filters written into the
+ * traversal. The tenant key is indexed so the cost of the strategies is measured against traversals that can use the
+ * index for their start.
+ */
+public class MultiTenantTraversalBenchmark extends AbstractGraphBenchmark {
+
+    private static final String TENANT_KEY = "tenant";
+    private static final String TENANT = "tenant7";
+    private static final int TENANTS = 20;
+    private static final int PERSONS_PER_TENANT = 500;
+    private static final int KNOWS_PER_PERSON = 10;
+
+    @Param({"explicit", "partition", "subgraph"})
+    public String isolation;
+
+    private GraphTraversalSource gt;
+
+    @Setup
+    @Override
+    public void prepare() throws IOException {
+        super.prepare();
+        ((TinkerGraph) graph).createIndex(TENANT_KEY, Vertex.class);
+
+        final Random random = new Random(123456789L);
+        for (int i = 0; i < TENANTS; i++) {
+            final String tenant = "tenant" + i;
+            final List<Vertex> persons = new ArrayList<>(PERSONS_PER_TENANT);
+            for (int j = 0; j < PERSONS_PER_TENANT; j++) {
+                persons.add(graph.addVertex(T.label, "person", TENANT_KEY, tenant, "name", "person" + j, "age", random.nextInt(80)));
+            }
+            for (final Vertex person : persons) {
+                for (int j = 0; j < KNOWS_PER_PERSON; j++) {
+                    person.addEdge("knows", persons.get(random.nextInt(PERSONS_PER_TENANT)), TENANT_KEY, tenant);
+                }
+            }
+        }
+
+        if (isolation.equals("partition"))
+            gt = g.withStrategies(PartitionStrategy.build().partitionKey(TENANT_KEY).writePartition(TENANT).readPartitions(TENANT).create());
+        else if (isolation.equals("subgraph"))
+            gt = g.withStrategies(SubgraphStrategy.build().vertices(__.has(TENANT_KEY, TENANT)).create());
+        else
+            gt = g;
+    }
+
+    private GraphTraversal<Vertex, Vertex> start() {
+        return isolation.equals("explicit") ? gt.V().has(TENANT_KEY, TENANT) : gt.V();
+    }
+
+    private GraphTraversal<Vertex, Vertex> out(final GraphTraversal<Vertex, Vertex> traversal) {
+        return isolation.equals("explicit") ? traversal.out("knows").has(TENANT_KEY, TENANT) : traversal.out("knows");
+    }
+
+    @Benchmark
+    public long g_V_count() {
+        return start().count().next();
+    }
+
+    @Benchmark
+    public long g_V_hasXage_gt_60X_count() {
+        return start().has("age", P.gt(60)).count().next();
+    }
+
+    @Benchmark
+    public long g_V_hasXname_person1X_outXknowsX_outXknowsX_count() {
+        return out(out(start().has("name", "person1"))).count().next();
+    }
+
+    @Benchmark
+    public long g_V_outXknowsX_count() {
+        return out(start()).count().next();
+    }
+}
@@ -22,8 +22,10 @@ import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
 import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.openjdk.jmh.annotations.Benchmark;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -54,6 +56,14 @@ public class TraversalConstructionBenchmark  extends AbstractGraphBenchmark {
 
     private static final Bindings b = Bindings.instance();
 
+    private GraphTraversalSource gWithoutBytecode;
+
+    @Override
+    public void prepare() throws IOException {
+        super.prepare();
+        gWithoutBytecode = g.withoutBytecode();
+    }
+
     @Benchmark
     public GraphTraversal constructShort() throws Exception {
         return g.V().out("knows");
@@ -73,6 +83,20 @@ public class TraversalConstructionBenchmark  extends AbstractGraphBenchmark {
                 by(out("created").project("name","lang").by("name").by("lang"));
     }
 
+    @Benchmark
+    public GraphTraversal constructShortWithoutBytecode() throws Exception {
+        return gWithoutBytecode.V().out("knows");
+    }
+
+    @Benchmark
+    public GraphTraversal constructMediumWithoutBytecode() throws Exception {
+        return gWithoutBytecode.V().has("person","name","marko").
+                project("user","knows","created").
+                by(project("name","age").by("name").by("age")).
+                by(out("knows").project("name","age").by("name").by("age")).
+                by(out("created").project("name","lang").by("name").by("lang"));
+    }
+
     @Benchmark
     public GraphTraversal constructMediumWithBindings() throws Exception {
         return g.V().has("person","name",b.of("x","marko")).
@@ -152,4 +176,24 @@ public class TraversalConstructionBenchmark  extends AbstractGraphBenchmark {
 
         return t;
     }
+
+    @Benchmark
+    public GraphTraversal testAddVWithPropsChainedWithoutBytecode() {
+        GraphTraversal t = null;
+        for (int ix = 0; ix < 100; ix++) {
+            if (null == t)
+                t = gWithoutBytecode.addV("person");
+            else
+                t = t.addV("person");
+
+            for (int iy = 0; iy < 32; iy++) {
+                if (iy % 2 == 0)
+                    t = t.property("x" + String.valueOf(iy), iy * ix);
+                else
+                    t = t.property("x" + String.valueOf(iy), String.valueOf(iy + ix));
+            }
+        }
+
+        return t;
+    }
 }
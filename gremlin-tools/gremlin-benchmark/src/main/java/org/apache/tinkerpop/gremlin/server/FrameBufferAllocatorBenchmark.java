@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphBinaryMessageSerializerV1;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV3d0;
+import org.apache.tinkerpop.gremlin.driver.ser.SerializationException;
+import org.apache.tinkerpop.gremlin.server.handler.Frame;
+import org.apache.tinkerpop.gremlin.server.util.FrameBufferAllocator;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Measures the serialization of response messages into buffers taken straight from the channel allocator and into
+ * buffers taken from a {@link FrameBufferAllocator} that has seen the previous message of the request, with and
+ * without composite buffers for large messages. The GC profiler is enabled so that {@code gc.alloc.rate.norm} reports
+ * the bytes allocated per response.
+ */
+@State(Scope.Thread)
+public class FrameBufferAllocatorBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"graphbinary", "graphson"})
+    public String serializer;
+
+    @Param({"16", "4096"})
+    public int results;
+
+    @Param({"0", "65536"})
+    public int compositeThreshold;
+
+    private final ByteBufAllocator channelAllocator = PooledByteBufAllocator.DEFAULT;
+    private MessageSerializer<?> messageSerializer;
+    private FrameBufferAllocator frameAllocator;
+    private ResponseMessage response;
+
+    @Setup(Level.Trial)
+    public void prepare() throws SerializationException {
+        messageSerializer = serializer.equals("graphson") ?
+                new GraphSONMessageSerializerV3d0() : new GraphBinaryMessageSerializerV1();
+
+        final List<Object> vertices = new ArrayList<>(results);
+        TinkerFactory.createModern().vertices().forEachRemaining(v -> vertices.add(DetachedFactory.detach(v, true)));
+        final List<Object> data = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            data.add(vertices.get(i % vertices.size()));
+        }
+        response = ResponseMessage.build(UUID.randomUUID()).code(ResponseStatusCode.PARTIAL_CONTENT).result(data).create();
+
+        // the allocator learns the size of the messages of the request from the one before
+        frameAllocator = new FrameBufferAllocator(channelAllocator, compositeThreshold);
+        final Frame frame = new Frame(messageSerializer.serializeResponseAsBinary(response, channelAllocator));
+        frameAllocator.observe(results, frame);
+        frame.tryRelease();
+    }
+
+    @Benchmark
+    public int serializeWithChannelAllocator() throws SerializationException {
+        return release(messageSerializer.serializeResponseAsBinary(response, channelAllocator));
+    }
+
+    @Benchmark
+    public int serializeWithFrameBufferAllocator() throws SerializationException {
+        return release(messageSerializer.serializeResponseAsBinary(response, frameAllocator.expect(results)));
+    }
+
+    @Override
+    protected boolean isGcProfilerEnabled() {
+        return true;
+    }
+
+    private static int release(final ByteBuf buffer) {
+        final int size = buffer.readableBytes();
+        buffer.release();
+        return size;
+    }
+}
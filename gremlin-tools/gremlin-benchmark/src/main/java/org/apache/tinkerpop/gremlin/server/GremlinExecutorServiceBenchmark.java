@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
+import org.apache.tinkerpop.gremlin.server.util.VirtualThreadExecutorService;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of requests whose traversals block on I/O of the graph, which is simulated with a short
+ * sleep per traverser, when they run on a fixed pool of platform threads as sized by {@code gremlinPool} and when they
+ * run on virtual threads as with {@code useVirtualThreads}. The {@code virtual} executor requires a JVM that supports
+ * virtual threads.
+ */
+@State(Scope.Benchmark)
+public class GremlinExecutorServiceBenchmark extends AbstractBenchmarkBase {
+
+    private static final int REQUESTS = 512;
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    @Param({"pool", "virtual"})
+    public String executor;
+
+    @Param({"1"})
+    public long ioMillis;
+
+    private ExecutorService executorService;
+    private GraphTraversalSource g;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        g = TinkerFactory.createModern().traversal();
+        if (executor.equals("virtual")) {
+            executorService = new VirtualThreadExecutorService(ThreadFactoryUtil.createVirtual("benchmark-").orElseThrow(
+                    () -> new IllegalStateException("This JVM does not support virtual threads")), 1024, REQUESTS);
+        } else {
+            executorService = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(REQUESTS), ThreadFactoryUtil.create("benchmark-%d"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executorService.shutdownNow();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public long blockingRequests() throws Exception {
+        final List<Future<Long>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executorService.submit(() -> g.V().out().sideEffect(t -> sleep()).count().next()));
+        }
+
+        long total = 0;
+        for (final Future<Long> future : futures) {
+            total += future.get();
+        }
+        return total;
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(ioMillis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
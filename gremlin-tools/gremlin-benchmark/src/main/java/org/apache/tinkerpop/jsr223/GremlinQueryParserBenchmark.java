@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.jsr223;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures {@link GremlinQueryParser} on representative scripts and on pathological ones that are long because
+ * they were generated, with thousands of chained steps or large literal lists.
+ */
+@State(Scope.Thread)
+public class GremlinQueryParserBenchmark extends AbstractBenchmarkBase {
+    private final static GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Param({"100", "5000"})
+    public int size;
+
+    private String chainedSteps;
+    private String injectLiterals;
+    private String withinLiterals;
+    private String vertexIds;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        chainedSteps = "g.V()" + IntStream.range(0, size).
+                mapToObj(i -> i % 2 == 0 ? ".out('knows')" : ".has('name','n" + i + "')").collect(Collectors.joining());
+        injectLiterals = "g.inject(" + IntStream.range(0, size).
+                mapToObj(i -> i % 2 == 0 ? String.valueOf(i) : "'s" + i + "'").collect(Collectors.joining(", ")) + ")";
+        withinLiterals = "g.V().has('name', within(" + IntStream.range(0, size).
+                mapToObj(i -> "'n" + i + "'").collect(Collectors.joining(", ")) + ")).values('age')";
+        vertexIds = "g.V(" + IntStream.range(0, size).
+                mapToObj(i -> i + "L").collect(Collectors.joining(", ")) + ").out('knows').id()";
+    }
+
+    @Benchmark
+    public Object testParseShort() {
+        return parse("g.V().has('person','name','marko').out('knows').values('name')");
+    }
+
+    @Benchmark
+    public Object testParseMedium() {
+        return parse("g.V().hasLabel('person').as('a').out('created').in('created').where(neq('a')).as('b')." +
+                "select('a','b').by('name').group().by(select('a')).by(select('b').fold())");
+    }
+
+    @Benchmark
+    public Object testParseChainedSteps() {
+        return parse(chainedSteps);
+    }
+
+    @Benchmark
+    public Object testParseInjectLiterals() {
+        return parse(injectLiterals);
+    }
+
+    @Benchmark
+    public Object testParseWithinLiterals() {
+        return parse(withinLiterals);
+    }
+
+    @Benchmark
+    public Object testParseVertexIds() {
+        return parse(vertexIds);
+    }
+
+    private static Object parse(final String script) {
+        return GremlinQueryParser.parse(script, new GremlinAntlrToJava(g));
+    }
+}
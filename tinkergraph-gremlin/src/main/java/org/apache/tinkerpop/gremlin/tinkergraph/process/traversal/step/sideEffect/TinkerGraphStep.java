@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
@@ -36,10 +37,13 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -77,7 +81,7 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         else
             iterator = null == indexedContainer ?
                     this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+                    queryIndex(indexedContainer, (key, value) -> TinkerHelper.queryEdgeIndex(graph, key, value)).stream()
                                 .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                                 .collect(Collectors.<Edge>toList()).iterator();
 
@@ -99,7 +103,7 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         else
             iterator = (null == indexedContainer ?
                     this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
+                    IteratorUtils.filter(queryIndex(indexedContainer, (key, value) -> TinkerHelper.queryVertexIndex(graph, key, value)).iterator(),
                                          vertex -> HasContainer.testAll(vertex, this.hasContainers)));
 
         iterators.add(iterator);
@@ -110,10 +114,34 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
     private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
         final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+        // an eq() is the most selective lookup, but a within() over a collection of values, like the one that
+        // PartitionStrategy adds for its read partitions, can be answered with one lookup per value
+        HasContainer within = null;
+        for (final HasContainer c : this.hasContainers) {
+            if (!indexedKeys.contains(c.getKey()))
+                continue;
+            if (c.getPredicate().getBiPredicate() == Compare.eq)
+                return c;
+            if (null == within && c.getPredicate().getBiPredicate() == Contains.within && c.getPredicate().getValue() instanceof Collection)
+                within = c;
+        }
+        return within;
+    }
 
+    /**
+     * Gets the elements of the index that match the indexed container, removing duplicates that a {@code within()}
+     * might produce when it lists the same value more than once.
+     */
+    private static <T extends Element> Collection<T> queryIndex(final HasContainer indexedContainer,
+                                                                final BiFunction<String, Object, List<T>> query) {
+        if (indexedContainer.getPredicate().getBiPredicate() == Compare.eq)
+            return query.apply(indexedContainer.getKey(), indexedContainer.getPredicate().getValue());
+
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Object value : (Collection<?>) indexedContainer.getPredicate().getValue()) {
+            elements.addAll(query.apply(indexedContainer.getKey(), value));
+        }
+        return elements;
     }
 
     @Override
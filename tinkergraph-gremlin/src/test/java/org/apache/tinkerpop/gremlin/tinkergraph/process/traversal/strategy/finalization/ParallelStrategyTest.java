@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+
+public class ParallelStrategyTest {
+
+    private static ForkJoinPool pool;
+    private static Graph graph;
+
+    @BeforeClass
+    public static void setup() {
+        pool = new ForkJoinPool(4);
+        graph = TinkerFactory.createGratefulDead();
+    }
+
+    @AfterClass
+    public static void shutdown() throws Exception {
+        pool.shutdown();
+        graph.close();
+    }
+
+    @Test
+    public void shouldProduceSameResultsAsSerialExecution() {
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource gp = g.withStrategies(ParallelStrategy.build().batchSize(7).forkJoinPool(pool).create());
+
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().hasLabel("song").out().out().groupCount(),
+                s -> s.V().out("followedBy").out("followedBy").groupCount().by("name"),
+                s -> s.V().hasLabel("song").out("sungBy").group().by("name").by(__.count()),
+                s -> s.V().hasLabel("song").group().by("songType").by(__.values("performances").sum()),
+                s -> s.V().out().out().count(),
+                s -> s.E().hasLabel("followedBy").values("weight").sum(),
+                s -> s.V().has("performances", P.gt(100)).values("performances").mean(),
+                s -> s.V().has("performances", P.gt(0)).values("performances").max(),
+                s -> s.V().where(__.out("sungBy")).values("name").fold(),
+                s -> s.V().hasLabel("song").order().by("performances", Order.desc).by("name").limit(20).values("name"),
+                s -> s.V().hasLabel("song").values("name").order().fold(),
+                s -> s.V().hasLabel("nothing").count());
+
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> t : traversals) {
+            final Traversal.Admin<?, ?> parallel = t.apply(gp).asAdmin();
+            parallel.applyStrategies();
+            assertThat(parallel.toString(), TraversalHelper.hasStepOfClass(ParallelStep.class, parallel), is(true));
+            assertEquals(t.apply(g).toList(), parallel.toList());
+        }
+    }
+
+    @Test
+    public void shouldNotParallelizeUnsafeSteps() {
+        final GraphTraversalSource gp = graph.traversal().withStrategies(ParallelStrategy.build().forkJoinPool(pool).create());
+
+        final List<Traversal<?, ?>> traversals = Arrays.asList(
+                gp.V().out().dedup().count(),
+                gp.V().out().limit(10).count(),
+                gp.V().as("a").out().select("a").count(),
+                gp.V().out().path().count(),
+                gp.V().out().aggregate("x").count(),
+                gp.V().out().map(t -> t.get()).count(),
+                gp.V().out().coin(0.5).count(),
+                gp.V().out().values("name"),
+                gp.inject(1, 2, 3).sum());
+
+        for (final Traversal<?, ?> t : traversals) {
+            t.asAdmin().applyStrategies();
+            assertThat(t.toString(), TraversalHelper.hasStepOfClass(ParallelStep.class, t.asAdmin()), is(false));
+        }
+    }
+
+    @Test
+    public void shouldMergeOnlyUpToTheFirstBarrier() {
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource gp = g.withStrategies(ParallelStrategy.build().batchSize(10).forkJoinPool(pool).create());
+        assertEquals(g.V().out().groupCount().unfold().count().next(),
+                gp.V().out().groupCount().unfold().count().next());
+        assertEquals(g.V().out().values("name").order().limit(5).fold().next(),
+                gp.V().out().values("name").order().limit(5).fold().next());
+    }
+
+    @Test
+    public void shouldBoundPartitionsInFlightToPoolParallelism() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final ForkJoinPool countingPool = new ForkJoinPool(2) {
+            @Override
+            public <T> ForkJoinTask<T> submit(final Callable<T> task) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return super.submit(() -> {
+                    try {
+                        Thread.sleep(2);
+                        return task.call();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        };
+
+        try {
+            final GraphTraversalSource g = graph.traversal();
+            final GraphTraversalSource gp = g.withStrategies(ParallelStrategy.build().batchSize(10).forkJoinPool(countingPool).create());
+            assertEquals(g.V().out().groupCount().by("name").next(), gp.V().out().groupCount().by("name").next());
+            assertThat(maxInFlight.get() > 0, is(true));
+            assertThat(maxInFlight.get() <= countingPool.getParallelism(), is(true));
+        } finally {
+            countingPool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldSerializeWithoutPool() throws Exception {
+        final ParallelStrategy strategy = ParallelStrategy.build().batchSize(42).forkJoinPool(pool).create();
+        final ParallelStrategy copy = SerializationUtils.clone(strategy);
+        assertEquals(42, copy.getBatchSize());
+        assertEquals(ParallelStrategy.class.getCanonicalName(), copy.getConfiguration().getString(TraversalStrategy.STRATEGY));
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
@@ -87,6 +88,7 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -246,6 +248,30 @@ public class TinkerGraphTest {
         }, 35)).has("name", "stephen").count().next());
     }
 
+    @Test
+    public void shouldUseVertexIndexForWithin() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+
+        g.addVertex("tenant", "a", "age", 29);
+        g.addVertex("tenant", "b", "age", 35);
+        g.addVertex("tenant", "c", "age", 41);
+
+        // only the vertices of the listed partitions should reach the spy if the index was used for within()
+        assertEquals(new Long(2), g.traversal().V().has("age", P.test((t, u) -> {
+            assertNotEquals(41, t);
+            return true;
+        }, 0)).has("tenant", P.within("a", "b", "a")).count().next());
+
+        // which is what PartitionStrategy adds for its read partitions
+        final GraphTraversalSource gp = g.traversal().withStrategies(PartitionStrategy.build().
+                partitionKey("tenant").writePartition("a").readPartitions("a", "b").create());
+        assertEquals(new Long(2), gp.V().has("age", P.test((t, u) -> {
+            assertNotEquals(41, t);
+            return true;
+        }, 0)).count().next());
+    }
+
     @Test
     public void shouldUpdateEdgeIndicesInNewGraph() {
         final TinkerGraph g = TinkerGraph.open();